@@ -0,0 +1,46 @@
+package io.github.zhaqimz.employeereporting.benchmark;
+
+import io.github.zhaqimz.employeereporting.model.ManagerRelativeSalaryAssessment;
+import io.github.zhaqimz.employeereporting.model.ReportingLineDepthBreach;
+import io.github.zhaqimz.employeereporting.reports.ManagerSalaryAggregator;
+import io.github.zhaqimz.employeereporting.reports.ReportingLineAnalyser;
+import io.github.zhaqimz.employeereporting.reports.SalaryAnalyser;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Manager salary assessment and reporting line depth analysis.
+ */
+public class AnalyseBenchmark {
+    static final Optional<BigDecimal> MIN_RELATIVE_SALARY_PERCENTAGE = Optional.of(new BigDecimal("0.20"));
+    static final Optional<BigDecimal> MAX_RELATIVE_SALARY_PERCENTAGE = Optional.of(new BigDecimal("0.50"));
+    static final int DEPTH_TO_COMPARE = 4;
+
+    @Benchmark
+    public List<ManagerRelativeSalaryAssessment> assessManagerSalary(OrganisationState organisation) {
+        return SalaryAnalyser.assessManagerSalary(
+                organisation.employees,
+                MIN_RELATIVE_SALARY_PERCENTAGE,
+                MAX_RELATIVE_SALARY_PERCENTAGE
+        );
+    }
+
+    @Benchmark
+    public List<ManagerRelativeSalaryAssessment> aggregateManagerSalary(OrganisationState organisation) {
+        ManagerSalaryAggregator aggregator = new ManagerSalaryAggregator(
+                MIN_RELATIVE_SALARY_PERCENTAGE,
+                MAX_RELATIVE_SALARY_PERCENTAGE
+        );
+        organisation.employees.forEach(aggregator);
+        organisation.employees.forEach(aggregator::resolveManager);
+        return aggregator.assessments();
+    }
+
+    @Benchmark
+    public List<ReportingLineDepthBreach> findEmployeesBreachingReportingLineDepth(OrganisationState organisation) {
+        return ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(organisation.employees, DEPTH_TO_COMPARE);
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.zhaqimz.employeereporting.benchmark;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.model.EmployeeTable;
+import io.github.zhaqimz.employeereporting.registry.RegistryDelta;
+import io.github.zhaqimz.employeereporting.reports.IncrementalOrganisation;
+import io.github.zhaqimz.employeereporting.reports.IncrementalOrganisation.Changes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Incremental re-analysis of a loaded organisation after a delta of salary updates, to compare with the full
+ * analysis in {@link AnalyseBenchmark}. Each operation applies the delta and then its reverse, so the
+ * organisation is the same at the start of every operation.
+ */
+@State(Scope.Benchmark)
+public class DeltaBenchmark {
+    @Param({"100"})
+    public int deltaSize;
+
+    private IncrementalOrganisation organisation;
+    private RegistryDelta raise;
+    private RegistryDelta restore;
+
+    @Setup(Level.Trial)
+    public void setUp(OrganisationState state) {
+        organisation = IncrementalOrganisation.of(
+                EmployeeTable.from(state.employees),
+                Integer.MAX_VALUE,
+                AnalyseBenchmark.MIN_RELATIVE_SALARY_PERCENTAGE,
+                AnalyseBenchmark.MAX_RELATIVE_SALARY_PERCENTAGE,
+                AnalyseBenchmark.DEPTH_TO_COMPARE
+        );
+        // Distinct employees picked at random
+        SplittableRandom random = new SplittableRandom(deltaSize);
+        Set<Integer> ids = new HashSet<>();
+        List<Employee> raised = new ArrayList<>();
+        List<Employee> restored = new ArrayList<>();
+        while (ids.size() < Math.min(deltaSize, state.employees.size())) {
+            Employee employee = state.employees.get(random.nextInt(state.employees.size()));
+            if (ids.add(employee.id())) {
+                raised.add(new Employee(employee.id(), employee.firstName(), employee.lastName(),
+                        employee.salary().add(BigDecimal.valueOf(1_000)), employee.managerId()));
+                restored.add(employee);
+            }
+        }
+        raise = new RegistryDelta(List.of(), raised, List.of());
+        restore = new RegistryDelta(List.of(), restored, List.of());
+    }
+
+    @Benchmark
+    public Changes applyDelta() {
+        organisation.apply(raise);
+        return organisation.apply(restore);
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.zhaqimz.employeereporting.benchmark;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point of the benchmarks jar.
+ * <p>
+ * Runs the employee reporting benchmarks in throughput mode with the GC profiler, so every result reports
+ * operations per second alongside the allocation rate and bytes allocated per operation
+ * ({@code gc.alloc.rate.norm}). Standard JMH command line options are accepted and take precedence, e.g.
+ * {@code java -jar target/benchmarks.jar ValidateBenchmark -p orgSize=1000,100000 -p shape=DEEP_CHAIN}.
+ * Without a benchmark pattern, all benchmarks in this package are run.
+ */
+public class EmployeeReportingBenchmarks {
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class);
+        if (commandLineOptions.getBenchModes().isEmpty()) {
+            options.mode(Mode.Throughput);
+        }
+        if (!commandLineOptions.getTimeUnit().hasValue()) {
+            options.timeUnit(TimeUnit.SECONDS);
+        }
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            options.include(EmployeeReportingBenchmarks.class.getPackageName() + "\\..*Benchmark\\.");
+        }
+        if (!commandLineOptions.getForkCount().hasValue()) {
+            options.forks(1);
+        }
+        if (!commandLineOptions.getWarmupIterations().hasValue()) {
+            options.warmupIterations(3).warmupTime(TimeValue.seconds(5));
+        }
+        if (!commandLineOptions.getMeasurementIterations().hasValue()) {
+            options.measurementIterations(5).measurementTime(TimeValue.seconds(5));
+        }
+        new Runner(options.build()).run();
+    }
+}
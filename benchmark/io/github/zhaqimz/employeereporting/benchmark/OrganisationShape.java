@@ -0,0 +1,13 @@
+package io.github.zhaqimz.employeereporting.benchmark;
+
+/**
+ * Hierarchy shapes of the benchmark organisations.
+ */
+public enum OrganisationShape {
+    /** Every employee reports directly to the top-level manager. */
+    FLAT,
+    /** Employees form reporting chains of {@link Organisations#CHAIN_LENGTH} under the top-level manager. */
+    DEEP_CHAIN,
+    /** A complete tree in which every manager has {@link Organisations#FAN_OUT} direct subordinates. */
+    BALANCED_TREE
+}
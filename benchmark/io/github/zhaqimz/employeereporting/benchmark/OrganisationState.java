@@ -0,0 +1,29 @@
+package io.github.zhaqimz.employeereporting.benchmark;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * An in-memory organisation shared by the benchmarks of a trial, parameterised by size and shape.
+ */
+@State(Scope.Benchmark)
+public class OrganisationState {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int orgSize;
+
+    @Param({"FLAT", "DEEP_CHAIN", "BALANCED_TREE"})
+    public OrganisationShape shape;
+
+    public List<Employee> employees;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = Organisations.build(orgSize, shape);
+    }
+}
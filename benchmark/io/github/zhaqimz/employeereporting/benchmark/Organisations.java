@@ -0,0 +1,86 @@
+package io.github.zhaqimz.employeereporting.benchmark;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.utility.SyntheticOrganisationGenerator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Builds deterministic benchmark organisations with {@link SyntheticOrganisationGenerator} and writes them
+ * as employee registry CSV files.
+ */
+final class Organisations {
+    static final int CHAIN_LENGTH = 1_000;
+    static final int FAN_OUT = 8;
+
+    // Per-call info logging would dominate the measurements; held so the level is not lost to GC
+    private static final Logger APPLICATION_LOGGER = Logger.getLogger("io.github.zhaqimz.employeereporting");
+
+    static {
+        APPLICATION_LOGGER.setLevel(Level.WARNING);
+    }
+
+    private Organisations() {
+    }
+
+    /**
+     * Builds an organisation of the given size and shape, with employee {@code 0} as the top-level manager
+     * and salaries between 30,000.00 and 150,000.00.
+     */
+    static List<Employee> build(int size, OrganisationShape shape) {
+        return generator(size, shape).stream().collect(Collectors.toCollection(() -> new ArrayList<>(size)));
+    }
+
+    /**
+     * Builds a single reporting chain of the given length under employee {@code 0}, the deepest organisation of
+     * that size.
+     */
+    static List<Employee> chain(int length) {
+        return SyntheticOrganisationGenerator.builder()
+                .size(length)
+                .seed(length)
+                .firstId(0)
+                .fanOut(SyntheticOrganisationGenerator.IntDistribution.fixed(1))
+                .depth(SyntheticOrganisationGenerator.IntDistribution.fixed(Integer.MAX_VALUE))
+                .build()
+                .stream()
+                .collect(Collectors.toCollection(() -> new ArrayList<>(length)));
+    }
+
+    /**
+     * Writes an organisation of the given size and shape to a new temporary registry CSV file with a header
+     * row, streaming it so the organisation is never held in memory.
+     */
+    static Path writeCsv(int size, OrganisationShape shape) throws IOException {
+        Path file = Files.createTempFile("benchmark-employees", ".csv");
+        generator(size, shape).writeCsv(file);
+        return file;
+    }
+
+    private static SyntheticOrganisationGenerator generator(int size, OrganisationShape shape) {
+        SyntheticOrganisationGenerator.Builder builder = SyntheticOrganisationGenerator.builder()
+                .size(size)
+                .seed(size)
+                .firstId(0)
+                .salary(SyntheticOrganisationGenerator.SalaryDistribution.uniform(new BigDecimal("30000.00"), new BigDecimal("150000.00")));
+        return switch (shape) {
+            case FLAT -> builder.depth(SyntheticOrganisationGenerator.IntDistribution.fixed(1)).build();
+            case DEEP_CHAIN -> builder
+                    .fanOut(SyntheticOrganisationGenerator.IntDistribution.fixed(1))
+                    .depth(SyntheticOrganisationGenerator.IntDistribution.fixed(CHAIN_LENGTH))
+                    .build();
+            case BALANCED_TREE -> builder
+                    .fanOut(SyntheticOrganisationGenerator.IntDistribution.fixed(FAN_OUT))
+                    .depth(SyntheticOrganisationGenerator.IntDistribution.fixed(Integer.MAX_VALUE))
+                    .build();
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.zhaqimz.employeereporting.benchmark;
+
+import io.github.zhaqimz.employeereporting.model.ManagerRelativeSalaryAssessment;
+import io.github.zhaqimz.employeereporting.reports.SalaryAnalyser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Parallel manager salary assessment by thread count, to compare with
+ * {@link AnalyseBenchmark#assessManagerSalary}.
+ */
+@State(Scope.Benchmark)
+public class ParallelSalaryAssessmentBenchmark {
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    @Benchmark
+    public List<ManagerRelativeSalaryAssessment> assessManagerSalary(OrganisationState organisation) {
+        return SalaryAnalyser.assessManagerSalary(
+                organisation.employees,
+                AnalyseBenchmark.MIN_RELATIVE_SALARY_PERCENTAGE,
+                AnalyseBenchmark.MAX_RELATIVE_SALARY_PERCENTAGE,
+                parallelism
+        );
+    }
+}
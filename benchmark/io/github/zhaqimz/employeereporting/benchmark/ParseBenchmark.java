@@ -0,0 +1,48 @@
+package io.github.zhaqimz.employeereporting.benchmark;
+
+import io.github.zhaqimz.employeereporting.registry.CsvParseMode;
+import io.github.zhaqimz.employeereporting.registry.EmployeeCsvParser;
+import io.github.zhaqimz.employeereporting.registry.ParsedEmployeesResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Parsing of an employee registry CSV file in each {@link CsvParseMode}.
+ */
+@State(Scope.Benchmark)
+public class ParseBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int orgSize;
+
+    @Param({"FLAT", "DEEP_CHAIN", "BALANCED_TREE"})
+    public OrganisationShape shape;
+
+    @Param({"BUFFERED_READER", "MEMORY_MAPPED", "PARALLEL_MEMORY_MAPPED"})
+    public CsvParseMode parseMode;
+
+    private Path registryFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        registryFile = Organisations.writeCsv(orgSize, shape);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(registryFile);
+    }
+
+    @Benchmark
+    public ParsedEmployeesResult parse() throws IOException {
+        return EmployeeCsvParser.parse(registryFile, true, parseMode);
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.zhaqimz.employeereporting.benchmark;
+
+import io.github.zhaqimz.employeereporting.model.ManagerRelativeSalaryAssessment;
+import io.github.zhaqimz.employeereporting.model.ReportingLineDepthBreach;
+import io.github.zhaqimz.employeereporting.model.SalaryMarginStatus;
+import io.github.zhaqimz.employeereporting.reports.ReportingLineAnalyser;
+import io.github.zhaqimz.employeereporting.reports.SalaryAnalyser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Rendering of the salary margin and reporting line depth reports from precomputed analysis results.
+ */
+@State(Scope.Benchmark)
+public class RenderBenchmark {
+    private List<ManagerRelativeSalaryAssessment> salaryAssessments;
+    private List<ReportingLineDepthBreach> reportingLineBreaches;
+
+    @Setup(Level.Trial)
+    public void setUp(OrganisationState organisation) {
+        salaryAssessments = SalaryAnalyser.assessManagerSalary(
+                organisation.employees,
+                AnalyseBenchmark.MIN_RELATIVE_SALARY_PERCENTAGE,
+                AnalyseBenchmark.MAX_RELATIVE_SALARY_PERCENTAGE
+        );
+        reportingLineBreaches = ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(
+                organisation.employees,
+                AnalyseBenchmark.DEPTH_TO_COMPARE
+        );
+    }
+
+    @Benchmark
+    public String generateSalaryMarginStatusReport() {
+        return SalaryAnalyser.generateSalaryMarginStatusReport(salaryAssessments, SalaryMarginStatus.UNDERPAID);
+    }
+
+    @Benchmark
+    public String generateReportingLineDepthBreachReport() {
+        return ReportingLineAnalyser.generateReportingLineDepthBreachReport(reportingLineBreaches);
+    }
+
+    @Benchmark
+    public void writeSalaryMarginStatusReport(Blackhole blackhole) throws IOException {
+        SalaryAnalyser.writeSalaryMarginStatusReport(salaryAssessments, SalaryMarginStatus.UNDERPAID, new BlackholeWriter(blackhole));
+    }
+
+    @Benchmark
+    public void writeReportingLineDepthBreachReport(Blackhole blackhole) throws IOException {
+        ReportingLineAnalyser.writeReportingLineDepthBreachReport(reportingLineBreaches, new BlackholeWriter(blackhole));
+    }
+
+    /**
+     * Consumes streamed report output without storing it, so only rendering is measured.
+     */
+    private static final class BlackholeWriter extends Writer {
+        private final Blackhole blackhole;
+
+        private BlackholeWriter(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            blackhole.consume(buffer);
+            blackhole.consume(length);
+        }
+
+        @Override
+        public void write(String text) {
+            blackhole.consume(text);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.zhaqimz.employeereporting.benchmark;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.model.EmployeeTable;
+import io.github.zhaqimz.employeereporting.model.ReportingLineDepthBreach;
+import io.github.zhaqimz.employeereporting.reports.ReportingLineAnalyser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Reporting line depth analysis of a single reporting chain, where every employee but the last manages the next.
+ * Depths are resolved in linear time, so throughput should scale with the chain length only.
+ */
+@State(Scope.Benchmark)
+public class ReportingLineChainBenchmark {
+    @Param({"1000000"})
+    public int chainLength;
+
+    private List<Employee> employees;
+    private EmployeeTable table;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = Organisations.chain(chainLength);
+        table = EmployeeTable.from(employees);
+    }
+
+    @Benchmark
+    public List<ReportingLineDepthBreach> findEmployeesBreachingReportingLineDepth() {
+        return ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(employees, AnalyseBenchmark.DEPTH_TO_COMPARE);
+    }
+
+    @Benchmark
+    public List<ReportingLineDepthBreach> findEmployeesBreachingReportingLineDepthOverTable() {
+        return ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(table, AnalyseBenchmark.DEPTH_TO_COMPARE);
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.zhaqimz.employeereporting.benchmark;
+
+import io.github.zhaqimz.employeereporting.registry.EmployeeRegistryValidator;
+import io.github.zhaqimz.employeereporting.registry.ValidationError;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.List;
+
+/**
+ * Validation of a valid employee registry, so that every rule runs to completion.
+ */
+public class ValidateBenchmark {
+
+    @Benchmark
+    public List<ValidationError> validateEmployees(OrganisationState organisation) {
+        return EmployeeRegistryValidator.validateEmployees(organisation.employees, Integer.MAX_VALUE);
+    }
+}
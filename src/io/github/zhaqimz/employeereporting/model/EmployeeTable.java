@@ -0,0 +1,443 @@
+package io.github.zhaqimz.employeereporting.model;
+
+import io.github.zhaqimz.employeereporting.utility.IntIndexMap;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Columnar, primitive-backed store of an organisation's employees.
+ * <p>
+ * Each employee is a row index into parallel arrays: {@code int} IDs and manager IDs, the manager's row index
+ * resolved once at build time, salaries as {@code long} minor units at a table-wide scale, and references into
+ * a pool of interned names. Compared to a {@code List<Employee>} this avoids a boxed record, two
+ * {@link Integer}s, a {@link BigDecimal} and two name {@link String}s per employee, and lets analysers
+ * walk reporting lines by index instead of hashing IDs.
+ *
+ * <p>Salaries are held with at least 2 decimal places (the scale grows to fit any more precise salary added),
+ * alongside the scale each salary was added with, so {@link #salary(int)} and {@link #employee(int)} return
+ * salaries equal to the added values, scale included. Valid salaries with very many decimal places, e.g.
+ * {@code 45000.0000000000000001}, do not fit a {@code long} at a common scale; {@link #tryFrom(List)} reports
+ * such organisations so callers can analyse the {@code List<Employee>} instead.
+ */
+public final class EmployeeTable {
+    /** Manager ID and manager index of a top-level manager. */
+    public static final int NO_MANAGER = -1;
+    /** Manager index of an employee whose manager ID does not match any employee in the table. */
+    public static final int UNRESOLVED_MANAGER = -2;
+
+    private final int size;
+    private final int[] ids;
+    private final int[] managerIds;
+    private final int[] managerIndices;
+    private final long[] salaryMinorUnits;
+    private final int salaryScale;
+    private final byte[] salaryScales;
+    private final int[] firstNameRefs;
+    private final int[] lastNameRefs;
+    private final String[] names;
+    private final IntIndexMap indexById;
+
+    private EmployeeTable(int size, int[] ids, int[] managerIds, int[] managerIndices, long[] salaryMinorUnits,
+                          int salaryScale, byte[] salaryScales, int[] firstNameRefs, int[] lastNameRefs, String[] names, IntIndexMap indexById) {
+        this.size = size;
+        this.ids = ids;
+        this.managerIds = managerIds;
+        this.managerIndices = managerIndices;
+        this.salaryMinorUnits = salaryMinorUnits;
+        this.salaryScale = salaryScale;
+        this.salaryScales = salaryScales;
+        this.firstNameRefs = firstNameRefs;
+        this.lastNameRefs = lastNameRefs;
+        this.names = names;
+        this.indexById = indexById;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builds a table from a list of fully populated employees, preserving their order.
+     *
+     * @param employees the employees to store; each must have an ID, names and a salary
+     * @return          the table
+     * @throws ArithmeticException if the salaries cannot be held in {@code long} minor units at a common scale
+     */
+    public static EmployeeTable from(List<Employee> employees) {
+        Builder builder = new Builder(employees.size());
+        for (Employee employee : employees) {
+            builder.add(employee);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Builds a table from a list of fully populated employees, preserving their order, if their salaries can be
+     * held in {@code long} minor units at a common scale.
+     *
+     * @param employees the employees to store; each must have an ID, names and a salary
+     * @return          the table, or empty if a salary is too precise or too large for the table
+     */
+    public static Optional<EmployeeTable> tryFrom(List<Employee> employees) {
+        try {
+            return Optional.of(from(employees));
+        } catch (ArithmeticException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Builds a table directly from its columns, e.g. as read back from a snapshot, resolving manager indices.
+     * The arrays are taken over by the table and must not be modified afterwards.
+     *
+     * @param ids              the employee IDs; each must be {@code >= 0}
+     * @param managerIds       the manager IDs, or {@link #NO_MANAGER} for top-level managers
+     * @param salaryMinorUnits the salaries in minor units at {@code salaryScale}
+     * @param salaryScale      the number of decimal places of the salaries
+     * @param salaryScales     the scale every salary was added with, at most {@code salaryScale}
+     * @param firstNameRefs    the index into {@code names} of every first name
+     * @param lastNameRefs     the index into {@code names} of every last name
+     * @param names            the pool of distinct names
+     * @throws IllegalArgumentException if the columns differ in length or hold an invalid ID, salary scale or
+     *                                  name reference
+     */
+    public static EmployeeTable fromColumns(int[] ids, int[] managerIds, long[] salaryMinorUnits, int salaryScale,
+                                            byte[] salaryScales, int[] firstNameRefs, int[] lastNameRefs, String[] names) {
+        int size = ids.length;
+        if (managerIds.length != size || salaryMinorUnits.length != size || salaryScales.length != size
+                || firstNameRefs.length != size || lastNameRefs.length != size) {
+            throw new IllegalArgumentException("Employee table columns must all have the same length");
+        }
+        for (int i = 0; i < size; i++) {
+            if (ids[i] < 0 || managerIds[i] < NO_MANAGER) {
+                throw new IllegalArgumentException(String.format("Invalid employee id [%d] or manager id [%d]", ids[i], managerIds[i]));
+            }
+            if (salaryScales[i] > salaryScale) {
+                throw new IllegalArgumentException("Invalid salary scale for employee id " + ids[i]);
+            }
+            if (firstNameRefs[i] < 0 || firstNameRefs[i] >= names.length || lastNameRefs[i] < 0 || lastNameRefs[i] >= names.length) {
+                throw new IllegalArgumentException("Invalid name reference for employee id " + ids[i]);
+            }
+        }
+        IntIndexMap indexById = indexById(ids, size);
+        return new EmployeeTable(size, ids, managerIds, managerIndices(managerIds, size, indexById), salaryMinorUnits,
+                salaryScale, salaryScales, firstNameRefs, lastNameRefs, names, indexById);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int id(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Returns the manager ID of the employee at the index, or {@link #NO_MANAGER} for a top-level manager.
+     */
+    public int managerId(int index) {
+        return managerIds[index];
+    }
+
+    public boolean hasManager(int index) {
+        return managerIds[index] != NO_MANAGER;
+    }
+
+    /**
+     * Returns the row index of the employee's manager, {@link #NO_MANAGER} for a top-level manager, or
+     * {@link #UNRESOLVED_MANAGER} if the manager ID is not in the table. If a manager ID is duplicated,
+     * the first row with that ID is the manager.
+     */
+    public int managerIndex(int index) {
+        return managerIndices[index];
+    }
+
+    /**
+     * Returns the row index of the first employee with the given ID, or {@code -1} if there is none.
+     */
+    public int indexOf(int id) {
+        return indexById.get(id);
+    }
+
+    public long salaryMinorUnits(int index) {
+        return salaryMinorUnits[index];
+    }
+
+    /**
+     * Returns the number of decimal places represented by {@link #salaryMinorUnits(int)}.
+     */
+    public int salaryScale() {
+        return salaryScale;
+    }
+
+    /**
+     * Returns the number of decimal places the salary at the index was added with, which may be fewer than
+     * {@link #salaryScale()}.
+     */
+    public int salaryScale(int index) {
+        return salaryScales[index];
+    }
+
+    /**
+     * Returns the salary at the index with the scale it was added with.
+     */
+    public BigDecimal salary(int index) {
+        BigDecimal salary = BigDecimal.valueOf(salaryMinorUnits[index], salaryScale);
+        return salaryScales[index] == salaryScale ? salary : salary.setScale(salaryScales[index]);
+    }
+
+    public String firstName(int index) {
+        return names[firstNameRefs[index]];
+    }
+
+    public String lastName(int index) {
+        return names[lastNameRefs[index]];
+    }
+
+    /**
+     * Returns the index of the employee's first name in the name pool, see {@link #name(int)}.
+     */
+    public int firstNameRef(int index) {
+        return firstNameRefs[index];
+    }
+
+    /**
+     * Returns the index of the employee's last name in the name pool, see {@link #name(int)}.
+     */
+    public int lastNameRef(int index) {
+        return lastNameRefs[index];
+    }
+
+    /**
+     * Returns the number of distinct names in the table's name pool.
+     */
+    public int nameCount() {
+        return names.length;
+    }
+
+    public String name(int ref) {
+        return names[ref];
+    }
+
+    /**
+     * Materialises the employee at the index as an {@link Employee} record.
+     */
+    public Employee employee(int index) {
+        return new Employee(
+                ids[index],
+                firstName(index),
+                lastName(index),
+                salary(index),
+                hasManager(index) ? managerIds[index] : null
+        );
+    }
+
+    public List<Employee> toEmployees() {
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(employee(i));
+        }
+        return employees;
+    }
+
+    private static IntIndexMap indexById(int[] ids, int size) {
+        IntIndexMap indexById = new IntIndexMap(size);
+        for (int i = 0; i < size; i++) {
+            indexById.putIfAbsent(ids[i], i);
+        }
+        return indexById;
+    }
+
+    private static int[] managerIndices(int[] managerIds, int size, IntIndexMap indexById) {
+        int[] managerIndices = new int[size];
+        for (int i = 0; i < size; i++) {
+            if (managerIds[i] == NO_MANAGER) {
+                managerIndices[i] = NO_MANAGER;
+            } else {
+                int managerIndex = indexById.get(managerIds[i]);
+                managerIndices[i] = managerIndex == IntIndexMap.NO_VALUE ? UNRESOLVED_MANAGER : managerIndex;
+            }
+        }
+        return managerIndices;
+    }
+
+    /**
+     * Accumulates employee rows and resolves manager indices when the table is built.
+     */
+    public static final class Builder {
+        private static final int DEFAULT_SCALE = 2;
+
+        private int size;
+        private int[] ids;
+        private int[] managerIds;
+        private long[] salaryMinorUnits;
+        private int salaryScale = DEFAULT_SCALE;
+        private byte[] salaryScales;
+        private int[] firstNameRefs;
+        private int[] lastNameRefs;
+        private final List<String> names = new ArrayList<>();
+        private final Map<String, Integer> nameRefs = new HashMap<>();
+
+        private Builder() {
+            this(16);
+        }
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(16, expectedSize);
+            ids = new int[capacity];
+            managerIds = new int[capacity];
+            salaryMinorUnits = new long[capacity];
+            salaryScales = new byte[capacity];
+            firstNameRefs = new int[capacity];
+            lastNameRefs = new int[capacity];
+        }
+
+        /**
+         * Adds a fully populated employee.
+         *
+         * @throws IllegalArgumentException if the ID, a name or the salary is missing
+         */
+        public Builder add(Employee employee) {
+            if (employee.id() == null || employee.firstName() == null || employee.lastName() == null || employee.salary() == null) {
+                throw new IllegalArgumentException("Employee table rows require an id, names and a salary: " + employee);
+            }
+            return add(
+                    employee.id(),
+                    employee.firstName(),
+                    employee.lastName(),
+                    employee.salary(),
+                    employee.managerId() != null ? employee.managerId() : NO_MANAGER
+            );
+        }
+
+        /**
+         * Adds an employee row.
+         *
+         * @param id        the employee ID; must be {@code >= 0}
+         * @param firstName the first name
+         * @param lastName  the last name
+         * @param salary    the salary; must fit a {@code long} in minor units
+         * @param managerId the manager ID ({@code >= 0}), or {@link #NO_MANAGER} for a top-level manager
+         * @throws ArithmeticException if the salary, or a salary already added once rescaled to its scale, cannot
+         *                             be held exactly in {@code long} minor units; the builder is left unchanged
+         */
+        public Builder add(int id, String firstName, String lastName, BigDecimal salary, int managerId) {
+            checkIds(id, managerId);
+            int scale = Math.max(salaryScale, salary.scale());
+            return append(id, firstName, lastName, salary.setScale(scale).unscaledValue().longValueExact(), scale,
+                    salary.scale(), managerId);
+        }
+
+        /**
+         * Adds an employee row whose salary is given as an unscaled value and scale, as in
+         * {@link BigDecimal#valueOf(long, int)}, without creating a {@link BigDecimal}.
+         *
+         * @param id             the employee ID; must be {@code >= 0}
+         * @param firstName      the first name
+         * @param lastName       the last name
+         * @param unscaledSalary the unscaled salary
+         * @param salaryScale    the number of decimal places of {@code unscaledSalary}
+         * @param managerId      the manager ID ({@code >= 0}), or {@link #NO_MANAGER} for a top-level manager
+         * @throws ArithmeticException if the salary, or a salary already added once rescaled to its scale, cannot
+         *                             be held exactly in {@code long} minor units; the builder is left unchanged
+         */
+        public Builder add(int id, String firstName, String lastName, long unscaledSalary, int salaryScale, int managerId) {
+            checkIds(id, managerId);
+            int scale = Math.max(this.salaryScale, salaryScale);
+            return append(id, firstName, lastName, multiplyByPowerOfTen(unscaledSalary, scale - salaryScale), scale,
+                    salaryScale, managerId);
+        }
+
+        private Builder append(int id, String firstName, String lastName, long minorUnits, int scale,
+                               int originalScale, int managerId) {
+            if (originalScale < Byte.MIN_VALUE || originalScale > Byte.MAX_VALUE) {
+                throw new ArithmeticException("Salary scale " + originalScale + " is out of range");
+            }
+            if (scale > salaryScale) {
+                rescaleSalaries(scale);
+            }
+            ensureCapacity(size + 1);
+            ids[size] = id;
+            managerIds[size] = managerId;
+            salaryMinorUnits[size] = minorUnits;
+            salaryScales[size] = (byte) originalScale;
+            firstNameRefs[size] = intern(firstName);
+            lastNameRefs[size] = intern(lastName);
+            size++;
+            return this;
+        }
+
+        public EmployeeTable build() {
+            IntIndexMap indexById = indexById(ids, size);
+            return new EmployeeTable(
+                    size,
+                    Arrays.copyOf(ids, size),
+                    Arrays.copyOf(managerIds, size),
+                    managerIndices(managerIds, size, indexById),
+                    Arrays.copyOf(salaryMinorUnits, size),
+                    salaryScale,
+                    Arrays.copyOf(salaryScales, size),
+                    Arrays.copyOf(firstNameRefs, size),
+                    Arrays.copyOf(lastNameRefs, size),
+                    names.toArray(String[]::new),
+                    indexById
+            );
+        }
+
+        private static void checkIds(int id, int managerId) {
+            if (id < 0 || managerId < NO_MANAGER) {
+                throw new IllegalArgumentException(String.format("Invalid employee id [%d] or manager id [%d]", id, managerId));
+            }
+        }
+
+        private static long multiplyByPowerOfTen(long value, int exponent) {
+            long result = value;
+            for (int i = 0; i < exponent && result != 0; i++) {
+                result = Math.multiplyExact(result, 10L);
+            }
+            return result;
+        }
+
+        private int intern(String name) {
+            Integer ref = nameRefs.get(name);
+            if (ref == null) {
+                ref = names.size();
+                names.add(name);
+                nameRefs.put(name, ref);
+            }
+            return ref;
+        }
+
+        /**
+         * Rescales the salaries added so far, replacing them only once all of them fit the new scale.
+         */
+        private void rescaleSalaries(int newScale) {
+            long factor = BigDecimal.TEN.pow(newScale - salaryScale).longValueExact();
+            long[] rescaled = new long[salaryMinorUnits.length];
+            for (int i = 0; i < size; i++) {
+                rescaled[i] = Math.multiplyExact(salaryMinorUnits[i], factor);
+            }
+            salaryMinorUnits = rescaled;
+            salaryScale = newScale;
+        }
+
+        private void ensureCapacity(int required) {
+            if (required <= ids.length) {
+                return;
+            }
+            int capacity = Math.max(required, ids.length + (ids.length >> 1));
+            ids = Arrays.copyOf(ids, capacity);
+            managerIds = Arrays.copyOf(managerIds, capacity);
+            salaryMinorUnits = Arrays.copyOf(salaryMinorUnits, capacity);
+            salaryScales = Arrays.copyOf(salaryScales, capacity);
+            firstNameRefs = Arrays.copyOf(firstNameRefs, capacity);
+            lastNameRefs = Arrays.copyOf(lastNameRefs, capacity);
+        }
+    }
+}
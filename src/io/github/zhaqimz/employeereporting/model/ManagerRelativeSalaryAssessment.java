@@ -5,26 +5,45 @@ import java.util.Optional;
 
 /**
  * Represents the result of a salary assessment for a manager
- * in relation to their direct subordinates' average salary.
+ * in relation to their subordinates' average salary.
  * <p>
  * This record captures the manager under review, the average salary
- * of their direct subordinates, and the expected minimum and maximum
+ * of their subordinates, and the expected minimum and maximum
  * relative salary percentage boundaries. It also includes the outcome
- * of the salary evaluation.
+ * of the salary evaluation and which subordinates were averaged: the direct
+ * subordinates, unless the manager was assessed against their whole subtree.
  *
  * <p>Typical use case: identifying managers who are underpaid or overpaid
  * in comparison to their team.
  *
  * @param manager                         The manager being assessed.
- * @param directSubordinatesAvgSalary     The average salary of the manager's direct subordinates.
+ * @param subordinatesAvgSalary           The average salary of the manager's subordinates on the assessment basis;
+ *                                        direct subordinates unless the basis is {@link SalaryAssessmentBasis#WHOLE_SUBTREE}.
  * @param minRelativeSalaryPercentage     The minimum expected relative salary as a percentage (optional).
  * @param maxRelativeSalaryPercentage     The maximum expected relative salary as a percentage (optional).
  * @param assessment                      The result of the salary assessment (e.g., UNDERPAID, FAIR, OVERPAID).
+ * @param basis                           The subordinates the average salary was taken over.
  */
 public record ManagerRelativeSalaryAssessment(
         Employee manager,
-        BigDecimal directSubordinatesAvgSalary,
+        BigDecimal subordinatesAvgSalary,
         Optional<BigDecimal> minRelativeSalaryPercentage,
         Optional<BigDecimal> maxRelativeSalaryPercentage,
-        SalaryAssessment assessment
-) {}
\ No newline at end of file
+        SalaryAssessment assessment,
+        SalaryAssessmentBasis basis
+) {
+
+    /**
+     * Creates an assessment against the average salary of the manager's direct subordinates.
+     */
+    public ManagerRelativeSalaryAssessment(
+            Employee manager,
+            BigDecimal subordinatesAvgSalary,
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage,
+            SalaryAssessment assessment
+    ) {
+        this(manager, subordinatesAvgSalary, minRelativeSalaryPercentage, maxRelativeSalaryPercentage, assessment,
+                SalaryAssessmentBasis.DIRECT_SUBORDINATES);
+    }
+}
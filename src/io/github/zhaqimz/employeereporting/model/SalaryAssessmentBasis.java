@@ -0,0 +1,11 @@
+package io.github.zhaqimz.employeereporting.model;
+
+/**
+ * The subordinates whose average salary a manager is assessed against.
+ */
+public enum SalaryAssessmentBasis {
+    /** The employees reporting directly to the manager. */
+    DIRECT_SUBORDINATES,
+    /** Everyone under the manager, directly or indirectly. */
+    WHOLE_SUBTREE
+}
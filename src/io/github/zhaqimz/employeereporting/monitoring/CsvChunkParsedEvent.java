@@ -0,0 +1,34 @@
+package io.github.zhaqimz.employeereporting.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a byte range of an employee registry CSV file having been parsed: a memory-mapped region,
+ * a chunk of the parallel parser, or the whole file when it is read line by line.
+ */
+@Name("io.github.zhaqimz.employeereporting.CsvChunkParsed")
+@Label("CSV Chunk Parsed")
+@Category({"Employee Reporting", "Parsing"})
+@Description("A byte range of an employee registry CSV file was parsed")
+@StackTrace(false)
+public final class CsvChunkParsedEvent extends jdk.jfr.Event {
+    @Label("Start Offset")
+    @Description("Offset of the first byte of the range")
+    public long startOffset;
+
+    @Label("End Offset")
+    @Description("Offset after the last byte of the range")
+    public long endOffset;
+
+    @Label("Rows")
+    @Description("Data rows parsed, excluding any header row")
+    public long rows;
+
+    @Label("Errors")
+    @Description("Validation errors found on the rows")
+    public long errors;
+}
@@ -0,0 +1,31 @@
+package io.github.zhaqimz.employeereporting.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a batch of managers having been assessed against the average salary of their subordinates, either
+ * their direct subordinates or everyone under them as recorded in {@link #basis}.
+ */
+@Name("io.github.zhaqimz.employeereporting.ManagerBatchAssessed")
+@Label("Manager Batch Assessed")
+@Category({"Employee Reporting", "Salary Assessment"})
+@Description("A batch of manager salaries was assessed")
+@StackTrace(false)
+public final class ManagerBatchAssessedEvent extends jdk.jfr.Event {
+    @Label("Managers")
+    public int managers;
+
+    @Label("Underpaid")
+    public int underpaid;
+
+    @Label("Overpaid")
+    public int overpaid;
+
+    @Label("Basis")
+    @Description("The subordinates the managers were compared with: direct_subordinates or whole_subtree")
+    public String basis;
+}
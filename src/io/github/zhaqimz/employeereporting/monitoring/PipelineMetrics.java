@@ -0,0 +1,257 @@
+package io.github.zhaqimz.employeereporting.monitoring;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Process-wide timings and counters of the reporting pipeline stages.
+ * <p>
+ * Each stage run is measured with a {@link StageTimer}, opened by {@link #start(PipelineStage)} in a
+ * try-with-resources block around the stage, which records the wall time, the bytes allocated by the
+ * current thread and the rows, bytes and errors reported by the stage. Statistics accumulate per stage
+ * until {@link #reset()}, and are available as a {@link PipelineSummary} and, once {@link #registerMBeans()}
+ * has been called, as one {@link PipelineStageMXBean} per stage.
+ * <p>
+ * Allocations are only measured on the thread that runs the stage; work handed to other threads, e.g. by
+ * the parallel parser or salary assessment, is timed but its allocations are not counted.
+ */
+public final class PipelineMetrics {
+    private static final Logger logger = Logger.getLogger(PipelineMetrics.class.getName());
+    private static final String MBEAN_DOMAIN = "io.github.zhaqimz.employeereporting";
+
+    private static final StageStatistics[] statistics = new StageStatistics[PipelineStage.values().length];
+    private static final com.sun.management.ThreadMXBean allocationCounter = allocationCounter();
+    private static boolean mbeansRegistered;
+
+    static {
+        for (PipelineStage stage : PipelineStage.values()) {
+            statistics[stage.ordinal()] = new StageStatistics();
+        }
+    }
+
+    private PipelineMetrics() {
+    }
+
+    /**
+     * Starts measuring a run of the stage; the run is recorded when the returned timer is closed.
+     */
+    public static StageTimer start(PipelineStage stage) {
+        return new StageTimer(stage, statistics[stage.ordinal()]);
+    }
+
+    /**
+     * Returns the statistics of every stage that has run since the last {@link #reset()}.
+     */
+    public static PipelineSummary summary() {
+        List<PipelineSummary.StageSummary> stages = new ArrayList<>();
+        for (PipelineStage stage : PipelineStage.values()) {
+            PipelineSummary.StageSummary summary = statistics[stage.ordinal()].summary(stage);
+            if (summary.runs() > 0) {
+                stages.add(summary);
+            }
+        }
+        return new PipelineSummary(stages);
+    }
+
+    /**
+     * Clears the statistics of every stage.
+     */
+    public static void reset() {
+        for (StageStatistics stage : statistics) {
+            stage.reset();
+        }
+    }
+
+    /**
+     * Registers a {@link PipelineStageMXBean} per stage with the platform MBean server; further calls do nothing.
+     */
+    public static synchronized void registerMBeans() {
+        if (mbeansRegistered) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (PipelineStage stage : PipelineStage.values()) {
+            try {
+                server.registerMBean(statistics[stage.ordinal()], objectName(stage));
+            } catch (InstanceAlreadyExistsException e) {
+                // Registered by another class loader
+            } catch (JMException e) {
+                logger.warning("Pipeline stage MBean could not be registered for " + stage + ": " + e);
+            }
+        }
+        mbeansRegistered = true;
+    }
+
+    /**
+     * Returns the name the stage's {@link PipelineStageMXBean} is registered under.
+     */
+    public static ObjectName objectName(PipelineStage stage) throws JMException {
+        return new ObjectName(MBEAN_DOMAIN + ":type=PipelineStage,name=" + stage);
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean counter && counter.isThreadAllocatedMemorySupported()) {
+            return counter;
+        }
+        logger.info("Thread allocation counters are not supported; allocated bytes are not measured");
+        return null;
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        return allocationCounter == null ? -1 : allocationCounter.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Measures one run of a stage. Counts are added while the stage runs and the run is recorded on
+     * {@link #close()}. A timer is used by a single thread.
+     * <p>
+     * The run of a validation rule stage is also committed as a {@link ValidationRuleExecutedEvent} when
+     * a flight recording is enabled for it.
+     */
+    public static final class StageTimer implements AutoCloseable {
+        private final PipelineStage stage;
+        private final StageStatistics statistics;
+        private final ValidationRuleExecutedEvent ruleEvent;
+        private final long startNanos = System.nanoTime();
+        private final long startAllocatedBytes = currentThreadAllocatedBytes();
+        private long rows;
+        private long bytes;
+        private long errors;
+        private boolean closed;
+
+        private StageTimer(PipelineStage stage, StageStatistics statistics) {
+            this.stage = stage;
+            this.statistics = statistics;
+            if (stage.isValidationRule()) {
+                ruleEvent = new ValidationRuleExecutedEvent();
+                ruleEvent.begin();
+            } else {
+                ruleEvent = null;
+            }
+        }
+
+        public StageTimer rows(long count) {
+            rows += count;
+            return this;
+        }
+
+        public StageTimer bytes(long count) {
+            bytes += count;
+            return this;
+        }
+
+        public StageTimer errors(long count) {
+            errors += count;
+            return this;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            long wallNanos = System.nanoTime() - startNanos;
+            long endAllocatedBytes = currentThreadAllocatedBytes();
+            long allocatedBytes = startAllocatedBytes < 0 || endAllocatedBytes < 0 ? 0 : endAllocatedBytes - startAllocatedBytes;
+            statistics.record(wallNanos, rows, bytes, errors, allocatedBytes);
+            if (ruleEvent != null && ruleEvent.shouldCommit()) {
+                ruleEvent.rule = stage.name();
+                ruleEvent.rows = rows;
+                ruleEvent.errors = errors;
+                ruleEvent.commit();
+            }
+        }
+    }
+
+    /**
+     * Cumulative statistics of one stage, updated by stage runs on any thread.
+     */
+    private static final class StageStatistics implements PipelineStageMXBean {
+        private long runs;
+        private long wallNanos;
+        private long lastWallNanos;
+        private long rows;
+        private long bytes;
+        private long errors;
+        private long allocatedBytes;
+
+        synchronized void record(long wallNanos, long rows, long bytes, long errors, long allocatedBytes) {
+            this.runs++;
+            this.wallNanos += wallNanos;
+            this.lastWallNanos = wallNanos;
+            this.rows += rows;
+            this.bytes += bytes;
+            this.errors += errors;
+            this.allocatedBytes += allocatedBytes;
+        }
+
+        synchronized PipelineSummary.StageSummary summary(PipelineStage stage) {
+            return new PipelineSummary.StageSummary(stage, runs, wallNanos, rows, bytes, errors, allocatedBytes);
+        }
+
+        @Override
+        public synchronized long getRuns() {
+            return runs;
+        }
+
+        @Override
+        public synchronized long getWallMillis() {
+            return wallNanos / 1_000_000;
+        }
+
+        @Override
+        public synchronized long getLastWallMillis() {
+            return lastWallNanos / 1_000_000;
+        }
+
+        @Override
+        public synchronized long getRows() {
+            return rows;
+        }
+
+        @Override
+        public synchronized long getBytes() {
+            return bytes;
+        }
+
+        @Override
+        public synchronized long getErrors() {
+            return errors;
+        }
+
+        @Override
+        public synchronized long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        @Override
+        public synchronized double getRowsPerSecond() {
+            return wallNanos == 0 ? 0 : rows * 1e9 / wallNanos;
+        }
+
+        @Override
+        public synchronized double getBytesPerSecond() {
+            return wallNanos == 0 ? 0 : bytes * 1e9 / wallNanos;
+        }
+
+        @Override
+        public synchronized void reset() {
+            runs = 0;
+            wallNanos = 0;
+            lastWallNanos = 0;
+            rows = 0;
+            bytes = 0;
+            errors = 0;
+            allocatedBytes = 0;
+        }
+    }
+}
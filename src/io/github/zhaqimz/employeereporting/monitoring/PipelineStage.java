@@ -0,0 +1,42 @@
+package io.github.zhaqimz.employeereporting.monitoring;
+
+/**
+ * The stages of the reporting pipeline measured by {@link PipelineMetrics}, in pipeline order.
+ */
+public enum PipelineStage {
+    /** Parsing the employee registry CSV file; bytes are the file size. */
+    PARSE,
+    /** Reading the employee registry snapshot; bytes are the snapshot file size. */
+    SNAPSHOT_LOAD,
+    /** Indexing employee and manager IDs for validation. */
+    VALIDATION_INDEX,
+    /** The maximum permitted employees rule. */
+    VALIDATION_MAXIMUM_EMPLOYEES,
+    /** The duplicate employee IDs rule. */
+    VALIDATION_DUPLICATE_EMPLOYEE_IDS,
+    /** The unknown manager IDs rule. */
+    VALIDATION_MANAGER_IDS,
+    /** The single top-level manager rule. */
+    VALIDATION_TOP_LEVEL_MANAGERS,
+    /** The reporting line cycles rule. */
+    VALIDATION_REPORTING_LINE_CYCLES,
+    /** Building the organisation index of reporting lines, subtrees and ancestors. */
+    ORGANISATION_INDEX,
+    /** Manager salary assessment. */
+    SALARY_ASSESSMENT,
+    /** Reporting line depth analysis. */
+    DEPTH_ANALYSIS,
+    /** Rendering reports; rows are report rows and bytes are the characters written. */
+    RENDERING;
+
+    /**
+     * Returns whether the stage checks one of the registry validation rules.
+     */
+    public boolean isValidationRule() {
+        return switch (this) {
+            case VALIDATION_MAXIMUM_EMPLOYEES, VALIDATION_DUPLICATE_EMPLOYEE_IDS, VALIDATION_MANAGER_IDS,
+                 VALIDATION_TOP_LEVEL_MANAGERS, VALIDATION_REPORTING_LINE_CYCLES -> true;
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.zhaqimz.employeereporting.monitoring;
+
+/**
+ * JMX view of the cumulative statistics of one {@link PipelineStage}, registered by
+ * {@link PipelineMetrics#registerMBeans()} as
+ * {@code io.github.zhaqimz.employeereporting:type=PipelineStage,name=<STAGE>}.
+ */
+public interface PipelineStageMXBean {
+
+    long getRuns();
+
+    long getWallMillis();
+
+    long getLastWallMillis();
+
+    long getRows();
+
+    long getBytes();
+
+    long getErrors();
+
+    long getAllocatedBytes();
+
+    double getRowsPerSecond();
+
+    double getBytesPerSecond();
+
+    /**
+     * Clears the stage's statistics.
+     */
+    void reset();
+}
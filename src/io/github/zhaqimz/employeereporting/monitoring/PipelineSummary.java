@@ -0,0 +1,104 @@
+package io.github.zhaqimz.employeereporting.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Statistics of the pipeline stages that have run, in pipeline order, as returned by {@link PipelineMetrics#summary()}.
+ *
+ * @param stages The statistics of each stage that has run at least once.
+ */
+public record PipelineSummary(List<StageSummary> stages) {
+
+    public PipelineSummary {
+        stages = List.copyOf(stages);
+    }
+
+    /**
+     * Returns the statistics of the stage, if it has run.
+     */
+    public Optional<StageSummary> stage(PipelineStage stage) {
+        return stages.stream().filter(s -> s.stage() == stage).findFirst();
+    }
+
+    /**
+     * Returns the statistics accumulated since the {@code earlier} summary was taken, e.g. those of a single
+     * run of a long-running service. Stages that have not run since are left out.
+     */
+    public PipelineSummary since(PipelineSummary earlier) {
+        List<StageSummary> delta = new ArrayList<>();
+        for (StageSummary current : stages) {
+            StageSummary previous = earlier.stage(current.stage()).orElse(null);
+            StageSummary difference = previous == null ? current : new StageSummary(
+                    current.stage(),
+                    current.runs() - previous.runs(),
+                    current.wallNanos() - previous.wallNanos(),
+                    current.rows() - previous.rows(),
+                    current.bytes() - previous.bytes(),
+                    current.errors() - previous.errors(),
+                    current.allocatedBytes() - previous.allocatedBytes()
+            );
+            if (difference.runs() > 0) {
+                delta.add(difference);
+            }
+        }
+        return new PipelineSummary(delta);
+    }
+
+    /**
+     * Formats the summary as one {@code key=value} line per stage, e.g. for logging.
+     */
+    public String format() {
+        StringBuilder text = new StringBuilder("Pipeline summary:");
+        for (StageSummary stage : stages) {
+            text.append(System.lineSeparator()).append(stage.format());
+        }
+        return text.toString();
+    }
+
+    /**
+     * Cumulative statistics of one stage.
+     *
+     * @param stage           The stage.
+     * @param runs            The number of times the stage ran.
+     * @param wallNanos       The total wall time of the runs.
+     * @param rows            The total rows processed.
+     * @param bytes           The total bytes processed.
+     * @param errors          The total validation errors found.
+     * @param allocatedBytes  The total bytes allocated by the threads that ran the stage, excluding any worker threads they used.
+     */
+    public record StageSummary(
+            PipelineStage stage,
+            long runs,
+            long wallNanos,
+            long rows,
+            long bytes,
+            long errors,
+            long allocatedBytes
+    ) {
+
+        public double wallMillis() {
+            return wallNanos / 1e6;
+        }
+
+        public double rowsPerSecond() {
+            return perSecond(rows);
+        }
+
+        public double bytesPerSecond() {
+            return perSecond(bytes);
+        }
+
+        private double perSecond(long count) {
+            return wallNanos == 0 ? 0 : count * 1e9 / wallNanos;
+        }
+
+        String format() {
+            return String.format(Locale.ROOT,
+                    "stage=%s runs=%d wallMs=%.3f rows=%d rowsPerSec=%.0f bytes=%d bytesPerSec=%.0f errors=%d allocatedBytes=%d",
+                    stage, runs, wallMillis(), rows, rowsPerSecond(), bytes, bytesPerSecond(), errors, allocatedBytes);
+        }
+    }
+}
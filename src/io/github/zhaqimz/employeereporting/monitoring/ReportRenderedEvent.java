@@ -0,0 +1,28 @@
+package io.github.zhaqimz.employeereporting.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a report having been rendered to its writer.
+ */
+@Name("io.github.zhaqimz.employeereporting.ReportRendered")
+@Label("Report Rendered")
+@Category({"Employee Reporting", "Rendering"})
+@Description("A report was rendered")
+@StackTrace(false)
+public final class ReportRenderedEvent extends jdk.jfr.Event {
+    @Label("Report")
+    public String report;
+
+    @Label("Rows")
+    @Description("Report rows, excluding the title and column headers")
+    public long rows;
+
+    @Label("Characters")
+    @Description("Characters written")
+    public long characters;
+}
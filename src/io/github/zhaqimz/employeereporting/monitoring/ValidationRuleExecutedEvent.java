@@ -0,0 +1,29 @@
+package io.github.zhaqimz.employeereporting.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for an employee registry validation rule having been checked, committed by the
+ * {@link PipelineMetrics.StageTimer} of the rule's {@link PipelineStage}.
+ */
+@Name("io.github.zhaqimz.employeereporting.ValidationRuleExecuted")
+@Label("Validation Rule Executed")
+@Category({"Employee Reporting", "Validation"})
+@Description("An employee registry validation rule was checked")
+@StackTrace(false)
+public final class ValidationRuleExecutedEvent extends jdk.jfr.Event {
+    @Label("Rule")
+    public String rule;
+
+    @Label("Rows")
+    @Description("Employees the rule was checked against")
+    public long rows;
+
+    @Label("Errors")
+    @Description("Validation errors the rule found")
+    public long errors;
+}
@@ -0,0 +1,13 @@
+package io.github.zhaqimz.employeereporting.registry;
+
+/**
+ * Ingestion strategies supported by {@link EmployeeCsvParser}.
+ */
+public enum CsvParseMode {
+    /** Decodes the file line by line through a {@code BufferedReader}. */
+    BUFFERED_READER,
+    /** Memory-maps the file and tokenizes fields directly from bytes. */
+    MEMORY_MAPPED,
+    /** Memory-maps the file and parses newline-aligned chunks concurrently on a {@code ForkJoinPool}. */
+    PARALLEL_MEMORY_MAPPED
+}
@@ -2,20 +2,31 @@ package io.github.zhaqimz.employeereporting.registry;
 
 import io.github.zhaqimz.employeereporting.model.Employee;
 import io.github.zhaqimz.employeereporting.model.EmployeeBuilder;
+import io.github.zhaqimz.employeereporting.model.EmployeeTable;
+import io.github.zhaqimz.employeereporting.monitoring.CsvChunkParsedEvent;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineMetrics;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineMetrics.StageTimer;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineStage;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class EmployeeCsvParser {
     private static final Logger logger = Logger.getLogger(EmployeeCsvParser.class.getName());
 
-    private static final CsvSchema employeeCsvSchema = new CsvSchema(List.of(
+    static final CsvSchema employeeCsvSchema = new CsvSchema(List.of(
             new CsvFieldSchema<>("id", 0, CsvFieldType.INTEGER_ABS, true, EmployeeBuilder::id),
             new CsvFieldSchema<>("firstName", 1, CsvFieldType.STRING, true, EmployeeBuilder::firstName),
             new CsvFieldSchema<>("lastName", 2, CsvFieldType.STRING, true, EmployeeBuilder::lastName),
@@ -24,7 +35,7 @@ public class EmployeeCsvParser {
     ));
 
     /**
-     * Parses the employee data from the specified CSV file.
+     * Parses the employee data from the specified CSV file, reading it line by line through a {@link BufferedReader}.
      *
      * @param filePath           the path to the CSV file containing employee data
      * @param headerRowIncluded  whether the first row in the CSV file is a header row and should be skipped
@@ -32,49 +43,263 @@ public class EmployeeCsvParser {
      * @throws IOException       if an I/O error occurs reading the file
      */
     public static ParsedEmployeesResult parse(Path filePath, Boolean headerRowIncluded) throws IOException {
+        return parse(filePath, headerRowIncluded, CsvParseMode.BUFFERED_READER);
+    }
+
+    private static ParsedEmployeesResult parseBuffered(Path filePath, Boolean headerRowIncluded, ErrorCollector errors) throws IOException {
         List<Employee> employees = new ArrayList<>();
-        List<ValidationError> errors = new ArrayList<>();
+        CsvChunkParsedEvent event = new CsvChunkParsedEvent();
+        event.begin();
 
+        int lineNumber = 0;
         try (BufferedReader reader = Files.newBufferedReader(filePath)) {
             // Check for header row
-            int lineNumber = 0;
             if (headerRowIncluded) {
                 lineNumber++;
                 reader.readLine();
             }
 
-            // Process file data
+            // Process file data until the error budget is exceeded
             String line;
             while ((line = reader.readLine()) != null) {
                 lineNumber++;
-                String[] fieldValues = line.split(",", -1);
-                if (fieldValues.length != employeeCsvSchema.fields().size()) {
-                    errors.add(new ValidationError(
-                            ValidationErrorType.INCOMPLETE_DATA_ROW,
-                            String.format("Incomplete employee data row on line %d", lineNumber)
-                    ));
-                    continue;
+                ParsedEmployeeRow row = parseRow(line, lineNumber);
+                // Add even partially complete employees for further validation
+                row.getEmployee().ifPresent(employees::add);
+                // Add errors if any
+                if (!errors.addAll(row.errors())) {
+                    break;
                 }
-                EmployeeBuilder builder = new EmployeeBuilder();
-                for (CsvFieldSchema fieldSchema : employeeCsvSchema.fields()) {
-                    String fieldValue = fieldValues[fieldSchema.position()].trim();
-                    // Perform validation based on type
-                    CsvFieldResult<?> fieldResult = switch (fieldSchema.type()) {
-                        case STRING -> parseStringField(fieldValue, fieldSchema, lineNumber);
-                        case INTEGER_ABS -> parseIntAbsField(fieldValue, fieldSchema, lineNumber);
-                        case BIG_DECIMAL_ABS -> parseBigDecimalAbsField(fieldValue, fieldSchema, lineNumber);
-                    };
-                    // Add errors if any
-                    fieldResult.getError().ifPresent(errors::add);
-                    // Assign field value to employee instance via builder using the typed binder defined in the schema
-                    bindField(fieldSchema, builder, fieldResult);
+            }
+        }
+
+        if (event.shouldCommit()) {
+            event.startOffset = 0;
+            event.endOffset = Files.size(filePath);
+            event.rows = headerRowIncluded ? lineNumber - 1 : lineNumber;
+            event.errors = errors.count();
+            event.commit();
+        }
+        return new ParsedEmployeesResult(employees, errors.errors());
+    }
+
+    /**
+     * Parses the employee data from the specified CSV file using the requested ingestion mode.
+     *
+     * <p>All modes produce the same {@link ParsedEmployeesResult}, including the line numbers
+     * reported in any {@link ValidationError}s. Each parse is recorded as a {@link PipelineStage#PARSE} run.
+     *
+     * @param filePath           the path to the CSV file containing employee data
+     * @param headerRowIncluded  whether the first row in the CSV file is a header row and should be skipped
+     * @param parseMode          the {@link CsvParseMode} used to read the file
+     * @return                   a {@link ParsedEmployeesResult} containing the list of parsed employees and any validation errors encountered
+     * @throws IOException       if an I/O error occurs reading the file
+     */
+    public static ParsedEmployeesResult parse(Path filePath, Boolean headerRowIncluded, CsvParseMode parseMode) throws IOException {
+        return parse(filePath, headerRowIncluded, parseMode, ErrorBudget.UNLIMITED.collector());
+    }
+
+    /**
+     * Parses the employee data from the specified CSV file using the requested ingestion mode, recording errors
+     * against an {@link ErrorBudget}.
+     *
+     * <p>Parsing stops at the row whose errors exceed the budget, leaving the employees parsed up to it; the
+     * errors returned then end with the {@link ValidationErrorType#ERROR_BUDGET_EXCEEDED} summary. Within the
+     * budget the result is the same as {@link #parse(Path, Boolean, CsvParseMode)}.
+     *
+     * @param filePath           the path to the CSV file containing employee data
+     * @param headerRowIncluded  whether the first row in the CSV file is a header row and should be skipped
+     * @param parseMode          the {@link CsvParseMode} used to read the file
+     * @param errors             the collector the parse errors are recorded in, e.g. to go on to validation with
+     * @return                   a {@link ParsedEmployeesResult} containing the list of parsed employees and the errors recorded
+     * @throws IOException       if an I/O error occurs reading the file
+     */
+    public static ParsedEmployeesResult parse(Path filePath, Boolean headerRowIncluded, CsvParseMode parseMode, ErrorCollector errors) throws IOException {
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.PARSE)) {
+            ParsedEmployeesResult result = switch (parseMode) {
+                case BUFFERED_READER -> parseBuffered(filePath, headerRowIncluded, errors);
+                case MEMORY_MAPPED -> MappedEmployeeCsvParser.parse(filePath, headerRowIncluded, errors);
+                case PARALLEL_MEMORY_MAPPED -> ParallelEmployeeCsvParser.parse(filePath, headerRowIncluded, errors);
+            };
+            timer.rows(result.employees().size()).bytes(Files.size(filePath)).errors(result.errors().size());
+            return result;
+        }
+    }
+
+    /**
+     * Parses the employee data from the specified CSV file directly into a columnar {@link EmployeeTable},
+     * without materialising a list of {@link Employee} records.
+     *
+     * <p>Plain IDs and salaries are parsed from each line's characters straight into the table's columns, so no
+     * {@link Employee} or {@link BigDecimal} is created per row; any other field value goes through the same
+     * field parsers as {@link #parse(Path, Boolean)}, so the errors are identical. Rows with parsing errors are
+     * reported and left out of the table.
+     *
+     * @param filePath           the path to the CSV file containing employee data
+     * @param headerRowIncluded  whether the first row in the CSV file is a header row and should be skipped
+     * @return                   a {@link ParsedEmployeeTableResult} containing the table and any validation errors encountered
+     * @throws IOException       if an I/O error occurs reading the file
+     */
+    public static ParsedEmployeeTableResult parseTable(Path filePath, Boolean headerRowIncluded) throws IOException {
+        EmployeeTable.Builder table = EmployeeTable.builder();
+        List<ValidationError> errors = new ArrayList<>();
+
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.PARSE);
+             BufferedReader reader = Files.newBufferedReader(filePath)) {
+            timer.bytes(Files.size(filePath));
+            int lineNumber = 0;
+            // Check for header row
+            if (headerRowIncluded) {
+                lineNumber++;
+                reader.readLine();
+            }
+
+            TableRowParser rows = new TableRowParser(table, errors);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                timer.rows(1);
+                rows.parse(line, lineNumber);
+            }
+            timer.errors(errors.size());
+        }
+
+        return new ParsedEmployeeTableResult(table.build(), errors);
+    }
+
+    /**
+     * Parses the employee data from the specified CSV file line by line, handing every employee to the consumer
+     * as their row is read instead of collecting them, e.g. to aggregate the registry in a single pass.
+     *
+     * <p>Only employees parsed without errors are handed over. Errors are recorded against the collector's
+     * budget, in the same order and with the same messages as {@link #parse(Path, Boolean)}, and parsing stops at
+     * the row whose errors exceed it. Each parse is recorded as a {@link PipelineStage#PARSE} run.
+     *
+     * @param filePath           the path to the CSV file containing employee data
+     * @param headerRowIncluded  whether the first row in the CSV file is a header row and should be skipped
+     * @param employees          the consumer every valid employee is handed to, in file order
+     * @param errors             the collector the parse errors are recorded in
+     * @throws IOException       if an I/O error occurs reading the file
+     */
+    public static void parse(Path filePath, Boolean headerRowIncluded, Consumer<? super Employee> employees, ErrorCollector errors) throws IOException {
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.PARSE);
+             BufferedReader reader = Files.newBufferedReader(filePath)) {
+            timer.bytes(Files.size(filePath));
+            int lineNumber = 0;
+            // Check for header row
+            if (headerRowIncluded) {
+                lineNumber++;
+                reader.readLine();
+            }
+
+            // Process file data until the error budget is exceeded
+            int errorsBefore = errors.count();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                timer.rows(1);
+                ParsedEmployeeRow row = parseRow(line, lineNumber);
+                if (row.isValid()) {
+                    employees.accept(row.employee());
+                } else if (!errors.addAll(row.errors())) {
+                    break;
                 }
-                // Add even partially complete employees for further validation
-                employees.add(builder.build());
             }
+            timer.errors(errors.count() - errorsBefore);
+        }
+    }
+
+    /**
+     * Opens a pull-based stream over the rows of the specified CSV file.
+     *
+     * <p>Rows are read and parsed lazily as the stream is consumed, so only the rows in flight are held in memory.
+     * Each {@link ParsedEmployeeRow} carries the employee parsed from the row (absent for incomplete rows)
+     * and the {@link ValidationError}s found on it, in the same order and with the same messages as
+     * {@link #parse(Path, Boolean)}. The returned stream holds the file open and must be closed,
+     * typically with try-with-resources.
+     *
+     * @param filePath           the path to the CSV file containing employee data
+     * @param headerRowIncluded  whether the first row in the CSV file is a header row and should be skipped
+     * @return                   an ordered {@link Stream} of {@link ParsedEmployeeRow}s
+     * @throws IOException       if an I/O error occurs opening the file; errors while reading later rows
+     *                           are thrown as {@link UncheckedIOException}
+     */
+    public static Stream<ParsedEmployeeRow> stream(Path filePath, Boolean headerRowIncluded) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(filePath);
+        try {
+            // Check for header row
+            int headerLines = 0;
+            if (headerRowIncluded) {
+                headerLines++;
+                reader.readLine();
+            }
+            int firstLineNumber = headerLines;
+            Spliterator<ParsedEmployeeRow> rows = new Spliterators.AbstractSpliterator<>(
+                    Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                private int lineNumber = firstLineNumber;
+
+                @Override
+                public boolean tryAdvance(Consumer<? super ParsedEmployeeRow> action) {
+                    String line;
+                    try {
+                        line = reader.readLine();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    if (line == null) {
+                        return false;
+                    }
+                    lineNumber++;
+                    action.accept(parseRow(line, lineNumber));
+                    return true;
+                }
+            };
+            return StreamSupport.stream(rows, false).onClose(() -> {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
         }
+    }
 
-        return new ParsedEmployeesResult(employees, errors);
+    /**
+     * Parses a single CSV line into an employee and any validation errors found on it.
+     *
+     * @param line       The raw CSV line.
+     * @param lineNumber The line number in the CSV file from which this line was read, used for error reporting.
+     * @return           A {@link ParsedEmployeeRow}; the employee is absent if the row does not have one value per schema field.
+     */
+    static ParsedEmployeeRow parseRow(String line, int lineNumber) {
+        String[] fieldValues = line.split(",", -1);
+        if (fieldValues.length != employeeCsvSchema.fields().size()) {
+            return new ParsedEmployeeRow(lineNumber, null, List.of(ValidationError.incompleteDataRow(lineNumber)));
+        }
+        List<ValidationError> errors = List.of();
+        EmployeeBuilder builder = new EmployeeBuilder();
+        for (CsvFieldSchema fieldSchema : employeeCsvSchema.fields()) {
+            String fieldValue = fieldValues[fieldSchema.position()].trim();
+            // Perform validation based on type
+            CsvFieldResult<?> fieldResult = switch (fieldSchema.type()) {
+                case STRING -> parseStringField(fieldValue, fieldSchema, lineNumber);
+                case INTEGER_ABS -> parseIntAbsField(fieldValue, fieldSchema, lineNumber);
+                case BIG_DECIMAL_ABS -> parseBigDecimalAbsField(fieldValue, fieldSchema, lineNumber);
+            };
+            // Add errors if any
+            if (!fieldResult.isValid()) {
+                if (errors.isEmpty()) {
+                    errors = new ArrayList<>(employeeCsvSchema.fields().size());
+                }
+                errors.add(fieldResult.error());
+            }
+            // Assign field value to employee instance via builder using the typed binder defined in the schema
+            bindField(fieldSchema, builder, fieldResult);
+        }
+        return new ParsedEmployeeRow(lineNumber, builder.build(), errors);
     }
 
     /**
@@ -87,10 +312,7 @@ public class EmployeeCsvParser {
      */
     static CsvFieldResult<String> parseStringField(String stringFieldValue, CsvFieldSchema fieldSchema, int lineNumber) {
         if (stringFieldValue.isBlank() && fieldSchema.required())
-            return CsvFieldResult.failure(new ValidationError(
-                    ValidationErrorType.INVALID_FIELD,
-                    String.format("Invalid value [%s] for field [%s] on line %d", stringFieldValue, fieldSchema.name(), lineNumber)
-            ));
+            return CsvFieldResult.failure(ValidationError.invalidField(fieldSchema.name(), stringFieldValue, lineNumber));
         return CsvFieldResult.success(stringFieldValue);
     }
 
@@ -113,10 +335,7 @@ public class EmployeeCsvParser {
             }
         } catch (NumberFormatException e) {
             if (!intFieldValue.isBlank() || fieldSchema.required())
-                return CsvFieldResult.failure(new ValidationError(
-                        ValidationErrorType.INVALID_FIELD,
-                        String.format("Invalid value [%s] for field [%s] on line %d", intFieldValue, fieldSchema.name(), lineNumber)
-                ));
+                return CsvFieldResult.failure(ValidationError.invalidField(fieldSchema.name(), intFieldValue, lineNumber));
         }
         return CsvFieldResult.success(null);
     }
@@ -140,19 +359,173 @@ public class EmployeeCsvParser {
             }
         } catch (NumberFormatException e) {
             if (!bigDecimalFieldValue.isBlank() || fieldSchema.required())
-                return CsvFieldResult.failure(new ValidationError(
-                        ValidationErrorType.INVALID_FIELD,
-                        String.format("Invalid value [%s] for field [%s] on line %d", bigDecimalFieldValue, fieldSchema.name(), lineNumber)
-                ));
+                return CsvFieldResult.failure(ValidationError.invalidField(fieldSchema.name(), bigDecimalFieldValue, lineNumber));
         }
         return CsvFieldResult.success(null);
     }
 
     @SuppressWarnings("unchecked")
-    private static <T> void bindField(CsvFieldSchema<T> schema, EmployeeBuilder builder, CsvFieldResult<?> result) {
+    static <T> void bindField(CsvFieldSchema<T> schema, EmployeeBuilder builder, CsvFieldResult<?> result) {
         if (result.isValid()) {
             T value = (T) result.value();
             schema.binder().bind(builder, value);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Parses CSV lines straight into the columns of an {@link EmployeeTable.Builder}.
+     */
+    private static final class TableRowParser {
+        private static final int FIELD_COUNT = employeeCsvSchema.fields().size();
+        private static final CsvFieldSchema<?> ID = employeeCsvSchema.fields().get(0);
+        private static final CsvFieldSchema<?> FIRST_NAME = employeeCsvSchema.fields().get(1);
+        private static final CsvFieldSchema<?> LAST_NAME = employeeCsvSchema.fields().get(2);
+        private static final CsvFieldSchema<?> SALARY = employeeCsvSchema.fields().get(3);
+        private static final CsvFieldSchema<?> MANAGER_ID = employeeCsvSchema.fields().get(4);
+
+        private final EmployeeTable.Builder table;
+        private final List<ValidationError> errors;
+        private final int[] fieldBounds = new int[FIELD_COUNT * 2];
+
+        // Salary of the current row: parsed as an unscaled value and scale, or by the fallback field parser
+        private long unscaledSalary;
+        private int salaryScale;
+        private BigDecimal salary;
+
+        TableRowParser(EmployeeTable.Builder table, List<ValidationError> errors) {
+            this.table = table;
+            this.errors = errors;
+        }
+
+        /**
+         * Adds the employee on the line to the table, or the line's errors to the error list.
+         */
+        void parse(String line, int lineNumber) {
+            // Equivalent of line.split(",", -1): the row must hold exactly one field per schema column
+            int fieldCount = 0;
+            int fieldStart = 0;
+            for (int i = 0; i <= line.length(); i++) {
+                if (i == line.length() || line.charAt(i) == ',') {
+                    if (fieldCount < FIELD_COUNT) {
+                        fieldBounds[fieldCount * 2] = fieldStart;
+                        fieldBounds[fieldCount * 2 + 1] = i;
+                    }
+                    fieldCount++;
+                    fieldStart = i + 1;
+                }
+            }
+            if (fieldCount != FIELD_COUNT) {
+                errors.add(ValidationError.incompleteDataRow(lineNumber));
+                return;
+            }
+            trimFields(line);
+
+            int errorCount = errors.size();
+            int id = parseIntAbsField(line, ID, lineNumber);
+            String firstName = parseStringField(line, FIRST_NAME, lineNumber);
+            String lastName = parseStringField(line, LAST_NAME, lineNumber);
+            parseSalaryField(line, lineNumber);
+            int managerId = parseIntAbsField(line, MANAGER_ID, lineNumber);
+            if (errors.size() > errorCount) {
+                return;
+            }
+            if (salary == null) {
+                table.add(id, firstName, lastName, unscaledSalary, salaryScale, managerId);
+            } else {
+                table.add(id, firstName, lastName, salary, managerId);
+            }
+        }
+
+        private void trimFields(String line) {
+            // Trim as String.trim() does
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                int start = fieldBounds[field * 2];
+                int end = fieldBounds[field * 2 + 1];
+                while (start < end && line.charAt(start) <= ' ') {
+                    start++;
+                }
+                while (end > start && line.charAt(end - 1) <= ' ') {
+                    end--;
+                }
+                fieldBounds[field * 2] = start;
+                fieldBounds[field * 2 + 1] = end;
+            }
+        }
+
+        private String parseStringField(String line, CsvFieldSchema<?> fieldSchema, int lineNumber) {
+            CsvFieldResult<String> result = EmployeeCsvParser.parseStringField(field(line, fieldSchema), fieldSchema, lineNumber);
+            result.getError().ifPresent(errors::add);
+            return result.value();
+        }
+
+        /**
+         * Parses a plain run of up to 9 digits from the line's characters; anything else is handed to
+         * {@link EmployeeCsvParser#parseIntAbsField}. A blank optional field yields {@link EmployeeTable#NO_MANAGER}.
+         */
+        private int parseIntAbsField(String line, CsvFieldSchema<?> fieldSchema, int lineNumber) {
+            int start = fieldBounds[fieldSchema.position() * 2];
+            int end = fieldBounds[fieldSchema.position() * 2 + 1];
+            int length = end - start;
+            if (length > 0 && length <= 9) {
+                int value = 0;
+                int i = start;
+                for (; i < end; i++) {
+                    int digit = line.charAt(i) - '0';
+                    if (digit < 0 || digit > 9) {
+                        break;
+                    }
+                    value = value * 10 + digit;
+                }
+                if (i == end) {
+                    return value;
+                }
+            }
+            CsvFieldResult<Integer> result = EmployeeCsvParser.parseIntAbsField(field(line, fieldSchema), fieldSchema, lineNumber);
+            result.getError().ifPresent(errors::add);
+            return result.value() != null ? result.value() : EmployeeTable.NO_MANAGER;
+        }
+
+        /**
+         * Parses digits with an optional single decimal point (up to 18 digits) from the line's characters into
+         * {@link #unscaledSalary} and {@link #salaryScale}, as {@code new BigDecimal(String)} would; anything
+         * else is handed to {@link EmployeeCsvParser#parseBigDecimalAbsField} and kept in {@link #salary}.
+         */
+        private void parseSalaryField(String line, int lineNumber) {
+            int start = fieldBounds[SALARY.position() * 2];
+            int end = fieldBounds[SALARY.position() * 2 + 1];
+            int length = end - start;
+            salary = null;
+            if (length > 0 && length <= 19) {
+                long unscaled = 0;
+                int digits = 0;
+                int pointAt = -1;
+                int i = start;
+                for (; i < end; i++) {
+                    char c = line.charAt(i);
+                    if (c == '.' && pointAt < 0) {
+                        pointAt = i;
+                        continue;
+                    }
+                    int digit = c - '0';
+                    if (digit < 0 || digit > 9) {
+                        break;
+                    }
+                    unscaled = unscaled * 10 + digit;
+                    digits++;
+                }
+                if (i == end && digits > 0 && digits <= 18) {
+                    unscaledSalary = unscaled;
+                    salaryScale = pointAt < 0 ? 0 : end - pointAt - 1;
+                    return;
+                }
+            }
+            CsvFieldResult<BigDecimal> result = EmployeeCsvParser.parseBigDecimalAbsField(field(line, SALARY), SALARY, lineNumber);
+            result.getError().ifPresent(errors::add);
+            salary = result.value();
+        }
+
+        private String field(String line, CsvFieldSchema<?> fieldSchema) {
+            return line.substring(fieldBounds[fieldSchema.position() * 2], fieldBounds[fieldSchema.position() * 2 + 1]);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package io.github.zhaqimz.employeereporting.registry;
+
+import io.github.zhaqimz.employeereporting.monitoring.PipelineMetrics;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineMetrics.StageTimer;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineStage;
+import io.github.zhaqimz.employeereporting.utility.IntIndexMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Primitive index of an employee registry's IDs and reporting lines, used to validate the registry in a
+ * single pass over its employees.
+ * <p>
+ * Rows are added in registry order with their employee ID and manager ID. While they are added, every ID
+ * is put into an {@link IntIndexMap} keyed by ID, which detects duplicate IDs on the spot and resolves each
+ * manager ID to the first row with that ID. {@link #validate(int)} then only works over {@code int} arrays:
+ * one scan for unknown manager IDs and one iterative colouring of the reporting lines for cycles, which
+ * walks each manager chain only until it reaches an already coloured row. Validation is therefore linear
+ * and does not recurse, however deep the hierarchy.
+ */
+final class EmployeeRegistryIndex {
+    private static final int NO_MANAGER = -1;
+    private static final int UNRESOLVED_MANAGER = -2;
+
+    // Row colours
+    private static final byte UNVISITED = 0;
+    private static final byte ON_PATH = 1;
+    private static final byte REACHES_TOP = 2;
+    private static final byte IN_CYCLE = 3;
+    private static final byte REPORTS_INTO_CYCLE = 4;
+
+    private int size;
+    private int[] ids;
+    private int[] managerIds;
+    private boolean[] hasId;
+    private boolean[] hasManager;
+    // Set on the first row of an ID once a second row with that ID is added
+    private boolean[] duplicated;
+    private int topLevelManagerCount;
+    private final IntIndexMap indexById;
+
+    // First rows of IDs seen more than once, each recorded on the ID's second occurrence
+    private int[] duplicateIdRows = new int[16];
+    private int duplicateIdCount;
+    private int nullIdCount;
+
+    EmployeeRegistryIndex(int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        ids = new int[capacity];
+        managerIds = new int[capacity];
+        hasId = new boolean[capacity];
+        hasManager = new boolean[capacity];
+        duplicated = new boolean[capacity];
+        indexById = new IntIndexMap(expectedSize);
+    }
+
+    /**
+     * Adds an employee row; a row without an ID cannot be anyone's manager.
+     */
+    void add(Integer id, Integer managerId) {
+        if (size == ids.length) {
+            int capacity = size + (size >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            managerIds = Arrays.copyOf(managerIds, capacity);
+            hasId = Arrays.copyOf(hasId, capacity);
+            hasManager = Arrays.copyOf(hasManager, capacity);
+            duplicated = Arrays.copyOf(duplicated, capacity);
+        }
+        if (id != null) {
+            ids[size] = id;
+            hasId[size] = true;
+            int firstRow = indexById.putIfAbsent(id, size);
+            if (firstRow != IntIndexMap.NO_VALUE && !duplicated[firstRow]) {
+                duplicated[firstRow] = true;
+                if (duplicateIdCount == duplicateIdRows.length) {
+                    duplicateIdRows = Arrays.copyOf(duplicateIdRows, duplicateIdCount << 1);
+                }
+                duplicateIdRows[duplicateIdCount++] = firstRow;
+            }
+        } else {
+            nullIdCount++;
+        }
+        if (managerId != null) {
+            managerIds[size] = managerId;
+            hasManager[size] = true;
+        } else {
+            topLevelManagerCount++;
+        }
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the registry's validation errors in the order {@link EmployeeRegistryValidator#validateEmployees}
+     * reports them: maximum employees, duplicate IDs in the order they first appear, unknown manager IDs in registry order,
+     * multiple top-level managers, then reporting line cycles. Each rule is recorded as its own
+     * {@link PipelineStage} run.
+     *
+     * @param maxPermittedEmployees The maximum number of employees permitted.
+     * @return                      The validation errors; empty if the registry is valid.
+     */
+    List<ValidationError> validate(int maxPermittedEmployees) {
+        ErrorCollector errors = ErrorBudget.UNLIMITED.collector();
+        validate(maxPermittedEmployees, errors);
+        return errors.errors();
+    }
+
+    /**
+     * Records the registry's validation errors, in the order of {@link #validate(int)}, until the collector's
+     * {@link ErrorBudget} is exceeded; the rules left once it is are not run.
+     *
+     * @param maxPermittedEmployees The maximum number of employees permitted.
+     * @param errors                The collector the validation errors are recorded in.
+     */
+    void validate(int maxPermittedEmployees, ErrorCollector errors) {
+        if (errors.isExceeded()) {
+            return;
+        }
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.VALIDATION_MAXIMUM_EMPLOYEES)) {
+            timer.rows(size);
+            if (size > maxPermittedEmployees) {
+                errors.add(EmployeeRegistryValidator.maxEmployeesExceededError(size, maxPermittedEmployees));
+                timer.errors(1);
+            }
+        }
+        if (errors.isExceeded()) {
+            return;
+        }
+
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.VALIDATION_DUPLICATE_EMPLOYEE_IDS)) {
+            int errorCount = errors.count();
+            timer.rows(size);
+            if (nullIdCount > 1) {
+                errors.add(EmployeeRegistryValidator.duplicateEmployeeIdError(null));
+            }
+            // In the order the IDs first appear in the registry
+            int[] firstRows = Arrays.copyOf(duplicateIdRows, duplicateIdCount);
+            Arrays.sort(firstRows);
+            for (int i = 0; i < firstRows.length && !errors.isExceeded(); i++) {
+                errors.add(EmployeeRegistryValidator.duplicateEmployeeIdError(ids[firstRows[i]]));
+            }
+            timer.errors(errors.count() - errorCount);
+        }
+        if (errors.isExceeded()) {
+            return;
+        }
+
+        int[] managerIndices;
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.VALIDATION_MANAGER_IDS)) {
+            int errorCount = errors.count();
+            timer.rows(size);
+            managerIndices = resolveManagerIndices();
+            for (int i = 0; i < size && !errors.isExceeded(); i++) {
+                if (managerIndices[i] == UNRESOLVED_MANAGER) {
+                    errors.add(EmployeeRegistryValidator.unknownManagerIdError(managerIds[i], hasId[i] ? ids[i] : null));
+                }
+            }
+            timer.errors(errors.count() - errorCount);
+        }
+        if (errors.isExceeded()) {
+            return;
+        }
+
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.VALIDATION_TOP_LEVEL_MANAGERS)) {
+            timer.rows(size);
+            if (topLevelManagerCount > 1) {
+                errors.add(EmployeeRegistryValidator.multipleTopLevelManagersError(topLevelManagerCount));
+                timer.errors(1);
+            }
+        }
+        if (errors.isExceeded()) {
+            return;
+        }
+
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.VALIDATION_REPORTING_LINE_CYCLES)) {
+            int errorCount = errors.count();
+            findCycleErrors(managerIndices, errors);
+            timer.rows(size).errors(errors.count() - errorCount);
+        }
+    }
+
+    /**
+     * Returns the reporting line cycle errors of {@link #validate(int)} on their own.
+     */
+    List<ValidationError> findCycleErrors() {
+        ErrorCollector errors = ErrorBudget.UNLIMITED.collector();
+        findCycleErrors(resolveManagerIndices(), errors);
+        return errors.errors();
+    }
+
+    /**
+     * Finds reporting line cycles and the employees whose reporting line leads into one.
+     * <p>
+     * Returns a {@link ValidationErrorType#REPORTING_LINE_CYCLE} error for every cycle, in the order the cycles
+     * are first reached in the registry, followed by a single {@link ValidationErrorType#UNREACHABLE_EMPLOYEE}
+     * error listing, in registry order, the employees outside any cycle who can never reach a top-level manager
+     * because their reporting line leads into one. Reporting lines ending at an unknown manager are not reported here.
+     * The search stops once the errors exceed the collector's budget.
+     *
+     * @param managerIndices the manager row index of every row, or {@code NO_MANAGER} / {@code UNRESOLVED_MANAGER}
+     * @param errors         the collector the cycle errors are recorded in
+     */
+    private void findCycleErrors(int[] managerIndices, ErrorCollector errors) {
+        byte[] colours = new byte[size];
+        int[] path = new int[16];
+
+        for (int start = 0; start < size; start++) {
+            if (colours[start] != UNVISITED) {
+                continue;
+            }
+
+            // Walk up the reporting line until it ends or reaches a coloured row
+            int pathLength = 0;
+            int current = start;
+            while (current >= 0 && colours[current] == UNVISITED) {
+                colours[current] = ON_PATH;
+                if (pathLength == path.length) {
+                    path = Arrays.copyOf(path, pathLength << 1);
+                }
+                path[pathLength++] = current;
+                current = managerIndices[current];
+            }
+
+            byte pathColour;
+            if (current < 0 || colours[current] == REACHES_TOP) {
+                pathColour = REACHES_TOP;
+            } else if (colours[current] == ON_PATH) {
+                // The walk closed a new cycle: the rows from the first visit of current onwards
+                int cycleStart = pathLength - 1;
+                while (path[cycleStart] != current) {
+                    cycleStart--;
+                }
+                List<Integer> cycleIds = new ArrayList<>(pathLength - cycleStart);
+                for (int i = cycleStart; i < pathLength; i++) {
+                    colours[path[i]] = IN_CYCLE;
+                    cycleIds.add(ids[path[i]]);
+                }
+                if (!errors.add(EmployeeRegistryValidator.reportingLineCycleError(cycleIds))) {
+                    return;
+                }
+                pathLength = cycleStart;
+                pathColour = REPORTS_INTO_CYCLE;
+            } else {
+                pathColour = REPORTS_INTO_CYCLE;
+            }
+
+            for (int i = 0; i < pathLength; i++) {
+                colours[path[i]] = pathColour;
+            }
+        }
+
+        List<Integer> unreachableIds = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (colours[i] == REPORTS_INTO_CYCLE) {
+                unreachableIds.add(hasId[i] ? ids[i] : null);
+            }
+        }
+        if (!unreachableIds.isEmpty()) {
+            errors.add(ValidationError.unreachableEmployees(unreachableIds));
+        }
+    }
+
+    /**
+     * Resolves every row's manager ID to the first row with that ID.
+     */
+    private int[] resolveManagerIndices() {
+        int[] managerIndices = new int[size];
+        for (int i = 0; i < size; i++) {
+            if (!hasManager[i]) {
+                managerIndices[i] = NO_MANAGER;
+            } else {
+                int managerIndex = indexById.get(managerIds[i]);
+                managerIndices[i] = managerIndex == IntIndexMap.NO_VALUE ? UNRESOLVED_MANAGER : managerIndex;
+            }
+        }
+        return managerIndices;
+    }
+}
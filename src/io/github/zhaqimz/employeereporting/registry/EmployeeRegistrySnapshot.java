@@ -0,0 +1,374 @@
+package io.github.zhaqimz.employeereporting.registry;
+
+import io.github.zhaqimz.employeereporting.model.EmployeeTable;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineMetrics;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineMetrics.StageTimer;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineStage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary, columnar snapshot of a parsed and validated employee registry, so later runs against the same
+ * CSV file can load the {@link EmployeeTable} without parsing or validating it again.
+ * <p>
+ * A snapshot starts with a fixed-size header: a magic number, the format {@link #VERSION}, the
+ * {@link SourceFingerprint} of the CSV file it was built from, the parse and validation settings it was
+ * validated with, the row and name counts and a CRC32C checksum of the header fields before it and of the rest
+ * of the file, so a corrupted count or salary scale is detected as surely as a corrupted column. The table columns
+ * follow, each as one little-endian array: IDs, manager IDs, salaries in minor units, the scale each salary was
+ * parsed with, first and last name references, then the name pool as UTF-8 lengths and bytes.
+ * <p>
+ * Snapshots are read through memory mappings of the file, one region at a time. A snapshot is only used if its
+ * version, settings and source fingerprint all match and its checksum verifies; otherwise it is ignored.
+ */
+public final class EmployeeRegistrySnapshot {
+    private static final Logger logger = Logger.getLogger(EmployeeRegistrySnapshot.class.getName());
+
+    /** Version of the snapshot format; snapshots of any other version are ignored. */
+    public static final int VERSION = 3;
+
+    private static final int MAGIC = 0x45525353; // "ERSS"
+    private static final int HEADER_SIZE = 72;
+    private static final int CHECKSUM_OFFSET = 64;
+    // Largest region mapped at once, kept a multiple of 8 so column elements never straddle regions
+    private static final int MAX_REGION_SIZE = 1 << 30;
+    // Largest name pool a snapshot holds, read back into a single byte array
+    private static final int MAX_NAME_BYTES_LENGTH = Integer.MAX_VALUE - 8;
+
+    private EmployeeRegistrySnapshot() {
+    }
+
+    /**
+     * Size, modification time and CRC32C checksum of a registry CSV file, identifying its exact content.
+     */
+    public record SourceFingerprint(long size, long lastModifiedMillis, long crc32c) {
+
+        /**
+         * Reads the file to fingerprint it.
+         *
+         * @throws IOException if the file cannot be read
+         */
+        public static SourceFingerprint of(Path csvFile) throws IOException {
+            long size = Files.size(csvFile);
+            long lastModifiedMillis = Files.getLastModifiedTime(csvFile).toMillis();
+            return new SourceFingerprint(size, lastModifiedMillis, checksum(csvFile, size));
+        }
+
+        private static long checksum(Path file, long size) throws IOException {
+            CRC32C crc = new CRC32C();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                for (long offset = 0; offset < size; offset += MAX_REGION_SIZE) {
+                    crc.update(channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(MAX_REGION_SIZE, size - offset)));
+                }
+            }
+            return crc.getValue();
+        }
+    }
+
+    /**
+     * Writes a snapshot of a registry table that parsed and validated without errors.
+     * <p>
+     * The snapshot is written to a temporary file next to {@code snapshotFile} and then moved into place, so
+     * readers never see a partially written snapshot.
+     *
+     * @param snapshotFile          the snapshot file to create or replace
+     * @param source                the fingerprint of the CSV file, taken before it was parsed
+     * @param headerRowIncluded     whether the CSV file was parsed with a header row
+     * @param maxPermittedEmployees the maximum number of employees the registry was validated against
+     * @param table                 the parsed registry
+     * @throws IOException          if the snapshot cannot be written, or the names are too long to snapshot
+     */
+    public static void write(Path snapshotFile, SourceFingerprint source, boolean headerRowIncluded,
+                             int maxPermittedEmployees, EmployeeTable table) throws IOException {
+        logger.info("Writing employee registry snapshot: " + snapshotFile.toAbsolutePath());
+        int size = table.size();
+        byte[][] names = new byte[table.nameCount()][];
+        long nameBytesLength = 0;
+        for (int ref = 0; ref < names.length; ref++) {
+            names[ref] = table.name(ref).getBytes(StandardCharsets.UTF_8);
+            nameBytesLength += names[ref].length;
+        }
+        if (nameBytesLength > MAX_NAME_BYTES_LENGTH) {
+            throw new IOException("Employee names of " + nameBytesLength + " bytes are too long to snapshot");
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putLong(source.size())
+                .putLong(source.lastModifiedMillis())
+                .putLong(source.crc32c())
+                .putInt(maxPermittedEmployees)
+                .putInt(headerRowIncluded ? 1 : 0)
+                .putInt(size)
+                .putInt(table.salaryScale())
+                .putInt(names.length)
+                .putInt((int) nameBytesLength);
+
+        Path directory = snapshotFile.toAbsolutePath().getParent();
+        Path temporaryFile = Files.createTempFile(directory, snapshotFile.getFileName().toString(), ".tmp");
+        try {
+            CRC32C crc = new CRC32C();
+            crc.update(header.slice(0, CHECKSUM_OFFSET));
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ColumnWriter columns = new ColumnWriter(channel, crc);
+                channel.position(HEADER_SIZE);
+                for (int i = 0; i < size; i++) {
+                    columns.putInt(table.id(i));
+                }
+                for (int i = 0; i < size; i++) {
+                    columns.putInt(table.managerId(i));
+                }
+                for (int i = 0; i < size; i++) {
+                    columns.putLong(table.salaryMinorUnits(i));
+                }
+                for (int i = 0; i < size; i++) {
+                    columns.put((byte) table.salaryScale(i));
+                }
+                for (int i = 0; i < size; i++) {
+                    columns.putInt(table.firstNameRef(i));
+                }
+                for (int i = 0; i < size; i++) {
+                    columns.putInt(table.lastNameRef(i));
+                }
+                for (byte[] name : names) {
+                    columns.putInt(name.length);
+                }
+                for (byte[] name : names) {
+                    columns.put(name);
+                }
+                columns.flush();
+
+                header.putLong(CHECKSUM_OFFSET, crc.getValue());
+                header.clear();
+                channel.write(header, 0);
+            }
+            Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Loads the registry table from a snapshot, provided the snapshot was written by this format version for
+     * the current content of {@code csvFile} with the same settings.
+     * <p>
+     * The CSV file's size and modification time are compared first, so a changed file is detected without
+     * reading it; only if both match is the file checksummed.
+     *
+     * @param snapshotFile          the snapshot file
+     * @param csvFile               the registry CSV file the snapshot must have been built from
+     * @param headerRowIncluded     whether the CSV file is parsed with a header row
+     * @param maxPermittedEmployees the maximum number of employees the registry must be validated against
+     * @return                      the table, or empty if there is no usable snapshot
+     * @throws IOException          if the snapshot or CSV file exists but cannot be read
+     */
+    public static Optional<EmployeeTable> read(Path snapshotFile, Path csvFile, boolean headerRowIncluded,
+                                               int maxPermittedEmployees) throws IOException {
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.SNAPSHOT_LOAD);
+             FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                return ignore(snapshotFile, "it is truncated");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != MAGIC) {
+                return ignore(snapshotFile, "it is not an employee registry snapshot");
+            }
+            if (header.getInt() != VERSION) {
+                return ignore(snapshotFile, "it was written by a different snapshot version");
+            }
+            long sourceSize = header.getLong();
+            long sourceLastModifiedMillis = header.getLong();
+            long sourceCrc32c = header.getLong();
+            int snapshotMaxPermittedEmployees = header.getInt();
+            boolean snapshotHeaderRowIncluded = header.getInt() == 1;
+            if (snapshotMaxPermittedEmployees != maxPermittedEmployees || snapshotHeaderRowIncluded != headerRowIncluded) {
+                return ignore(snapshotFile, "it was validated with different settings");
+            }
+            if (Files.size(csvFile) != sourceSize || Files.getLastModifiedTime(csvFile).toMillis() != sourceLastModifiedMillis
+                    || SourceFingerprint.of(csvFile).crc32c() != sourceCrc32c) {
+                return ignore(snapshotFile, "the registry CSV file has changed");
+            }
+            int size = header.getInt();
+            int salaryScale = header.getInt();
+            int nameCount = header.getInt();
+            int nameBytesLength = header.getInt();
+            long expectedChecksum = header.getLong(CHECKSUM_OFFSET);
+            if (size < 0 || salaryScale < 0 || nameCount < 0 || nameBytesLength < 0 || nameBytesLength > MAX_NAME_BYTES_LENGTH) {
+                return ignore(snapshotFile, "its header is invalid");
+            }
+            if (fileSize != HEADER_SIZE + 25L * size + 4L * nameCount + nameBytesLength) {
+                return ignore(snapshotFile, "its length does not match its header");
+            }
+
+            // The checksum covers the header fields as well as the columns
+            ColumnReader columns = new ColumnReader(channel, HEADER_SIZE);
+            columns.update(header.slice(0, CHECKSUM_OFFSET));
+            int[] ids = columns.getInts(size);
+            int[] managerIds = columns.getInts(size);
+            long[] salaryMinorUnits = columns.getLongs(size);
+            byte[] salaryScales = columns.getBytes(size);
+            int[] firstNameRefs = columns.getInts(size);
+            int[] lastNameRefs = columns.getInts(size);
+            int[] nameLengths = columns.getInts(nameCount);
+            byte[] nameBytes = columns.getBytes(nameBytesLength);
+            if (columns.checksum() != expectedChecksum) {
+                return ignore(snapshotFile, "its checksum does not match");
+            }
+
+            String[] names = new String[nameCount];
+            int offset = 0;
+            for (int ref = 0; ref < nameCount; ref++) {
+                if (nameLengths[ref] < 0 || offset + nameLengths[ref] > nameBytesLength) {
+                    return ignore(snapshotFile, "its name pool is invalid");
+                }
+                names[ref] = new String(nameBytes, offset, nameLengths[ref], StandardCharsets.UTF_8);
+                offset += nameLengths[ref];
+            }
+
+            logger.info("Loaded " + size + " employees from registry snapshot: " + snapshotFile.toAbsolutePath());
+            timer.rows(size).bytes(fileSize);
+            return Optional.of(EmployeeTable.fromColumns(ids, managerIds, salaryMinorUnits, salaryScale, salaryScales, firstNameRefs, lastNameRefs, names));
+        } catch (NoSuchFileException e) {
+            logger.info("No employee registry snapshot found: " + snapshotFile.toAbsolutePath());
+            return Optional.empty();
+        } catch (IllegalArgumentException e) {
+            return ignore(snapshotFile, e.getMessage());
+        }
+    }
+
+    private static Optional<EmployeeTable> ignore(Path snapshotFile, String reason) {
+        logger.warning("Ignoring employee registry snapshot " + snapshotFile.toAbsolutePath() + " because " + reason);
+        return Optional.empty();
+    }
+
+    /**
+     * Buffers column values and writes them sequentially to the channel, checksumming what is written.
+     */
+    private static final class ColumnWriter {
+        private final FileChannel channel;
+        private final CRC32C crc;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+
+        private ColumnWriter(FileChannel channel, CRC32C crc) {
+            this.channel = channel;
+            this.crc = crc;
+        }
+
+        void putInt(int value) throws IOException {
+            if (buffer.remaining() < Integer.BYTES) {
+                flush();
+            }
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            if (buffer.remaining() < Long.BYTES) {
+                flush();
+            }
+            buffer.putLong(value);
+        }
+
+        void put(byte value) throws IOException {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.put(value);
+        }
+
+        void put(byte[] bytes) throws IOException {
+            for (int offset = 0; offset < bytes.length; ) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                int length = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, length);
+                offset += length;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Reads consecutive columns through memory mappings of the channel, checksumming what is read.
+     */
+    private static final class ColumnReader {
+        private final FileChannel channel;
+        private final CRC32C crc = new CRC32C();
+        private long position;
+
+        private ColumnReader(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        int[] getInts(int count) throws IOException {
+            int[] values = new int[count];
+            for (int done = 0; done < count; ) {
+                ByteBuffer region = map((long) (count - done) * Integer.BYTES);
+                int length = region.remaining() / Integer.BYTES;
+                region.asIntBuffer().get(values, done, length);
+                done += length;
+            }
+            return values;
+        }
+
+        long[] getLongs(int count) throws IOException {
+            long[] values = new long[count];
+            for (int done = 0; done < count; ) {
+                ByteBuffer region = map((long) (count - done) * Long.BYTES);
+                int length = region.remaining() / Long.BYTES;
+                region.asLongBuffer().get(values, done, length);
+                done += length;
+            }
+            return values;
+        }
+
+        byte[] getBytes(int count) throws IOException {
+            byte[] values = new byte[count];
+            for (int done = 0; done < count; ) {
+                ByteBuffer region = map(count - done);
+                int length = region.remaining();
+                region.get(values, done, length);
+                done += length;
+            }
+            return values;
+        }
+
+        void update(ByteBuffer bytes) {
+            crc.update(bytes);
+        }
+
+        long checksum() {
+            return crc.getValue();
+        }
+
+        private ByteBuffer map(long length) throws IOException {
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(length, MAX_REGION_SIZE));
+            crc.update(region.duplicate());
+            position += region.remaining();
+            return region.order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package io.github.zhaqimz.employeereporting.registry;
 
 import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineMetrics;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineMetrics.StageTimer;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineStage;
 
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class EmployeeRegistryValidator {
     private static final Logger logger = Logger.getLogger(EmployeeRegistryValidator.class.getName());
@@ -14,20 +21,71 @@ public class EmployeeRegistryValidator {
     /**
      * Validates a list of employees against business rules and constraints.
      *
+     * <p>All rules are checked together by a single pass over the employees into an {@link EmployeeRegistryIndex},
+     * after which only primitive arrays are scanned. Errors are reported in rule order: maximum employees,
+     * duplicate IDs in the order they first appear, unknown manager IDs in registry order, multiple top-level managers,
+     * then reporting line cycles; this is the same as concatenating the results of the individual rule checks.
+     *
      * @param employees             The list of {@link Employee} objects to validate.
      * @param maxPermittedEmployees The maximum number of employees permitted; validation will fail if exceeded.
      * @return                      A list of {@link ValidationError} instances representing any validation issues found.
      *                              The list is empty if all employees pass validation.
      */
     public static List<ValidationError> validateEmployees(List<Employee> employees, int maxPermittedEmployees) {
-        List<ValidationError> errors = new ArrayList<>();
+        ErrorCollector errors = ErrorBudget.UNLIMITED.collector();
+        validateEmployees(employees, maxPermittedEmployees, errors);
+        return errors.errors();
+    }
 
-        errors.addAll(validateMaxEmployees(employees, maxPermittedEmployees));
-        errors.addAll(validateEmployeeIds(employees));
-        errors.addAll(validateManagerIds(employees));
-        errors.addAll(validateSingleTopLevelManager(employees));
+    /**
+     * Validates a list of employees as {@link #validateEmployees(List, int)} does, recording the errors in the
+     * collector, e.g. after those of parsing the registry, until its {@link ErrorBudget} is exceeded. Nothing
+     * is validated if it already is, and no further rules are run once it is.
+     *
+     * @param employees             The list of {@link Employee} objects to validate.
+     * @param maxPermittedEmployees The maximum number of employees permitted; validation will fail if exceeded.
+     * @param errors                The collector the validation errors are recorded in.
+     */
+    public static void validateEmployees(List<Employee> employees, int maxPermittedEmployees, ErrorCollector errors) {
+        if (errors.isExceeded()) {
+            return;
+        }
+        logger.info("Executing validation of employee registry");
+        EmployeeRegistryIndex index = new EmployeeRegistryIndex(employees.size());
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.VALIDATION_INDEX)) {
+            for (Employee employee : employees) {
+                index.add(employee.id(), employee.managerId());
+            }
+            timer.rows(index.size());
+        }
+        index.validate(maxPermittedEmployees, errors);
+    }
 
-        return errors;
+    /**
+     * Validates a stream of employees against the same business rules as {@link #validateEmployees(List, int)},
+     * consuming it in a single pass.
+     *
+     * <p>Only the employee and manager IDs needed by the ID and hierarchy rules are retained, in primitive arrays, so rows
+     * can be validated as they are produced, e.g. from {@link EmployeeCsvParser#stream}, without materialising the
+     * employee list. The errors returned are the same, and in the same order, as for the list-based validation.
+     *
+     * @param employees             The {@link Employee} objects to validate.
+     * @param maxPermittedEmployees The maximum number of employees permitted; validation will fail if exceeded.
+     * @return                      A list of {@link ValidationError} instances representing any validation issues found.
+     *                              The list is empty if all employees pass validation.
+     */
+    public static List<ValidationError> validateEmployees(Stream<Employee> employees, int maxPermittedEmployees) {
+        logger.info("Executing streamed validation of employee registry");
+        EmployeeRegistryIndex index = new EmployeeRegistryIndex(16);
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.VALIDATION_INDEX)) {
+            Iterator<Employee> iterator = employees.iterator();
+            while (iterator.hasNext()) {
+                Employee employee = iterator.next();
+                index.add(employee.id(), employee.managerId());
+            }
+            timer.rows(index.size());
+        }
+        return index.validate(maxPermittedEmployees);
     }
 
     /**
@@ -42,10 +100,7 @@ public class EmployeeRegistryValidator {
         logger.info("Executing validation of maximum employees restriction");
         List<ValidationError> errors = new ArrayList<>();
         if (employees.size() > maxPermittedEmployees) {
-            errors.add(new ValidationError(
-                    ValidationErrorType.MAXIMUM_EMPLOYEES_EXCEEDED,
-                    String.format("Number of employees [%d] exceeds the maximum permitted [%d]", employees.size(), maxPermittedEmployees)
-            ));
+            errors.add(maxEmployeesExceededError(employees.size(), maxPermittedEmployees));
         }
         return errors;
     }
@@ -54,19 +109,17 @@ public class EmployeeRegistryValidator {
      * Validates the uniqueness of employee IDs within the given list of employees.
      *
      * @param employees The list of {@link Employee} objects to validate.
-     * @return          A list of {@link ValidationError} instances found with duplicate employee IDs.
+     * @return          A list of {@link ValidationError} instances found with duplicate employee IDs, in the order their IDs first appear.
      *                  Returns an empty list if all IDs are valid and unique.
      */
     static List<ValidationError> validateEmployeeIds(List<Employee> employees) {
         logger.info("Executing validation of employee id integrity");
         return employees.stream()
-                .collect(Collectors.groupingBy(Employee::id, Collectors.counting()))
+                .collect(Collectors.groupingBy(Employee::id, LinkedHashMap::new, Collectors.counting()))
                 .entrySet().stream()
                 .filter(entry -> entry.getValue() > 1)
-                .map(entry -> new ValidationError(
-                        ValidationErrorType.DUPLICATE_EMPLOYEE_ID,
-                        String.format("Duplicate Employee Id [%d] found", entry.getKey())
-                ))
+                .map(Map.Entry::getKey)
+                .map(EmployeeRegistryValidator::duplicateEmployeeIdError)
                 .toList();
     }
 
@@ -90,10 +143,7 @@ public class EmployeeRegistryValidator {
         for (Employee employee : employees) {
             Integer managerId = employee.managerId();
             if (managerId != null && !employeeIds.contains(managerId)) {
-                errors.add(new ValidationError(
-                        ValidationErrorType.UNKNOWN_MANAGER_ID,
-                        String.format("Manager Id [%d] for Employee Id [%d] could not be identified", managerId, employee.id())
-                ));
+                errors.add(unknownManagerIdError(managerId, employee.id()));
             }
         }
         return errors;
@@ -116,11 +166,55 @@ public class EmployeeRegistryValidator {
 
         List<ValidationError> errors = new ArrayList<>();
         if (topLevelManagers.size() > 1) {
-            errors.add(new ValidationError(
-                    ValidationErrorType.MULTIPLE_TOP_LEVEL_MANAGERS,
-                    String.format("Only one top-level manager (null managerId) is allowed, but found [%d]", topLevelManagers.size())
-            ));
+            errors.add(multipleTopLevelManagersError(topLevelManagers.size()));
         }
         return errors;
     }
-}
\ No newline at end of file
+
+    /**
+     * Validates that every reporting line leads to a top-level manager or an unknown manager rather than round a cycle.
+     *
+     * <p>Each cycle (e.g. A reports to B, B reports to A) is reported with the IDs of its members, and employees
+     * whose reporting line leads into a cycle are reported as unreachable. The check runs in linear time.
+     *
+     * @param employees The list of {@link Employee} objects to validate.
+     * @return          A list of {@link ValidationError} instances for any cycles and the employees reporting into them.
+     *                  Returns an empty list if the reporting lines contain no cycles.
+     */
+    static List<ValidationError> validateReportingLineCycles(List<Employee> employees) {
+        logger.info("Executing validation of reporting line cycles");
+        EmployeeRegistryIndex index = new EmployeeRegistryIndex(employees.size());
+        for (Employee employee : employees) {
+            index.add(employee.id(), employee.managerId());
+        }
+        return index.findCycleErrors();
+    }
+
+    public static ValidationError maxEmployeesExceededError(int employeeCount, int maxPermittedEmployees) {
+        return ValidationError.maximumEmployeesExceeded(employeeCount, maxPermittedEmployees);
+    }
+
+    public static ValidationError duplicateEmployeeIdError(Integer employeeId) {
+        return ValidationError.duplicateEmployeeId(employeeId);
+    }
+
+    public static ValidationError unknownManagerIdError(Integer managerId, Integer employeeId) {
+        return ValidationError.unknownManagerId(managerId, employeeId);
+    }
+
+    public static ValidationError multipleTopLevelManagersError(int topLevelManagerCount) {
+        return ValidationError.multipleTopLevelManagers(topLevelManagerCount);
+    }
+
+    public static ValidationError reportingLineCycleError(List<Integer> cycleEmployeeIds) {
+        return ValidationError.reportingLineCycle(cycleEmployeeIds);
+    }
+
+    public static ValidationError unknownEmployeeIdError(Integer employeeId) {
+        return ValidationError.unknownEmployeeId(employeeId);
+    }
+
+    public static ValidationError incompleteEmployeeError(Employee employee) {
+        return ValidationError.incompleteEmployee(employee);
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.zhaqimz.employeereporting.registry;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * The most parse and validation errors worth reporting for a registry, in total and per {@link ValidationErrorType}.
+ * <p>
+ * A badly broken file, e.g. one with the wrong delimiter, has an error on every row. Once a registry has more
+ * errors than its budget allows, parsing and validation stop and the errors found so far are reported with a
+ * single {@link ValidationErrorType#ERROR_BUDGET_EXCEEDED} error counting them by type. Each run records its
+ * errors in its own {@link ErrorCollector}.
+ *
+ * @param maxErrors         The most errors reported in total.
+ * @param maxErrorsPerType  The most errors reported of each type listed; other types are only limited by the total.
+ */
+public record ErrorBudget(
+        int maxErrors,
+        Map<ValidationErrorType, Integer> maxErrorsPerType
+) {
+    private static final Logger logger = Logger.getLogger(ErrorBudget.class.getName());
+
+    public static final ErrorBudget UNLIMITED = new ErrorBudget(Integer.MAX_VALUE, Map.of());
+
+    public ErrorBudget {
+        if (maxErrors < 0 || maxErrorsPerType.values().stream().anyMatch(max -> max < 0)) {
+            logger.severe("Error budget must be >= 0");
+            throw new IllegalArgumentException("Error budget must be >= 0");
+        }
+        maxErrorsPerType = maxErrorsPerType.isEmpty() ? Map.of() : Collections.unmodifiableMap(new EnumMap<>(maxErrorsPerType));
+    }
+
+    /**
+     * Returns the most errors of the type reported before the budget is exceeded.
+     */
+    public int maxErrors(ValidationErrorType type) {
+        return Math.min(maxErrors, maxErrorsPerType.getOrDefault(type, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Starts recording the errors of a run against this budget.
+     */
+    public ErrorCollector collector() {
+        return new ErrorCollector(this);
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.zhaqimz.employeereporting.registry;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Records the parse and validation errors of one run against an {@link ErrorBudget}.
+ * <p>
+ * Errors are kept in the order they are added until one takes the run over its budget. That error is counted
+ * but not kept, the collector is exceeded and every later error is ignored, so parsers and validators should
+ * stop as soon as {@link #add(ValidationError)} returns {@code false}. A collector is used by a single thread.
+ */
+public final class ErrorCollector {
+    private static final Logger logger = Logger.getLogger(ErrorCollector.class.getName());
+    private static final ValidationErrorType[] TYPES = ValidationErrorType.values();
+
+    private final ErrorBudget budget;
+    private final int[] maxErrorsPerType = new int[TYPES.length];
+    private final int[] countsPerType = new int[TYPES.length];
+    private final List<ValidationError> errors = new ArrayList<>();
+    private int count;
+    private boolean exceeded;
+    // The type of the error that exceeded the budget, counted but not kept
+    private ValidationErrorType exceededBy;
+
+    ErrorCollector(ErrorBudget budget) {
+        this.budget = budget;
+        for (ValidationErrorType type : TYPES) {
+            maxErrorsPerType[type.ordinal()] = budget.maxErrors(type);
+        }
+    }
+
+    /**
+     * Records the error if the run is still within its budget.
+     *
+     * @return {@code false} once the budget is exceeded, by this error or an earlier one
+     */
+    public boolean add(ValidationError error) {
+        if (exceeded) {
+            return false;
+        }
+        count++;
+        int typeCount = ++countsPerType[error.type().ordinal()];
+        if (count > budget.maxErrors() || typeCount > maxErrorsPerType[error.type().ordinal()]) {
+            exceeded = true;
+            exceededBy = error.type();
+            logger.warning("Error budget exceeded by " + error.type() + " error; parsing and validation stopped");
+            return false;
+        }
+        errors.add(error);
+        return true;
+    }
+
+    /**
+     * Records the errors in order until the budget is exceeded.
+     *
+     * @return {@code false} once the budget is exceeded
+     */
+    public boolean addAll(List<ValidationError> errors) {
+        for (ValidationError error : errors) {
+            if (!add(error)) {
+                return false;
+            }
+        }
+        return !exceeded;
+    }
+
+    /**
+     * Records another collector's kept errors in order until the budget is exceeded, e.g. to merge runs over
+     * parts of the same file; if the other collector was itself exceeded, so is this one.
+     *
+     * @return {@code false} once the budget is exceeded
+     */
+    boolean addAll(ErrorCollector other) {
+        if (!addAll(other.errors)) {
+            return false;
+        }
+        if (other.exceeded) {
+            // Having recorded everything the other kept, the error that exceeded its budget exceeds this one's
+            count++;
+            countsPerType[other.exceededBy.ordinal()]++;
+            exceeded = true;
+            exceededBy = other.exceededBy;
+        }
+        return !exceeded;
+    }
+
+    /**
+     * Returns the budget the errors are recorded against, e.g. to record another run of the same file against it.
+     */
+    public ErrorBudget budget() {
+        return budget;
+    }
+
+    public boolean isExceeded() {
+        return exceeded;
+    }
+
+    /**
+     * Returns the number of errors found, including the one that exceeded the budget.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Returns the errors kept, followed by an {@link ValidationErrorType#ERROR_BUDGET_EXCEEDED} error counting
+     * every error found by type if the budget was exceeded.
+     */
+    public List<ValidationError> errors() {
+        List<ValidationError> result = new ArrayList<>(errors.size() + 1);
+        result.addAll(errors);
+        if (exceeded) {
+            result.add(budgetExceededError());
+        }
+        return result;
+    }
+
+    private ValidationError budgetExceededError() {
+        Map<ValidationErrorType, Integer> counts = new EnumMap<>(ValidationErrorType.class);
+        for (ValidationErrorType type : TYPES) {
+            if (countsPerType[type.ordinal()] > 0) {
+                counts.put(type, countsPerType[type.ordinal()]);
+            }
+        }
+        return new ValidationError(
+                ValidationErrorType.ERROR_BUDGET_EXCEEDED,
+                String.format("Error budget exceeded: parsing and validation stopped after %d errors %s", count, counts)
+        );
+    }
+}
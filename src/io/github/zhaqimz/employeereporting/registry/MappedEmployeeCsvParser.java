@@ -0,0 +1,390 @@
+package io.github.zhaqimz.employeereporting.registry;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.model.EmployeeBuilder;
+import io.github.zhaqimz.employeereporting.monitoring.CsvChunkParsedEvent;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Byte-level parser for employee registry CSV files.
+ * <p>
+ * The file is memory-mapped and rows are tokenized straight from the mapped bytes. Integer and
+ * decimal fields are parsed without building intermediate {@link String}s; only name fields, and
+ * values that fail the fast path, are decoded. Line terminators and trimming follow
+ * {@link java.io.BufferedReader#readLine()} and {@link String#trim()} so the results, including
+ * the line numbers in any {@link ValidationError}s, match {@link EmployeeCsvParser#parse(Path, Boolean)}.
+ */
+class MappedEmployeeCsvParser {
+    private static final Logger logger = Logger.getLogger(MappedEmployeeCsvParser.class.getName());
+
+    // Upper bound for a single mapping; larger files are mapped region by region, cut on line boundaries
+    static final long MAX_REGION_SIZE = 1L << 30;
+
+    private static final int FIELD_COUNT = EmployeeCsvParser.employeeCsvSchema.fields().size();
+
+    /**
+     * Parses the employee data from the specified CSV file by memory-mapping it.
+     *
+     * @param filePath           the path to the CSV file containing employee data
+     * @param headerRowIncluded  whether the first row in the CSV file is a header row and should be skipped
+     * @return                   a {@link ParsedEmployeesResult} containing the list of parsed employees and any validation errors encountered
+     * @throws IOException       if an I/O error occurs reading the file
+     */
+    static ParsedEmployeesResult parse(Path filePath, boolean headerRowIncluded) throws IOException {
+        return parse(filePath, headerRowIncluded, MAX_REGION_SIZE, ErrorBudget.UNLIMITED.collector());
+    }
+
+    /**
+     * Parses the employee data from the specified CSV file by memory-mapping it, stopping at the row whose
+     * errors exceed the collector's {@link ErrorBudget}.
+     */
+    static ParsedEmployeesResult parse(Path filePath, boolean headerRowIncluded, ErrorCollector errors) throws IOException {
+        return parse(filePath, headerRowIncluded, MAX_REGION_SIZE, errors);
+    }
+
+    static ParsedEmployeesResult parse(Path filePath, boolean headerRowIncluded, long maxRegionSize) throws IOException {
+        return parse(filePath, headerRowIncluded, maxRegionSize, ErrorBudget.UNLIMITED.collector());
+    }
+
+    static ParsedEmployeesResult parse(Path filePath, boolean headerRowIncluded, long maxRegionSize, ErrorCollector errors) throws IOException {
+        logger.info("Parsing employee registry file via memory-mapped regions");
+        List<Employee> employees = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            RegionParser regionParser = new RegionParser(employees, errors);
+            int lineNumber = 0;
+            boolean skipHeader = headerRowIncluded;
+            long regionStart = 0;
+            while (regionStart < fileSize && !errors.isExceeded()) {
+                long regionEnd = alignToLineStart(channel, Math.min(regionStart + maxRegionSize, fileSize), fileSize);
+                ByteBuffer region = map(channel, regionStart, regionEnd);
+                lineNumber = regionParser.parse(region, regionStart, lineNumber, skipHeader);
+                skipHeader = false;
+                regionStart = regionEnd;
+            }
+        }
+
+        return new ParsedEmployeesResult(employees, errors.errors());
+    }
+
+    /**
+     * Maps the given byte range of the file as a read-only buffer.
+     *
+     * @param channel the channel of the file to map
+     * @param start   the inclusive start offset of the range
+     * @param end     the exclusive end offset of the range
+     * @return        the mapped range
+     * @throws IOException if the range cannot be mapped or is larger than a single mapping allows
+     */
+    static ByteBuffer map(FileChannel channel, long start, long end) throws IOException {
+        if (end - start > Integer.MAX_VALUE) {
+            throw new IOException(String.format("CSV line starting before offset %d exceeds the maximum mappable size", end));
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+    }
+
+    /**
+     * Returns the first offset at or after {@code position} at which a line starts.
+     *
+     * <p>A line starts after a {@code \n}, or after a {@code \r} that is not followed by {@code \n},
+     * so a {@code \r\n} pair is never split. Returns {@code fileSize} if no further line starts.
+     *
+     * @param channel  the channel of the file being parsed
+     * @param position the offset to align
+     * @param fileSize the size of the file
+     * @return         the aligned offset
+     * @throws IOException if an I/O error occurs reading the file
+     */
+    static long alignToLineStart(FileChannel channel, long position, long fileSize) throws IOException {
+        if (position <= 0 || position >= fileSize) {
+            return Math.max(0, Math.min(position, fileSize));
+        }
+        ByteBuffer window = ByteBuffer.allocate(8192);
+        long offset = position - 1;
+        boolean previousWasCarriageReturn = false;
+        while (offset < fileSize) {
+            window.clear();
+            int read = channel.read(window, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = window.get(i);
+                if (previousWasCarriageReturn && b != '\n') {
+                    return offset + i;
+                }
+                if (b == '\n') {
+                    return offset + i + 1;
+                }
+                previousWasCarriageReturn = b == '\r';
+            }
+            offset += read;
+        }
+        return fileSize;
+    }
+
+    /**
+     * Tokenizes the rows of mapped regions into {@link Employee}s and {@link ValidationError}s, until the
+     * errors exceed the collector's budget.
+     * <p>
+     * An instance holds per-parse scratch state and is not thread-safe; concurrent parses each use their own.
+     */
+    static final class RegionParser {
+        private final List<Employee> employees;
+        private final ErrorCollector errors;
+        private final int[] fieldBounds = new int[FIELD_COUNT * 2];
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+
+        // Employees parsed by the end of the row of each error, by error count; null unless error rows are tracked
+        private int[] employeesByErrorCount;
+
+        RegionParser(List<Employee> employees, ErrorCollector errors) {
+            this.employees = employees;
+            this.errors = errors;
+        }
+
+        /**
+         * Creates a parser that also records how many employees had been parsed by the end of the row of every
+         * error, so the employees can be cut off where a budget shared with other regions is exceeded.
+         */
+        static RegionParser trackingErrorRows(List<Employee> employees, ErrorCollector errors) {
+            RegionParser parser = new RegionParser(employees, errors);
+            parser.employeesByErrorCount = new int[16];
+            return parser;
+        }
+
+        /**
+         * Parses every line of the region, which must start at a line start and end after a line terminator
+         * or at the end of the file; parsing stops after the line whose errors exceed the error budget.
+         *
+         * @param region         the mapped region
+         * @param lineNumber     the number of lines preceding the region in the file
+         * @param skipFirstLine  whether the first line of the region is a header row and should be skipped
+         * @return               the number of lines up to and including the region
+         * @throws IOException   if a field is not valid UTF-8
+         */
+        int parse(ByteBuffer region, int lineNumber, boolean skipFirstLine) throws IOException {
+            int limit = region.limit();
+            int position = 0;
+            if (skipFirstLine && position < limit) {
+                lineNumber++;
+                position = nextLine(region, lineEnd(region, position, limit), limit);
+            }
+            while (position < limit && !errors.isExceeded()) {
+                int lineEnd = lineEnd(region, position, limit);
+                lineNumber++;
+                int errorCount = errors.count();
+                parseRow(region, position, lineEnd, lineNumber);
+                if (employeesByErrorCount != null && errors.count() > errorCount) {
+                    recordErrorRow(errorCount);
+                }
+                position = nextLine(region, lineEnd, limit);
+            }
+            return lineNumber;
+        }
+
+        private void recordErrorRow(int previousErrorCount) {
+            int errorCount = errors.count();
+            if (errorCount > employeesByErrorCount.length) {
+                employeesByErrorCount = Arrays.copyOf(employeesByErrorCount, Math.max(errorCount, employeesByErrorCount.length * 2));
+            }
+            Arrays.fill(employeesByErrorCount, previousErrorCount, errorCount, employees.size());
+        }
+
+        /**
+         * Returns the number of employees parsed by the end of the row holding the given error, counted from 1
+         * in the order the errors were found, including the one that exceeded the budget. Only available from a
+         * parser {@link #trackingErrorRows tracking error rows}.
+         */
+        int employeesAtError(int errorNumber) {
+            return employeesByErrorCount[errorNumber - 1];
+        }
+
+        /**
+         * Parses every line of the region as {@link #parse(ByteBuffer, int, boolean)} does, and commits a
+         * {@link CsvChunkParsedEvent} for it when a flight recording is enabled for the event.
+         *
+         * @param region         the mapped region
+         * @param startOffset    the offset of the region in the file
+         * @param lineNumber     the number of lines preceding the region in the file
+         * @param skipFirstLine  whether the first line of the region is a header row and should be skipped
+         * @return               the number of lines up to and including the region
+         * @throws IOException   if a field is not valid UTF-8
+         */
+        int parse(ByteBuffer region, long startOffset, int lineNumber, boolean skipFirstLine) throws IOException {
+            CsvChunkParsedEvent event = new CsvChunkParsedEvent();
+            event.begin();
+            int errorCount = errors.count();
+            int endLineNumber = parse(region, lineNumber, skipFirstLine);
+            if (event.shouldCommit()) {
+                event.startOffset = startOffset;
+                event.endOffset = startOffset + region.limit();
+                event.rows = endLineNumber - lineNumber - (skipFirstLine && region.limit() > 0 ? 1 : 0);
+                event.errors = errors.count() - errorCount;
+                event.commit();
+            }
+            return endLineNumber;
+        }
+
+        /**
+         * Counts the lines of a region without parsing them, using the same terminator rules as {@link #parse}.
+         *
+         * @param region the mapped region
+         * @return       the number of lines in the region
+         */
+        static int countLines(ByteBuffer region) {
+            int limit = region.limit();
+            int position = 0;
+            int lines = 0;
+            while (position < limit) {
+                lines++;
+                position = nextLine(region, lineEnd(region, position, limit), limit);
+            }
+            return lines;
+        }
+
+        private void parseRow(ByteBuffer region, int lineStart, int lineEnd, int lineNumber) throws IOException {
+            // Equivalent of line.split(",", -1): the row must hold exactly one field per schema column
+            int fieldCount = 0;
+            int fieldStart = lineStart;
+            for (int i = lineStart; i <= lineEnd; i++) {
+                if (i == lineEnd || region.get(i) == ',') {
+                    if (fieldCount < FIELD_COUNT) {
+                        fieldBounds[fieldCount * 2] = fieldStart;
+                        fieldBounds[fieldCount * 2 + 1] = i;
+                    }
+                    fieldCount++;
+                    fieldStart = i + 1;
+                }
+            }
+            if (fieldCount != FIELD_COUNT) {
+                errors.add(ValidationError.incompleteDataRow(lineNumber));
+                return;
+            }
+
+            EmployeeBuilder builder = new EmployeeBuilder();
+            for (CsvFieldSchema<?> fieldSchema : EmployeeCsvParser.employeeCsvSchema.fields()) {
+                int start = fieldBounds[fieldSchema.position() * 2];
+                int end = fieldBounds[fieldSchema.position() * 2 + 1];
+                // Trim as String.trim() does
+                while (start < end && (region.get(start) & 0xff) <= ' ') {
+                    start++;
+                }
+                while (end > start && (region.get(end - 1) & 0xff) <= ' ') {
+                    end--;
+                }
+
+                CsvFieldResult<?> fieldResult = switch (fieldSchema.type()) {
+                    case STRING -> EmployeeCsvParser.parseStringField(decode(region, start, end), fieldSchema, lineNumber);
+                    case INTEGER_ABS -> parseIntAbsField(region, start, end, fieldSchema, lineNumber);
+                    case BIG_DECIMAL_ABS -> parseBigDecimalAbsField(region, start, end, fieldSchema, lineNumber);
+                };
+                fieldResult.getError().ifPresent(errors::add);
+                EmployeeCsvParser.bindField(fieldSchema, builder, fieldResult);
+            }
+            employees.add(builder.build());
+        }
+
+        /**
+         * Parses a plain run of up to 9 digits directly from bytes; anything else (blank, signed, oversized
+         * or malformed values) is decoded and handed to {@link EmployeeCsvParser#parseIntAbsField} so results
+         * and error messages are identical.
+         */
+        private CsvFieldResult<Integer> parseIntAbsField(ByteBuffer region, int start, int end, CsvFieldSchema<?> fieldSchema, int lineNumber) throws IOException {
+            int length = end - start;
+            if (length > 0 && length <= 9) {
+                int value = 0;
+                int i = start;
+                for (; i < end; i++) {
+                    int digit = region.get(i) - '0';
+                    if (digit < 0 || digit > 9) {
+                        break;
+                    }
+                    value = value * 10 + digit;
+                }
+                if (i == end) {
+                    return CsvFieldResult.success(value);
+                }
+            }
+            return EmployeeCsvParser.parseIntAbsField(decode(region, start, end), fieldSchema, lineNumber);
+        }
+
+        /**
+         * Parses digits with an optional single decimal point (up to 18 digits) directly from bytes into an
+         * unscaled long and scale, which yields a {@link BigDecimal} equal to {@code new BigDecimal(String)}.
+         * Anything else falls back to {@link EmployeeCsvParser#parseBigDecimalAbsField}.
+         */
+        private CsvFieldResult<BigDecimal> parseBigDecimalAbsField(ByteBuffer region, int start, int end, CsvFieldSchema<?> fieldSchema, int lineNumber) throws IOException {
+            int length = end - start;
+            if (length > 0 && length <= 19) {
+                long unscaled = 0;
+                int digits = 0;
+                int pointAt = -1;
+                int i = start;
+                for (; i < end; i++) {
+                    byte b = region.get(i);
+                    if (b == '.' && pointAt < 0) {
+                        pointAt = i;
+                        continue;
+                    }
+                    int digit = b - '0';
+                    if (digit < 0 || digit > 9) {
+                        break;
+                    }
+                    unscaled = unscaled * 10 + digit;
+                    digits++;
+                }
+                if (i == end && digits > 0 && digits <= 18) {
+                    return CsvFieldResult.success(BigDecimal.valueOf(unscaled, pointAt < 0 ? 0 : end - pointAt - 1));
+                }
+            }
+            return EmployeeCsvParser.parseBigDecimalAbsField(decode(region, start, end), fieldSchema, lineNumber);
+        }
+
+        private String decode(ByteBuffer region, int start, int end) throws IOException {
+            if (start == end) {
+                return "";
+            }
+            CharBuffer chars = decoder.decode(region.slice(start, end - start));
+            return chars.toString();
+        }
+
+        private static int lineEnd(ByteBuffer region, int position, int limit) {
+            while (position < limit) {
+                byte b = region.get(position);
+                if (b == '\n' || b == '\r') {
+                    break;
+                }
+                position++;
+            }
+            return position;
+        }
+
+        private static int nextLine(ByteBuffer region, int lineEnd, int limit) {
+            if (lineEnd >= limit) {
+                return limit;
+            }
+            if (region.get(lineEnd) == '\r' && lineEnd + 1 < limit && region.get(lineEnd + 1) == '\n') {
+                return lineEnd + 2;
+            }
+            return lineEnd + 1;
+        }
+    }
+}
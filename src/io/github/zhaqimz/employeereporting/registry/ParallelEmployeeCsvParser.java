@@ -0,0 +1,182 @@
+package io.github.zhaqimz.employeereporting.registry;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+/**
+ * Parallel variant of {@link MappedEmployeeCsvParser}.
+ * <p>
+ * The file is split into byte ranges aligned to line starts. Each range is mapped and its lines are
+ * counted on a {@link ForkJoinPool} worker, which fixes the line number every range starts at; the
+ * ranges are then parsed concurrently and their employees and {@link ValidationError}s are merged
+ * back in file order.
+ * <p>
+ * Each range records its errors against the {@link ErrorBudget} on its own and stops once it alone exceeds
+ * it. Merged in file order, the errors are cut off at the same error, with the same counts, as a sequential
+ * parse would be.
+ */
+class ParallelEmployeeCsvParser {
+    private static final Logger logger = Logger.getLogger(ParallelEmployeeCsvParser.class.getName());
+
+    // Chunks smaller than this cost more to schedule than to parse
+    static final long MIN_CHUNK_SIZE = 1L << 20;
+
+    /**
+     * Parses the employee data from the specified CSV file using one worker per available processor.
+     *
+     * @param filePath           the path to the CSV file containing employee data
+     * @param headerRowIncluded  whether the first row in the CSV file is a header row and should be skipped
+     * @return                   a {@link ParsedEmployeesResult} containing the list of parsed employees and any validation errors encountered
+     * @throws IOException       if an I/O error occurs reading the file
+     */
+    static ParsedEmployeesResult parse(Path filePath, boolean headerRowIncluded) throws IOException {
+        return parse(filePath, headerRowIncluded, ErrorBudget.UNLIMITED.collector());
+    }
+
+    /**
+     * Parses the employee data from the specified CSV file using one worker per available processor, recording
+     * the errors against the collector's {@link ErrorBudget}.
+     */
+    static ParsedEmployeesResult parse(Path filePath, boolean headerRowIncluded, ErrorCollector errors) throws IOException {
+        return parse(filePath, headerRowIncluded, Runtime.getRuntime().availableProcessors(), MIN_CHUNK_SIZE, errors);
+    }
+
+    static ParsedEmployeesResult parse(Path filePath, boolean headerRowIncluded, int parallelism, long minChunkSize) throws IOException {
+        return parse(filePath, headerRowIncluded, parallelism, minChunkSize, ErrorBudget.UNLIMITED.collector());
+    }
+
+    /**
+     * Parses the employee data from the specified CSV file in newline-aligned chunks.
+     *
+     * @param filePath           the path to the CSV file containing employee data
+     * @param headerRowIncluded  whether the first row in the CSV file is a header row and should be skipped
+     * @param parallelism        the number of {@link ForkJoinPool} workers to parse with
+     * @param minChunkSize       the smallest byte range worth handing to a worker
+     * @param errors             the collector the parse errors are merged into
+     * @return                   a {@link ParsedEmployeesResult} containing the list of parsed employees and any validation errors encountered
+     * @throws IOException       if an I/O error occurs reading the file
+     */
+    static ParsedEmployeesResult parse(Path filePath, boolean headerRowIncluded, int parallelism, long minChunkSize, ErrorCollector errors) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be >= 1");
+        }
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            List<Chunk> chunks = mapChunks(channel, parallelism, minChunkSize);
+            logger.info(String.format("Parsing employee registry file in %d chunks with parallelism %d", chunks.size(), parallelism));
+
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                // Phase 1: count lines per chunk so every chunk knows the line number it starts at
+                List<Callable<Integer>> countTasks = new ArrayList<>(chunks.size());
+                for (Chunk chunk : chunks) {
+                    countTasks.add(() -> MappedEmployeeCsvParser.RegionParser.countLines(chunk.region()));
+                }
+                List<Integer> lineCounts = await(pool.invokeAll(countTasks));
+
+                // Phase 2: parse chunks concurrently, each into its own result
+                List<Callable<ChunkResult>> parseTasks = new ArrayList<>(chunks.size());
+                int startLine = 0;
+                for (int i = 0; i < chunks.size(); i++) {
+                    Chunk chunk = chunks.get(i);
+                    int chunkStartLine = startLine;
+                    boolean skipHeader = i == 0 && headerRowIncluded;
+                    parseTasks.add(() -> {
+                        List<Employee> employees = new ArrayList<>();
+                        ErrorCollector chunkErrors = errors.budget().collector();
+                        MappedEmployeeCsvParser.RegionParser parser = MappedEmployeeCsvParser.RegionParser.trackingErrorRows(employees, chunkErrors);
+                        parser.parse(chunk.region(), chunk.startOffset(), chunkStartLine, skipHeader);
+                        return new ChunkResult(employees, chunkErrors, parser);
+                    });
+                    startLine += lineCounts.get(i);
+                }
+                List<ChunkResult> chunkResults = await(pool.invokeAll(parseTasks));
+
+                return merge(chunkResults, errors);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Splits the file into roughly equal, line-aligned byte ranges and maps each of them.
+     */
+    private static List<Chunk> mapChunks(FileChannel channel, int parallelism, long minChunkSize) throws IOException {
+        long fileSize = channel.size();
+        // A few chunks per worker keeps workers busy when row density varies across the file
+        long targetChunkSize = Math.max(minChunkSize, fileSize / (parallelism * 4L));
+        targetChunkSize = Math.min(targetChunkSize, MappedEmployeeCsvParser.MAX_REGION_SIZE);
+
+        List<Chunk> chunks = new ArrayList<>();
+        long chunkStart = 0;
+        while (chunkStart < fileSize) {
+            long chunkEnd = MappedEmployeeCsvParser.alignToLineStart(channel, Math.min(chunkStart + targetChunkSize, fileSize), fileSize);
+            chunks.add(new Chunk(chunkStart, MappedEmployeeCsvParser.map(channel, chunkStart, chunkEnd)));
+            chunkStart = chunkEnd;
+        }
+        return chunks;
+    }
+
+    /**
+     * Merges the chunk results in file order, up to the row at which the merged errors exceed the budget: as in
+     * a sequential parse, the employees of that row and the rows before it are kept, and no later ones.
+     */
+    private static ParsedEmployeesResult merge(List<ChunkResult> chunkResults, ErrorCollector errors) {
+        int employeeCount = 0;
+        for (ChunkResult chunkResult : chunkResults) {
+            employeeCount += chunkResult.employees().size();
+        }
+        List<Employee> employees = new ArrayList<>(employeeCount);
+        for (ChunkResult chunkResult : chunkResults) {
+            int errorCount = errors.count();
+            if (!errors.addAll(chunkResult.errors())) {
+                int exceedingError = errors.count() - errorCount;
+                employees.addAll(chunkResult.employees().subList(0, chunkResult.parser().employeesAtError(exceedingError)));
+                break;
+            }
+            employees.addAll(chunkResult.employees());
+        }
+        return new ParsedEmployeesResult(employees, errors.errors());
+    }
+
+    private static <T> List<T> await(List<Future<T>> futures) throws IOException {
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while parsing employee registry file", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("Failed to parse employee registry file chunk", e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * A mapped, line-aligned byte range of the file and its offset in the file.
+     */
+    private record Chunk(long startOffset, ByteBuffer region) {}
+
+    /**
+     * The employees parsed from a chunk, the errors recorded on it and the parser that tracked their rows.
+     */
+    private record ChunkResult(List<Employee> employees, ErrorCollector errors, MappedEmployeeCsvParser.RegionParser parser) {}
+}
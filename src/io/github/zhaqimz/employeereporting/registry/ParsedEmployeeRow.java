@@ -0,0 +1,29 @@
+package io.github.zhaqimz.employeereporting.registry;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Represents the outcome of parsing a single row of an employee registry CSV file.
+ *
+ * @param lineNumber the line number of the row in the CSV file
+ * @param employee   the employee parsed from the row, which may be partially complete if some fields were invalid;
+ *                   {@code null} if the row did not contain one value per schema field
+ * @param errors     the {@link ValidationError} instances found on the row; empty if the row is valid
+ */
+public record ParsedEmployeeRow(
+        int lineNumber,
+        Employee employee,
+        List<ValidationError> errors
+) {
+
+    public Optional<Employee> getEmployee() {
+        return Optional.ofNullable(employee);
+    }
+
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.zhaqimz.employeereporting.registry;
+
+import io.github.zhaqimz.employeereporting.model.EmployeeTable;
+
+import java.util.List;
+
+/**
+ * Represents the result of parsing employees from an input source straight into an {@link EmployeeTable}.
+ * <p>
+ * Rows with parsing errors cannot be stored in the table; they are reported in {@code errors} and left out.
+ *
+ * @param table  the {@link EmployeeTable} holding every row that parsed without errors
+ * @param errors the list of {@link ValidationError} instances representing issues found during parsing
+ */
+public record ParsedEmployeeTableResult(
+        EmployeeTable table,
+        List<ValidationError> errors
+) {}
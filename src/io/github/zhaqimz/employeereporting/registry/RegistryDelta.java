@@ -0,0 +1,104 @@
+package io.github.zhaqimz.employeereporting.registry;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * A change to an employee registry: employee rows inserted, rows updated in place, and rows deleted by ID.
+ * <p>
+ * Within a delta, deletions are applied first, then updates, then insertions, so an ID may be deleted and
+ * inserted again by the same delta. An ID may be updated or deleted only once per delta.
+ *
+ * @param inserted Employees that are new to the registry.
+ * @param updated  Replacements for employees already in the registry, matched by ID.
+ * @param deleted  IDs of employees removed from the registry.
+ */
+public record RegistryDelta(
+        List<Employee> inserted,
+        List<Employee> updated,
+        List<Integer> deleted
+) {
+    private static final Logger logger = Logger.getLogger(RegistryDelta.class.getName());
+
+    /**
+     * @throws IllegalArgumentException if an ID is updated or deleted more than once
+     */
+    public RegistryDelta {
+        inserted = List.copyOf(inserted);
+        updated = List.copyOf(updated);
+        deleted = List.copyOf(deleted);
+        Set<Integer> changedIds = new HashSet<>();
+        for (Integer id : deleted) {
+            checkChangedOnce(changedIds, id);
+        }
+        for (Employee employee : updated) {
+            if (employee.id() != null) {
+                checkChangedOnce(changedIds, employee.id());
+            }
+        }
+    }
+
+    private static void checkChangedOnce(Set<Integer> changedIds, Integer id) {
+        if (!changedIds.add(id)) {
+            logger.severe("Employee Id updated or deleted more than once in registry delta: " + id);
+            throw new IllegalArgumentException("Employee Id updated or deleted more than once in registry delta: " + id);
+        }
+    }
+
+    /**
+     * Returns the delta that turns one registry into another, e.g. two parsed versions of the registry CSV file.
+     * Employees are matched by ID; an employee whose row is unchanged is left out of the delta. Both
+     * registries are expected to have unique IDs.
+     *
+     * <p>Finding the differences takes a pass over both registries; applying the delta then only costs in
+     * proportion to its size.
+     *
+     * @param before The registry the delta applies to.
+     * @param after  The registry the delta produces.
+     * @return       The inserted and updated employees in {@code after} order and the deleted IDs in
+     *               {@code before} order.
+     * @throws IllegalArgumentException if {@code after} holds a changed row of the same employee twice
+     */
+    public static RegistryDelta between(List<Employee> before, List<Employee> after) {
+        logger.info("Computing registry delta between " + before.size() + " and " + after.size() + " employees");
+        Map<Integer, Employee> beforeById = new HashMap<>(before.size() * 2);
+        for (Employee employee : before) {
+            beforeById.put(employee.id(), employee);
+        }
+
+        List<Employee> inserted = new ArrayList<>();
+        List<Employee> updated = new ArrayList<>();
+        Set<Integer> afterIds = new HashSet<>(after.size() * 2);
+        for (Employee employee : after) {
+            afterIds.add(employee.id());
+            Employee previous = beforeById.get(employee.id());
+            if (previous == null) {
+                inserted.add(employee);
+            } else if (!previous.equals(employee)) {
+                updated.add(employee);
+            }
+        }
+
+        List<Integer> deleted = new ArrayList<>();
+        for (Employee employee : before) {
+            if (!afterIds.contains(employee.id())) {
+                deleted.add(employee.id());
+            }
+        }
+        return new RegistryDelta(inserted, updated, deleted);
+    }
+
+    /**
+     * Returns the number of rows inserted, updated and deleted.
+     */
+    public int size() {
+        return inserted.size() + updated.size() + deleted.size();
+    }
+}
@@ -1,12 +1,212 @@
 package io.github.zhaqimz.employeereporting.registry;
 
+import io.github.zhaqimz.employeereporting.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
 /**
  * Represents a validation error encountered during processing or parsing.
- *
- * @param type    The type or category of the validation error.
- * @param message A descriptive message providing details about the error.
+ * <p>
+ * Errors raised by the parsers and validation rules are structured: they hold the line number, field, raw value,
+ * employee and manager IDs, counts and incomplete employee the error is about, and render their message only when {@link #message()}
+ * is first called. Error-heavy files therefore cost no message formatting unless the messages are printed, and
+ * errors can be filtered or grouped by their fields. Fields that do not apply to an error's type are
+ * {@code null}, or {@code 0} for the primitive ones. Two errors are equal if they have the same type and message.
  */
-public record ValidationError(
-        ValidationErrorType type,
-        String message
-) {}
\ No newline at end of file
+public final class ValidationError {
+    private final ValidationErrorType type;
+    private final int lineNumber;
+    private final String field;
+    private final String value;
+    private final Integer employeeId;
+    private final Integer managerId;
+    private final int count;
+    private final int limit;
+    private final List<Integer> employeeIds;
+    private final Employee employee;
+    // Rendered on first use unless given up front; a racing render yields an equal string
+    private String message;
+
+    /**
+     * @param type    The type or category of the validation error.
+     * @param message A descriptive message providing details about the error.
+     */
+    public ValidationError(ValidationErrorType type, String message) {
+        this(type, 0, null, null, null, null, 0, 0, null, null);
+        this.message = message;
+    }
+
+    private ValidationError(ValidationErrorType type, int lineNumber, String field, String value, Integer employeeId,
+                            Integer managerId, int count, int limit, List<Integer> employeeIds, Employee employee) {
+        this.type = type;
+        this.lineNumber = lineNumber;
+        this.field = field;
+        this.value = value;
+        this.employeeId = employeeId;
+        this.managerId = managerId;
+        this.count = count;
+        this.limit = limit;
+        this.employeeIds = employeeIds;
+        this.employee = employee;
+    }
+
+    static ValidationError invalidField(String field, String value, int lineNumber) {
+        return new ValidationError(ValidationErrorType.INVALID_FIELD, lineNumber, field, value, null, null, 0, 0, null, null);
+    }
+
+    static ValidationError incompleteDataRow(int lineNumber) {
+        return new ValidationError(ValidationErrorType.INCOMPLETE_DATA_ROW, lineNumber, null, null, null, null, 0, 0, null, null);
+    }
+
+    static ValidationError maximumEmployeesExceeded(int employeeCount, int maxPermittedEmployees) {
+        return new ValidationError(ValidationErrorType.MAXIMUM_EMPLOYEES_EXCEEDED, 0, null, null, null, null,
+                employeeCount, maxPermittedEmployees, null, null);
+    }
+
+    static ValidationError duplicateEmployeeId(Integer employeeId) {
+        return new ValidationError(ValidationErrorType.DUPLICATE_EMPLOYEE_ID, 0, null, null, employeeId, null, 0, 0, null, null);
+    }
+
+    static ValidationError unknownManagerId(Integer managerId, Integer employeeId) {
+        return new ValidationError(ValidationErrorType.UNKNOWN_MANAGER_ID, 0, null, null, employeeId, managerId, 0, 0, null, null);
+    }
+
+    static ValidationError multipleTopLevelManagers(int topLevelManagerCount) {
+        return new ValidationError(ValidationErrorType.MULTIPLE_TOP_LEVEL_MANAGERS, 0, null, null, null, null,
+                topLevelManagerCount, 1, null, null);
+    }
+
+    static ValidationError reportingLineCycle(List<Integer> cycleEmployeeIds) {
+        return new ValidationError(ValidationErrorType.REPORTING_LINE_CYCLE, 0, null, null, null, null,
+                cycleEmployeeIds.size(), 0, Collections.unmodifiableList(new ArrayList<>(cycleEmployeeIds)), null);
+    }
+
+    static ValidationError unreachableEmployees(List<Integer> unreachableEmployeeIds) {
+        return new ValidationError(ValidationErrorType.UNREACHABLE_EMPLOYEE, 0, null, null, null, null,
+                unreachableEmployeeIds.size(), 0, Collections.unmodifiableList(new ArrayList<>(unreachableEmployeeIds)), null);
+    }
+
+    static ValidationError unknownEmployeeId(Integer employeeId) {
+        return new ValidationError(ValidationErrorType.UNKNOWN_EMPLOYEE_ID, 0, null, null, employeeId, null, 0, 0, null, null);
+    }
+
+    static ValidationError incompleteEmployee(Employee employee) {
+        return new ValidationError(ValidationErrorType.INVALID_FIELD, 0, null, null, employee.id(), null, 0, 0, null, employee);
+    }
+
+    public ValidationErrorType type() {
+        return type;
+    }
+
+    /**
+     * Returns the line of the registry file the error was found on, or {@code 0} if it is not about a single line.
+     */
+    public int lineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Returns the name of the invalid field, if the error is about one.
+     */
+    public String field() {
+        return field;
+    }
+
+    /**
+     * Returns the raw, trimmed value of the invalid field, if the error is about one.
+     */
+    public String value() {
+        return value;
+    }
+
+    /**
+     * Returns the employee ID the error is about, e.g. the duplicated ID, which is itself {@code null} for
+     * employees without one.
+     */
+    public Integer employeeId() {
+        return employeeId;
+    }
+
+    /**
+     * Returns the unknown manager ID, for an {@link ValidationErrorType#UNKNOWN_MANAGER_ID} error.
+     */
+    public Integer managerId() {
+        return managerId;
+    }
+
+    /**
+     * Returns how many employees, top-level managers or cycle members the error counts.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Returns the limit the count exceeds, for a maximum employees or top-level managers error.
+     */
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * Returns the IDs of the employees in the cycle, or reporting into one, in registry order.
+     */
+    public List<Integer> employeeIds() {
+        return employeeIds;
+    }
+
+    /**
+     * Returns the employee missing a required id, name or salary, for an invalid field error about a whole employee.
+     */
+    public Employee employee() {
+        return employee;
+    }
+
+    /**
+     * Returns the descriptive message providing details about the error, rendering it on first use.
+     */
+    public String message() {
+        String rendered = message;
+        if (rendered == null) {
+            rendered = render();
+            message = rendered;
+        }
+        return rendered;
+    }
+
+    // Formatted as the messages always were, so numbers use the digits of the default locale
+    private String render() {
+        return switch (type) {
+            case INVALID_FIELD -> employee != null
+                    ? String.format("Employee [%s] is missing a required id, name or salary", employee)
+                    : String.format("Invalid value [%s] for field [%s] on line %d", value, field, lineNumber);
+            case INCOMPLETE_DATA_ROW -> String.format("Incomplete employee data row on line %d", lineNumber);
+            case MAXIMUM_EMPLOYEES_EXCEEDED -> String.format("Number of employees [%d] exceeds the maximum permitted [%d]", count, limit);
+            case DUPLICATE_EMPLOYEE_ID -> String.format("Duplicate Employee Id [%d] found", employeeId);
+            case UNKNOWN_MANAGER_ID -> String.format("Manager Id [%d] for Employee Id [%d] could not be identified", managerId, employeeId);
+            case MULTIPLE_TOP_LEVEL_MANAGERS -> String.format("Only one top-level manager (null managerId) is allowed, but found [%d]", count);
+            case REPORTING_LINE_CYCLE -> String.format("Reporting line cycle found between Employee Ids %s", employeeIds);
+            case UNREACHABLE_EMPLOYEE -> String.format("Employee Ids %s report into a reporting line cycle and cannot reach a top-level manager", employeeIds);
+            case UNKNOWN_EMPLOYEE_ID -> String.format("Employee Id [%d] to update or delete could not be identified", employeeId);
+            case ERROR_BUDGET_EXCEEDED -> throw new IllegalStateException("Error budget summaries are created with their message");
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof ValidationError other && type == other.type && message().equals(other.message());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, message());
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationError[type=" + type + ", message=" + message() + "]";
+    }
+}
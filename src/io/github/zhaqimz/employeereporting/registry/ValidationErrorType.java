@@ -6,5 +6,9 @@ public enum ValidationErrorType {
     MAXIMUM_EMPLOYEES_EXCEEDED,
     INVALID_FIELD,
     INCOMPLETE_DATA_ROW,
-    DUPLICATE_EMPLOYEE_ID
+    DUPLICATE_EMPLOYEE_ID,
+    REPORTING_LINE_CYCLE,
+    UNREACHABLE_EMPLOYEE,
+    UNKNOWN_EMPLOYEE_ID,
+    ERROR_BUDGET_EXCEEDED
 }
\ No newline at end of file
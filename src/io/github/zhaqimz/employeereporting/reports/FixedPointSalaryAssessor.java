@@ -0,0 +1,280 @@
+package io.github.zhaqimz.employeereporting.reports;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.model.ManagerRelativeSalaryAssessment;
+import io.github.zhaqimz.employeereporting.model.SalaryAssessment;
+import io.github.zhaqimz.employeereporting.model.SalaryAssessmentBasis;
+import io.github.zhaqimz.employeereporting.model.SalaryMarginStatus;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Fixed-point implementation of the manager salary assessment arithmetic in {@link SalaryAnalyser}.
+ * <p>
+ * Salaries are held as {@code long} unscaled values with an explicit scale, and the relative salary factors
+ * ({@code 1 + percentage}) are converted once per assessment run rather than once per manager. Results are
+ * identical, scale included, to the {@link BigDecimal} arithmetic: the subordinate average and the expected
+ * salary bounds are rounded {@link java.math.RoundingMode#HALF_UP HALF_UP} to 2 decimal places, and breach
+ * amounts carry the larger of 2 and the manager's salary scale.
+ * <p>
+ * Every operation is overflow-checked and throws {@link ArithmeticException} when a value does not fit a
+ * {@code long}, so callers can fall back to the {@code BigDecimal} arithmetic for that manager.
+ */
+final class FixedPointSalaryAssessor {
+    static final int SCALE = 2;
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+            10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+            1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    private final Optional<BigDecimal> minRelativeSalaryPercentage;
+    private final Optional<BigDecimal> maxRelativeSalaryPercentage;
+    private final Factor minFactor;
+    private final Factor maxFactor;
+    private final boolean applicable;
+
+    FixedPointSalaryAssessor(Optional<BigDecimal> minRelativeSalaryPercentage, Optional<BigDecimal> maxRelativeSalaryPercentage) {
+        this.minRelativeSalaryPercentage = minRelativeSalaryPercentage;
+        this.maxRelativeSalaryPercentage = maxRelativeSalaryPercentage;
+        this.minFactor = minRelativeSalaryPercentage.map(FixedPointSalaryAssessor::factor).orElse(null);
+        this.maxFactor = maxRelativeSalaryPercentage.map(FixedPointSalaryAssessor::factor).orElse(null);
+        this.applicable = (minRelativeSalaryPercentage.isEmpty() || minFactor != null)
+                && (maxRelativeSalaryPercentage.isEmpty() || maxFactor != null);
+    }
+
+    /**
+     * Returns whether both relative salary factors fit the fixed-point representation. Percentages with
+     * very high precision, e.g. {@code new BigDecimal(0.2)}, do not and must use the {@code BigDecimal} arithmetic.
+     */
+    boolean isApplicable() {
+        return applicable;
+    }
+
+    /**
+     * Assesses a single manager against the average salary of their direct subordinates.
+     *
+     * @param manager                  The manager being assessed.
+     * @param subordinatesSalaryTotal  The unscaled sum of the direct subordinates' salaries.
+     * @param totalScale               The scale of {@code subordinatesSalaryTotal}; must be {@code >= 0}.
+     * @param subordinateCount         The number of direct subordinates; must be > 0.
+     * @return                         The {@link ManagerRelativeSalaryAssessment} for the manager.
+     * @throws ArithmeticException     if an intermediate value does not fit a {@code long}
+     */
+    ManagerRelativeSalaryAssessment assess(Employee manager, long subordinatesSalaryTotal, int totalScale, int subordinateCount) {
+        return assess(manager, subordinatesSalaryTotal, totalScale, subordinateCount, SalaryAssessmentBasis.DIRECT_SUBORDINATES);
+    }
+
+    /**
+     * Assesses a single manager against the average salary of the subordinates on the given basis.
+     *
+     * @param manager                  The manager being assessed.
+     * @param subordinatesSalaryTotal  The unscaled sum of the subordinates' salaries.
+     * @param totalScale               The scale of {@code subordinatesSalaryTotal}; must be {@code >= 0}.
+     * @param subordinateCount         The number of subordinates; must be > 0.
+     * @param basis                    The subordinates the total and count are taken over.
+     * @return                         The {@link ManagerRelativeSalaryAssessment} for the manager.
+     * @throws ArithmeticException     if an intermediate value does not fit a {@code long}
+     */
+    ManagerRelativeSalaryAssessment assess(Employee manager, long subordinatesSalaryTotal, int totalScale, int subordinateCount,
+                                           SalaryAssessmentBasis basis) {
+        if (!applicable) {
+            throw new ArithmeticException("Relative salary percentages do not fit fixed-point arithmetic");
+        }
+
+        long avgDirectSubSalary;
+        if (totalScale >= SCALE) {
+            avgDirectSubSalary = divideHalfUp(subordinatesSalaryTotal,
+                    Math.multiplyExact((long) subordinateCount, powerOfTen(totalScale - SCALE)));
+        } else {
+            avgDirectSubSalary = divideHalfUp(Math.multiplyExact(subordinatesSalaryTotal, powerOfTen(SCALE - totalScale)),
+                    subordinateCount);
+        }
+
+        // Compare and subtract at the manager's salary scale, as BigDecimal.subtract would
+        BigDecimal salary = manager.salary();
+        int comparisonScale = Math.max(SCALE, salary.scale());
+        long actualSalary = unscaled(salary, comparisonScale);
+        long boundScaling = powerOfTen(comparisonScale - SCALE);
+
+        SalaryAssessment assessment = null;
+        if (minFactor != null) {
+            long expectedMinSalary = Math.multiplyExact(minFactor.apply(avgDirectSubSalary), boundScaling);
+            if (actualSalary < expectedMinSalary) {
+                assessment = new SalaryAssessment(SalaryMarginStatus.UNDERPAID,
+                        BigDecimal.valueOf(Math.subtractExact(expectedMinSalary, actualSalary), comparisonScale));
+            }
+        }
+        if (assessment == null && maxFactor != null) {
+            long expectedMaxSalary = Math.multiplyExact(maxFactor.apply(avgDirectSubSalary), boundScaling);
+            if (actualSalary > expectedMaxSalary) {
+                assessment = new SalaryAssessment(SalaryMarginStatus.OVERPAID,
+                        BigDecimal.valueOf(Math.subtractExact(actualSalary, expectedMaxSalary), comparisonScale));
+            }
+        }
+        if (assessment == null) {
+            assessment = new SalaryAssessment(SalaryMarginStatus.FAIRLY_PAID, BigDecimal.ZERO);
+        }
+
+        return new ManagerRelativeSalaryAssessment(
+                manager,
+                BigDecimal.valueOf(avgDirectSubSalary, SCALE),
+                minRelativeSalaryPercentage,
+                maxRelativeSalaryPercentage,
+                assessment,
+                basis
+        );
+    }
+
+    /**
+     * Returns the value as an unscaled {@code long} at the given scale, which must not be smaller than the value's scale.
+     *
+     * @throws ArithmeticException if the result does not fit a {@code long}
+     */
+    static long unscaled(BigDecimal value, int scale) {
+        return value.scaleByPowerOfTen(scale).longValueExact();
+    }
+
+    /**
+     * Returns {@code 10^exponent}.
+     *
+     * @throws ArithmeticException if the result does not fit a {@code long}
+     */
+    static long powerOfTen(int exponent) {
+        if (exponent < 0 || exponent >= POWERS_OF_TEN.length) {
+            throw new ArithmeticException("Power of ten out of long range: " + exponent);
+        }
+        return POWERS_OF_TEN[exponent];
+    }
+
+    /**
+     * Divides with {@link java.math.RoundingMode#HALF_UP HALF_UP} rounding; the divisor must be positive.
+     */
+    static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        if (remainder >= divisor - remainder) {
+            quotient += dividend < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    private static Factor factor(BigDecimal relativeSalaryPercentage) {
+        BigDecimal factor = BigDecimal.ONE.add(relativeSalaryPercentage).stripTrailingZeros();
+        if (factor.scale() < 0) {
+            factor = factor.setScale(0);
+        }
+        if (factor.scale() >= POWERS_OF_TEN.length || factor.precision() > 18) {
+            return null;
+        }
+        return new Factor(factor.unscaledValue().longValue(), POWERS_OF_TEN[factor.scale()]);
+    }
+
+    /**
+     * A relative salary factor as an unscaled value and the power of ten it is scaled by.
+     */
+    private record Factor(long unscaled, long scaling) {
+        /**
+         * Returns {@code amount * factor}, rounded HALF_UP to the amount's scale.
+         */
+        long apply(long amount) {
+            return divideHalfUp(Math.multiplyExact(amount, unscaled), scaling);
+        }
+    }
+
+    /**
+     * Running total and count of a manager's direct subordinate salaries.
+     * <p>
+     * The total is kept as an unscaled {@code long}, rescaled when a salary with more decimal places is added.
+     * If it would overflow, the total switches to {@link BigDecimal} for the rest of the accumulation.
+     */
+    static final class SalaryTotal {
+        private long unscaledTotal;
+        private int scale = SCALE;
+        private BigDecimal exactTotal;
+        private int count;
+
+        void add(BigDecimal salary) {
+            count++;
+            if (exactTotal == null) {
+                try {
+                    if (salary.scale() > scale) {
+                        unscaledTotal = Math.multiplyExact(unscaledTotal, powerOfTen(salary.scale() - scale));
+                        scale = salary.scale();
+                    }
+                    unscaledTotal = Math.addExact(unscaledTotal, unscaled(salary, scale));
+                    return;
+                } catch (ArithmeticException e) {
+                    exactTotal = BigDecimal.valueOf(unscaledTotal, scale);
+                }
+            }
+            exactTotal = exactTotal.add(salary);
+        }
+
+        /**
+         * Removes a salary previously added, e.g. when a subordinate leaves the manager.
+         */
+        void subtract(BigDecimal salary) {
+            count--;
+            if (exactTotal == null) {
+                try {
+                    if (salary.scale() > scale) {
+                        unscaledTotal = Math.multiplyExact(unscaledTotal, powerOfTen(salary.scale() - scale));
+                        scale = salary.scale();
+                    }
+                    unscaledTotal = Math.subtractExact(unscaledTotal, unscaled(salary, scale));
+                    return;
+                } catch (ArithmeticException e) {
+                    exactTotal = BigDecimal.valueOf(unscaledTotal, scale);
+                }
+            }
+            exactTotal = exactTotal.subtract(salary);
+        }
+
+        SalaryTotal combine(SalaryTotal other) {
+            if (exactTotal == null && other.exactTotal == null) {
+                try {
+                    int combinedScale = Math.max(scale, other.scale);
+                    long combinedTotal = Math.addExact(
+                            Math.multiplyExact(unscaledTotal, powerOfTen(combinedScale - scale)),
+                            Math.multiplyExact(other.unscaledTotal, powerOfTen(combinedScale - other.scale))
+                    );
+                    unscaledTotal = combinedTotal;
+                    scale = combinedScale;
+                    count += other.count;
+                    return this;
+                } catch (ArithmeticException e) {
+                    // Fall back to adding the other total as a BigDecimal below
+                }
+            }
+            add(other.toBigDecimal());
+            count += other.count - 1;
+            return this;
+        }
+
+        /**
+         * Returns whether the total no longer fits a {@code long} and is only available via {@link #toBigDecimal()}.
+         */
+        boolean overflowed() {
+            return exactTotal != null;
+        }
+
+        long unscaledTotal() {
+            return unscaledTotal;
+        }
+
+        int scale() {
+            return scale;
+        }
+
+        int count() {
+            return count;
+        }
+
+        BigDecimal toBigDecimal() {
+            return exactTotal != null ? exactTotal : BigDecimal.valueOf(unscaledTotal, scale);
+        }
+    }
+}
@@ -0,0 +1,538 @@
+package io.github.zhaqimz.employeereporting.reports;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.model.EmployeeTable;
+import io.github.zhaqimz.employeereporting.model.ManagerRelativeSalaryAssessment;
+import io.github.zhaqimz.employeereporting.model.ReportingLineDepthBreach;
+import io.github.zhaqimz.employeereporting.registry.EmployeeRegistryValidator;
+import io.github.zhaqimz.employeereporting.registry.RegistryDelta;
+import io.github.zhaqimz.employeereporting.registry.ValidationError;
+import io.github.zhaqimz.employeereporting.reports.FixedPointSalaryAssessor.SalaryTotal;
+import io.github.zhaqimz.employeereporting.utility.IntIndexMap;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * A validated organisation kept in memory together with its analysis, which registry deltas are applied to
+ * incrementally.
+ * <p>
+ * Every employee ID has a slot, allocated the first time the ID is seen, holding the employee, the slot of
+ * their manager, their direct subordinates, the running total of the subordinates' salaries, the current
+ * salary assessment if they manage anyone, and their reporting line depth. Applying a {@link RegistryDelta}
+ * validates only the changed rows and their neighbours against the registry rules, then moves the changed
+ * rows between their old and new managers' totals, re-assesses only those managers, and re-computes the
+ * depths of the changed rows and of the subordinates below any row whose reporting line moved. The changed
+ * assessments and reporting line depth breaches are returned.
+ * <p>
+ * The cost of a delta is proportional to the number of changed rows, their depth in the hierarchy and the
+ * size of any subtrees that move to a different depth, not to the size of the organisation. A delta that
+ * would make the registry invalid is rejected as a whole and leaves the organisation unchanged. Slots of
+ * deleted IDs are kept for reuse, so memory grows with the number of distinct IDs ever seen. Not thread-safe.
+ */
+public final class IncrementalOrganisation {
+    private static final Logger logger = Logger.getLogger(IncrementalOrganisation.class.getName());
+
+    private final int maxPermittedEmployees;
+    private final Optional<BigDecimal> minRelativeSalaryPercentage;
+    private final Optional<BigDecimal> maxRelativeSalaryPercentage;
+    private final int maxReportingLineDepth;
+    private final FixedPointSalaryAssessor assessor;
+
+    private final IntIndexMap slotById;
+    private int slotCount;
+    private int size;
+    private int topLevelManagerCount;
+    // Per slot; the employee is null while the ID is not in the organisation
+    private Employee[] employees;
+    private int[] managerSlots;
+    private int[] depths;
+    private SalaryTotal[] subordinateSalaryTotals;
+    private ManagerRelativeSalaryAssessment[] assessments;
+    // Direct subordinates of every slot, unordered, and every slot's position in its manager's array
+    private int[][] subordinates;
+    private int[] subordinateCounts;
+    private int[] subordinatePositions;
+
+    private IncrementalOrganisation(
+            int capacity,
+            int maxPermittedEmployees,
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage,
+            int maxReportingLineDepth
+    ) {
+        this.maxPermittedEmployees = maxPermittedEmployees;
+        this.minRelativeSalaryPercentage = minRelativeSalaryPercentage;
+        this.maxRelativeSalaryPercentage = maxRelativeSalaryPercentage;
+        this.maxReportingLineDepth = maxReportingLineDepth;
+        this.assessor = new FixedPointSalaryAssessor(minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+        this.slotById = new IntIndexMap(capacity);
+        capacity = Math.max(16, capacity);
+        employees = new Employee[capacity];
+        managerSlots = new int[capacity];
+        depths = new int[capacity];
+        subordinateSalaryTotals = new SalaryTotal[capacity];
+        assessments = new ManagerRelativeSalaryAssessment[capacity];
+        subordinates = new int[capacity][];
+        subordinateCounts = new int[capacity];
+        subordinatePositions = new int[capacity];
+    }
+
+    /**
+     * Loads a validated employee table and analyses it.
+     *
+     * @param employees                    The table of all employees; must pass validation.
+     * @param maxPermittedEmployees        The maximum number of employees permitted after any delta.
+     * @param minRelativeSalaryPercentage  e.g. 0.20 for 20% minimum salary margin
+     * @param maxRelativeSalaryPercentage  e.g. 0.50 for 50% maximum salary margin
+     * @param maxReportingLineDepth        The maximum allowed depth in the reporting line hierarchy.
+     * @return                             The loaded organisation.
+     * @throws IllegalArgumentException    if a percentage is invalid, or the table has duplicate IDs or unknown managers
+     */
+    public static IncrementalOrganisation of(
+            EmployeeTable employees,
+            int maxPermittedEmployees,
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage,
+            int maxReportingLineDepth
+    ) {
+        logger.info("Loading incremental organisation of " + employees.size() + " employees");
+        SalaryAnalyser.validateRelativeSalaryPercentages(minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+        IncrementalOrganisation organisation = new IncrementalOrganisation(employees.size(), maxPermittedEmployees,
+                minRelativeSalaryPercentage, maxRelativeSalaryPercentage, maxReportingLineDepth);
+
+        // Slots are table rows
+        for (int i = 0; i < employees.size(); i++) {
+            if (organisation.slotById.putIfAbsent(employees.id(i), i) != IntIndexMap.NO_VALUE) {
+                logger.severe("Duplicate Employee Id in incremental organisation: " + employees.id(i));
+                throw new IllegalArgumentException("Duplicate Employee Id in incremental organisation: " + employees.id(i));
+            }
+            if (employees.managerIndex(i) == EmployeeTable.UNRESOLVED_MANAGER) {
+                logger.severe("Unknown Manager Id in incremental organisation: " + employees.managerId(i));
+                throw new IllegalArgumentException("Unknown Manager Id in incremental organisation: " + employees.managerId(i));
+            }
+        }
+        organisation.slotCount = employees.size();
+        organisation.size = employees.size();
+        System.arraycopy(ReportingLineDepths.of(employees), 0, organisation.depths, 0, employees.size());
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.employee(i);
+            organisation.employees[i] = employee;
+            int managerIndex = employees.managerIndex(i);
+            organisation.link(i, managerIndex == EmployeeTable.NO_MANAGER ? IntIndexMap.NO_VALUE : managerIndex);
+        }
+        for (int i = 0; i < employees.size(); i++) {
+            organisation.assessments[i] = organisation.assess(i);
+        }
+        return organisation;
+    }
+
+    /**
+     * Returns the number of employees in the organisation.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the current salary assessment of every manager, ordered by manager ID.
+     */
+    public List<ManagerRelativeSalaryAssessment> assessments() {
+        List<ManagerRelativeSalaryAssessment> result = new ArrayList<>();
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (assessments[slot] != null) {
+                result.add(assessments[slot]);
+            }
+        }
+        result.sort(Comparator.comparing(assessment -> assessment.manager().id()));
+        return result;
+    }
+
+    /**
+     * Returns the current reporting line depth breach of every employee deeper than the maximum, ordered by
+     * employee ID.
+     */
+    public List<ReportingLineDepthBreach> breaches() {
+        List<ReportingLineDepthBreach> result = new ArrayList<>();
+        for (int slot = 0; slot < slotCount; slot++) {
+            ReportingLineDepthBreach breach = breach(slot);
+            if (breach != null) {
+                result.add(breach);
+            }
+        }
+        result.sort(Comparator.comparing(breach -> breach.employee().id()));
+        return result;
+    }
+
+    /**
+     * Validates a delta against the organisation and, if it is valid, applies it.
+     *
+     * <p>The delta is checked against the same rules as {@link EmployeeRegistryValidator#validateEmployees(List, int)}
+     * would check the whole registry after it; in addition, updated and deleted IDs must be in the organisation
+     * and every row needs an ID, names and a salary. Only the changed rows, the subordinates of deleted rows and
+     * the reporting lines above rows given a new manager are examined.
+     *
+     * @param delta The rows to insert, update and delete.
+     * @return      The validation errors if the delta was rejected, otherwise the assessments and breaches that changed.
+     */
+    public Changes apply(RegistryDelta delta) {
+        logger.info("Applying registry delta of " + delta.size() + " rows");
+        // Employees after the delta by changed ID, null where deleted, in delta order
+        Map<Integer, Employee> changed = new LinkedHashMap<>();
+        List<ValidationError> errors = validate(delta, changed);
+        if (!errors.isEmpty()) {
+            logger.warning("Registry delta rejected with " + errors.size() + " validation errors");
+            return new Changes(errors, List.of(), List.of(), List.of(), List.of());
+        }
+
+        // State before the delta of every manager and employee that may change, by slot
+        Map<Integer, ManagerRelativeSalaryAssessment> assessmentsBefore = new HashMap<>();
+        Map<Integer, ReportingLineDepthBreach> breachesBefore = new HashMap<>();
+
+        // Take the changed rows out of the organisation
+        for (Integer id : changed.keySet()) {
+            int slot = slotById.get(id);
+            if (slot == IntIndexMap.NO_VALUE || employees[slot] == null) {
+                continue;
+            }
+            breachesBefore.put(slot, breach(slot));
+            assessmentsBefore.putIfAbsent(slot, assessments[slot]);
+            if (managerSlots[slot] != IntIndexMap.NO_VALUE) {
+                assessmentsBefore.putIfAbsent(managerSlots[slot], assessments[managerSlots[slot]]);
+            }
+            unlink(slot);
+            if (employees[slot].managerId() == null) {
+                topLevelManagerCount--;
+            }
+            employees[slot] = null;
+            size--;
+        }
+
+        // Put the inserted and updated rows in, all slots first so rows may report to rows of the same delta
+        List<Integer> changedSlots = new ArrayList<>(changed.size());
+        for (Employee employee : changed.values()) {
+            if (employee != null) {
+                int slot = slotFor(employee.id());
+                breachesBefore.putIfAbsent(slot, null);
+                assessmentsBefore.putIfAbsent(slot, null);
+                employees[slot] = employee;
+                changedSlots.add(slot);
+                size++;
+            }
+        }
+        for (int slot : changedSlots) {
+            Integer managerId = employees[slot].managerId();
+            int managerSlot = managerId == null ? IntIndexMap.NO_VALUE : slotById.get(managerId);
+            if (managerSlot != IntIndexMap.NO_VALUE) {
+                assessmentsBefore.putIfAbsent(managerSlot, assessments[managerSlot]);
+            }
+            link(slot, managerSlot);
+        }
+
+        // Re-compute the depths of the changed rows and of subordinates whose depth moves with them
+        int[] pending = new int[16];
+        for (int slot : changedSlots) {
+            int depth = 0;
+            for (int manager = managerSlots[slot]; manager != IntIndexMap.NO_VALUE; manager = managerSlots[manager]) {
+                depth++;
+            }
+            depths[slot] = depth;
+            int pendingCount = 0;
+            pending[pendingCount++] = slot;
+            while (pendingCount > 0) {
+                int manager = pending[--pendingCount];
+                for (int i = 0; i < subordinateCounts[manager]; i++) {
+                    int subordinate = subordinates[manager][i];
+                    if (depths[subordinate] != depths[manager] + 1) {
+                        breachesBefore.putIfAbsent(subordinate, breach(subordinate));
+                        depths[subordinate] = depths[manager] + 1;
+                        if (pendingCount == pending.length) {
+                            pending = Arrays.copyOf(pending, pendingCount << 1);
+                        }
+                        pending[pendingCount++] = subordinate;
+                    }
+                }
+            }
+        }
+
+        // Re-assess the affected managers and compare with before
+        List<ManagerRelativeSalaryAssessment> removedAssessments = new ArrayList<>();
+        List<ManagerRelativeSalaryAssessment> addedAssessments = new ArrayList<>();
+        for (Map.Entry<Integer, ManagerRelativeSalaryAssessment> entry : assessmentsBefore.entrySet()) {
+            int slot = entry.getKey();
+            ManagerRelativeSalaryAssessment after = assess(slot);
+            assessments[slot] = after;
+            if (!Objects.equals(entry.getValue(), after)) {
+                if (entry.getValue() != null) {
+                    removedAssessments.add(entry.getValue());
+                }
+                if (after != null) {
+                    addedAssessments.add(after);
+                }
+            }
+        }
+        List<ReportingLineDepthBreach> removedBreaches = new ArrayList<>();
+        List<ReportingLineDepthBreach> addedBreaches = new ArrayList<>();
+        for (Map.Entry<Integer, ReportingLineDepthBreach> entry : breachesBefore.entrySet()) {
+            ReportingLineDepthBreach after = breach(entry.getKey());
+            if (!Objects.equals(entry.getValue(), after)) {
+                if (entry.getValue() != null) {
+                    removedBreaches.add(entry.getValue());
+                }
+                if (after != null) {
+                    addedBreaches.add(after);
+                }
+            }
+        }
+        Comparator<ManagerRelativeSalaryAssessment> byManagerId = Comparator.comparing(assessment -> assessment.manager().id());
+        Comparator<ReportingLineDepthBreach> byEmployeeId = Comparator.comparing(breach -> breach.employee().id());
+        removedAssessments.sort(byManagerId);
+        addedAssessments.sort(byManagerId);
+        removedBreaches.sort(byEmployeeId);
+        addedBreaches.sort(byEmployeeId);
+        return new Changes(List.of(), removedAssessments, addedAssessments, removedBreaches, addedBreaches);
+    }
+
+    /**
+     * Checks the delta against the organisation, collecting the employee after the delta of every changed ID.
+     * Errors are returned in the order of the registry validation rules, after those of the delta rows themselves.
+     */
+    private List<ValidationError> validate(RegistryDelta delta, Map<Integer, Employee> changed) {
+        List<ValidationError> rowErrors = new ArrayList<>();
+        List<ValidationError> duplicateErrors = new ArrayList<>();
+        for (Integer id : delta.deleted()) {
+            if (current(id) == null || changed.containsKey(id)) {
+                rowErrors.add(EmployeeRegistryValidator.unknownEmployeeIdError(id));
+            } else {
+                changed.put(id, null);
+            }
+        }
+        for (Employee employee : delta.updated()) {
+            if (!isComplete(employee)) {
+                rowErrors.add(EmployeeRegistryValidator.incompleteEmployeeError(employee));
+            } else if (current(employee.id()) == null || changed.containsKey(employee.id())) {
+                rowErrors.add(EmployeeRegistryValidator.unknownEmployeeIdError(employee.id()));
+            } else {
+                changed.put(employee.id(), employee);
+            }
+        }
+        for (Employee employee : delta.inserted()) {
+            if (!isComplete(employee)) {
+                rowErrors.add(EmployeeRegistryValidator.incompleteEmployeeError(employee));
+            } else if (changed.containsKey(employee.id()) ? changed.get(employee.id()) != null : current(employee.id()) != null) {
+                duplicateErrors.add(EmployeeRegistryValidator.duplicateEmployeeIdError(employee.id()));
+            } else {
+                changed.put(employee.id(), employee);
+            }
+        }
+
+        List<ValidationError> errors = new ArrayList<>(rowErrors);
+        int sizeAfter = size;
+        int topLevelManagerCountAfter = topLevelManagerCount;
+        for (Map.Entry<Integer, Employee> entry : changed.entrySet()) {
+            Employee before = current(entry.getKey());
+            if (before != null) {
+                sizeAfter--;
+                if (before.managerId() == null) {
+                    topLevelManagerCountAfter--;
+                }
+            }
+            if (entry.getValue() != null) {
+                sizeAfter++;
+                if (entry.getValue().managerId() == null) {
+                    topLevelManagerCountAfter++;
+                }
+            }
+        }
+        if (sizeAfter > maxPermittedEmployees) {
+            errors.add(EmployeeRegistryValidator.maxEmployeesExceededError(sizeAfter, maxPermittedEmployees));
+        }
+        errors.addAll(duplicateErrors);
+
+        // Rows reporting to an ID that is not in the organisation after the delta
+        for (Map.Entry<Integer, Employee> entry : changed.entrySet()) {
+            Employee after = entry.getValue();
+            if (after != null) {
+                if (after.managerId() != null && employeeAfter(after.managerId(), changed) == null) {
+                    errors.add(EmployeeRegistryValidator.unknownManagerIdError(after.managerId(), after.id()));
+                }
+            } else {
+                int slot = slotById.get(entry.getKey());
+                for (int i = 0; i < subordinateCounts[slot]; i++) {
+                    Integer subordinateId = employees[subordinates[slot][i]].id();
+                    if (!changed.containsKey(subordinateId)) {
+                        errors.add(EmployeeRegistryValidator.unknownManagerIdError(entry.getKey(), subordinateId));
+                    }
+                }
+            }
+        }
+
+        if (topLevelManagerCountAfter > 1) {
+            errors.add(EmployeeRegistryValidator.multipleTopLevelManagersError(topLevelManagerCountAfter));
+        }
+
+        // A row given a new manager closes a cycle if its new reporting line leads back to it
+        Set<Integer> inReportedCycle = new HashSet<>();
+        for (Map.Entry<Integer, Employee> entry : changed.entrySet()) {
+            Employee after = entry.getValue();
+            Employee before = current(entry.getKey());
+            if (after == null || after.managerId() == null || inReportedCycle.contains(after.id())
+                    || (before != null && after.managerId().equals(before.managerId()))) {
+                continue;
+            }
+            List<Integer> reportingLine = new ArrayList<>();
+            reportingLine.add(after.id());
+            Employee manager = employeeAfter(after.managerId(), changed);
+            while (manager != null && reportingLine.size() <= sizeAfter) {
+                if (manager.id().equals(after.id())) {
+                    inReportedCycle.addAll(reportingLine);
+                    errors.add(EmployeeRegistryValidator.reportingLineCycleError(reportingLine));
+                    break;
+                }
+                reportingLine.add(manager.id());
+                manager = manager.managerId() == null ? null : employeeAfter(manager.managerId(), changed);
+            }
+        }
+        return errors;
+    }
+
+    private static boolean isComplete(Employee employee) {
+        return employee.id() != null && employee.firstName() != null && employee.lastName() != null
+                && employee.salary() != null;
+    }
+
+    private Employee current(int id) {
+        int slot = slotById.get(id);
+        return slot == IntIndexMap.NO_VALUE ? null : employees[slot];
+    }
+
+    private Employee employeeAfter(int id, Map<Integer, Employee> changed) {
+        return changed.containsKey(id) ? changed.get(id) : current(id);
+    }
+
+    /**
+     * Returns the assessment of the employee in the slot, or {@code null} if it is empty or manages no one.
+     */
+    private ManagerRelativeSalaryAssessment assess(int slot) {
+        if (employees[slot] == null || subordinateSalaryTotals[slot] == null) {
+            return null;
+        }
+        return SalaryAnalyser.assessManager(assessor, employees[slot], subordinateSalaryTotals[slot],
+                minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+    }
+
+    /**
+     * Returns the breach of the employee in the slot, or {@code null} if it is empty or not too deep.
+     */
+    private ReportingLineDepthBreach breach(int slot) {
+        if (employees[slot] == null || depths[slot] <= maxReportingLineDepth) {
+            return null;
+        }
+        return new ReportingLineDepthBreach(employees[slot], maxReportingLineDepth, depths[slot] - maxReportingLineDepth);
+    }
+
+    /**
+     * Makes the employee in the slot a subordinate of the manager slot, or top-level.
+     */
+    private void link(int slot, int managerSlot) {
+        managerSlots[slot] = managerSlot;
+        if (managerSlot == IntIndexMap.NO_VALUE) {
+            topLevelManagerCount++;
+            return;
+        }
+        SalaryTotal total = subordinateSalaryTotals[managerSlot];
+        if (total == null) {
+            total = new SalaryTotal();
+            subordinateSalaryTotals[managerSlot] = total;
+        }
+        total.add(employees[slot].salary());
+
+        int[] list = subordinates[managerSlot];
+        if (list == null) {
+            list = new int[4];
+            subordinates[managerSlot] = list;
+        } else if (subordinateCounts[managerSlot] == list.length) {
+            list = Arrays.copyOf(list, list.length << 1);
+            subordinates[managerSlot] = list;
+        }
+        subordinatePositions[slot] = subordinateCounts[managerSlot];
+        list[subordinateCounts[managerSlot]++] = slot;
+    }
+
+    /**
+     * Removes the employee in the slot from their manager's subordinates and salary total.
+     */
+    private void unlink(int slot) {
+        int managerSlot = managerSlots[slot];
+        managerSlots[slot] = IntIndexMap.NO_VALUE;
+        if (managerSlot == IntIndexMap.NO_VALUE) {
+            return;
+        }
+        SalaryTotal total = subordinateSalaryTotals[managerSlot];
+        total.subtract(employees[slot].salary());
+        if (total.count() == 0) {
+            subordinateSalaryTotals[managerSlot] = null;
+        }
+
+        int[] list = subordinates[managerSlot];
+        int last = list[--subordinateCounts[managerSlot]];
+        list[subordinatePositions[slot]] = last;
+        subordinatePositions[last] = subordinatePositions[slot];
+    }
+
+    private int slotFor(int id) {
+        int slot = slotById.putIfAbsent(id, slotCount);
+        if (slot != IntIndexMap.NO_VALUE) {
+            return slot;
+        }
+        if (slotCount == employees.length) {
+            int capacity = slotCount + (slotCount >> 1);
+            employees = Arrays.copyOf(employees, capacity);
+            managerSlots = Arrays.copyOf(managerSlots, capacity);
+            depths = Arrays.copyOf(depths, capacity);
+            subordinateSalaryTotals = Arrays.copyOf(subordinateSalaryTotals, capacity);
+            assessments = Arrays.copyOf(assessments, capacity);
+            subordinates = Arrays.copyOf(subordinates, capacity);
+            subordinateCounts = Arrays.copyOf(subordinateCounts, capacity);
+            subordinatePositions = Arrays.copyOf(subordinatePositions, capacity);
+        }
+        return slotCount++;
+    }
+
+    /**
+     * The outcome of applying a delta. An assessment or breach that changed is listed as removed in its old
+     * form and added in its new form; lists are ordered by employee ID.
+     *
+     * @param errors             Validation errors; if there are any, the delta was not applied.
+     * @param removedAssessments Assessments that no longer hold, including those of managers who left or no
+     *                           longer manage anyone.
+     * @param addedAssessments   New assessments, including those of new managers.
+     * @param removedBreaches    Breaches that no longer hold.
+     * @param addedBreaches      New breaches.
+     */
+    public record Changes(
+            List<ValidationError> errors,
+            List<ManagerRelativeSalaryAssessment> removedAssessments,
+            List<ManagerRelativeSalaryAssessment> addedAssessments,
+            List<ReportingLineDepthBreach> removedBreaches,
+            List<ReportingLineDepthBreach> addedBreaches
+    ) {
+        /**
+         * Returns whether the delta was valid and has been applied.
+         */
+        public boolean applied() {
+            return errors.isEmpty();
+        }
+    }
+}
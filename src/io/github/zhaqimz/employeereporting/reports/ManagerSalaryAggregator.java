@@ -0,0 +1,122 @@
+package io.github.zhaqimz.employeereporting.reports;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.model.ManagerRelativeSalaryAssessment;
+import io.github.zhaqimz.employeereporting.reports.FixedPointSalaryAssessor.SalaryTotal;
+import io.github.zhaqimz.employeereporting.utility.IntIndexMap;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Assesses manager salaries from employees handed over in two passes as they are read, e.g. by
+ * {@code EmployeeCsvParser.parse} with an employee consumer, without materialising the employee list.
+ * <p>
+ * In the first pass, {@link #accept(Employee)} adds every employee's salary to the subordinate total and count
+ * of their manager ID, accumulated in fixed point in a slot given to the manager ID, through an
+ * {@link IntIndexMap}, the first time it is seen. In the second pass, {@link #resolveManager(Employee)} keeps
+ * the record of every employee whose ID has a slot. Nothing is kept of employees who manage no one, so memory
+ * grows with the number of managers rather than employees. The assessments use the same rules as
+ * {@link SalaryAnalyser#assessManagerSalary(java.util.List, Optional, Optional)}.
+ * <p>
+ * If an ID is duplicated, the first employee with that ID resolved is the manager. Not thread-safe.
+ */
+public final class ManagerSalaryAggregator implements Consumer<Employee> {
+    private static final Logger logger = Logger.getLogger(ManagerSalaryAggregator.class.getName());
+
+    private final Optional<BigDecimal> minRelativeSalaryPercentage;
+    private final Optional<BigDecimal> maxRelativeSalaryPercentage;
+    private final IntIndexMap slotByManagerId = new IntIndexMap(1_024);
+    private SalaryTotal[] subordinateSalaryTotals = new SalaryTotal[1_024];
+    private Employee[] managers = new Employee[1_024];
+    private int slotCount;
+
+    /**
+     * @param minRelativeSalaryPercentage  e.g. 0.20 for 20% minimum salary margin
+     * @param maxRelativeSalaryPercentage  e.g. 0.50 for 50% maximum salary margin
+     * @throws IllegalArgumentException    if a percentage is negative or the maximum is below the minimum
+     */
+    public ManagerSalaryAggregator(
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage
+    ) {
+        SalaryAnalyser.validateRelativeSalaryPercentages(minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+        this.minRelativeSalaryPercentage = minRelativeSalaryPercentage;
+        this.maxRelativeSalaryPercentage = maxRelativeSalaryPercentage;
+    }
+
+    /**
+     * First pass: adds an employee's salary to their manager's subordinate total.
+     */
+    @Override
+    public void accept(Employee employee) {
+        if (employee.managerId() != null) {
+            int slot = slotFor(employee.managerId());
+            subordinateSalaryTotals[slot].add(employee.salary());
+        }
+    }
+
+    /**
+     * Second pass: keeps the employee's record if any employee accepted in the first pass reports to them.
+     * Employees without an ID can manage no one.
+     */
+    public void resolveManager(Employee employee) {
+        if (employee.id() != null) {
+            int slot = slotByManagerId.get(employee.id());
+            if (slot != IntIndexMap.NO_VALUE && managers[slot] == null) {
+                managers[slot] = employee;
+            }
+        }
+    }
+
+    /**
+     * Returns the assessment of every resolved manager.
+     *
+     * @return List of manager salary assessments, ordered by manager ID
+     */
+    public List<ManagerRelativeSalaryAssessment> assessments() {
+        logger.info("Executing aggregated Manager Salary assessment");
+        // Managers as (ID, slot) pairs packed into longs, sorted by ID
+        long[] idAndSlot = new long[slotCount];
+        int managerCount = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (managers[slot] != null) {
+                idAndSlot[managerCount++] = ((long) managers[slot].id() << 32) | slot;
+            }
+        }
+        Arrays.sort(idAndSlot, 0, managerCount);
+
+        FixedPointSalaryAssessor assessor = new FixedPointSalaryAssessor(minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+        List<ManagerRelativeSalaryAssessment> assessments = new ArrayList<>(managerCount);
+        for (int i = 0; i < managerCount; i++) {
+            int slot = (int) idAndSlot[i];
+            assessments.add(SalaryAnalyser.assessManager(
+                    assessor,
+                    managers[slot],
+                    subordinateSalaryTotals[slot],
+                    minRelativeSalaryPercentage,
+                    maxRelativeSalaryPercentage
+            ));
+        }
+        return assessments;
+    }
+
+    private int slotFor(int managerId) {
+        int slot = slotByManagerId.putIfAbsent(managerId, slotCount);
+        if (slot != IntIndexMap.NO_VALUE) {
+            return slot;
+        }
+        if (slotCount == managers.length) {
+            int capacity = slotCount + (slotCount >> 1);
+            managers = Arrays.copyOf(managers, capacity);
+            subordinateSalaryTotals = Arrays.copyOf(subordinateSalaryTotals, capacity);
+        }
+        subordinateSalaryTotals[slotCount] = new SalaryTotal();
+        return slotCount++;
+    }
+}
@@ -0,0 +1,355 @@
+package io.github.zhaqimz.employeereporting.reports;
+
+import io.github.zhaqimz.employeereporting.model.EmployeeTable;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineMetrics;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineMetrics.StageTimer;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineStage;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * Precomputed hierarchy of a validated {@link EmployeeTable}, answering reporting line questions such as
+ * "everyone under manager X", "headcount under X" and "does A report to B" without walking the organisation.
+ * <p>
+ * Employees are identified by table row index, see {@link EmployeeTable#indexOf(int)}. The index is built once,
+ * in linear time and without recursion, into {@code int} arrays:
+ * <ul>
+ *     <li>the direct reports of every manager, in table order, in compressed sparse row form: one offset per
+ *     row into a single array of rows;</li>
+ *     <li>an Euler tour of the hierarchy, i.e. every row's entry position in a pre-order walk, each manager
+ *     followed by everyone under them, so every subtree is the contiguous range {@code [entry, exit)} of the
+ *     tour and subtree membership is two comparisons;</li>
+ *     <li>the manager, subtree size and reporting line depth of every row.</li>
+ * </ul>
+ * Binary lifting tables holding every row's 2<sup>k</sup>-th manager up the reporting line answer k-th manager
+ * and lowest common manager queries in O(log depth). They hold one row per power of two up to the greatest
+ * depth, so a very deep organisation costs that many {@code int}s per employee; they are therefore only built
+ * on the first such query, and callers that walk the tour or read subtree sizes never pay for them.
+ * Top-level managers, and employees whose manager is not in the table, are the roots of the hierarchy and
+ * walked in table order. Depths match {@link ReportingLineAnalyser}: a top-level manager is at depth 0 and
+ * a missing manager counts as one hop.
+ * <p>
+ * Instances are effectively immutable and may be shared between threads.
+ */
+public final class OrgIndex {
+    private static final Logger logger = Logger.getLogger(OrgIndex.class.getName());
+
+    /** Returned by manager queries when there is no such manager. */
+    public static final int NO_MANAGER = -1;
+
+    private final EmployeeTable employees;
+    private final int[] reportOffsets;
+    private final int[] reports;
+    private final int[] entries;
+    private final int[] tour;
+    private final int[] subtreeSizes;
+    private final int[] depths;
+    private final int[] managers;
+    private final int maxDepth;
+    // managerJumps[k][row] is the row 2^k hops up the reporting line, or NO_MANAGER; built on first use
+    private volatile int[][] managerJumps;
+
+    private OrgIndex(EmployeeTable employees, int[] reportOffsets, int[] reports, int[] entries, int[] tour,
+                     int[] subtreeSizes, int[] depths, int[] managers, int maxDepth) {
+        this.employees = employees;
+        this.reportOffsets = reportOffsets;
+        this.reports = reports;
+        this.entries = entries;
+        this.tour = tour;
+        this.subtreeSizes = subtreeSizes;
+        this.depths = depths;
+        this.managers = managers;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Builds the index of a validated employee table, recorded as a {@link PipelineStage#ORGANISATION_INDEX} run.
+     *
+     * @param employees The table of all employees in the organisation.
+     * @return          The index.
+     * @throws IllegalStateException if the reporting lines contain a cycle
+     */
+    public static OrgIndex of(EmployeeTable employees) {
+        Objects.requireNonNull(employees, "Employee table is null");
+        logger.info("Indexing organisation of " + employees.size() + " employees");
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.ORGANISATION_INDEX)) {
+            timer.rows(employees.size());
+            return build(employees);
+        }
+    }
+
+    private static OrgIndex build(EmployeeTable employees) {
+        int size = employees.size();
+        int[] managers = new int[size];
+        int[] reportOffsets = new int[size + 1];
+        int rootCount = 0;
+        for (int i = 0; i < size; i++) {
+            int managerIndex = employees.managerIndex(i);
+            managers[i] = managerIndex >= 0 ? managerIndex : NO_MANAGER;
+            if (managerIndex >= 0) {
+                reportOffsets[managerIndex + 1]++;
+            } else {
+                rootCount++;
+            }
+        }
+
+        // Direct reports by counting sort on manager row, which keeps them in table order
+        for (int i = 0; i < size; i++) {
+            reportOffsets[i + 1] += reportOffsets[i];
+        }
+        int[] reports = new int[size - rootCount];
+        int[] next = Arrays.copyOf(reportOffsets, size);
+        for (int i = 0; i < size; i++) {
+            if (managers[i] != NO_MANAGER) {
+                reports[next[managers[i]]++] = i;
+            }
+        }
+
+        // Pre-order walk from every root with an explicit stack, assigning tour positions and depths
+        int[] entries = new int[size];
+        int[] tour = new int[size];
+        int[] depths = new int[size];
+        int[] stack = new int[Math.max(16, rootCount)];
+        int position = 0;
+        int maxDepth = 0;
+        for (int root = 0; root < size; root++) {
+            if (managers[root] != NO_MANAGER) {
+                continue;
+            }
+            depths[root] = employees.managerIndex(root) == EmployeeTable.UNRESOLVED_MANAGER ? 1 : 0;
+            int stackSize = 0;
+            stack[stackSize++] = root;
+            while (stackSize > 0) {
+                int row = stack[--stackSize];
+                entries[row] = position;
+                tour[position++] = row;
+                maxDepth = Math.max(maxDepth, depths[row]);
+                int from = reportOffsets[row];
+                int to = reportOffsets[row + 1];
+                if (stackSize + to - from > stack.length) {
+                    stack = Arrays.copyOf(stack, Math.max(stack.length << 1, stackSize + to - from));
+                }
+                // Pushed in reverse so the first direct report is walked first
+                for (int r = to - 1; r >= from; r--) {
+                    depths[reports[r]] = depths[row] + 1;
+                    stack[stackSize++] = reports[r];
+                }
+            }
+        }
+        if (position < size) {
+            int unreached = firstUnreached(tour, position, size);
+            logger.severe("Reporting line cycle detected at employee id " + employees.id(unreached));
+            throw new IllegalStateException("Reporting line cycle detected at employee id " + employees.id(unreached));
+        }
+
+        // Subtree sizes, accumulated from the end of the tour so every row follows its manager
+        int[] subtreeSizes = new int[size];
+        for (int p = size - 1; p >= 0; p--) {
+            int row = tour[p];
+            subtreeSizes[row]++;
+            if (managers[row] != NO_MANAGER) {
+                subtreeSizes[managers[row]] += subtreeSizes[row];
+            }
+        }
+
+        return new OrgIndex(employees, reportOffsets, reports, entries, tour, subtreeSizes, depths, managers, maxDepth);
+    }
+
+    private static int firstUnreached(int[] tour, int reached, int size) {
+        boolean[] visited = new boolean[size];
+        for (int p = 0; p < reached; p++) {
+            visited[tour[p]] = true;
+        }
+        int row = 0;
+        while (visited[row]) {
+            row++;
+        }
+        return row;
+    }
+
+    /**
+     * Returns the binary lifting tables, building them on the first call.
+     */
+    private int[][] managerJumps() {
+        int[][] jumps = managerJumps;
+        if (jumps == null) {
+            synchronized (this) {
+                jumps = managerJumps;
+                if (jumps == null) {
+                    jumps = buildManagerJumps(managers, maxDepth);
+                    managerJumps = jumps;
+                }
+            }
+        }
+        return jumps;
+    }
+
+    /**
+     * Returns whether the binary lifting tables have been built.
+     */
+    boolean hasManagerJumps() {
+        return managerJumps != null;
+    }
+
+    private static int[][] buildManagerJumps(int[] managers, int maxDepth) {
+        int levels = Math.max(1, 32 - Integer.numberOfLeadingZeros(maxDepth));
+        int[][] jumps = new int[levels][];
+        jumps[0] = managers;
+        for (int k = 1; k < levels; k++) {
+            int[] half = jumps[k - 1];
+            int[] jump = new int[managers.length];
+            for (int i = 0; i < jump.length; i++) {
+                jump[i] = half[i] == NO_MANAGER ? NO_MANAGER : half[half[i]];
+            }
+            jumps[k] = jump;
+        }
+        return jumps;
+    }
+
+    /**
+     * Returns the indexed employee table.
+     */
+    public EmployeeTable employees() {
+        return employees;
+    }
+
+    /**
+     * Returns the number of employees in the organisation.
+     */
+    public int size() {
+        return tour.length;
+    }
+
+    /**
+     * Returns the number of hops from the employee to a top-level manager, as reported by {@link ReportingLineAnalyser}.
+     */
+    public int depth(int row) {
+        return depths[row];
+    }
+
+    /**
+     * Returns the depth of every row; shared, so it must not be modified.
+     */
+    int[] depths() {
+        return depths;
+    }
+
+    /**
+     * Returns the row index of the employee's direct manager, or {@link #NO_MANAGER} at the top of the hierarchy.
+     */
+    public int manager(int row) {
+        return managers[row];
+    }
+
+    public int directReportCount(int row) {
+        return reportOffsets[row + 1] - reportOffsets[row];
+    }
+
+    /**
+     * Returns the row indices of the employee's direct reports, in table order.
+     */
+    public int[] directReports(int row) {
+        return Arrays.copyOfRange(reports, reportOffsets[row], reportOffsets[row + 1]);
+    }
+
+    /**
+     * Returns the number of employees in the employee's subtree, the employee included; the headcount under
+     * a manager is one less.
+     */
+    public int subtreeSize(int row) {
+        return subtreeSizes[row];
+    }
+
+    /**
+     * Returns the position of the employee in the tour; everyone under them follows, up to {@link #exit(int)}.
+     */
+    public int entry(int row) {
+        return entries[row];
+    }
+
+    /**
+     * Returns the tour position after the last employee in the employee's subtree.
+     */
+    public int exit(int row) {
+        return entries[row] + subtreeSizes[row];
+    }
+
+    /**
+     * Returns the row index of the employee at the tour position.
+     */
+    public int rowAt(int position) {
+        return tour[position];
+    }
+
+    /**
+     * Returns the row indices of the employee and everyone under them, in tour order: each manager is
+     * followed by their own subtree.
+     */
+    public int[] subtree(int row) {
+        return Arrays.copyOfRange(tour, entry(row), exit(row));
+    }
+
+    /**
+     * Returns whether the employee is the given manager or somewhere under them, in O(1).
+     */
+    public boolean isInSubtree(int row, int managerRow) {
+        int entry = entries[row];
+        return entry >= entries[managerRow] && entry < exit(managerRow);
+    }
+
+    /**
+     * Returns whether the manager is in the employee's reporting line, i.e. the employee reports to them
+     * directly or indirectly, in O(1).
+     */
+    public boolean reportsTo(int row, int managerRow) {
+        return row != managerRow && isInSubtree(row, managerRow);
+    }
+
+    /**
+     * Returns the manager {@code k} hops up the employee's reporting line, the employee itself for
+     * {@code k = 0}, or {@link #NO_MANAGER} past the top of the hierarchy, in O(log k).
+     *
+     * @throws IllegalArgumentException if {@code k} is negative
+     */
+    public int ancestor(int row, int k) {
+        if (k < 0) {
+            logger.severe("Reporting line hops must be >= 0");
+            throw new IllegalArgumentException("Reporting line hops must be >= 0");
+        }
+        int[][] managerJumps = managerJumps();
+        if (k >= 1 << managerJumps.length) {
+            return NO_MANAGER;
+        }
+        for (int level = 0; k > 0 && row != NO_MANAGER; level++, k >>>= 1) {
+            if ((k & 1) != 0) {
+                row = managerJumps[level][row];
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Returns the lowest common manager of two employees: the deepest employee with both in their subtree,
+     * which is one of them if one is under the other, or {@link #NO_MANAGER} if they are in separate
+     * hierarchies. Answered in O(log depth).
+     */
+    public int lowestCommonManager(int row, int otherRow) {
+        if (isInSubtree(row, otherRow)) {
+            return otherRow;
+        }
+        if (isInSubtree(otherRow, row)) {
+            return row;
+        }
+        // Climb from row to the highest manager that still does not have otherRow under them
+        int[][] managerJumps = managerJumps();
+        for (int level = managerJumps.length - 1; level >= 0; level--) {
+            int jump = managerJumps[level][row];
+            if (jump != NO_MANAGER && !isInSubtree(otherRow, jump)) {
+                row = jump;
+            }
+        }
+        return managerJumps[0][row];
+    }
+}
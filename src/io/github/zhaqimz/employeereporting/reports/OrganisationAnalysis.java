@@ -0,0 +1,117 @@
+package io.github.zhaqimz.employeereporting.reports;
+
+import io.github.zhaqimz.employeereporting.model.EmployeeTable;
+import io.github.zhaqimz.employeereporting.model.ManagerRelativeSalaryAssessment;
+import io.github.zhaqimz.employeereporting.model.ReportingLineDepthBreach;
+import io.github.zhaqimz.employeereporting.model.SalaryAssessmentBasis;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+/**
+ * An organisation prepared once for repeated analysis with varying thresholds, e.g. by a long-running
+ * report server.
+ * <p>
+ * Everything that does not depend on a threshold is computed up front: the direct subordinate and whole
+ * subtree salary totals and counts of every manager, with the managers ordered by ID, and the {@link OrgIndex}
+ * of the hierarchy, which holds the reporting line depth of every employee. An assessment then only compares each manager
+ * against the requested percentages, and a depth report only scans the depths. Results are the same, and in the same order, as those of
+ * {@link SalaryAnalyser#assessManagerSalary(EmployeeTable, Optional, Optional, SalaryAssessmentBasis)} and
+ * {@link ReportingLineAnalyser#findEmployeesBreachingReportingLineDepth(EmployeeTable, int)}.
+ * <p>
+ * Instances are immutable and may be shared between threads.
+ */
+public final class OrganisationAnalysis {
+    private static final Logger logger = Logger.getLogger(OrganisationAnalysis.class.getName());
+
+    private final EmployeeTable employees;
+    private final SubordinateSalaryTotals subordinateSalaryTotals;
+    private final SubordinateSalaryTotals subtreeSalaryTotals;
+    private final OrgIndex orgIndex;
+
+    private OrganisationAnalysis(EmployeeTable employees, SubordinateSalaryTotals subordinateSalaryTotals,
+                                 SubordinateSalaryTotals subtreeSalaryTotals, OrgIndex orgIndex) {
+        this.employees = employees;
+        this.subordinateSalaryTotals = subordinateSalaryTotals;
+        this.subtreeSalaryTotals = subtreeSalaryTotals;
+        this.orgIndex = orgIndex;
+    }
+
+    /**
+     * Prepares the organisation of a validated employee table for analysis.
+     *
+     * @param employees The table of all employees in the organisation.
+     * @return          The prepared organisation.
+     * @throws IllegalStateException if the reporting lines contain a cycle
+     */
+    public static OrganisationAnalysis of(EmployeeTable employees) {
+        Objects.requireNonNull(employees, "Employee table is null");
+        logger.info("Preparing organisation analysis of " + employees.size() + " employees");
+        OrgIndex orgIndex = OrgIndex.of(employees);
+        return new OrganisationAnalysis(employees, SubordinateSalaryTotals.of(employees),
+                SubordinateSalaryTotals.ofSubtrees(orgIndex), orgIndex);
+    }
+
+    /**
+     * Returns the number of employees in the organisation.
+     */
+    public int size() {
+        return employees.size();
+    }
+
+    /**
+     * Returns the index of the organisation's hierarchy, for subtree and reporting line queries.
+     */
+    public OrgIndex orgIndex() {
+        return orgIndex;
+    }
+
+    /**
+     * Assesses every manager's salary against the average salary of their direct subordinates.
+     *
+     * @param minRelativeSalaryPercentage  e.g. 0.20 for 20% minimum salary margin
+     * @param maxRelativeSalaryPercentage  e.g. 0.50 for 50% maximum salary margin
+     * @return List of manager salary assessments, ordered by manager ID
+     * @throws IllegalArgumentException    if a percentage is negative or the maximum is below the minimum
+     */
+    public List<ManagerRelativeSalaryAssessment> assessManagerSalary(
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage
+    ) {
+        return assessManagerSalary(minRelativeSalaryPercentage, maxRelativeSalaryPercentage,
+                SalaryAssessmentBasis.DIRECT_SUBORDINATES);
+    }
+
+    /**
+     * Assesses every manager's salary against the average salary of the subordinates on the given basis.
+     *
+     * @param minRelativeSalaryPercentage  e.g. 0.20 for 20% minimum salary margin
+     * @param maxRelativeSalaryPercentage  e.g. 0.50 for 50% maximum salary margin
+     * @param basis                        The subordinates each manager is compared with
+     * @return List of manager salary assessments, ordered by manager ID
+     * @throws IllegalArgumentException    if a percentage is negative or the maximum is below the minimum
+     */
+    public List<ManagerRelativeSalaryAssessment> assessManagerSalary(
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage,
+            SalaryAssessmentBasis basis
+    ) {
+        Objects.requireNonNull(basis, "Salary assessment basis is null");
+        SalaryAnalyser.validateRelativeSalaryPercentages(minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+        SubordinateSalaryTotals totals = basis == SalaryAssessmentBasis.WHOLE_SUBTREE ? subtreeSalaryTotals : subordinateSalaryTotals;
+        return totals.assess(minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+    }
+
+    /**
+     * Identifies employees whose reporting line depth exceeds the specified threshold.
+     *
+     * @param depthToCompareTo  The maximum allowed depth in the reporting line hierarchy.
+     * @return                  The breaching employees, in table order.
+     */
+    public List<ReportingLineDepthBreach> findEmployeesBreachingReportingLineDepth(int depthToCompareTo) {
+        return ReportingLineAnalyser.findBreaches(employees, orgIndex.depths(), depthToCompareTo);
+    }
+}
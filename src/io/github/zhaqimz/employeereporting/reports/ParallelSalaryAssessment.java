@@ -0,0 +1,184 @@
+package io.github.zhaqimz.employeereporting.reports;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.model.ManagerRelativeSalaryAssessment;
+import io.github.zhaqimz.employeereporting.monitoring.ManagerBatchAssessedEvent;
+import io.github.zhaqimz.employeereporting.reports.FixedPointSalaryAssessor.SalaryTotal;
+import io.github.zhaqimz.employeereporting.utility.IntIndexMap;
+
+import java.io.Serial;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Manager salary assessment on a dedicated {@link ForkJoinPool}.
+ * <p>
+ * The employee list is split into ranges that are aggregated independently: every task totals the
+ * subordinate salaries of its range into its own {@link ManagerTotals}, keyed by manager ID through an
+ * {@link IntIndexMap}, and the per-range totals are merged pairwise as the tasks join. Managers are then
+ * looked up, ordered by ID and assessed in parallel batches, so the result does not depend on the number of threads.
+ */
+final class ParallelSalaryAssessment {
+    // Below this many employees per task, splitting costs more than it saves
+    private static final int MIN_RANGE_SIZE = 8_192;
+    private static final int NO_ROW = Integer.MAX_VALUE;
+
+    private ParallelSalaryAssessment() {
+    }
+
+    static List<ManagerRelativeSalaryAssessment> assess(
+            List<Employee> employees,
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage,
+            int parallelism
+    ) {
+        List<Employee> rows = employees instanceof RandomAccess ? employees : new ArrayList<>(employees);
+        int rangeSize = Math.max(MIN_RANGE_SIZE, rows.size() / (parallelism * 4));
+        FixedPointSalaryAssessor assessor = new FixedPointSalaryAssessor(minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+
+        try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+            // Subordinate salary totals and counts per manager ID
+            ManagerTotals totals = pool.invoke(new AggregateTask(rows, 0, rows.size(), rangeSize));
+
+            // Row of every manager; the first row wins if an ID is duplicated
+            AtomicIntegerArray managerRows = new AtomicIntegerArray(totals.size);
+            for (int slot = 0; slot < totals.size; slot++) {
+                managerRows.set(slot, NO_ROW);
+            }
+            pool.submit(() -> IntStream.range(0, rows.size()).parallel().forEach(row -> {
+                Integer id = rows.get(row).id();
+                int slot = id != null ? totals.slotByManagerId.get(id) : IntIndexMap.NO_VALUE;
+                if (slot != IntIndexMap.NO_VALUE) {
+                    managerRows.accumulateAndGet(slot, row, Math::min);
+                }
+            })).join();
+
+            // Known managers as (manager ID, slot) pairs packed into longs, sorted by ID
+            long[] idAndSlot = IntStream.range(0, totals.size)
+                    .filter(slot -> managerRows.get(slot) != NO_ROW)
+                    .mapToLong(slot -> ((long) totals.managerIds[slot] << 32) | slot)
+                    .toArray();
+            Arrays.parallelSort(idAndSlot);
+
+            // Batches of managers, each committed as a ManagerBatchAssessedEvent
+            int batchCount = (idAndSlot.length + SalaryAnalyser.MANAGER_BATCH_SIZE - 1) / SalaryAnalyser.MANAGER_BATCH_SIZE;
+            return pool.submit(() -> IntStream.range(0, batchCount).parallel()
+                    .mapToObj(batch -> {
+                        int from = batch * SalaryAnalyser.MANAGER_BATCH_SIZE;
+                        int to = Math.min(from + SalaryAnalyser.MANAGER_BATCH_SIZE, idAndSlot.length);
+                        ManagerBatchAssessedEvent event = new ManagerBatchAssessedEvent();
+                        event.begin();
+                        List<ManagerRelativeSalaryAssessment> assessments = new ArrayList<>(to - from);
+                        for (int i = from; i < to; i++) {
+                            int slot = (int) idAndSlot[i];
+                            assessments.add(SalaryAnalyser.assessManager(
+                                    assessor,
+                                    rows.get(managerRows.get(slot)),
+                                    totals.salaryTotals[slot],
+                                    minRelativeSalaryPercentage,
+                                    maxRelativeSalaryPercentage
+                            ));
+                        }
+                        SalaryAnalyser.commitBatchEvent(event, assessments);
+                        return assessments;
+                    })
+                    .flatMap(List::stream)
+                    .toList()).join();
+        }
+    }
+
+    /**
+     * Totals the subordinate salaries of a range of the employee list, splitting it while it is large.
+     */
+    private static final class AggregateTask extends RecursiveTask<ManagerTotals> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        // Tasks are never serialized; the rows are only read while the task runs
+        private final transient List<Employee> rows;
+        private final int from;
+        private final int to;
+        private final int rangeSize;
+
+        private AggregateTask(List<Employee> rows, int from, int to, int rangeSize) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+            this.rangeSize = rangeSize;
+        }
+
+        @Override
+        protected ManagerTotals compute() {
+            if (to - from <= rangeSize) {
+                ManagerTotals totals = new ManagerTotals(Math.min(to - from, 1_024));
+                for (int row = from; row < to; row++) {
+                    Employee employee = rows.get(row);
+                    if (employee.managerId() != null) {
+                        totals.add(employee.managerId(), employee.salary());
+                    }
+                }
+                return totals;
+            }
+            int middle = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(rows, from, middle, rangeSize);
+            left.fork();
+            ManagerTotals right = new AggregateTask(rows, middle, to, rangeSize).compute();
+            return ManagerTotals.merge(left.join(), right);
+        }
+    }
+
+    /**
+     * Subordinate salary totals of one range of employees, in slots allocated per manager ID as first seen.
+     */
+    private static final class ManagerTotals {
+        private final IntIndexMap slotByManagerId;
+        private int[] managerIds;
+        private SalaryTotal[] salaryTotals;
+        private int size;
+
+        ManagerTotals(int expectedManagers) {
+            slotByManagerId = new IntIndexMap(expectedManagers);
+            managerIds = new int[Math.max(16, expectedManagers)];
+            salaryTotals = new SalaryTotal[managerIds.length];
+        }
+
+        void add(int managerId, BigDecimal salary) {
+            slotFor(managerId).add(salary);
+        }
+
+        /**
+         * Merges the smaller totals into the larger, which is returned.
+         */
+        static ManagerTotals merge(ManagerTotals first, ManagerTotals second) {
+            ManagerTotals into = first.size >= second.size ? first : second;
+            ManagerTotals from = into == first ? second : first;
+            for (int slot = 0; slot < from.size; slot++) {
+                into.slotFor(from.managerIds[slot]).combine(from.salaryTotals[slot]);
+            }
+            return into;
+        }
+
+        private SalaryTotal slotFor(int managerId) {
+            int slot = slotByManagerId.putIfAbsent(managerId, size);
+            if (slot != IntIndexMap.NO_VALUE) {
+                return salaryTotals[slot];
+            }
+            if (size == managerIds.length) {
+                managerIds = Arrays.copyOf(managerIds, size << 1);
+                salaryTotals = Arrays.copyOf(salaryTotals, size << 1);
+            }
+            SalaryTotal total = new SalaryTotal();
+            managerIds[size] = managerId;
+            salaryTotals[size++] = total;
+            return total;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package io.github.zhaqimz.employeereporting.reports;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Renders fixed-width report rows into a reusable char buffer that is streamed to a {@link Writer}.
+ * <p>
+ * Produces exactly what {@link String#format} produces for the left-justified {@code %-Ns}, {@code %-Nd} and
+ * {@code %-N.2f} conversions and {@code %n} used by the reports, in the default format locale, but writes
+ * text and digits straight into the buffer instead of creating a {@link java.util.Formatter} and
+ * intermediate strings for every row. The buffer is flushed to the writer whenever it fills up, so reports
+ * of any size are rendered in constant memory. The writer is not flushed or closed.
+ */
+final class ReportRenderer {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_LONG_DIGITS = 19;
+
+    private final Writer out;
+    private final char zeroDigit;
+    private final char decimalSeparator;
+    private final String lineSeparator = System.lineSeparator();
+    private char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private long written;
+
+    ReportRenderer(Writer out) {
+        this.out = out;
+        // String.format uses the default FORMAT locale's digits and decimal separator
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+        this.zeroDigit = symbols.getZeroDigit();
+        this.decimalSeparator = symbols.getDecimalSeparator();
+    }
+
+    /**
+     * Writes the text as is.
+     */
+    ReportRenderer text(String text) {
+        append(text);
+        return this;
+    }
+
+    /**
+     * Writes the text left-justified in a column of the given width, like {@code %-<width>s}.
+     */
+    ReportRenderer column(String text, int width) {
+        int start = position;
+        append(text);
+        return pad(start, width);
+    }
+
+    /**
+     * Writes two texts separated by a space, left-justified in a column of the given width, like
+     * {@code String.format("%-<width>s", first + " " + second)}.
+     */
+    ReportRenderer column(String first, String second, int width) {
+        int start = position;
+        append(first);
+        ensureCapacity(1);
+        buffer[position++] = ' ';
+        append(second);
+        return pad(start, width);
+    }
+
+    /**
+     * Writes the integer left-justified in a column of the given width, like {@code %-<width>d}.
+     */
+    ReportRenderer column(Integer value, int width) {
+        if (value == null) {
+            return column("null", width);
+        }
+        return column(value.intValue(), width);
+    }
+
+    /**
+     * Writes the integer left-justified in a column of the given width, like {@code %-<width>d}.
+     */
+    ReportRenderer column(long value, int width) {
+        return integerColumn(value, zeroDigit, width);
+    }
+
+    /**
+     * Writes the integer's {@link Long#toString} form left-justified in a column of the given width, like
+     * {@code %-<width>s} with the integer's string as argument; unlike {@code %d}, its digits are not localised.
+     */
+    ReportRenderer plainColumn(long value, int width) {
+        return integerColumn(value, '0', width);
+    }
+
+    /**
+     * Writes the decimal rounded half up to two decimal places and left-justified in a column of the given
+     * width, like {@code %-<width>.2f}.
+     */
+    ReportRenderer twoDecimalPlacesColumn(BigDecimal value, int width) {
+        if (value == null) {
+            // Formatter applies the precision to "null" as to any other string
+            return column("nu", width);
+        }
+        int start = position;
+        BigDecimal rounded = value.abs().setScale(2, RoundingMode.HALF_UP);
+        // Formatter takes the sign before rounding, so e.g. -0.001 renders as -0.00
+        if (value.signum() < 0) {
+            ensureCapacity(1);
+            buffer[position++] = '-';
+        }
+        if (rounded.precision() <= MAX_LONG_DIGITS - 1) {
+            ensureCapacity(MAX_LONG_DIGITS + 1);
+            appendDigits(rounded.scaleByPowerOfTen(2).longValueExact(), 2, zeroDigit);
+        } else {
+            String digits = rounded.unscaledValue().toString();
+            int integerDigits = digits.length() - 2;
+            ensureCapacity(digits.length() + 1);
+            for (int i = 0; i < digits.length(); i++) {
+                if (i == integerDigits) {
+                    buffer[position++] = decimalSeparator;
+                }
+                buffer[position++] = (char) (digits.charAt(i) - '0' + zeroDigit);
+            }
+        }
+        return pad(start, width);
+    }
+
+    /**
+     * Writes the platform line separator, like {@code %n}.
+     */
+    ReportRenderer newLine() {
+        append(lineSeparator);
+        return this;
+    }
+
+    /**
+     * Writes out everything still buffered.
+     */
+    void flush() throws IOException {
+        out.write(buffer, 0, position);
+        written += position;
+        position = 0;
+    }
+
+    /**
+     * Returns the number of characters flushed to the writer so far.
+     */
+    long written() {
+        return written;
+    }
+
+    /**
+     * Flushes the buffer to the writer when a row starts and fewer than a few rows' worth of space is left.
+     */
+    void flushIfFull() throws IOException {
+        if (position > buffer.length - 512) {
+            flush();
+        }
+    }
+
+    private ReportRenderer integerColumn(long value, char zero, int width) {
+        ensureCapacity(MAX_LONG_DIGITS + 1);
+        int start = position;
+        if (value < 0) {
+            buffer[position++] = '-';
+        }
+        appendDigits(value, 0, zero);
+        return pad(start, width);
+    }
+
+    /**
+     * Appends the magnitude of the value, with a decimal separator before the last {@code fractionDigits}
+     * digits and at least one integer digit.
+     */
+    private void appendDigits(long value, int fractionDigits, char zero) {
+        int digitCount = Math.max(fractionDigits + 1, digitCount(value));
+        int end = position + digitCount + (fractionDigits > 0 ? 1 : 0);
+        int index = end;
+        for (int i = 0; i < digitCount; i++) {
+            if (i == fractionDigits && fractionDigits > 0) {
+                buffer[--index] = decimalSeparator;
+            }
+            // Remainders of negative values are negative; taking them digit by digit handles Long.MIN_VALUE too
+            buffer[--index] = (char) (zero + Math.abs((int) (value % 10)));
+            value /= 10;
+        }
+        position = end;
+    }
+
+    private static int digitCount(long value) {
+        int count = 1;
+        while (value <= -10 || value >= 10) {
+            value /= 10;
+            count++;
+        }
+        return count;
+    }
+
+    private ReportRenderer pad(int start, int width) {
+        int padding = width - (position - start);
+        if (padding > 0) {
+            ensureCapacity(padding);
+            Arrays.fill(buffer, position, position + padding, ' ');
+            position += padding;
+        }
+        return this;
+    }
+
+    private void append(String text) {
+        if (text == null) {
+            text = "null";
+        }
+        ensureCapacity(text.length());
+        text.getChars(0, text.length(), buffer, position);
+        position += text.length();
+    }
+
+    /**
+     * Grows the buffer so the current row can be completed before it is flushed; a row's start position
+     * must stay valid for padding, so the buffer is never flushed part way through a column.
+     */
+    private void ensureCapacity(int length) {
+        if (position + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, position + length));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.zhaqimz.employeereporting.reports;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Destination that reports are streamed to, row by row, as they are rendered.
+ * <p>
+ * A sink wraps a buffered {@link Writer}; several reports may be written to the same sink one after the other.
+ * Closing the sink flushes everything written and releases the destination, except that the console sink
+ * leaves standard output open.
+ */
+public interface ReportSink extends Closeable {
+
+    /**
+     * Returns the writer that reports are written to.
+     */
+    Writer writer();
+
+    /**
+     * Returns a sink writing to standard output in its charset.
+     */
+    static ReportSink console() {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(System.out, System.out.charset()));
+        return new WriterReportSink(writer, false);
+    }
+
+    /**
+     * Returns a sink writing UTF-8 text to the file, which is created or truncated.
+     *
+     * @throws IOException if the file cannot be opened
+     */
+    static ReportSink file(Path path) throws IOException {
+        Logger.getLogger(ReportSink.class.getName()).info("Writing reports to file: " + path.toAbsolutePath());
+        return new WriterReportSink(Files.newBufferedWriter(path, StandardCharsets.UTF_8), true);
+    }
+
+    /**
+     * Returns a sink writing gzip-compressed UTF-8 text to the file, which is created or truncated.
+     *
+     * @throws IOException if the file cannot be opened
+     */
+    static ReportSink gzipFile(Path path) throws IOException {
+        Logger.getLogger(ReportSink.class.getName()).info("Writing gzip compressed reports to file: " + path.toAbsolutePath());
+        GZIPOutputStream out = new GZIPOutputStream(Files.newOutputStream(path), WriterReportSink.BUFFER_SIZE);
+        return new WriterReportSink(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WriterReportSink.BUFFER_SIZE), true);
+    }
+
+    /**
+     * Returns a sink for the given path: a gzip file sink if the file name ends with {@code .gz}, otherwise
+     * a file sink; a {@code null} or blank path gives the console sink.
+     *
+     * @throws IOException if the file cannot be opened
+     */
+    static ReportSink forPath(String path) throws IOException {
+        if (path == null || path.isBlank()) {
+            return console();
+        }
+        Path file = Path.of(path.strip());
+        return file.getFileName().toString().endsWith(".gz") ? gzipFile(file) : file(file);
+    }
+
+    /**
+     * Returns a sink writing to the writer; closing the sink flushes but does not close the writer.
+     */
+    static ReportSink of(Writer writer) {
+        return new WriterReportSink(writer, false);
+    }
+}
@@ -1,15 +1,24 @@
 package io.github.zhaqimz.employeereporting.reports;
 
 import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.model.EmployeeTable;
 import io.github.zhaqimz.employeereporting.model.ReportingLineDepthBreach;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineMetrics;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineMetrics.StageTimer;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineStage;
+import io.github.zhaqimz.employeereporting.monitoring.ReportRenderedEvent;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.function.Function;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class ReportingLineAnalyser {
@@ -20,53 +29,211 @@ public class ReportingLineAnalyser {
      *
      * <p>The reporting line depth is defined as the number of levels between an employee and the top-level manager.
      * This method calculates the depth for each employee and returns a list of those who exceed the given depth,
-     * along with the amount by which they exceed it.
+     * along with the amount by which they exceed it. Depths are memoised, so each employee's reporting line is
+     * walked at most once and the whole organisation is analysed in linear time.
      *
      * @param employees         The list of {@link Employee} objects representing the organization.
      * @param depthToCompareTo  The maximum allowed depth in the reporting line hierarchy.
      * @return                  A list of {@link ReportingLineDepthBreach} instances, each representing an employee
      *                          whose reporting line depth exceeds the threshold. Returns an empty list if no breaches are found.
+     * @throws IllegalStateException if the reporting lines contain a cycle
      */
     public static List<ReportingLineDepthBreach> findEmployeesBreachingReportingLineDepth(List<Employee> employees, int depthToCompareTo) {
         logger.info("Executing Find Employees breaching reporting line depth");
-        Map<Integer, Employee> employeeMap = employees.stream()
-                .collect(Collectors.toMap(Employee::id, Function.identity()));
 
-        List<ReportingLineDepthBreach> result = new ArrayList<>();
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.DEPTH_ANALYSIS)) {
+            timer.rows(employees.size());
+            int[] depths = ReportingLineDepths.of(employees);
+
+            List<ReportingLineDepthBreach> result = new ArrayList<>();
 
-        for (Employee employee : employees) {
-            int depth = depthToTopLevelManager(employee, employeeMap);
+            for (int i = 0; i < depths.length; i++) {
+                int depth = depths[i];
 
-            if (depth > depthToCompareTo) {
-                int breach = depth - depthToCompareTo;
-                result.add(new ReportingLineDepthBreach(employee, depthToCompareTo, breach));
+                if (depth > depthToCompareTo) {
+                    Employee employee = employees.get(i);
+                    int breach = depth - depthToCompareTo;
+                    result.add(new ReportingLineDepthBreach(employee, depthToCompareTo, breach));
+                }
             }
-        }
 
-        return result;
+            return result;
+        }
     }
 
     /**
-     * Calculates the reporting line depth of the given employee relative to the top-level manager.
+     * Identifies employees whose reporting line depth exceeds the specified threshold, reading the organisation
+     * from a re-openable stream of employees. Results are the same, and in the same order, as for
+     * {@link #findEmployeesBreachingReportingLineDepth(List, int)}.
      *
-     * <p>The depth is defined as the number of management levels between the employee
-     * and the top-level manager (an employee with a {@code null} {@code managerId}).
-     * This method traverses the management chain upward using the provided employee map.
+     * <p>The employees are consumed in two passes: the first records each employee's ID and manager ID and
+     * computes all depths, the second collects the breaches. Only primitive ID and depth arrays are retained
+     * between passes, so the employee list never needs to be materialised. Each call to {@code employees} must return a fresh
+     * stream over the same employees, e.g. backed by {@code EmployeeCsvParser.stream}; every stream is closed
+     * once consumed.
      *
-     * @param employee     The {@link Employee} whose reporting depth is being calculated.
-     * @param employeeMap  A map of employee IDs to {@link Employee} objects, used to resolve manager relationships.
-     * @return             The number of levels between the employee and the top-level manager.
-     *                     Returns {@code 0} if the employee is the top-level manager.
+     * @param employees         Supplier of a stream over all employees in the organization.
+     * @param depthToCompareTo  The maximum allowed depth in the reporting line hierarchy.
+     * @return                  A list of {@link ReportingLineDepthBreach} instances, each representing an employee
+     *                          whose reporting line depth exceeds the threshold. Returns an empty list if no breaches are found.
+     * @throws IllegalStateException if the reporting lines contain a cycle
      */
-    private static int depthToTopLevelManager(Employee employee, Map<Integer, Employee> employeeMap) {
-        return (int) Stream.iterate(
-                employee.managerId(),
-                Objects::nonNull, //while managerId != null
-                managerId -> {
-                    Employee manager = employeeMap.get(managerId);
-                    return (manager != null) ? manager.managerId() : null;
+    public static List<ReportingLineDepthBreach> findEmployeesBreachingReportingLineDepth(Supplier<Stream<Employee>> employees, int depthToCompareTo) {
+        logger.info("Executing streamed Find Employees breaching reporting line depth");
+
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.DEPTH_ANALYSIS)) {
+            // Pass 1: depth of every employee
+            ReportingLineDepths.Builder depthsBuilder = new ReportingLineDepths.Builder(16);
+            try (Stream<Employee> pass = employees.get()) {
+                pass.forEachOrdered(e -> {
+                    timer.rows(1);
+                    depthsBuilder.add(e.id(), e.managerId());
+                });
+            }
+            int[] depths = depthsBuilder.depths();
+
+            // Pass 2: breaching employees
+            List<ReportingLineDepthBreach> result = new ArrayList<>();
+            try (Stream<Employee> pass = employees.get()) {
+                Iterator<Employee> iterator = pass.iterator();
+                for (int i = 0; i < depths.length && iterator.hasNext(); i++) {
+                    Employee employee = iterator.next();
+                    int depth = depths[i];
+
+                    if (depth > depthToCompareTo) {
+                        int breach = depth - depthToCompareTo;
+                        result.add(new ReportingLineDepthBreach(employee, depthToCompareTo, breach));
+                    }
                 }
-        ).count();
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * Identifies employees whose reporting line depth exceeds the specified threshold over a columnar
+     * {@link EmployeeTable}. Results are the same, and in the same order, as for
+     * {@link #findEmployeesBreachingReportingLineDepth(List, int)}.
+     *
+     * <p>Depths are computed from the manager row indices resolved by the table, so no ID lookups are
+     * needed; only breaching employees are materialised as {@link Employee} records.
+     *
+     * @param employees         The table of all employees in the organization.
+     * @param depthToCompareTo  The maximum allowed depth in the reporting line hierarchy.
+     * @return                  A list of {@link ReportingLineDepthBreach} instances, each representing an employee
+     *                          whose reporting line depth exceeds the threshold. Returns an empty list if no breaches are found.
+     * @throws IllegalStateException if the reporting lines contain a cycle
+     */
+    public static List<ReportingLineDepthBreach> findEmployeesBreachingReportingLineDepth(EmployeeTable employees, int depthToCompareTo) {
+        logger.info("Executing Find Employees breaching reporting line depth over employee table");
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.DEPTH_ANALYSIS)) {
+            timer.rows(employees.size());
+            return findBreaches(employees, ReportingLineDepths.of(employees), depthToCompareTo);
+        }
+    }
+
+    /**
+     * Identifies employees whose reporting line depth exceeds the specified threshold, reusing the depths held
+     * by an {@link OrgIndex} of the organisation. Results are the same, and in the same order, as for
+     * {@link #findEmployeesBreachingReportingLineDepth(EmployeeTable, int)} over the indexed table.
+     *
+     * @param orgIndex          The index of all employees in the organization.
+     * @param depthToCompareTo  The maximum allowed depth in the reporting line hierarchy.
+     * @return                  A list of {@link ReportingLineDepthBreach} instances, each representing an employee
+     *                          whose reporting line depth exceeds the threshold. Returns an empty list if no breaches are found.
+     */
+    public static List<ReportingLineDepthBreach> findEmployeesBreachingReportingLineDepth(OrgIndex orgIndex, int depthToCompareTo) {
+        logger.info("Executing Find Employees breaching reporting line depth over organisation index");
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.DEPTH_ANALYSIS)) {
+            timer.rows(orgIndex.size());
+            return findBreaches(orgIndex.employees(), orgIndex.depths(), depthToCompareTo);
+        }
+    }
+
+    /**
+     * Identifies employees whose reporting line depth exceeds the specified threshold over a columnar
+     * {@link EmployeeTable}, as {@link #findEmployeesBreachingReportingLineDepth(EmployeeTable, int)} does, making
+     * the breaches lazily as they are iterated, so they can be written out as they are found.
+     *
+     * <p>Depths are computed up front; each iteration then walks them in table order, materialising only the
+     * breaching employee it has reached.
+     *
+     * @param employees         The table of all employees in the organization.
+     * @param depthToCompareTo  The maximum allowed depth in the reporting line hierarchy.
+     * @return                  The {@link ReportingLineDepthBreach}es in table order, which can be iterated any number of times.
+     * @throws IllegalStateException if the reporting lines contain a cycle
+     */
+    public static Iterable<ReportingLineDepthBreach> employeesBreachingReportingLineDepth(EmployeeTable employees, int depthToCompareTo) {
+        logger.info("Preparing lazy Find Employees breaching reporting line depth over employee table");
+        int[] depths;
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.DEPTH_ANALYSIS)) {
+            timer.rows(employees.size());
+            depths = ReportingLineDepths.of(employees);
+        }
+        return () -> new BreachIterator(employees::employee, depths, depthToCompareTo);
+    }
+
+    /**
+     * Identifies employees whose reporting line depth exceeds the specified threshold, as
+     * {@link #findEmployeesBreachingReportingLineDepth(List, int)} does, making the breaches lazily as they are
+     * iterated, so they can be written out as they are found.
+     *
+     * @param employees         The list of {@link Employee} objects representing the organization.
+     * @param depthToCompareTo  The maximum allowed depth in the reporting line hierarchy.
+     * @return                  The {@link ReportingLineDepthBreach}es in list order, which can be iterated any number of times.
+     * @throws IllegalStateException if the reporting lines contain a cycle
+     */
+    public static Iterable<ReportingLineDepthBreach> employeesBreachingReportingLineDepth(List<Employee> employees, int depthToCompareTo) {
+        logger.info("Preparing lazy Find Employees breaching reporting line depth");
+        int[] depths;
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.DEPTH_ANALYSIS)) {
+            timer.rows(employees.size());
+            depths = ReportingLineDepths.of(employees);
+        }
+        return () -> new BreachIterator(employees::get, depths, depthToCompareTo);
+    }
+
+    /**
+     * Returns the breaches of the given depths, computed by {@link ReportingLineDepths} or an {@link OrgIndex}, in table order.
+     */
+    static List<ReportingLineDepthBreach> findBreaches(EmployeeTable employees, int[] depths, int depthToCompareTo) {
+        List<ReportingLineDepthBreach> result = new ArrayList<>();
+        new BreachIterator(employees::employee, depths, depthToCompareTo).forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Walks the depths in order, materialising the employee of each breach as it is reached.
+     */
+    private static final class BreachIterator implements Iterator<ReportingLineDepthBreach> {
+        private final IntFunction<Employee> employees;
+        private final int[] depths;
+        private final int depthToCompareTo;
+        private int next;
+
+        private BreachIterator(IntFunction<Employee> employees, int[] depths, int depthToCompareTo) {
+            this.employees = employees;
+            this.depths = depths;
+            this.depthToCompareTo = depthToCompareTo;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next < depths.length && depths[next] <= depthToCompareTo) {
+                next++;
+            }
+            return next < depths.length;
+        }
+
+        @Override
+        public ReportingLineDepthBreach next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int breach = depths[next] - depthToCompareTo;
+            return new ReportingLineDepthBreach(employees.apply(next++), depthToCompareTo, breach);
+        }
     }
 
     /**
@@ -81,24 +248,87 @@ public class ReportingLineAnalyser {
      */
     public static String generateReportingLineDepthBreachReport(
             List<ReportingLineDepthBreach> breaches) {
+        StringWriter report = new StringWriter();
+        try {
+            writeReportingLineDepthBreachReport(breaches, report);
+        } catch (IOException e) {
+            // A StringWriter never fails
+            throw new UncheckedIOException(e);
+        }
+        return report.toString();
+    }
+
+    /**
+     * Writes the report of {@link #generateReportingLineDepthBreachReport} to the sink, row by row.
+     *
+     * @param breaches The {@link ReportingLineDepthBreach} instances representing employees
+     *                 who exceed the permitted reporting line depth.
+     * @param sink     The sink to write the report to; it is left open.
+     * @return         The number of employees written to the report.
+     * @throws IOException If writing to the sink fails.
+     */
+    public static long writeReportingLineDepthBreachReport(
+            Iterable<ReportingLineDepthBreach> breaches,
+            ReportSink sink) throws IOException {
+        return writeReportingLineDepthBreachReport(breaches, sink.writer());
+    }
+
+    /**
+     * Writes the report of {@link #generateReportingLineDepthBreachReport} to the writer, row by row.
+     *
+     * <p>Rows are rendered straight into a reusable buffer that is streamed to the writer, so the report is
+     * never held in memory as a whole. The breaches are iterated once, so those found lazily, e.g. by
+     * {@link #employeesBreachingReportingLineDepth(EmployeeTable, int)}, are written as they are found. The writer
+     * is neither flushed nor closed.
+     *
+     * @param breaches The {@link ReportingLineDepthBreach} instances representing employees
+     *                 who exceed the permitted reporting line depth.
+     * @param out      The writer to write the report to.
+     * @return         The number of employees written to the report.
+     * @throws IOException If writing to the writer fails.
+     */
+    public static long writeReportingLineDepthBreachReport(
+            Iterable<ReportingLineDepthBreach> breaches,
+            Writer out) throws IOException {
         logger.info("Executing generation of reporting line depth breach report");
         if (breaches == null) {
-            return "No breach data found to report";
+            out.write("No breach data found to report");
+            return 0;
         }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append("Following managers are breaching the prescribed reporting line depth:\n");
-        sb.append(String.format("%-20s %-10s %-10s %-10s %-10s%n", "Name", "ID", "ManagerID", "Depth", "Breached Amount"));
-        sb.append("----------------------------------------------------------------------\n");
-        for (ReportingLineDepthBreach b : breaches) {
-            sb.append(String.format("%-20s %-10d %-10s %-10d %-10d%n",
-                    b.employee().fullName(),
-                    b.employee().id(),
-                    b.employee().managerId() != null ? b.employee().managerId().toString() : "N/A",
-                    b.depthComparedTo(),
-                    b.breachedAmount()));
+        ReportRenderedEvent event = new ReportRenderedEvent();
+        event.begin();
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.RENDERING)) {
+            ReportRenderer renderer = new ReportRenderer(out);
+            renderer.text("Following managers are breaching the prescribed reporting line depth:\n")
+                    .column("Name", 20).text(" ").column("ID", 10).text(" ").column("ManagerID", 10).text(" ")
+                    .column("Depth", 10).text(" ").column("Breached Amount", 10).newLine()
+                    .text("----------------------------------------------------------------------\n");
+            long rows = 0;
+            for (ReportingLineDepthBreach b : breaches) {
+                Employee employee = b.employee();
+                renderer.flushIfFull();
+                rows++;
+                renderer.column(employee.firstName(), employee.lastName(), 20).text(" ")
+                        .column(employee.id(), 10).text(" ");
+                if (employee.managerId() != null) {
+                    renderer.plainColumn(employee.managerId(), 10);
+                } else {
+                    renderer.column("N/A", 10);
+                }
+                renderer.text(" ")
+                        .column(b.depthComparedTo(), 10).text(" ")
+                        .column(b.breachedAmount(), 10).newLine();
+            }
+            renderer.flush();
+            timer.rows(rows).bytes(renderer.written());
+            if (event.shouldCommit()) {
+                event.report = "reporting-line-depth";
+                event.rows = rows;
+                event.characters = renderer.written();
+                event.commit();
+            }
+            return rows;
         }
-
-        return sb.toString();
     }
-}
\ No newline at end of file
+}
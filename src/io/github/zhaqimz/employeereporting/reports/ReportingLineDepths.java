@@ -0,0 +1,167 @@
+package io.github.zhaqimz.employeereporting.reports;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.model.EmployeeTable;
+import io.github.zhaqimz.employeereporting.utility.IntIndexMap;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Computes the reporting line depth of every employee in linear time.
+ * <p>
+ * Employees are identified by row index and each row refers to its manager's row index, encoded as in
+ * {@link EmployeeTable#managerIndex(int)}. Depths are memoised: a manager chain is walked up only until it
+ * reaches a row whose depth is already known, and every row on the walked path is then assigned its depth
+ * on the way back down. Every row is therefore walked at most once, however deep the hierarchy.
+ * <p>
+ * A row's depth is the number of hops to a top-level manager. A hop to a manager ID that is not in the
+ * organisation counts as one final hop, matching the original chain walk in {@link ReportingLineAnalyser}.
+ */
+final class ReportingLineDepths {
+    private static final Logger logger = Logger.getLogger(ReportingLineDepths.class.getName());
+
+    private static final int UNKNOWN = -1;
+    private static final int ON_PATH = -2;
+
+    private ReportingLineDepths() {
+    }
+
+    /**
+     * Returns the depth of every employee, indexed like the list. If an ID is duplicated, the first
+     * employee with that ID is the manager of those reporting to it.
+     *
+     * @throws IllegalStateException if the reporting lines contain a cycle
+     */
+    static int[] of(List<Employee> employees) {
+        Builder builder = new Builder(employees.size());
+        for (Employee employee : employees) {
+            builder.add(employee.id(), employee.managerId());
+        }
+        return builder.depths();
+    }
+
+    /**
+     * Returns the depth of every row in the table.
+     *
+     * @throws IllegalStateException if the reporting lines contain a cycle
+     */
+    static int[] of(EmployeeTable employees) {
+        int[] managerIndices = new int[employees.size()];
+        int[] ids = new int[employees.size()];
+        for (int i = 0; i < managerIndices.length; i++) {
+            managerIndices[i] = employees.managerIndex(i);
+            ids[i] = employees.id(i);
+        }
+        return compute(managerIndices, ids);
+    }
+
+    /**
+     * Returns the depth of every row.
+     *
+     * @param managerIndices the manager row index of every row, or {@link EmployeeTable#NO_MANAGER} /
+     *                       {@link EmployeeTable#UNRESOLVED_MANAGER}
+     * @param ids            the employee ID of every row, used to report cycles
+     * @throws IllegalStateException if the reporting lines contain a cycle
+     */
+    static int[] compute(int[] managerIndices, int[] ids) {
+        int size = managerIndices.length;
+        int[] depths = new int[size];
+        Arrays.fill(depths, UNKNOWN);
+        int[] path = new int[16];
+
+        for (int start = 0; start < size; start++) {
+            // Walk up until a top-level manager, an unknown manager or a row with a known depth
+            int pathLength = 0;
+            int current = start;
+            int depth;
+            while (true) {
+                if (depths[current] >= 0) {
+                    depth = depths[current];
+                    break;
+                }
+                if (depths[current] == ON_PATH) {
+                    logger.severe("Reporting line cycle detected at employee id " + ids[current]);
+                    throw new IllegalStateException("Reporting line cycle detected at employee id " + ids[current]);
+                }
+                depths[current] = ON_PATH;
+                if (pathLength == path.length) {
+                    path = Arrays.copyOf(path, pathLength << 1);
+                }
+                path[pathLength++] = current;
+
+                int managerIndex = managerIndices[current];
+                if (managerIndex == EmployeeTable.NO_MANAGER) {
+                    depth = -1;
+                    break;
+                }
+                if (managerIndex == EmployeeTable.UNRESOLVED_MANAGER) {
+                    depth = 0;
+                    break;
+                }
+                current = managerIndex;
+            }
+
+            // Assign depths back down the walked path
+            while (pathLength > 0) {
+                depths[path[--pathLength]] = ++depth;
+            }
+        }
+
+        return depths;
+    }
+
+    /**
+     * Accumulates employee and manager IDs row by row and resolves them to manager row indices.
+     */
+    static final class Builder {
+        private int size;
+        private int[] ids;
+        private int[] managerIds;
+        private boolean[] hasManager;
+        private final IntIndexMap indexById;
+
+        Builder(int expectedSize) {
+            int capacity = Math.max(16, expectedSize);
+            ids = new int[capacity];
+            managerIds = new int[capacity];
+            hasManager = new boolean[capacity];
+            indexById = new IntIndexMap(expectedSize);
+        }
+
+        /**
+         * Adds an employee row; a {@code null} ID makes the row unreachable as a manager.
+         */
+        void add(Integer id, Integer managerId) {
+            if (size == ids.length) {
+                int capacity = size + (size >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                managerIds = Arrays.copyOf(managerIds, capacity);
+                hasManager = Arrays.copyOf(hasManager, capacity);
+            }
+            if (id != null) {
+                ids[size] = id;
+                indexById.putIfAbsent(id, size);
+            }
+            if (managerId != null) {
+                managerIds[size] = managerId;
+                hasManager[size] = true;
+            }
+            size++;
+        }
+
+        int[] depths() {
+            int[] managerIndices = new int[size];
+            for (int i = 0; i < size; i++) {
+                if (!hasManager[i]) {
+                    managerIndices[i] = EmployeeTable.NO_MANAGER;
+                } else {
+                    int managerIndex = indexById.get(managerIds[i]);
+                    managerIndices[i] = managerIndex == IntIndexMap.NO_VALUE ? EmployeeTable.UNRESOLVED_MANAGER : managerIndex;
+                }
+            }
+            return compute(managerIndices, Arrays.copyOf(ids, size));
+        }
+    }
+}
@@ -1,17 +1,40 @@
 package io.github.zhaqimz.employeereporting.reports;
 
 import io.github.zhaqimz.employeereporting.model.*;
+import io.github.zhaqimz.employeereporting.monitoring.ManagerBatchAssessedEvent;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineMetrics;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineMetrics.StageTimer;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineStage;
+import io.github.zhaqimz.employeereporting.monitoring.ReportRenderedEvent;
+import io.github.zhaqimz.employeereporting.registry.EmployeeCsvParser;
+import io.github.zhaqimz.employeereporting.registry.ErrorCollector;
+import io.github.zhaqimz.employeereporting.reports.FixedPointSalaryAssessor.SalaryTotal;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.math.RoundingMode;
 public class SalaryAnalyser {
     private static final Logger logger = Logger.getLogger(SalaryAnalyser.class.getName());
+    // Only compared against when a maximum relative salary percentage is configured
+    private static final BigDecimal NO_MAXIMUM_SALARY = new BigDecimal(Double.MAX_VALUE).setScale(2, RoundingMode.HALF_UP);
+    // Managers per ManagerBatchAssessedEvent where managers are assessed in batches
+    static final int MANAGER_BATCH_SIZE = 4_096;
 
     /**
      * Returns a list of managers whose salary is not at least (1 + percentageMargin) * average subordinate salary.
@@ -29,6 +52,344 @@ public class SalaryAnalyser {
         // Validate inputs
         Objects.requireNonNull(employees, "Employee list is null");
 
+        validateRelativeSalaryPercentages(minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.SALARY_ASSESSMENT)) {
+            timer.rows(employees.size());
+            // Total subordinate salaries by their manager ID
+            Map<Integer, SalaryTotal> salaryTotalsByManagerId = employees.stream()
+                    .filter(e -> e.managerId() != null)
+                    .collect(Collectors.groupingBy(
+                            Employee::managerId,
+                            Collector.of(SalaryTotal::new, (total, e) -> total.add(e.salary()), SalaryTotal::combine)
+                    ));
+
+            // Setup employee lookup
+            Map<Integer, Employee> employeeById = employees.stream()
+                    .collect(Collectors.toMap(Employee::id, Function.identity()));
+
+            // Analyse each manager, as a single batch
+            ManagerBatchAssessedEvent event = new ManagerBatchAssessedEvent();
+            event.begin();
+            FixedPointSalaryAssessor assessor = new FixedPointSalaryAssessor(minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+            List<ManagerRelativeSalaryAssessment> assessments = salaryTotalsByManagerId.entrySet().stream()
+                    .map(entry -> {
+                        int managerId = entry.getKey();
+                        SalaryTotal subordinatesSalaryTotal = entry.getValue();
+                        Employee manager = employeeById.get(managerId);
+
+                        if (manager == null || subordinatesSalaryTotal.count() == 0) return null;
+
+                        return assessManager(
+                                assessor,
+                                manager,
+                                subordinatesSalaryTotal,
+                                minRelativeSalaryPercentage,
+                                maxRelativeSalaryPercentage
+                        );
+                    })
+                    .filter(Objects::nonNull)
+                    .toList();
+            commitBatchEvent(event, assessments);
+            return assessments;
+        }
+    }
+
+    /**
+     * Assesses manager salaries using the same rules as {@link #assessManagerSalary(List, Optional, Optional)},
+     * on a dedicated pool of {@code parallelism} threads.
+     *
+     * <p>The list is split into ranges whose subordinate salary totals are accumulated independently and
+     * merged, then the managers are assessed in parallel. Results are ordered by manager ID, whatever the
+     * number of threads, so they can be compared with the sequential results once those are sorted the same
+     * way. If an ID is duplicated, the first employee with that ID is assessed.
+     *
+     * @param employees                    List of all employees
+     * @param minRelativeSalaryPercentage  e.g. 0.20 for 20% minimum salary margin
+     * @param maxRelativeSalaryPercentage  e.g. 0.50 for 50% maximum salary margin
+     * @param parallelism                  The number of threads to use; must be >= 1
+     * @return List of manager salary assessments, ordered by manager ID
+     */
+    public static List<ManagerRelativeSalaryAssessment> assessManagerSalary(
+            List<Employee> employees,
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage,
+            int parallelism
+    ) {
+        logger.info("Executing parallel Manager Salary assessment with parallelism " + parallelism);
+        Objects.requireNonNull(employees, "Employee list is null");
+        if (parallelism < 1) {
+            logger.severe("Salary assessment parallelism must be >= 1");
+            throw new IllegalArgumentException("Salary assessment parallelism must be >= 1");
+        }
+        validateRelativeSalaryPercentages(minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.SALARY_ASSESSMENT)) {
+            timer.rows(employees.size());
+            return ParallelSalaryAssessment.assess(employees, minRelativeSalaryPercentage, maxRelativeSalaryPercentage, parallelism);
+        }
+    }
+
+    /**
+     * Assesses manager salaries from a re-openable stream of employees, using the same rules and
+     * producing the same results, in the same order, as {@link #assessManagerSalary(List, Optional, Optional)}.
+     *
+     * <p>The employees are consumed in two passes: the first accumulates the subordinate salary total and
+     * count per manager ID, the second picks out the managers and assesses them. Only those per-manager
+     * aggregates and the manager records are retained, so the employee list never needs to be materialised.
+     * Each call to {@code employees} must return a fresh stream over the same employees, e.g. backed by
+     * {@code EmployeeCsvParser.stream}; every stream is closed once consumed.
+     *
+     * @param employees                    Supplier of a stream over all employees
+     * @param minRelativeSalaryPercentage  e.g. 0.20 for 20% minimum salary margin
+     * @param maxRelativeSalaryPercentage  e.g. 0.50 for 50% maximum salary margin
+     * @return List of manager salary assessments
+     */
+    public static List<ManagerRelativeSalaryAssessment> assessManagerSalary(
+            Supplier<Stream<Employee>> employees,
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage
+    ) {
+        logger.info("Executing streamed Manager Salary assessment");
+        Objects.requireNonNull(employees, "Employee supplier is null");
+        validateRelativeSalaryPercentages(minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.SALARY_ASSESSMENT)) {
+            // Pass 1: subordinate salary totals and counts per manager ID
+            Map<Integer, SalaryTotal> subordinatesByManagerId = new HashMap<>();
+            try (Stream<Employee> pass = employees.get()) {
+                pass.peek(e -> timer.rows(1))
+                        .filter(e -> e.managerId() != null)
+                        .forEachOrdered(e -> subordinatesByManagerId
+                                .computeIfAbsent(e.managerId(), managerId -> new SalaryTotal())
+                                .add(e.salary()));
+            }
+
+            // Pass 2: manager records
+            Map<Integer, Employee> managerById = new HashMap<>();
+            try (Stream<Employee> pass = employees.get()) {
+                pass.filter(e -> subordinatesByManagerId.containsKey(e.id()))
+                        .forEachOrdered(e -> managerById.putIfAbsent(e.id(), e));
+            }
+
+            ManagerBatchAssessedEvent event = new ManagerBatchAssessedEvent();
+            event.begin();
+            FixedPointSalaryAssessor assessor = new FixedPointSalaryAssessor(minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+            List<ManagerRelativeSalaryAssessment> assessments = subordinatesByManagerId.entrySet().stream()
+                    .map(entry -> {
+                        Employee manager = managerById.get(entry.getKey());
+                        if (manager == null) return null;
+                        return assessManager(
+                                assessor,
+                                manager,
+                                entry.getValue(),
+                                minRelativeSalaryPercentage,
+                                maxRelativeSalaryPercentage
+                        );
+                    })
+                    .filter(Objects::nonNull)
+                    .toList();
+            commitBatchEvent(event, assessments);
+            return assessments;
+        }
+    }
+
+    /**
+     * Assesses manager salaries straight from an employee registry CSV file, using the same rules as
+     * {@link #assessManagerSalary(List, Optional, Optional)}, without materialising the employees.
+     *
+     * <p>The file is parsed twice into a {@link ManagerSalaryAggregator}: the first pass totals the subordinate
+     * salaries of every manager ID, the second picks out the managers' records, so memory grows with the number
+     * of managers rather than employees. Rows with errors are left out and their errors recorded in
+     * {@code errors}; if they exceed its budget, no managers are assessed. No registry validation is performed.
+     *
+     * @param csvFile                      The employee registry CSV file
+     * @param headerRowIncluded            Whether the first row of the file is a header row
+     * @param minRelativeSalaryPercentage  e.g. 0.20 for 20% minimum salary margin
+     * @param maxRelativeSalaryPercentage  e.g. 0.50 for 50% maximum salary margin
+     * @param errors                       The collector the parse errors are recorded in
+     * @return List of manager salary assessments, ordered by manager ID
+     * @throws IOException                 if an I/O error occurs reading the file
+     */
+    public static List<ManagerRelativeSalaryAssessment> assessManagerSalary(
+            Path csvFile,
+            boolean headerRowIncluded,
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage,
+            ErrorCollector errors
+    ) throws IOException {
+        logger.info("Executing aggregated Manager Salary assessment over employee registry file");
+        Objects.requireNonNull(csvFile, "Employee registry file is null");
+        ManagerSalaryAggregator aggregator = new ManagerSalaryAggregator(minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+
+        EmployeeCsvParser.parse(csvFile, headerRowIncluded, aggregator, errors);
+        if (errors.isExceeded()) {
+            return List.of();
+        }
+        // The second pass meets the same errors, which are already recorded
+        EmployeeCsvParser.parse(csvFile, headerRowIncluded, aggregator::resolveManager, errors.budget().collector());
+
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.SALARY_ASSESSMENT)) {
+            List<ManagerRelativeSalaryAssessment> assessments = aggregator.assessments();
+            timer.rows(assessments.size());
+            return assessments;
+        }
+    }
+
+    /**
+     * Assesses manager salaries over a columnar {@link EmployeeTable}, using the same rules as
+     * {@link #assessManagerSalary(List, Optional, Optional)}.
+     *
+     * <p>Subordinate salary totals and counts are accumulated in primitive arrays indexed by the manager's
+     * row, following the manager indices resolved by the table, so the per-employee loop neither boxes nor
+     * hashes. Totals that overflow a {@code long} are carried on in {@link BigDecimal}. Results are ordered by manager ID.
+     *
+     * @param employees                    The table of all employees
+     * @param minRelativeSalaryPercentage  e.g. 0.20 for 20% minimum salary margin
+     * @param maxRelativeSalaryPercentage  e.g. 0.50 for 50% maximum salary margin
+     * @return List of manager salary assessments, ordered by manager ID
+     */
+    public static List<ManagerRelativeSalaryAssessment> assessManagerSalary(
+            EmployeeTable employees,
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage
+    ) {
+        logger.info("Executing Manager Salary assessment over employee table");
+        Objects.requireNonNull(employees, "Employee table is null");
+        validateRelativeSalaryPercentages(minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.SALARY_ASSESSMENT)) {
+            timer.rows(employees.size());
+            return SubordinateSalaryTotals.of(employees).assess(minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+        }
+    }
+
+    /**
+     * Assesses manager salaries over a columnar {@link EmployeeTable} as
+     * {@link #assessManagerSalary(EmployeeTable, Optional, Optional)} does, assessing the managers in parallel.
+     *
+     * <p>The subordinate salary totals are accumulated in one sequential pass over the table's primitive columns,
+     * then the batches of managers are assessed on a dedicated pool of {@code parallelism} threads. The table is
+     * never turned back into a list of employees. Results are ordered by manager ID, whatever the number of threads.
+     *
+     * @param employees                    The table of all employees
+     * @param minRelativeSalaryPercentage  e.g. 0.20 for 20% minimum salary margin
+     * @param maxRelativeSalaryPercentage  e.g. 0.50 for 50% maximum salary margin
+     * @param parallelism                  The number of threads to use; must be >= 1
+     * @return List of manager salary assessments, ordered by manager ID
+     */
+    public static List<ManagerRelativeSalaryAssessment> assessManagerSalary(
+            EmployeeTable employees,
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage,
+            int parallelism
+    ) {
+        logger.info("Executing parallel Manager Salary assessment over employee table with parallelism " + parallelism);
+        Objects.requireNonNull(employees, "Employee table is null");
+        if (parallelism < 1) {
+            logger.severe("Salary assessment parallelism must be >= 1");
+            throw new IllegalArgumentException("Salary assessment parallelism must be >= 1");
+        }
+        validateRelativeSalaryPercentages(minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.SALARY_ASSESSMENT)) {
+            timer.rows(employees.size());
+            return SubordinateSalaryTotals.of(employees).assess(minRelativeSalaryPercentage, maxRelativeSalaryPercentage, parallelism);
+        }
+    }
+
+    /**
+     * Assesses manager salaries over a columnar {@link EmployeeTable} against the average salary of the
+     * subordinates on the given basis, using the same margin rules as
+     * {@link #assessManagerSalary(List, Optional, Optional)}.
+     *
+     * <p>With {@link SalaryAssessmentBasis#WHOLE_SUBTREE} each manager is compared with the average salary of
+     * everyone under them. The table is indexed as an {@link OrgIndex}, and the salary totals of every subtree are
+     * accumulated in a single pass from the end of its tour, each employee adding their own salary and subtree
+     * total to their manager's, so the cost stays linear however deep the organisation is. Results are ordered
+     * by manager ID and flagged with the basis used.
+     *
+     * @param employees                    The table of all employees
+     * @param minRelativeSalaryPercentage  e.g. 0.20 for 20% minimum salary margin
+     * @param maxRelativeSalaryPercentage  e.g. 0.50 for 50% maximum salary margin
+     * @param basis                        The subordinates each manager is compared with
+     * @return List of manager salary assessments, ordered by manager ID
+     * @throws IllegalStateException       if the reporting lines contain a cycle
+     */
+    public static List<ManagerRelativeSalaryAssessment> assessManagerSalary(
+            EmployeeTable employees,
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage,
+            SalaryAssessmentBasis basis
+    ) {
+        Objects.requireNonNull(basis, "Salary assessment basis is null");
+        if (basis == SalaryAssessmentBasis.DIRECT_SUBORDINATES) {
+            return assessManagerSalary(employees, minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+        }
+        logger.info("Executing whole subtree Manager Salary assessment over employee table");
+        Objects.requireNonNull(employees, "Employee table is null");
+        validateRelativeSalaryPercentages(minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+
+        OrgIndex orgIndex = OrgIndex.of(employees);
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.SALARY_ASSESSMENT)) {
+            timer.rows(employees.size());
+            return SubordinateSalaryTotals.ofSubtrees(orgIndex).assess(minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+        }
+    }
+
+    /**
+     * Assesses manager salaries over a columnar {@link EmployeeTable} on the given basis as
+     * {@link #assessManagerSalary(EmployeeTable, Optional, Optional, SalaryAssessmentBasis)} does, making the
+     * assessments lazily as they are iterated, so they can be written out as they are made.
+     *
+     * <p>The subordinate salary totals are accumulated up front; each iteration then assesses the managers afresh,
+     * in batches ordered by manager ID, holding only the batches being assessed. With a {@code parallelism} above 1
+     * a window of batches is assessed at a time on a dedicated pool of {@code parallelism} threads.
+     *
+     * @param employees                    The table of all employees
+     * @param minRelativeSalaryPercentage  e.g. 0.20 for 20% minimum salary margin
+     * @param maxRelativeSalaryPercentage  e.g. 0.50 for 50% maximum salary margin
+     * @param basis                        The subordinates each manager is compared with
+     * @param parallelism                  The number of threads to use; must be >= 1
+     * @return Manager salary assessments, ordered by manager ID, that can be iterated any number of times
+     * @throws IllegalStateException       if the reporting lines contain a cycle
+     */
+    public static Iterable<ManagerRelativeSalaryAssessment> managerSalaryAssessments(
+            EmployeeTable employees,
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage,
+            SalaryAssessmentBasis basis,
+            int parallelism
+    ) {
+        logger.info("Preparing lazy Manager Salary assessment over employee table with parallelism " + parallelism);
+        Objects.requireNonNull(employees, "Employee table is null");
+        Objects.requireNonNull(basis, "Salary assessment basis is null");
+        if (parallelism < 1) {
+            logger.severe("Salary assessment parallelism must be >= 1");
+            throw new IllegalArgumentException("Salary assessment parallelism must be >= 1");
+        }
+        validateRelativeSalaryPercentages(minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+
+        SubordinateSalaryTotals totals;
+        if (basis == SalaryAssessmentBasis.WHOLE_SUBTREE) {
+            OrgIndex orgIndex = OrgIndex.of(employees);
+            try (StageTimer timer = PipelineMetrics.start(PipelineStage.SALARY_ASSESSMENT)) {
+                timer.rows(employees.size());
+                totals = SubordinateSalaryTotals.ofSubtrees(orgIndex);
+            }
+        } else {
+            try (StageTimer timer = PipelineMetrics.start(PipelineStage.SALARY_ASSESSMENT)) {
+                timer.rows(employees.size());
+                totals = SubordinateSalaryTotals.of(employees);
+            }
+        }
+        return totals.assessments(minRelativeSalaryPercentage, maxRelativeSalaryPercentage, parallelism);
+    }
+
+    static void validateRelativeSalaryPercentages(
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage
+    ) {
         minRelativeSalaryPercentage.ifPresent(min -> {
             if (min.compareTo(BigDecimal.ZERO) < 0) {
                 logger.severe("Minimum Relative Salary Percentage must be >= 0.0");
@@ -49,58 +410,128 @@ public class SalaryAnalyser {
             logger.severe("Maximum Relative Salary Percentage must be greater than or equal to Minimum Relative Salary Percentage");
             throw new IllegalArgumentException("Maximum Relative Salary Percentage must be greater than or equal to Minimum Relative Salary Percentage");
         }
+    }
 
-        // Group employees by their manager ID
-        Map<Integer, List<Employee>> reportsByManagerId = employees.stream()
-                .filter(e -> e.managerId() != null)
-                .collect(Collectors.groupingBy(Employee::managerId));
-
-        // Setup employee lookup
-        Map<Integer, Employee> employeeById = employees.stream()
-                .collect(Collectors.toMap(Employee::id, Function.identity()));
-
-        // Analyse each manager
-        return reportsByManagerId.entrySet().stream()
-                .map(entry -> {
-                    int managerId = entry.getKey();
-                    List<Employee> subordinates = entry.getValue();
-                    Employee manager = employeeById.get(managerId);
-
-                    if (manager == null || subordinates.isEmpty()) return null;
-
-                    BigDecimal avgDirectSubSalary = subordinates.isEmpty()
-                            ? BigDecimal.ZERO
-                            : subordinates.stream()
-                            .map(Employee::salary) // assuming salary() returns BigDecimal
-                            .reduce(BigDecimal.ZERO, BigDecimal::add)
-                            .divide(BigDecimal.valueOf(subordinates.size()), 2, RoundingMode.HALF_UP);
-
-                    BigDecimal actualSalary = manager.salary();
-                    BigDecimal expectedMinSalary = minRelativeSalaryPercentage
-                            .map(min -> avgDirectSubSalary.multiply(BigDecimal.ONE.add(min)))
-                            .orElse(new BigDecimal(0)).setScale(2, RoundingMode.HALF_UP);
-                    BigDecimal expectedMaxSalary = maxRelativeSalaryPercentage
-                            .map(max -> avgDirectSubSalary.multiply(BigDecimal.ONE.add(max)))
-                            .orElse(new BigDecimal(Double.MAX_VALUE)).setScale(2, RoundingMode.HALF_UP);
-
-                    SalaryAssessment assessment = assessSalary(
-                            actualSalary,
-                            minRelativeSalaryPercentage,
-                            expectedMinSalary,
-                            maxRelativeSalaryPercentage,
-                            expectedMaxSalary
-                    );
-
-                    return new ManagerRelativeSalaryAssessment(
-                            manager,
-                            avgDirectSubSalary,
-                            minRelativeSalaryPercentage,
-                            maxRelativeSalaryPercentage,
-                            assessment
-                    );
-                })
-                .filter(Objects::nonNull)
-                .toList();
+    /**
+     * Commits the event for a batch of assessments, counting the underpaid and overpaid managers, if a flight
+     * recording is enabled for it.
+     */
+    static void commitBatchEvent(ManagerBatchAssessedEvent event, List<ManagerRelativeSalaryAssessment> assessments) {
+        if (!event.shouldCommit()) {
+            return;
+        }
+        for (ManagerRelativeSalaryAssessment assessment : assessments) {
+            switch (assessment.assessment().status()) {
+                case UNDERPAID -> event.underpaid++;
+                case OVERPAID -> event.overpaid++;
+                default -> {
+                }
+            }
+        }
+        event.managers = assessments.size();
+        if (!assessments.isEmpty()) {
+            event.basis = assessments.get(0).basis().name().toLowerCase(Locale.ROOT);
+        }
+        event.commit();
+    }
+
+    /**
+     * Assesses a single manager using fixed-point arithmetic, falling back to {@link BigDecimal} arithmetic if
+     * the relative salary percentages or any intermediate value do not fit a {@code long}. Both produce the
+     * same result.
+     */
+    static ManagerRelativeSalaryAssessment assessManager(
+            FixedPointSalaryAssessor assessor,
+            Employee manager,
+            SalaryTotal subordinatesSalaryTotal,
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage
+    ) {
+        if (assessor.isApplicable() && !subordinatesSalaryTotal.overflowed()) {
+            try {
+                return assessor.assess(
+                        manager,
+                        subordinatesSalaryTotal.unscaledTotal(),
+                        subordinatesSalaryTotal.scale(),
+                        subordinatesSalaryTotal.count()
+                );
+            } catch (ArithmeticException e) {
+                // Fall back to BigDecimal arithmetic below
+            }
+        }
+        return assessManager(
+                manager,
+                subordinatesSalaryTotal.toBigDecimal(),
+                subordinatesSalaryTotal.count(),
+                minRelativeSalaryPercentage,
+                maxRelativeSalaryPercentage
+        );
+    }
+
+    /**
+     * Assesses a single manager against the average salary of their direct subordinates using {@link BigDecimal}
+     * arithmetic. This is the reference for {@link FixedPointSalaryAssessor}.
+     *
+     * @param manager                      The manager being assessed.
+     * @param subordinatesSalaryTotal      The sum of the direct subordinates' salaries.
+     * @param subordinateCount             The number of direct subordinates; must be > 0.
+     * @param minRelativeSalaryPercentage  The optional minimum relative salary percentage.
+     * @param maxRelativeSalaryPercentage  The optional maximum relative salary percentage.
+     * @return                             The {@link ManagerRelativeSalaryAssessment} for the manager.
+     */
+    static ManagerRelativeSalaryAssessment assessManager(
+            Employee manager,
+            BigDecimal subordinatesSalaryTotal,
+            int subordinateCount,
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage
+    ) {
+        return assessManager(manager, subordinatesSalaryTotal, subordinateCount, minRelativeSalaryPercentage,
+                maxRelativeSalaryPercentage, SalaryAssessmentBasis.DIRECT_SUBORDINATES);
+    }
+
+    /**
+     * Assesses a single manager against the average salary of the subordinates on the given basis using
+     * {@link BigDecimal} arithmetic.
+     *
+     * @param basis  The subordinates {@code subordinatesSalaryTotal} and {@code subordinateCount} are taken over.
+     */
+    static ManagerRelativeSalaryAssessment assessManager(
+            Employee manager,
+            BigDecimal subordinatesSalaryTotal,
+            int subordinateCount,
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage,
+            SalaryAssessmentBasis basis
+    ) {
+        BigDecimal avgDirectSubSalary = subordinatesSalaryTotal
+                .divide(BigDecimal.valueOf(subordinateCount), 2, RoundingMode.HALF_UP);
+
+        BigDecimal actualSalary = manager.salary();
+        BigDecimal expectedMinSalary = minRelativeSalaryPercentage
+                .map(min -> avgDirectSubSalary.multiply(BigDecimal.ONE.add(min)))
+                .orElse(new BigDecimal(0)).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal expectedMaxSalary = maxRelativeSalaryPercentage
+                .map(max -> avgDirectSubSalary.multiply(BigDecimal.ONE.add(max)))
+                .map(expectedMax -> expectedMax.setScale(2, RoundingMode.HALF_UP))
+                .orElse(NO_MAXIMUM_SALARY);
+
+        SalaryAssessment assessment = assessSalary(
+                actualSalary,
+                minRelativeSalaryPercentage,
+                expectedMinSalary,
+                maxRelativeSalaryPercentage,
+                expectedMaxSalary
+        );
+
+        return new ManagerRelativeSalaryAssessment(
+                manager,
+                avgDirectSubSalary,
+                minRelativeSalaryPercentage,
+                maxRelativeSalaryPercentage,
+                assessment,
+                basis
+        );
     }
 
     /**
@@ -148,28 +579,101 @@ public class SalaryAnalyser {
     public static String generateSalaryMarginStatusReport(
             List<ManagerRelativeSalaryAssessment> assessments,
             SalaryMarginStatus reportSalaryMarginStatus) {
+        StringWriter report = new StringWriter();
+        try {
+            writeSalaryMarginStatusReport(assessments, reportSalaryMarginStatus, report);
+        } catch (IOException e) {
+            // A StringWriter never fails
+            throw new UncheckedIOException(e);
+        }
+        return report.toString();
+    }
+
+    /**
+     * Writes the report of {@link #generateSalaryMarginStatusReport} to the sink, row by row.
+     *
+     * @param assessments              The {@link ManagerRelativeSalaryAssessment}s containing salary assessments for managers.
+     * @param reportSalaryMarginStatus The specific {@link SalaryMarginStatus} to filter by (e.g., {@code UNDERPAID}, {@code OVERPAID}).
+     * @param sink                     The sink to write the report to; it is left open.
+     * @return                         The number of managers written to the report.
+     * @throws IOException             If writing to the sink fails.
+     */
+    public static long writeSalaryMarginStatusReport(
+            Iterable<ManagerRelativeSalaryAssessment> assessments,
+            SalaryMarginStatus reportSalaryMarginStatus,
+            ReportSink sink) throws IOException {
+        return writeSalaryMarginStatusReport(assessments, reportSalaryMarginStatus, sink.writer());
+    }
+
+    /**
+     * Writes the report of {@link #generateSalaryMarginStatusReport} to the writer, row by row.
+     *
+     * <p>Rows are rendered straight into a reusable buffer that is streamed to the writer, so the report is
+     * never held in memory as a whole. The assessments are iterated once, so those made lazily, e.g. by
+     * {@link #managerSalaryAssessments}, are written as they are made. The writer is neither flushed nor closed.
+     * A report of managers assessed against their {@link SalaryAssessmentBasis#WHOLE_SUBTREE whole subtree}
+     * says so below its title.
+     *
+     * @param assessments              The {@link ManagerRelativeSalaryAssessment}s containing salary assessments for managers.
+     * @param reportSalaryMarginStatus The specific {@link SalaryMarginStatus} to filter by (e.g., {@code UNDERPAID}, {@code OVERPAID}).
+     * @param out                      The writer to write the report to.
+     * @return                         The number of managers written to the report.
+     * @throws IOException             If writing to the writer fails.
+     */
+    public static long writeSalaryMarginStatusReport(
+            Iterable<ManagerRelativeSalaryAssessment> assessments,
+            SalaryMarginStatus reportSalaryMarginStatus,
+            Writer out) throws IOException {
         logger.info("Generating salary margin status report.");
 
         if (assessments == null) {
-            return "No assessment data found to report";
+            out.write("No assessment data found to report");
+            return 0;
         }
-        var reportAssessments = assessments.stream()
-                .filter(mrsa -> mrsa.assessment().status() == reportSalaryMarginStatus)
-                .toList();
 
-        StringBuilder sb = new StringBuilder();
-        sb.append("Following managers have a current salary status of : " + reportSalaryMarginStatus.getDisplayValue() + "\n");
-        sb.append(String.format("%-20s %-10s %-10s %-15s %-10s%n", "Name", "ID", "ManagerID", "Salary", "Breach"));
-        sb.append("----------------------------------------------------------------------\n");
-        for (ManagerRelativeSalaryAssessment a : reportAssessments) {
-            sb.append(String.format("%-20s %-10d %-10s %-15.2f %-10.2f%n",
-                    a.manager().fullName(),
-                    a.manager().id(),
-                    a.manager().managerId() != null ? a.manager().managerId().toString() : "N/A",
-                    a.manager().salary(),
-                    a.assessment().breachAmount()));
+        ReportRenderedEvent event = new ReportRenderedEvent();
+        event.begin();
+        try (StageTimer timer = PipelineMetrics.start(PipelineStage.RENDERING)) {
+            Iterator<ManagerRelativeSalaryAssessment> iterator = assessments.iterator();
+            // The first assessment is taken before the header, which names its basis
+            ManagerRelativeSalaryAssessment first = iterator.hasNext() ? iterator.next() : null;
+            ReportRenderer renderer = new ReportRenderer(out);
+            renderer.text("Following managers have a current salary status of : ").text(reportSalaryMarginStatus.getDisplayValue()).text("\n");
+            if (first != null && first.basis() == SalaryAssessmentBasis.WHOLE_SUBTREE) {
+                renderer.text("Salaries are assessed against the average salary of everyone under each manager\n");
+            }
+            renderer
+                    .column("Name", 20).text(" ").column("ID", 10).text(" ").column("ManagerID", 10).text(" ")
+                    .column("Salary", 15).text(" ").column("Breach", 10).newLine()
+                    .text("----------------------------------------------------------------------\n");
+            long rows = 0;
+            for (ManagerRelativeSalaryAssessment a = first; a != null; a = iterator.hasNext() ? iterator.next() : null) {
+                if (a.assessment().status() != reportSalaryMarginStatus) {
+                    continue;
+                }
+                Employee manager = a.manager();
+                renderer.flushIfFull();
+                rows++;
+                renderer.column(manager.firstName(), manager.lastName(), 20).text(" ")
+                        .column(manager.id(), 10).text(" ");
+                if (manager.managerId() != null) {
+                    renderer.plainColumn(manager.managerId(), 10);
+                } else {
+                    renderer.column("N/A", 10);
+                }
+                renderer.text(" ")
+                        .twoDecimalPlacesColumn(manager.salary(), 15).text(" ")
+                        .twoDecimalPlacesColumn(a.assessment().breachAmount(), 10).newLine();
+            }
+            renderer.flush();
+            timer.rows(rows).bytes(renderer.written());
+            if (event.shouldCommit()) {
+                event.report = reportSalaryMarginStatus.name().toLowerCase(Locale.ROOT);
+                event.rows = rows;
+                event.characters = renderer.written();
+                event.commit();
+            }
+            return rows;
         }
-
-        return sb.toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,330 @@
+package io.github.zhaqimz.employeereporting.reports;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.model.EmployeeTable;
+import io.github.zhaqimz.employeereporting.model.ManagerRelativeSalaryAssessment;
+import io.github.zhaqimz.employeereporting.model.SalaryAssessmentBasis;
+import io.github.zhaqimz.employeereporting.monitoring.ManagerBatchAssessedEvent;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Subordinate salary totals and counts of every manager in an {@link EmployeeTable}, from which managers can be
+ * assessed against any relative salary percentages. The subordinates are either each manager's direct
+ * subordinates or, for a {@link SalaryAssessmentBasis#WHOLE_SUBTREE} assessment, everyone under them.
+ * <p>
+ * Totals and counts are accumulated in primitive arrays indexed by the manager's row, following the manager
+ * indices resolved by the table, so the per-employee loop neither boxes nor hashes. Totals that overflow a
+ * {@code long} are carried on in {@link BigDecimal}. The managers are materialised once, ordered by ID, so
+ * repeated assessments only do the per-manager arithmetic.
+ */
+final class SubordinateSalaryTotals {
+    // Batches assessed per thread at a time when assessments are iterated in parallel
+    static final int WINDOW_BATCHES_PER_THREAD = 4;
+
+    private final int salaryScale;
+    private final SalaryAssessmentBasis basis;
+    private final Employee[] managers;
+    private final long[] salaryTotals;
+    private final int[] counts;
+    // Totals of managers whose long total overflowed, by position in managers; rarely used
+    private final Map<Integer, BigDecimal> overflowedSalaryTotals;
+
+    private SubordinateSalaryTotals(int salaryScale, SalaryAssessmentBasis basis, Employee[] managers, long[] salaryTotals,
+                                    int[] counts, Map<Integer, BigDecimal> overflowedSalaryTotals) {
+        this.salaryScale = salaryScale;
+        this.basis = basis;
+        this.managers = managers;
+        this.salaryTotals = salaryTotals;
+        this.counts = counts;
+        this.overflowedSalaryTotals = overflowedSalaryTotals;
+    }
+
+    /**
+     * Accumulates the salary totals and counts of every manager's direct subordinates.
+     */
+    static SubordinateSalaryTotals of(EmployeeTable employees) {
+        int size = employees.size();
+        int salaryScale = employees.salaryScale();
+        long[] subordinateSalaryTotals = new long[size];
+        int[] subordinateCounts = new int[size];
+        // Salaries that would overflow a manager's long total, by manager index; rarely used
+        Map<Integer, BigDecimal> overflowedByManagerIndex = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            int managerIndex = employees.managerIndex(i);
+            if (managerIndex >= 0) {
+                long salary = employees.salaryMinorUnits(i);
+                long total = subordinateSalaryTotals[managerIndex] + salary;
+                if (((subordinateSalaryTotals[managerIndex] ^ total) & (salary ^ total)) < 0) {
+                    overflowedByManagerIndex.merge(managerIndex, BigDecimal.valueOf(salary, salaryScale), BigDecimal::add);
+                } else {
+                    subordinateSalaryTotals[managerIndex] = total;
+                }
+                subordinateCounts[managerIndex]++;
+            }
+        }
+        return byManagerId(employees, SalaryAssessmentBasis.DIRECT_SUBORDINATES, subordinateSalaryTotals,
+                subordinateCounts, overflowedByManagerIndex);
+    }
+
+    /**
+     * Accumulates the salary totals and counts of everyone under every manager, in one pass over the tour of
+     * the index taken from its end: every employee follows their manager in the tour, so by the time an
+     * employee is reached their own subtree total is complete and is added, with their salary, to their
+     * manager's. Counts are the subtree sizes the index already holds.
+     */
+    static SubordinateSalaryTotals ofSubtrees(OrgIndex orgIndex) {
+        EmployeeTable employees = orgIndex.employees();
+        int size = employees.size();
+        int salaryScale = employees.salaryScale();
+        long[] subtreeSalaryTotals = new long[size];
+        int[] subtreeCounts = new int[size];
+        // Amounts that would overflow a manager's long total, by manager index; rarely used
+        Map<Integer, BigDecimal> overflowedByManagerIndex = new HashMap<>();
+        for (int p = size - 1; p >= 0; p--) {
+            int row = orgIndex.rowAt(p);
+            subtreeCounts[row] = orgIndex.subtreeSize(row) - 1;
+            int managerIndex = orgIndex.manager(row);
+            if (managerIndex == OrgIndex.NO_MANAGER) {
+                continue;
+            }
+            long salary = employees.salaryMinorUnits(row);
+            try {
+                subtreeSalaryTotals[managerIndex] = Math.addExact(subtreeSalaryTotals[managerIndex],
+                        Math.addExact(salary, subtreeSalaryTotals[row]));
+            } catch (ArithmeticException e) {
+                overflowedByManagerIndex.merge(managerIndex,
+                        BigDecimal.valueOf(salary, salaryScale).add(BigDecimal.valueOf(subtreeSalaryTotals[row], salaryScale)),
+                        BigDecimal::add);
+            }
+            if (!overflowedByManagerIndex.isEmpty()) {
+                BigDecimal overflowedTotal = overflowedByManagerIndex.get(row);
+                if (overflowedTotal != null) {
+                    overflowedByManagerIndex.merge(managerIndex, overflowedTotal, BigDecimal::add);
+                }
+            }
+        }
+        return byManagerId(employees, SalaryAssessmentBasis.WHOLE_SUBTREE, subtreeSalaryTotals, subtreeCounts,
+                overflowedByManagerIndex);
+    }
+
+    /**
+     * Materialises the managers, those with at least one subordinate, with their totals and counts, ordered by ID.
+     */
+    private static SubordinateSalaryTotals byManagerId(EmployeeTable employees, SalaryAssessmentBasis basis,
+                                                       long[] subordinateSalaryTotals, int[] subordinateCounts,
+                                                       Map<Integer, BigDecimal> overflowedByManagerIndex) {
+        int[] managerIndices = managerIndicesById(employees, subordinateCounts);
+        Employee[] managers = new Employee[managerIndices.length];
+        long[] salaryTotals = new long[managerIndices.length];
+        int[] counts = new int[managerIndices.length];
+        Map<Integer, BigDecimal> overflowedSalaryTotals = new HashMap<>();
+        for (int i = 0; i < managerIndices.length; i++) {
+            int managerIndex = managerIndices[i];
+            managers[i] = employees.employee(managerIndex);
+            salaryTotals[i] = subordinateSalaryTotals[managerIndex];
+            counts[i] = subordinateCounts[managerIndex];
+            BigDecimal overflowedTotal = overflowedByManagerIndex.get(managerIndex);
+            if (overflowedTotal != null) {
+                overflowedSalaryTotals.put(i, overflowedTotal);
+            }
+        }
+        return new SubordinateSalaryTotals(employees.salaryScale(), basis, managers, salaryTotals, counts,
+                overflowedSalaryTotals);
+    }
+
+    /**
+     * Assesses every manager against the average salary of their subordinates, using the same rules as
+     * {@link SalaryAnalyser#assessManagerSalary(List, Optional, Optional)}. Managers are assessed in batches of
+     * {@link SalaryAnalyser#MANAGER_BATCH_SIZE}, each committed as a {@link ManagerBatchAssessedEvent}.
+     *
+     * @return the manager salary assessments, ordered by manager ID
+     */
+    List<ManagerRelativeSalaryAssessment> assess(
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage
+    ) {
+        return assess(minRelativeSalaryPercentage, maxRelativeSalaryPercentage, 1);
+    }
+
+    /**
+     * Assesses every manager as {@link #assess(Optional, Optional)} does, with the batches spread over a dedicated
+     * {@link ForkJoinPool} of the given parallelism. The results are in the same order whatever the number of threads.
+     *
+     * @return the manager salary assessments, ordered by manager ID
+     */
+    List<ManagerRelativeSalaryAssessment> assess(
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage,
+            int parallelism
+    ) {
+        List<ManagerRelativeSalaryAssessment> assessments = new ArrayList<>(managers.length);
+        for (ManagerRelativeSalaryAssessment assessment
+                : assessments(minRelativeSalaryPercentage, maxRelativeSalaryPercentage, parallelism)) {
+            assessments.add(assessment);
+        }
+        return assessments;
+    }
+
+    /**
+     * Returns the assessments of {@link #assess(Optional, Optional, int)}, made lazily as they are iterated.
+     * <p>
+     * Each iteration assesses the managers afresh, in the same batches and order. With a parallelism of 1 one
+     * batch is held at a time; otherwise a window of {@link #WINDOW_BATCHES_PER_THREAD} batches per thread is
+     * assessed at a time on a dedicated {@link ForkJoinPool}, so memory stays bounded however many managers
+     * there are.
+     */
+    Iterable<ManagerRelativeSalaryAssessment> assessments(
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage,
+            int parallelism
+    ) {
+        return () -> new AssessmentIterator(
+                new FixedPointSalaryAssessor(minRelativeSalaryPercentage, maxRelativeSalaryPercentage),
+                minRelativeSalaryPercentage, maxRelativeSalaryPercentage, parallelism);
+    }
+
+    private int batchCount() {
+        return (managers.length + SalaryAnalyser.MANAGER_BATCH_SIZE - 1) / SalaryAnalyser.MANAGER_BATCH_SIZE;
+    }
+
+    private List<ManagerRelativeSalaryAssessment> assessBatch(
+            int batch,
+            FixedPointSalaryAssessor assessor,
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage
+    ) {
+        int from = batch * SalaryAnalyser.MANAGER_BATCH_SIZE;
+        int to = Math.min(from + SalaryAnalyser.MANAGER_BATCH_SIZE, managers.length);
+        ManagerBatchAssessedEvent event = new ManagerBatchAssessedEvent();
+        event.begin();
+        List<ManagerRelativeSalaryAssessment> assessments = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            assessments.add(assess(i, assessor, minRelativeSalaryPercentage, maxRelativeSalaryPercentage));
+        }
+        SalaryAnalyser.commitBatchEvent(event, assessments);
+        return assessments;
+    }
+
+    /**
+     * Assesses the managers window by window of batches, and hands them out in order.
+     */
+    private final class AssessmentIterator implements Iterator<ManagerRelativeSalaryAssessment> {
+        private final FixedPointSalaryAssessor assessor;
+        private final Optional<BigDecimal> minRelativeSalaryPercentage;
+        private final Optional<BigDecimal> maxRelativeSalaryPercentage;
+        private final int parallelism;
+        private List<ManagerRelativeSalaryAssessment> window = List.of();
+        private int nextInWindow;
+        private int nextBatch;
+
+        private AssessmentIterator(FixedPointSalaryAssessor assessor,
+                                   Optional<BigDecimal> minRelativeSalaryPercentage,
+                                   Optional<BigDecimal> maxRelativeSalaryPercentage,
+                                   int parallelism) {
+            this.assessor = assessor;
+            this.minRelativeSalaryPercentage = minRelativeSalaryPercentage;
+            this.maxRelativeSalaryPercentage = maxRelativeSalaryPercentage;
+            this.parallelism = parallelism;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (nextInWindow == window.size()) {
+                if (nextBatch == batchCount()) {
+                    return false;
+                }
+                window = assessWindow();
+                nextInWindow = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public ManagerRelativeSalaryAssessment next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return window.get(nextInWindow++);
+        }
+
+        private List<ManagerRelativeSalaryAssessment> assessWindow() {
+            if (parallelism == 1) {
+                return assessBatch(nextBatch++, assessor, minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+            }
+            int from = nextBatch;
+            int to = Math.min(from + parallelism * WINDOW_BATCHES_PER_THREAD, batchCount());
+            nextBatch = to;
+            try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+                return pool.submit(() -> IntStream.range(from, to).parallel()
+                        .mapToObj(batch -> assessBatch(batch, assessor, minRelativeSalaryPercentage, maxRelativeSalaryPercentage))
+                        .flatMap(List::stream)
+                        .toList()).join();
+            }
+        }
+    }
+
+    private ManagerRelativeSalaryAssessment assess(
+            int i,
+            FixedPointSalaryAssessor assessor,
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage
+    ) {
+        BigDecimal overflowedTotal = overflowedSalaryTotals.get(i);
+        if (overflowedTotal == null && assessor.isApplicable()) {
+            try {
+                return assessor.assess(managers[i], salaryTotals[i], salaryScale, counts[i], basis);
+            } catch (ArithmeticException e) {
+                // Fall back to BigDecimal arithmetic below
+            }
+        }
+        BigDecimal subordinatesSalaryTotal = BigDecimal.valueOf(salaryTotals[i], salaryScale);
+        if (overflowedTotal != null) {
+            subordinatesSalaryTotal = subordinatesSalaryTotal.add(overflowedTotal);
+        }
+        return SalaryAnalyser.assessManager(
+                managers[i],
+                subordinatesSalaryTotal,
+                counts[i],
+                minRelativeSalaryPercentage,
+                maxRelativeSalaryPercentage,
+                basis
+        );
+    }
+
+    /**
+     * Returns the row indices of employees with at least one subordinate, ordered by employee ID.
+     */
+    private static int[] managerIndicesById(EmployeeTable employees, int[] subordinateCounts) {
+        int managerCount = 0;
+        for (int count : subordinateCounts) {
+            if (count > 0) {
+                managerCount++;
+            }
+        }
+        // Sort (id, index) pairs packed into longs to avoid boxing; IDs are non-negative
+        long[] idAndIndex = new long[managerCount];
+        int next = 0;
+        for (int i = 0; i < subordinateCounts.length; i++) {
+            if (subordinateCounts[i] > 0) {
+                idAndIndex[next++] = ((long) employees.id(i) << 32) | i;
+            }
+        }
+        Arrays.sort(idAndIndex);
+        int[] managerIndices = new int[managerCount];
+        for (int i = 0; i < managerCount; i++) {
+            managerIndices[i] = (int) idAndIndex[i];
+        }
+        return managerIndices;
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.zhaqimz.employeereporting.reports;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * {@link ReportSink} over a writer, which it either closes or only flushes when it is closed.
+ */
+final class WriterReportSink implements ReportSink {
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+    private final boolean closeWriter;
+
+    WriterReportSink(Writer writer, boolean closeWriter) {
+        this.writer = writer;
+        this.closeWriter = closeWriter;
+    }
+
+    @Override
+    public Writer writer() {
+        return writer;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closeWriter) {
+            writer.close();
+        } else {
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package io.github.zhaqimz.employeereporting.service;
+
+import io.github.zhaqimz.employeereporting.monitoring.PipelineMetrics;
+import io.github.zhaqimz.employeereporting.utility.Config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Watches a directory for employee registry files being dropped or rewritten and runs a pipeline, typically
+ * parse, validate and report, on the latest one.
+ * <p>
+ * Events are debounced: a file is only processed once no event has been seen for the debounce interval and
+ * its size and modification time have not changed since the last event, so a file still being written is
+ * not picked up half way. Drops are coalesced: while files keep arriving, or while the pipeline is running,
+ * only the most recent file is kept, and the pipeline runs on it next. The pipeline runs on a single
+ * background thread, one file at a time.
+ * <p>
+ * The watch loop, the debounce timer and the pipeline each run on their own thread; debounce state is only
+ * touched by tasks run by the {@link DebounceScheduler}, which also supplies the time the debounce interval is
+ * measured with.
+ */
+public class EmployeeRegistryWatcher implements Closeable {
+    private static final Logger logger = Logger.getLogger(EmployeeRegistryWatcher.class.getName());
+
+    private final Path directory;
+    private final PathMatcher fileMatcher;
+    private final long debounceNanos;
+    private final Consumer<Path> pipeline;
+    private final WatchService watchService;
+    private final DebounceScheduler debounceScheduler;
+    private final Executor pipelineExecutor;
+    // The latest file ready to be processed, or null if the pipeline has taken it
+    private final AtomicReference<Path> pendingFile = new AtomicReference<>();
+
+    // Debounce state, only used by debounce tasks
+    private Path latestFile;
+    private FileState latestFileState;
+    private long latestEventNanos;
+    private boolean quietCheckScheduled;
+
+    /**
+     * @param directory   The directory to watch.
+     * @param fileGlob    Glob that registry file names match, e.g. {@code *.csv}.
+     * @param debounce    How long a file must be left unchanged before it is processed.
+     * @param pipeline    Processes a registry file; exceptions are logged and do not stop the watcher.
+     * @throws IOException If the directory cannot be watched.
+     */
+    public EmployeeRegistryWatcher(Path directory, String fileGlob, Duration debounce, Consumer<Path> pipeline) throws IOException {
+        this(directory, fileGlob, debounce, pipeline, new ExecutorDebounceScheduler(),
+                Executors.newSingleThreadExecutor(Thread.ofPlatform().name("registry-watch-pipeline").factory()));
+    }
+
+    /**
+     * Creates a watcher that debounces events with the given scheduler and runs the pipeline on the given
+     * executor, which is closed with the watcher if it is an {@link ExecutorService}.
+     */
+    EmployeeRegistryWatcher(Path directory, String fileGlob, Duration debounce, Consumer<Path> pipeline,
+                            DebounceScheduler debounceScheduler, Executor pipelineExecutor) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            logger.severe("Registry watch directory is not a directory: " + directory);
+            throw new IllegalArgumentException("Registry watch directory is not a directory: " + directory);
+        }
+        this.directory = directory;
+        this.fileMatcher = FileSystems.getDefault().getPathMatcher("glob:" + fileGlob);
+        this.debounceNanos = debounce.toNanos();
+        this.pipeline = Objects.requireNonNull(pipeline, "Pipeline is null");
+        this.watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        this.debounceScheduler = debounceScheduler;
+        this.pipelineExecutor = pipelineExecutor;
+    }
+
+    public static void main(String[] args) {
+        logger.info("Registry watcher starting...");
+        if (args.length < 1 || !Files.isDirectory(Path.of(args[0]))) {
+            logger.severe("Missing or invalid registry directory argument");
+            System.out.println("Usage: java EmployeeRegistryWatcher </path/to/employee_registry_directory>");
+            System.exit(1);
+        }
+        Path directory = Path.of(args[0]);
+
+        try {
+            Config config = new Config("config.properties");
+            ReportSettings settings = ReportSettings.from(config);
+            String fileGlob = config.get("watch.registry.file.glob", "*.csv");
+            Duration debounce = Duration.ofMillis(Long.parseLong(config.get("watch.registry.debounce.millis", "1000")));
+            PipelineMetrics.registerMBeans();
+
+            EmployeeRegistryWatcher watcher = new EmployeeRegistryWatcher(directory, fileGlob, debounce, file -> {
+                try {
+                    EmployeeReportingApp.generateReports(file, settings);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            Runtime.getRuntime().addShutdownHook(new Thread(watcher::close));
+            watcher.start();
+            logger.info("Watching " + directory.toAbsolutePath() + " for registry files matching " + fileGlob);
+        } catch (Exception e) {
+            logger.severe("Exiting execution due to the following error: " + e);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Starts watching the directory.
+     */
+    public void start() {
+        Thread.ofPlatform().name("registry-watch").start(this::watch);
+    }
+
+    /**
+     * Stops watching and waits for the pipeline run in progress, if any, to complete. Files still pending
+     * are not processed.
+     */
+    @Override
+    public void close() {
+        logger.info("Registry watcher stopping...");
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warning("Registry watch service could not be closed: " + e);
+        }
+        debounceScheduler.close();
+        pendingFile.set(null);
+        if (pipelineExecutor instanceof ExecutorService executor) {
+            executor.close();
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // Events were lost; fall back to the most recently modified file
+                        latestMatchingFile().ifPresent(this::submitEvent);
+                    } else if (event.context() instanceof Path name) {
+                        fileChanged(name);
+                    }
+                }
+                if (!key.reset()) {
+                    logger.severe("Registry watch directory is no longer accessible: " + directory);
+                    return;
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Closed
+        }
+    }
+
+    /**
+     * Handles a file in the watched directory having been created or modified.
+     *
+     * @param name The name of the file, relative to the watched directory.
+     */
+    void fileChanged(Path name) {
+        if (fileMatcher.matches(name)) {
+            submitEvent(directory.resolve(name));
+        }
+    }
+
+    private void submitEvent(Path file) {
+        debounceScheduler.schedule(() -> onEvent(file), 0);
+    }
+
+    /**
+     * Records the latest event and starts the quiet period check if none is scheduled.
+     */
+    private void onEvent(Path file) {
+        latestFile = file;
+        latestFileState = FileState.of(file);
+        latestEventNanos = debounceScheduler.nanoTime();
+        if (!quietCheckScheduled) {
+            quietCheckScheduled = true;
+            debounceScheduler.schedule(this::checkQuiet, debounceNanos);
+        }
+    }
+
+    /**
+     * Hands the latest file to the pipeline once it has been quiet and unchanged for the debounce interval.
+     */
+    private void checkQuiet() {
+        long quietNanos = debounceScheduler.nanoTime() - latestEventNanos;
+        if (quietNanos < debounceNanos) {
+            debounceScheduler.schedule(this::checkQuiet, debounceNanos - quietNanos);
+            return;
+        }
+        FileState state = FileState.of(latestFile);
+        if (state == null) {
+            // Deleted or renamed away before it settled
+            quietCheckScheduled = false;
+            return;
+        }
+        if (!state.equals(latestFileState)) {
+            // Written to without an event being seen yet
+            latestFileState = state;
+            latestEventNanos = debounceScheduler.nanoTime();
+            debounceScheduler.schedule(this::checkQuiet, debounceNanos);
+            return;
+        }
+        quietCheckScheduled = false;
+        logger.info("Registry file ready: " + latestFile);
+        // Only a file arriving while none is pending needs a new run; otherwise the queued run takes the latest
+        if (pendingFile.getAndSet(latestFile) == null) {
+            pipelineExecutor.execute(this::runPipeline);
+        }
+    }
+
+    private void runPipeline() {
+        Path file = pendingFile.getAndSet(null);
+        if (file == null) {
+            return;
+        }
+        logger.info("Processing registry file: " + file);
+        long started = System.nanoTime();
+        try {
+            pipeline.accept(file);
+            logger.info("Processed registry file " + file + " in " + Duration.ofNanos(System.nanoTime() - started).toMillis() + " ms");
+        } catch (RuntimeException e) {
+            logger.severe("Processing registry file " + file + " failed: " + e);
+        }
+    }
+
+    private Optional<Path> latestMatchingFile() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> fileMatcher.matches(file.getFileName()))
+                    .filter(Files::isRegularFile)
+                    .max(Comparator.comparing(file -> {
+                        FileState state = FileState.of(file);
+                        return state == null ? 0L : state.lastModifiedMillis();
+                    }));
+        } catch (IOException e) {
+            logger.warning("Registry watch directory could not be listed: " + e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Runs the debounce tasks, one at a time, and supplies the time the debounce interval is measured with.
+     */
+    interface DebounceScheduler {
+        /**
+         * Runs the task once the delay has passed; tasks scheduled after the scheduler is closed are dropped.
+         */
+        void schedule(Runnable task, long delayNanos);
+
+        long nanoTime();
+
+        /**
+         * Stops running tasks, including those already scheduled.
+         */
+        void close();
+    }
+
+    /**
+     * Runs debounce tasks on a single daemon thread, measuring time with {@link System#nanoTime()}.
+     */
+    private static final class ExecutorDebounceScheduler implements DebounceScheduler {
+        private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("registry-watch-debounce").daemon().factory());
+
+        @Override
+        public void schedule(Runnable task, long delayNanos) {
+            try {
+                executor.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // Closed
+            }
+        }
+
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Size and modification time of a file, compared to tell whether it is still being written.
+     */
+    private record FileState(long size, long lastModifiedMillis) {
+        static FileState of(Path file) {
+            try {
+                return new FileState(Files.size(file), Files.getLastModifiedTime(file).toMillis());
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -1,23 +1,32 @@
 package io.github.zhaqimz.employeereporting.service;
 
 import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.model.EmployeeTable;
 import io.github.zhaqimz.employeereporting.model.ManagerRelativeSalaryAssessment;
 import io.github.zhaqimz.employeereporting.model.ReportingLineDepthBreach;
+import io.github.zhaqimz.employeereporting.model.SalaryAssessmentBasis;
 import io.github.zhaqimz.employeereporting.model.SalaryMarginStatus;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineMetrics;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineSummary;
 import io.github.zhaqimz.employeereporting.registry.EmployeeCsvParser;
+import io.github.zhaqimz.employeereporting.registry.EmployeeRegistrySnapshot;
+import io.github.zhaqimz.employeereporting.registry.EmployeeRegistrySnapshot.SourceFingerprint;
 import io.github.zhaqimz.employeereporting.registry.EmployeeRegistryValidator;
+import io.github.zhaqimz.employeereporting.registry.ErrorBudget;
+import io.github.zhaqimz.employeereporting.registry.ErrorCollector;
 import io.github.zhaqimz.employeereporting.registry.ParsedEmployeesResult;
 import io.github.zhaqimz.employeereporting.registry.ValidationError;
+import io.github.zhaqimz.employeereporting.reports.ReportSink;
 import io.github.zhaqimz.employeereporting.reports.ReportingLineAnalyser;
 import io.github.zhaqimz.employeereporting.reports.SalaryAnalyser;
 import io.github.zhaqimz.employeereporting.utility.Config;
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 import java.util.logging.Logger;
-import java.util.stream.Stream;
 
 public class EmployeeReportingApp {
     private static final Logger logger = Logger.getLogger(EmployeeReportingApp.class.getName());
@@ -39,55 +48,9 @@ public class EmployeeReportingApp {
         try {
             // Read App Config
             logger.info("Reading application config...");
-            Config config = new Config("config.properties");
-            var minRelativeSalaryPercentage = Optional.of(
-                    new BigDecimal(config.get("reports.manager.min.relative.salary.percentage"))
-            );
-            var maxRelativeSalaryPercentage = Optional.of(
-                    new BigDecimal(config.get("reports.manager.max.relative.salary.percentage"))
-            );
-            var depthToCompare = config.getInt("reports.employee.max.reporting.line.depth");
-            var maxPermittedEmployees = config.getInt("reports.employee.max.permitted.employees");
-            var csvHeaderIncluded = config.getBoolean("employee.registry.csv.header.included");
-
-            // Parse Employee Registry file
-            logger.info("Parsing employee registry file...");
-            ParsedEmployeesResult parsedEmployeesRegistryFile = EmployeeCsvParser.parse(employeesRegistryCsvFile, csvHeaderIncluded);
-            List<Employee> employees = parsedEmployeesRegistryFile.employees();
-            List<ValidationError> parseErrors = parsedEmployeesRegistryFile.errors();
-
-            // Perform Employee Registry validations
-            List<ValidationError> validationErrors = EmployeeRegistryValidator.validateEmployees(employees, maxPermittedEmployees);
-
-            // Proceed to Reporting if there are no errors
-            List<ValidationError> allErrors = Stream.concat(parseErrors.stream(), validationErrors.stream()).toList();
-            if (allErrors.isEmpty()) {
-                List<ManagerRelativeSalaryAssessment> salaryAssessments = SalaryAnalyser.assessManagerSalary(
-                        employees,
-                        minRelativeSalaryPercentage,
-                        maxRelativeSalaryPercentage
-                );
-
-                List<ReportingLineDepthBreach> reportingLineBreaches = ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(
-                        employees,
-                        depthToCompare
-                );
-                var underpaidReport = SalaryAnalyser.generateSalaryMarginStatusReport(salaryAssessments, SalaryMarginStatus.UNDERPAID);
-                System.out.println(underpaidReport);
-
-                var overpaidReport = SalaryAnalyser.generateSalaryMarginStatusReport(salaryAssessments, SalaryMarginStatus.OVERPAID);
-                System.out.println(overpaidReport);
-
-                var reportingLineDepthBreachReport = ReportingLineAnalyser.generateReportingLineDepthBreachReport(reportingLineBreaches);
-                System.out.println(reportingLineDepthBreachReport);
-            } else {
-                logger.warning("Reports could not be generated due to errors detected in the parsing and validation of the file");
-                System.out.println("Following errors were detected in the parsing and validation of the file:\n");
-                for (ValidationError error : allErrors) {
-                    System.out.println(error.message() + "\n");
-                }
-            }
+            ReportSettings settings = ReportSettings.from(new Config("config.properties"));
 
+            generateReports(employeesRegistryCsvFile, settings);
         } catch (Exception e) {
             logger.severe("Exiting execution due to the following error: " + e);
             System.exit(1);
@@ -95,6 +58,211 @@ public class EmployeeReportingApp {
         System.exit(0);
     }
 
+    /**
+     * Loads the employee registry and, if it is valid, writes the underpaid, overpaid and reporting line
+     * depth reports to the configured output; otherwise prints the parse and validation errors. The
+     * {@link PipelineSummary} of the run is logged once it completes.
+     *
+     * @return whether the reports were written
+     */
+    static boolean generateReports(Path employeesRegistryCsvFile, ReportSettings settings) throws IOException {
+        PipelineSummary before = PipelineMetrics.summary();
+        try {
+            return writeReports(employeesRegistryCsvFile, settings);
+        } finally {
+            logger.info(PipelineMetrics.summary().since(before).format());
+        }
+    }
+
+    private static boolean writeReports(Path employeesRegistryCsvFile, ReportSettings settings) throws IOException {
+        // Load the Employee Registry from its snapshot, or parse and validate the file
+        LoadedRegistry registry = loadRegistry(employeesRegistryCsvFile, settings);
+
+        // Proceed to Reporting if there are no errors
+        List<ValidationError> allErrors = registry.errors();
+        if (!allErrors.isEmpty()) {
+            logger.warning("Reports could not be generated due to errors detected in the parsing and validation of the file");
+            try (ReportSink sink = ReportSink.console()) {
+                writeErrors(allErrors, sink);
+            }
+            return false;
+        }
+
+        // Stream the reports to the configured file, or the console if none is configured
+        try (ReportSink sink = ReportSink.forPath(settings.reportOutputPath())) {
+            writeReports(registry, settings, sink);
+        }
+        return true;
+    }
+
+    /**
+     * Writes the reports of a valid registry to the sink, analysing its table, or its employees if their
+     * salaries could not be held in a table.
+     *
+     * @return the number of managers and employees in each report
+     */
+    static ReportCounts writeReports(LoadedRegistry registry, ReportSettings settings, ReportSink sink) throws IOException {
+        return registry.table() != null
+                ? writeReports(registry.table(), settings, sink)
+                : writeReports(registry.employees(), settings, sink);
+    }
+
+    /**
+     * Assesses the valid registry and writes the underpaid, overpaid and reporting line depth reports to the sink.
+     * Managers are assessed and breaches found as the reports are written, so only the rows being written are
+     * held in memory, however many there are.
+     *
+     * @return the number of managers and employees in each report
+     */
+    static ReportCounts writeReports(EmployeeTable employees, ReportSettings settings, ReportSink sink) throws IOException {
+        int parallelism = settings.salaryAssessmentParallelism();
+        if (settings.salaryAssessmentBasis() == SalaryAssessmentBasis.WHOLE_SUBTREE && parallelism > 1) {
+            logger.warning("Salary assessment parallelism does not apply to whole subtree assessment; assessing on one thread");
+            parallelism = 1;
+        }
+        Iterable<ManagerRelativeSalaryAssessment> salaryAssessments = SalaryAnalyser.managerSalaryAssessments(
+                employees,
+                settings.minRelativeSalaryPercentage(),
+                settings.maxRelativeSalaryPercentage(),
+                settings.salaryAssessmentBasis(),
+                parallelism);
+
+        Iterable<ReportingLineDepthBreach> reportingLineBreaches = ReportingLineAnalyser.employeesBreachingReportingLineDepth(
+                employees,
+                settings.maxReportingLineDepth()
+        );
+        return writeReports(salaryAssessments, reportingLineBreaches, sink);
+    }
+
+    /**
+     * Assesses the valid registry with the list-based analysers and writes the underpaid, overpaid and reporting
+     * line depth reports to the sink. Used for registries whose salaries cannot be held in an {@link EmployeeTable};
+     * only the {@link SalaryAssessmentBasis#DIRECT_SUBORDINATES} basis can be assessed over a list. Breaches are
+     * found as the report is written, while the salary assessments are made up front.
+     *
+     * @return the number of managers and employees in each report
+     * @throws IllegalArgumentException if the configured basis is {@link SalaryAssessmentBasis#WHOLE_SUBTREE}
+     */
+    static ReportCounts writeReports(List<Employee> employees, ReportSettings settings, ReportSink sink) throws IOException {
+        if (settings.salaryAssessmentBasis() == SalaryAssessmentBasis.WHOLE_SUBTREE) {
+            logger.severe("Whole subtree salary assessment requires salaries that fit an employee table");
+            throw new IllegalArgumentException("Whole subtree salary assessment requires salaries that fit an employee table");
+        }
+        List<ManagerRelativeSalaryAssessment> salaryAssessments = settings.salaryAssessmentParallelism() > 1
+                ? SalaryAnalyser.assessManagerSalary(
+                        employees,
+                        settings.minRelativeSalaryPercentage(),
+                        settings.maxRelativeSalaryPercentage(),
+                        settings.salaryAssessmentParallelism())
+                : SalaryAnalyser.assessManagerSalary(
+                        employees,
+                        settings.minRelativeSalaryPercentage(),
+                        settings.maxRelativeSalaryPercentage());
+
+        Iterable<ReportingLineDepthBreach> reportingLineBreaches = ReportingLineAnalyser.employeesBreachingReportingLineDepth(
+                employees,
+                settings.maxReportingLineDepth()
+        );
+        return writeReports(salaryAssessments, reportingLineBreaches, sink);
+    }
+
+    private static ReportCounts writeReports(
+            Iterable<ManagerRelativeSalaryAssessment> salaryAssessments,
+            Iterable<ReportingLineDepthBreach> reportingLineBreaches,
+            ReportSink sink
+    ) throws IOException {
+        long underpaid = SalaryAnalyser.writeSalaryMarginStatusReport(salaryAssessments, SalaryMarginStatus.UNDERPAID, sink);
+        sink.writer().write(System.lineSeparator());
+
+        long overpaid = SalaryAnalyser.writeSalaryMarginStatusReport(salaryAssessments, SalaryMarginStatus.OVERPAID, sink);
+        sink.writer().write(System.lineSeparator());
+
+        long breaches = ReportingLineAnalyser.writeReportingLineDepthBreachReport(reportingLineBreaches, sink);
+        sink.writer().write(System.lineSeparator());
+
+        return new ReportCounts((int) underpaid, (int) overpaid, (int) breaches);
+    }
+
+    /**
+     * Writes the parse and validation errors of an invalid registry to the sink.
+     */
+    static void writeErrors(List<ValidationError> errors, ReportSink sink) throws IOException {
+        Writer out = sink.writer();
+        out.write("Following errors were detected in the parsing and validation of the file:\n" + System.lineSeparator());
+        for (ValidationError error : errors) {
+            out.write(error.message() + "\n" + System.lineSeparator());
+        }
+    }
+
+    /**
+     * Loads the employee registry from the snapshot next to the CSV file if snapshots are enabled and the
+     * snapshot matches the file; otherwise parses and validates the file, and snapshots it if it is valid.
+     * Parsing and validation stop once the errors exceed the configured {@link ErrorBudget}. A valid registry
+     * whose salaries cannot be held in an {@link EmployeeTable} is loaded as its employees, and not snapshotted.
+     */
+    static LoadedRegistry loadRegistry(Path csvFile, ReportSettings settings) throws IOException {
+        boolean csvHeaderIncluded = settings.csvHeaderIncluded();
+        int maxPermittedEmployees = settings.maxPermittedEmployees();
+        boolean snapshotEnabled = settings.registrySnapshotEnabled();
+        Path snapshotFile = csvFile.resolveSibling(csvFile.getFileName() + ".snapshot");
+        SourceFingerprint fingerprint = null;
+        if (snapshotEnabled) {
+            logger.info("Reading employee registry snapshot...");
+            Optional<EmployeeTable> snapshot = EmployeeRegistrySnapshot.read(snapshotFile, csvFile, csvHeaderIncluded, maxPermittedEmployees);
+            if (snapshot.isPresent()) {
+                return new LoadedRegistry(snapshot.get(), null, List.of());
+            }
+            // Taken before parsing, so a file changed while it is parsed is not snapshotted as unchanged
+            fingerprint = SourceFingerprint.of(csvFile);
+        }
+
+        // Parse Employee Registry file, stopping once the errors exceed the error budget
+        logger.info("Parsing employee registry file...");
+        ErrorCollector errors = settings.errorBudget().collector();
+        ParsedEmployeesResult parsedEmployeesRegistryFile = EmployeeCsvParser.parse(csvFile, csvHeaderIncluded, settings.csvParseMode(), errors);
+        List<Employee> employees = parsedEmployeesRegistryFile.employees();
+
+        // Perform Employee Registry validations, unless parsing has already exceeded the error budget
+        EmployeeRegistryValidator.validateEmployees(employees, maxPermittedEmployees, errors);
+
+        List<ValidationError> allErrors = errors.errors();
+        if (!allErrors.isEmpty()) {
+            return new LoadedRegistry(null, null, allErrors);
+        }
+        Optional<EmployeeTable> table = EmployeeTable.tryFrom(employees);
+        if (table.isEmpty()) {
+            logger.warning("Employee salaries do not fit an employee table; analysing the employee list instead");
+            return new LoadedRegistry(null, employees, allErrors);
+        }
+        if (snapshotEnabled) {
+            try {
+                EmployeeRegistrySnapshot.write(snapshotFile, fingerprint, csvHeaderIncluded, maxPermittedEmployees, table.get());
+            } catch (IOException e) {
+                logger.warning("Employee registry snapshot could not be written: " + e);
+            }
+        }
+        return new LoadedRegistry(table.get(), null, allErrors);
+    }
+
+    /**
+     * A loaded employee registry: the table if it is valid, or its employees if it is valid but their salaries
+     * cannot be held in a table, otherwise the parse and validation errors.
+     */
+    record LoadedRegistry(EmployeeTable table, List<Employee> employees, List<ValidationError> errors) {
+
+        /**
+         * The number of employees in a valid registry.
+         */
+        int size() {
+            return table != null ? table.size() : employees.size();
+        }
+    }
+
+    /**
+     * The number of underpaid and overpaid managers and of employees breaching the reporting line depth.
+     */
+    record ReportCounts(int underpaid, int overpaid, int reportingLineBreaches) {}
+
     private static class AppArguments {
         private final Path csvFile;
 
@@ -0,0 +1,267 @@
+package io.github.zhaqimz.employeereporting.service;
+
+import io.github.zhaqimz.employeereporting.monitoring.PipelineMetrics;
+import io.github.zhaqimz.employeereporting.reports.ReportSink;
+import io.github.zhaqimz.employeereporting.service.EmployeeReportingApp.LoadedRegistry;
+import io.github.zhaqimz.employeereporting.service.EmployeeReportingApp.ReportCounts;
+import io.github.zhaqimz.employeereporting.utility.Config;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Batch mode: generates the reports of many registry files, e.g. one per subsidiary, in a single JVM.
+ * <p>
+ * Each file is loaded, validated and reported on as in the one-shot app, on its own virtual thread. A
+ * semaphore caps how many files are in the pipeline at once, and so how many registries are held in memory;
+ * the others wait for a permit. Every file gets its own report file in the output directory, named after the
+ * input, e.g. {@code acme.csv} gets {@code acme.csv-report.txt}; an invalid file gets its parse and validation errors
+ * there instead. A file that fails to load or report is recorded as failed without affecting the others.
+ * Once every file is done, a consolidated summary of all of them is written to {@code batch-summary.csv}
+ * in the output directory.
+ */
+public class EmployeeReportingBatch {
+    private static final Logger logger = Logger.getLogger(EmployeeReportingBatch.class.getName());
+    static final String SUMMARY_FILE_NAME = "batch-summary.csv";
+
+    private final ReportSettings settings;
+    private final Path outputDirectory;
+    private final Semaphore permits;
+
+    /**
+     * @param settings            Registry loading and report settings, shared by every file.
+     * @param outputDirectory     Directory the report files and the summary are written to.
+     * @param maxConcurrentFiles  The maximum number of files in the pipeline at once; must be >= 1.
+     */
+    EmployeeReportingBatch(ReportSettings settings, Path outputDirectory, int maxConcurrentFiles) {
+        if (maxConcurrentFiles < 1) {
+            logger.severe("Batch maximum concurrent files must be >= 1");
+            throw new IllegalArgumentException("Batch maximum concurrent files must be >= 1");
+        }
+        this.settings = settings;
+        this.outputDirectory = outputDirectory;
+        this.permits = new Semaphore(maxConcurrentFiles);
+    }
+
+    public static void main(String[] args) {
+        logger.info("Batch started...");
+        if (args.length < 1) {
+            logger.severe("Missing registry directory or glob argument");
+            System.out.println("Usage: java EmployeeReportingBatch </path/to/employee_registry_directory | '/path/to/*.csv'>");
+            System.exit(1);
+        }
+
+        try {
+            Config config = new Config("config.properties");
+            ReportSettings settings = ReportSettings.from(config);
+            String fileGlob = config.get("batch.registry.file.glob", "*.csv");
+            String outputPath = config.get("batch.output.directory", "");
+            int maxConcurrentFiles = Integer.parseInt(config.get("batch.max.concurrent.files", "4"));
+
+            List<Path> files = findRegistryFiles(args[0], fileGlob);
+            Path outputDirectory = outputPath.isBlank() ? registryDirectory(args[0]) : Path.of(outputPath);
+            Files.createDirectories(outputDirectory);
+
+            List<FileOutcome> outcomes = new EmployeeReportingBatch(settings, outputDirectory, maxConcurrentFiles).run(files);
+            long reported = outcomes.stream().filter(o -> o.status() == FileStatus.REPORTED).count();
+            System.out.printf("Batch processed %d files: %d reported, %d invalid, %d failed. Summary: %s%n",
+                    outcomes.size(),
+                    reported,
+                    outcomes.stream().filter(o -> o.status() == FileStatus.INVALID).count(),
+                    outcomes.stream().filter(o -> o.status() == FileStatus.FAILED).count(),
+                    outputDirectory.resolve(SUMMARY_FILE_NAME).toAbsolutePath());
+            logger.info(PipelineMetrics.summary().format());
+        } catch (Exception e) {
+            logger.severe("Exiting execution due to the following error: " + e);
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Returns the registry files to process, in name order: the files in the directory matching
+     * {@code fileGlob} if {@code directoryOrGlob} is a directory, otherwise the files matching its file name
+     * part as a glob, e.g. {@code /data/registries/acme-*.csv}. A batch summary file is never included.
+     *
+     * @throws IOException If the directory cannot be listed.
+     */
+    static List<Path> findRegistryFiles(String directoryOrGlob, String fileGlob) throws IOException {
+        Path path = Path.of(directoryOrGlob);
+        Path directory = registryDirectory(directoryOrGlob);
+        String glob = Files.isDirectory(path) ? fileGlob : path.getFileName().toString();
+        if (!Files.isDirectory(directory)) {
+            logger.severe("Registry directory not found: " + directory);
+            throw new IllegalArgumentException("Registry directory not found: " + directory);
+        }
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> matcher.matches(file.getFileName()))
+                    // A summary written next to the registries by an earlier batch is not a registry
+                    .filter(file -> !file.getFileName().toString().equals(SUMMARY_FILE_NAME))
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static Path registryDirectory(String directoryOrGlob) {
+        Path path = Path.of(directoryOrGlob);
+        if (Files.isDirectory(path)) {
+            return path;
+        }
+        return path.getParent() != null ? path.getParent() : Path.of("");
+    }
+
+    /**
+     * Processes every file and writes the consolidated summary.
+     *
+     * @return the outcome of each file, in the order given
+     * @throws IOException If the summary cannot be written.
+     */
+    List<FileOutcome> run(List<Path> files) throws IOException {
+        logger.info("Processing " + files.size() + " registry files with at most " + permits.availablePermits() + " at once");
+        List<FileOutcome> outcomes = new ArrayList<>(files.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<FileOutcome>> futures = files.stream()
+                    .map(file -> executor.submit(() -> process(file)))
+                    .toList();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    outcomes.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    outcomes.add(FileOutcome.failed(files.get(i), 0, e.getCause()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while processing registry files", e);
+                }
+            }
+        }
+        writeSummary(outcomes);
+        return outcomes;
+    }
+
+    /**
+     * Loads, validates and reports on one file, once a permit is available.
+     */
+    private FileOutcome process(Path file) throws InterruptedException {
+        permits.acquire();
+        long started = System.nanoTime();
+        try {
+            logger.info("Processing registry file: " + file);
+            LoadedRegistry registry = EmployeeReportingApp.loadRegistry(file, settings);
+            Path report = outputDirectory.resolve(reportFileName(file));
+            try (ReportSink sink = ReportSink.file(report)) {
+                if (!registry.errors().isEmpty()) {
+                    EmployeeReportingApp.writeErrors(registry.errors(), sink);
+                    return new FileOutcome(file, FileStatus.INVALID, report, 0, registry.errors().size(),
+                            null, millisSince(started), null);
+                }
+                ReportCounts counts = EmployeeReportingApp.writeReports(registry, settings, sink);
+                return new FileOutcome(file, FileStatus.REPORTED, report, registry.size(), 0,
+                        counts, millisSince(started), null);
+            }
+        } catch (Exception e) {
+            logger.severe("Processing registry file " + file + " failed: " + e);
+            return FileOutcome.failed(file, millisSince(started), e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Names the report after the full input file name, extension included, so inputs differing only in their
+     * extension, such as {@code acme.csv} and {@code acme.txt}, get different reports.
+     */
+    static String reportFileName(Path file) {
+        return file.getFileName() + "-report.txt";
+    }
+
+    private static long millisSince(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000;
+    }
+
+    private void writeSummary(List<FileOutcome> outcomes) throws IOException {
+        Path summary = outputDirectory.resolve(SUMMARY_FILE_NAME);
+        try (BufferedWriter out = Files.newBufferedWriter(summary, StandardCharsets.UTF_8)) {
+            out.write("file,status,employees,errors,underpaid,overpaid,reportingLineBreaches,elapsedMillis,report,failure");
+            out.newLine();
+            for (FileOutcome outcome : outcomes.stream().sorted(Comparator.comparing(FileOutcome::file)).toList()) {
+                out.write(outcome.toCsvRow());
+                out.newLine();
+            }
+        }
+        logger.info("Batch summary written to: " + summary.toAbsolutePath());
+    }
+
+    enum FileStatus {
+        /** Valid; the reports were written. */
+        REPORTED,
+        /** Parse or validation errors; the errors were written instead of the reports. */
+        INVALID,
+        /** Could not be loaded or reported on, e.g. unreadable. */
+        FAILED
+    }
+
+    /**
+     * The outcome of one registry file.
+     *
+     * @param file           The registry file.
+     * @param status         Whether the file was reported on.
+     * @param report         The report file written, or null if it failed.
+     * @param employees      The number of employees, if reported.
+     * @param errors         The number of parse and validation errors, if invalid.
+     * @param counts         The report counts, if reported; otherwise null.
+     * @param elapsedMillis  The time taken once a permit was acquired.
+     * @param failure        Why the file failed, if it did; otherwise null.
+     */
+    record FileOutcome(
+            Path file,
+            FileStatus status,
+            Path report,
+            int employees,
+            int errors,
+            ReportCounts counts,
+            long elapsedMillis,
+            String failure
+    ) {
+        static FileOutcome failed(Path file, long elapsedMillis, Throwable cause) {
+            return new FileOutcome(file, FileStatus.FAILED, null, 0, 0, null, elapsedMillis, String.valueOf(cause));
+        }
+
+        String toCsvRow() {
+            return String.join(",",
+                    csvField(file.toString()),
+                    status.name(),
+                    String.valueOf(employees),
+                    String.valueOf(errors),
+                    counts != null ? String.valueOf(counts.underpaid()) : "",
+                    counts != null ? String.valueOf(counts.overpaid()) : "",
+                    counts != null ? String.valueOf(counts.reportingLineBreaches()) : "",
+                    String.valueOf(elapsedMillis),
+                    report != null ? csvField(report.toString()) : "",
+                    failure != null ? csvField(failure) : "");
+        }
+
+        private static String csvField(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
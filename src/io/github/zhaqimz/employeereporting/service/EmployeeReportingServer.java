@@ -0,0 +1,326 @@
+package io.github.zhaqimz.employeereporting.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.zhaqimz.employeereporting.model.ManagerRelativeSalaryAssessment;
+import io.github.zhaqimz.employeereporting.model.SalaryAssessmentBasis;
+import io.github.zhaqimz.employeereporting.model.SalaryMarginStatus;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineMetrics;
+import io.github.zhaqimz.employeereporting.registry.ValidationError;
+import io.github.zhaqimz.employeereporting.reports.OrganisationAnalysis;
+import io.github.zhaqimz.employeereporting.reports.ReportSink;
+import io.github.zhaqimz.employeereporting.reports.ReportingLineAnalyser;
+import io.github.zhaqimz.employeereporting.reports.SalaryAnalyser;
+import io.github.zhaqimz.employeereporting.service.EmployeeReportingApp.LoadedRegistry;
+import io.github.zhaqimz.employeereporting.utility.Config;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+/**
+ * Long-running report server: the employee registry is loaded, validated and prepared for analysis once,
+ * then reports are served over HTTP on the loopback interface, one virtual thread per request.
+ * <p>
+ * Endpoints, all {@code GET}, answering with {@code text/plain} reports in the console layout:
+ * <ul>
+ *     <li>{@code /reports} - the underpaid, overpaid and reporting line depth reports</li>
+ *     <li>{@code /reports/underpaid} - the underpaid managers report</li>
+ *     <li>{@code /reports/overpaid} - the overpaid managers report</li>
+ *     <li>{@code /reports/reporting-line-depth} - the reporting line depth breach report</li>
+ * </ul>
+ * The configured thresholds can be overridden per request with the query parameters
+ * {@code minRelativeSalaryPercentage}, {@code maxRelativeSalaryPercentage} and {@code maxReportingLineDepth},
+ * and managers assessed against their whole subtree rather than their direct subordinates with
+ * {@code salaryAssessmentBasis=WHOLE_SUBTREE}; an invalid value is answered with {@code 400 Bad Request}.
+ */
+public class EmployeeReportingServer {
+    private static final Logger logger = Logger.getLogger(EmployeeReportingServer.class.getName());
+    private static final int RESPONSE_BUFFER_SIZE = 64 * 1024;
+
+    private final OrganisationAnalysis analysis;
+    private final Optional<BigDecimal> minRelativeSalaryPercentage;
+    private final Optional<BigDecimal> maxRelativeSalaryPercentage;
+    private final int maxReportingLineDepth;
+    private final SalaryAssessmentBasis salaryAssessmentBasis;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * @param analysis                     The organisation to report on.
+     * @param minRelativeSalaryPercentage  Default minimum salary margin, e.g. 0.20 for 20%.
+     * @param maxRelativeSalaryPercentage  Default maximum salary margin, e.g. 0.50 for 50%.
+     * @param maxReportingLineDepth        Default maximum reporting line depth.
+     */
+    public EmployeeReportingServer(
+            OrganisationAnalysis analysis,
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage,
+            int maxReportingLineDepth
+    ) {
+        this(analysis, minRelativeSalaryPercentage, maxRelativeSalaryPercentage, maxReportingLineDepth,
+                SalaryAssessmentBasis.DIRECT_SUBORDINATES);
+    }
+
+    /**
+     * @param analysis                     The organisation to report on.
+     * @param minRelativeSalaryPercentage  Default minimum salary margin, e.g. 0.20 for 20%.
+     * @param maxRelativeSalaryPercentage  Default maximum salary margin, e.g. 0.50 for 50%.
+     * @param maxReportingLineDepth        Default maximum reporting line depth.
+     * @param salaryAssessmentBasis        Default subordinates each manager is compared with.
+     */
+    public EmployeeReportingServer(
+            OrganisationAnalysis analysis,
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage,
+            int maxReportingLineDepth,
+            SalaryAssessmentBasis salaryAssessmentBasis
+    ) {
+        this.analysis = analysis;
+        this.minRelativeSalaryPercentage = minRelativeSalaryPercentage;
+        this.maxRelativeSalaryPercentage = maxRelativeSalaryPercentage;
+        this.maxReportingLineDepth = maxReportingLineDepth;
+        this.salaryAssessmentBasis = salaryAssessmentBasis;
+    }
+
+    public static void main(String[] args) {
+        logger.info("Report server starting...");
+        if (args.length < 1 || !Files.isRegularFile(Path.of(args[0]))) {
+            logger.severe("Missing or invalid employee registry CSV file argument");
+            System.out.println("Usage: java EmployeeReportingServer </path/to/employee_registry_csv_file>");
+            System.exit(1);
+        }
+        Path employeesRegistryCsvFile = Path.of(args[0]);
+
+        try {
+            Config config = new Config("config.properties");
+            ReportSettings settings = ReportSettings.from(config);
+            int port = Integer.parseInt(config.get("server.port", "8080"));
+            PipelineMetrics.registerMBeans();
+
+            LoadedRegistry registry = EmployeeReportingApp.loadRegistry(employeesRegistryCsvFile, settings);
+            logger.info(PipelineMetrics.summary().format());
+            if (!registry.errors().isEmpty()) {
+                logger.warning("Report server could not be started due to errors detected in the parsing and validation of the file");
+                System.out.println("Following errors were detected in the parsing and validation of the file:\n");
+                for (ValidationError error : registry.errors()) {
+                    System.out.println(error.message() + "\n");
+                }
+                System.exit(1);
+            }
+            if (registry.table() == null) {
+                logger.severe("Report server could not be started as the employee salaries do not fit an employee table");
+                System.exit(1);
+            }
+
+            EmployeeReportingServer server = new EmployeeReportingServer(
+                    OrganisationAnalysis.of(registry.table()),
+                    settings.minRelativeSalaryPercentage(),
+                    settings.maxRelativeSalaryPercentage(),
+                    settings.maxReportingLineDepth(),
+                    settings.salaryAssessmentBasis()
+            );
+            server.start(port);
+            Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        } catch (Exception e) {
+            logger.severe("Exiting execution due to the following error: " + e);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Starts serving reports on the loopback interface.
+     *
+     * @param port The port to listen on, or 0 for any free port.
+     * @throws IOException If the server cannot be bound.
+     */
+    public synchronized void start(int port) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Report server is already started");
+        }
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/reports", this::handle);
+        server.start();
+        logger.info("Report server listening on " + server.getAddress());
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     */
+    public synchronized int port() {
+        if (server == null) {
+            throw new IllegalStateException("Report server is not started");
+        }
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server, waiting for requests in progress to complete.
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        logger.info("Report server stopping...");
+        server.stop(0);
+        executor.close();
+        server = null;
+        executor = null;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                sendText(exchange, 405, "Method not allowed: " + exchange.getRequestMethod());
+                return;
+            }
+            String report = exchange.getRequestURI().getPath().substring("/reports".length());
+            if (!List.of("", "/", "/underpaid", "/overpaid", "/reporting-line-depth").contains(report)) {
+                sendText(exchange, 404, "Report not found: " + exchange.getRequestURI().getPath());
+                return;
+            }
+
+            ReportRequest request;
+            List<ManagerRelativeSalaryAssessment> salaryAssessments = List.of();
+            try {
+                request = ReportRequest.of(exchange.getRequestURI().getRawQuery(), this);
+                if (!report.equals("/reporting-line-depth")) {
+                    salaryAssessments = analysis.assessManagerSalary(
+                            request.minRelativeSalaryPercentage(),
+                            request.maxRelativeSalaryPercentage(),
+                            request.salaryAssessmentBasis()
+                    );
+                }
+            } catch (IllegalArgumentException e) {
+                sendText(exchange, 400, "Invalid report request: " + e.getMessage());
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            // Chunked, so the reports are streamed as they are rendered
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream body = exchange.getResponseBody();
+                 ReportSink sink = ReportSink.of(new BufferedWriter(
+                         new OutputStreamWriter(body, StandardCharsets.UTF_8), RESPONSE_BUFFER_SIZE))) {
+                switch (report) {
+                    case "/underpaid" ->
+                            SalaryAnalyser.writeSalaryMarginStatusReport(salaryAssessments, SalaryMarginStatus.UNDERPAID, sink);
+                    case "/overpaid" ->
+                            SalaryAnalyser.writeSalaryMarginStatusReport(salaryAssessments, SalaryMarginStatus.OVERPAID, sink);
+                    case "/reporting-line-depth" -> ReportingLineAnalyser.writeReportingLineDepthBreachReport(
+                            analysis.findEmployeesBreachingReportingLineDepth(request.maxReportingLineDepth()), sink);
+                    default -> {
+                        SalaryAnalyser.writeSalaryMarginStatusReport(salaryAssessments, SalaryMarginStatus.UNDERPAID, sink);
+                        sink.writer().write(System.lineSeparator());
+
+                        SalaryAnalyser.writeSalaryMarginStatusReport(salaryAssessments, SalaryMarginStatus.OVERPAID, sink);
+                        sink.writer().write(System.lineSeparator());
+
+                        ReportingLineAnalyser.writeReportingLineDepthBreachReport(
+                                analysis.findEmployeesBreachingReportingLineDepth(request.maxReportingLineDepth()), sink);
+                        sink.writer().write(System.lineSeparator());
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warning("Report request " + exchange.getRequestURI() + " failed: " + e);
+            throw e;
+        }
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] body = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * The thresholds of a report request: the server defaults, overridden by any query parameters.
+     */
+    private record ReportRequest(
+            Optional<BigDecimal> minRelativeSalaryPercentage,
+            Optional<BigDecimal> maxRelativeSalaryPercentage,
+            int maxReportingLineDepth,
+            SalaryAssessmentBasis salaryAssessmentBasis
+    ) {
+        static ReportRequest of(String rawQuery, EmployeeReportingServer defaults) {
+            Map<String, String> parameters = new HashMap<>();
+            if (rawQuery != null && !rawQuery.isEmpty()) {
+                for (String parameter : rawQuery.split("&")) {
+                    int separator = parameter.indexOf('=');
+                    String name = URLDecoder.decode(separator < 0 ? parameter : parameter.substring(0, separator), StandardCharsets.UTF_8);
+                    String value = separator < 0 ? "" : URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8);
+                    if (parameters.put(name, value) != null) {
+                        throw new IllegalArgumentException("Duplicate query parameter: " + name);
+                    }
+                }
+            }
+
+            Optional<BigDecimal> min = defaults.minRelativeSalaryPercentage;
+            Optional<BigDecimal> max = defaults.maxRelativeSalaryPercentage;
+            int depth = defaults.maxReportingLineDepth;
+            SalaryAssessmentBasis basis = defaults.salaryAssessmentBasis;
+            for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+                switch (parameter.getKey()) {
+                    case "minRelativeSalaryPercentage" -> min = Optional.of(decimal(parameter));
+                    case "maxRelativeSalaryPercentage" -> max = Optional.of(decimal(parameter));
+                    case "maxReportingLineDepth" -> {
+                        depth = integer(parameter);
+                        if (depth < 0) {
+                            throw new IllegalArgumentException("maxReportingLineDepth must not be negative: " + depth);
+                        }
+                    }
+                    case "salaryAssessmentBasis" -> basis = basis(parameter);
+                    default -> throw new IllegalArgumentException("Unknown query parameter: " + parameter.getKey());
+                }
+            }
+            return new ReportRequest(min, max, depth, basis);
+        }
+
+        private static SalaryAssessmentBasis basis(Map.Entry<String, String> parameter) {
+            try {
+                return SalaryAssessmentBasis.valueOf(parameter.getValue());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(parameter.getKey() + " is not one of "
+                        + List.of(SalaryAssessmentBasis.values()) + ": " + parameter.getValue());
+            }
+        }
+
+        private static BigDecimal decimal(Map.Entry<String, String> parameter) {
+            try {
+                return new BigDecimal(parameter.getValue());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(parameter.getKey() + " is not a decimal: " + parameter.getValue());
+            }
+        }
+
+        private static int integer(Map.Entry<String, String> parameter) {
+            try {
+                return Integer.parseInt(parameter.getValue());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(parameter.getKey() + " is not an integer: " + parameter.getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.zhaqimz.employeereporting.service;
+
+import io.github.zhaqimz.employeereporting.model.SalaryAssessmentBasis;
+import io.github.zhaqimz.employeereporting.registry.CsvParseMode;
+import io.github.zhaqimz.employeereporting.registry.ErrorBudget;
+import io.github.zhaqimz.employeereporting.registry.ValidationErrorType;
+import io.github.zhaqimz.employeereporting.utility.Config;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Registry loading and report settings read from the application config, shared by the service modes.
+ */
+record ReportSettings(
+        Optional<BigDecimal> minRelativeSalaryPercentage,
+        Optional<BigDecimal> maxRelativeSalaryPercentage,
+        int maxReportingLineDepth,
+        int maxPermittedEmployees,
+        boolean csvHeaderIncluded,
+        CsvParseMode csvParseMode,
+        boolean registrySnapshotEnabled,
+        String reportOutputPath,
+        int salaryAssessmentParallelism,
+        ErrorBudget errorBudget,
+        SalaryAssessmentBasis salaryAssessmentBasis
+) {
+
+    static ReportSettings from(Config config) {
+        return new ReportSettings(
+                Optional.of(new BigDecimal(config.get("reports.manager.min.relative.salary.percentage"))),
+                Optional.of(new BigDecimal(config.get("reports.manager.max.relative.salary.percentage"))),
+                config.getInt("reports.employee.max.reporting.line.depth"),
+                config.getInt("reports.employee.max.permitted.employees"),
+                config.getBoolean("employee.registry.csv.header.included"),
+                CsvParseMode.valueOf(config.get("employee.registry.csv.parse.mode", CsvParseMode.BUFFERED_READER.name())),
+                Boolean.parseBoolean(config.get("employee.registry.snapshot.enabled", "false")),
+                config.get("reports.output.path", ""),
+                Integer.parseInt(config.get("reports.manager.salary.assessment.parallelism", "1")),
+                errorBudget(config),
+                SalaryAssessmentBasis.valueOf(config.get("reports.manager.salary.assessment.basis",
+                        SalaryAssessmentBasis.DIRECT_SUBORDINATES.name()).trim())
+        );
+    }
+
+    /**
+     * Reads the total error budget, unlimited if blank, and the budget of any error type configured as
+     * {@code employee.registry.error.budget.<TYPE>}.
+     */
+    private static ErrorBudget errorBudget(Config config) {
+        Map<ValidationErrorType, Integer> maxErrorsPerType = new EnumMap<>(ValidationErrorType.class);
+        for (ValidationErrorType type : ValidationErrorType.values()) {
+            String maxErrors = config.get("employee.registry.error.budget." + type.name(), "");
+            if (!maxErrors.isBlank()) {
+                maxErrorsPerType.put(type, Integer.parseInt(maxErrors.trim()));
+            }
+        }
+        String maxErrors = config.get("employee.registry.error.budget", "");
+        return new ErrorBudget(maxErrors.isBlank() ? Integer.MAX_VALUE : Integer.parseInt(maxErrors.trim()), maxErrorsPerType);
+    }
+}
@@ -23,6 +23,10 @@ public class Config {
         return properties.getProperty(key);
     }
 
+    public String get(String key, String defaultValue) {
+        return properties.getProperty(key, defaultValue);
+    }
+
     public int getInt(String key) {
         return Integer.parseInt(properties.getProperty(key));
     }
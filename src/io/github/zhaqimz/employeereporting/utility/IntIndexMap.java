@@ -0,0 +1,125 @@
+package io.github.zhaqimz.employeereporting.utility;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from {@code int} keys to non-negative {@code int} values, typically row indices.
+ * <p>
+ * Keys and values are held in two primitive arrays with linear probing, so lookups neither box nor allocate.
+ * Entries cannot be removed. Not thread-safe.
+ */
+public final class IntIndexMap {
+    /** Returned by lookups when the key is not present. */
+    public static final int NO_VALUE = -1;
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    public IntIndexMap(int expectedSize) {
+        long desiredCapacity = Math.max(4L, (long) Math.ceil(Math.max(0, expectedSize) / LOAD_FACTOR));
+        allocate((int) Math.min(1 << 30, Long.highestOneBit(desiredCapacity - 1) << 1));
+    }
+
+    /**
+     * Returns the value mapped to the key, or {@link #NO_VALUE} if there is none.
+     */
+    public int get(int key) {
+        int slot = slot(key);
+        while (true) {
+            int value = values[slot];
+            if (value == NO_VALUE || keys[slot] == key) {
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != NO_VALUE;
+    }
+
+    /**
+     * Maps the key to the value unless the key is already present.
+     *
+     * @param key   the key
+     * @param value the value to map; must be {@code >= 0}
+     * @return      the value already mapped to the key, or {@link #NO_VALUE} if the value was inserted
+     */
+    public int putIfAbsent(int key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must be >= 0");
+        }
+        int slot = slot(key);
+        while (true) {
+            int existing = values[slot];
+            if (existing == NO_VALUE) {
+                keys[slot] = key;
+                values[slot] = value;
+                if (++size > resizeThreshold) {
+                    resize();
+                }
+                return NO_VALUE;
+            }
+            if (keys[slot] == key) {
+                return existing;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Maps the key to the value, replacing any existing mapping.
+     *
+     * @param key   the key
+     * @param value the value to map; must be {@code >= 0}
+     */
+    public void put(int key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must be >= 0");
+        }
+        int slot = slot(key);
+        while (values[slot] != NO_VALUE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        boolean inserted = values[slot] == NO_VALUE;
+        keys[slot] = key;
+        values[slot] = value;
+        if (inserted && ++size > resizeThreshold) {
+            resize();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int slot(int key) {
+        // Fibonacci hashing spreads sequential IDs across the table
+        return (key * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(mask);
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, NO_VALUE);
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != NO_VALUE) {
+                putIfAbsent(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
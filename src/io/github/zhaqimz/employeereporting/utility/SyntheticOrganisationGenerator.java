@@ -0,0 +1,398 @@
+package io.github.zhaqimz.employeereporting.utility;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Deterministic, seedable generator of synthetic employee registries for scale and load testing.
+ * <p>
+ * Organisations are generated depth-first from a single top-level manager. Every manager's number of direct
+ * subordinates is drawn from the fan-out distribution, and every branch under the top-level manager is given
+ * a maximum depth drawn from the depth distribution; employees at that depth have no subordinates. The
+ * remaining employees are shared out evenly between a manager's subordinates, and whatever the distributions
+ * leave over is placed under the top-level manager, so the registry always has exactly the target size.
+ * <p>
+ * Employees are produced one at a time and only the current reporting line is held in memory, so registries
+ * far larger than the heap can be written, e.g. with {@link #writeCsv(Path)}. Memory grows with the maximum
+ * depth only. The same settings and seed always produce the same registry.
+ * <p>
+ * Defects can be injected for validation testing: rows duplicating the previous employee's ID, rows whose
+ * manager ID matches no employee, and pairs of rows managing each other. They are spread evenly through
+ * the registry and count towards its size.
+ */
+public final class SyntheticOrganisationGenerator {
+    private static final Logger logger = Logger.getLogger(SyntheticOrganisationGenerator.class.getName());
+
+    private static final String CSV_HEADER = "Id,firstName,lastName,salary,managerId";
+    private static final String[] FIRST_NAMES = {
+            "Joe", "Martin", "Bob", "Alice", "Brett", "Ann", "Sam", "Priya", "Wei", "Fatima",
+            "Lucas", "Mia", "Omar", "Sofia", "Ken", "Zoe", "Ivan", "Leila", "Tom", "Nadia"
+    };
+    private static final String[] LAST_NAMES = {
+            "Doe", "Chekov", "Ronstad", "Hasacat", "Hardleaf", "Lee", "Smith", "Patel", "Chen", "Khan",
+            "Silva", "Novak", "Haddad", "Rossi", "Tanaka", "Moreau", "Ivanova", "Okafor", "Berg", "Walsh"
+    };
+
+    private final int size;
+    private final long seed;
+    private final int firstId;
+    private final IntDistribution fanOut;
+    private final IntDistribution depth;
+    private final SalaryDistribution salary;
+    private final int duplicateIds;
+    private final int unknownManagers;
+    private final int cycles;
+
+    private SyntheticOrganisationGenerator(Builder builder) {
+        this.size = builder.size;
+        this.seed = builder.seed;
+        this.firstId = builder.firstId;
+        this.fanOut = builder.fanOut;
+        this.depth = builder.depth;
+        this.salary = builder.salary;
+        this.duplicateIds = builder.duplicateIds;
+        this.unknownManagers = builder.unknownManagers;
+        this.cycles = builder.cycles;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns a lazily generated, sequential stream over the registry's employees, top-level manager first.
+     */
+    public Stream<Employee> stream() {
+        Generation generation = new Generation();
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<>(size, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.SIZED) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Employee> action) {
+                Employee employee = generation.next();
+                if (employee == null) {
+                    return false;
+                }
+                action.accept(employee);
+                return true;
+            }
+        }, false);
+    }
+
+    /**
+     * Writes the registry as a CSV file with a header row, in the schema read by {@code EmployeeCsvParser}.
+     *
+     * @param path the file to create or overwrite
+     * @throws IOException if the file cannot be written
+     */
+    public void writeCsv(Path path) throws IOException {
+        logger.info(String.format("Writing synthetic employee registry of %d employees to %s", size, path));
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writeCsv(writer);
+        }
+    }
+
+    /**
+     * Writes the registry as CSV with a header row to the writer, which is left open.
+     *
+     * @param writer the writer to write to
+     * @throws IOException if writing fails
+     */
+    public void writeCsv(Writer writer) throws IOException {
+        StringBuilder row = new StringBuilder(64);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        Iterator<Employee> employees = stream().iterator();
+        while (employees.hasNext()) {
+            Employee employee = employees.next();
+            row.setLength(0);
+            row.append(employee.id()).append(',')
+                    .append(employee.firstName()).append(',')
+                    .append(employee.lastName()).append(',')
+                    .append(employee.salary().toPlainString()).append(',');
+            if (employee.managerId() != null) {
+                row.append(employee.managerId());
+            }
+            row.append('\n');
+            writer.append(row);
+        }
+    }
+
+    /**
+     * Writes a synthetic registry CSV file.
+     * <p>
+     * Usage: {@code SyntheticOrganisationGenerator <output.csv> <size> [seed]}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SyntheticOrganisationGenerator <output.csv> <size> [seed]");
+            System.exit(1);
+        }
+        Builder builder = builder().size(Integer.parseInt(args[1]));
+        if (args.length > 2) {
+            builder.seed(Long.parseLong(args[2]));
+        }
+        builder.build().writeCsv(Paths.get(args[0]));
+    }
+
+    /**
+     * State of one pass over the registry: the random source, the next IDs and the stack of managers on the
+     * current reporting line, each with the number of employees still to place below them.
+     */
+    private final class Generation {
+        private static final int ROOT = 0;
+
+        private final SplittableRandom random = new SplittableRandom(seed);
+        private final int treeSize;
+        private final int defectEvents;
+        private final int defectInterval;
+
+        private int nextId = firstId;
+        private int emittedTreeEmployees;
+        private int remainingDuplicateIds = duplicateIds;
+        private int remainingUnknownManagers = unknownManagers;
+        private int remainingCycles = cycles;
+        private Employee pendingCycleEmployee;
+
+        // Stack of managers on the current reporting line
+        private int top = -1;
+        private int[] frameIds = new int[16];
+        private int[] frameDepths = new int[16];
+        private int[] frameDepthCaps = new int[16];
+        private int[] frameBudgets = new int[16];
+        private int[] frameChildrenLeft = new int[16];
+
+        private Generation() {
+            defectEvents = duplicateIds + unknownManagers + cycles;
+            treeSize = size - duplicateIds - unknownManagers - 2 * cycles;
+            // At least one tree employee precedes the first defect, so there is an ID to duplicate
+            defectInterval = Math.max(1, treeSize / (defectEvents + 1));
+        }
+
+        /**
+         * Returns the next employee, or {@code null} once the registry is complete.
+         */
+        Employee next() {
+            if (pendingCycleEmployee != null) {
+                Employee employee = pendingCycleEmployee;
+                pendingCycleEmployee = null;
+                return employee;
+            }
+            int defectsEmitted = defectEvents - remainingDuplicateIds - remainingUnknownManagers - remainingCycles;
+            if (defectsEmitted < defectEvents
+                    && (emittedTreeEmployees >= (long) (defectsEmitted + 1) * defectInterval || emittedTreeEmployees == treeSize)) {
+                return nextDefect();
+            }
+            return nextTreeEmployee();
+        }
+
+        private Employee nextTreeEmployee() {
+            if (emittedTreeEmployees == 0) {
+                int rootId = nextId++;
+                int budget = treeSize - 1;
+                push(rootId, 0, Integer.MAX_VALUE, budget, budget > 0 ? Math.max(1, fanOut.sample(random)) : 0);
+                emittedTreeEmployees++;
+                return employee(rootId, 0, null);
+            }
+
+            while (top >= 0) {
+                boolean root = top == ROOT;
+                if (frameBudgets[top] == 0 || (frameChildrenLeft[top] == 0 && !root)) {
+                    // Return employees this manager could not place to its own manager
+                    int leftover = frameBudgets[top];
+                    top--;
+                    if (top >= 0) {
+                        frameBudgets[top] += leftover;
+                    }
+                    continue;
+                }
+                if (frameChildrenLeft[top] == 0) {
+                    frameChildrenLeft[top] = Math.max(1, fanOut.sample(random));
+                }
+
+                int childrenLeft = frameChildrenLeft[top];
+                int descendants = Math.max(0, (frameBudgets[top] - childrenLeft) / childrenLeft);
+                frameBudgets[top] -= 1 + descendants;
+                frameChildrenLeft[top]--;
+
+                int managerId = frameIds[top];
+                int childDepth = frameDepths[top] + 1;
+                int depthCap = root ? Math.max(1, depth.sample(random)) : frameDepthCaps[top];
+                int id = nextId++;
+                Employee employee = employee(id, childDepth, managerId);
+                int childFanOut = childDepth < depthCap && descendants > 0 ? fanOut.sample(random) : 0;
+                push(id, childDepth, depthCap, descendants, childFanOut);
+                emittedTreeEmployees++;
+                return employee;
+            }
+            return null;
+        }
+
+        private Employee nextDefect() {
+            int pick = random.nextInt(remainingDuplicateIds + remainingUnknownManagers + remainingCycles);
+            if (pick < remainingDuplicateIds) {
+                remainingDuplicateIds--;
+                return employee(nextId - 1, 1, firstId);
+            }
+            if (pick < remainingDuplicateIds + remainingUnknownManagers) {
+                remainingUnknownManagers--;
+                // IDs are allocated sequentially from firstId, so this one is never used
+                return employee(nextId++, 1, firstId + size + remainingUnknownManagers);
+            }
+            remainingCycles--;
+            int first = nextId++;
+            int second = nextId++;
+            pendingCycleEmployee = employee(second, 1, first);
+            return employee(first, 1, second);
+        }
+
+        private Employee employee(int id, int employeeDepth, Integer managerId) {
+            return new Employee(
+                    id,
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                    BigDecimal.valueOf(salary.sampleMinorUnits(random, employeeDepth), 2),
+                    managerId
+            );
+        }
+
+        private void push(int id, int frameDepth, int depthCap, int budget, int childrenLeft) {
+            top++;
+            if (top == frameIds.length) {
+                int capacity = top << 1;
+                frameIds = Arrays.copyOf(frameIds, capacity);
+                frameDepths = Arrays.copyOf(frameDepths, capacity);
+                frameDepthCaps = Arrays.copyOf(frameDepthCaps, capacity);
+                frameBudgets = Arrays.copyOf(frameBudgets, capacity);
+                frameChildrenLeft = Arrays.copyOf(frameChildrenLeft, capacity);
+            }
+            frameIds[top] = id;
+            frameDepths[top] = frameDepth;
+            frameDepthCaps[top] = depthCap;
+            frameBudgets[top] = budget;
+            frameChildrenLeft[top] = childrenLeft;
+        }
+    }
+
+    /**
+     * A distribution of non-negative integers, such as fan-outs or depths.
+     */
+    @FunctionalInterface
+    public interface IntDistribution {
+        int sample(SplittableRandom random);
+
+        static IntDistribution fixed(int value) {
+            return random -> value;
+        }
+
+        /**
+         * Returns a distribution uniform over {@code min} to {@code max}, inclusive.
+         */
+        static IntDistribution uniform(int min, int max) {
+            if (min > max) {
+                throw new IllegalArgumentException("Minimum must not exceed maximum");
+            }
+            return random -> min + random.nextInt(max - min + 1);
+        }
+    }
+
+    /**
+     * A distribution of salaries in minor units (cents), which may depend on the employee's depth.
+     */
+    @FunctionalInterface
+    public interface SalaryDistribution {
+        long sampleMinorUnits(SplittableRandom random, int depth);
+
+        /**
+         * Returns salaries uniform over {@code min} to {@code max}, inclusive, at any depth.
+         */
+        static SalaryDistribution uniform(BigDecimal min, BigDecimal max) {
+            long minMinorUnits = min.movePointRight(2).longValueExact();
+            long maxMinorUnits = max.movePointRight(2).longValueExact();
+            if (minMinorUnits > maxMinorUnits) {
+                throw new IllegalArgumentException("Minimum must not exceed maximum");
+            }
+            return (random, depth) -> minMinorUnits + random.nextLong(maxMinorUnits - minMinorUnits + 1);
+        }
+
+        /**
+         * Returns salaries that fall by {@code decayPerLevel} with every level below the top-level manager,
+         * e.g. 0.8 for 20% less per level, each varied by up to {@code spread} either way, e.g. 0.1 for ±10%.
+         */
+        static SalaryDistribution byDepth(BigDecimal topSalary, double decayPerLevel, double spread) {
+            double topMinorUnits = topSalary.movePointRight(2).doubleValue();
+            return (random, depth) -> Math.max(1L, Math.round(topMinorUnits * Math.pow(decayPerLevel, depth)
+                    * (1 + spread * (2 * random.nextDouble() - 1))));
+        }
+    }
+
+    /**
+     * Settings of a {@link SyntheticOrganisationGenerator}.
+     */
+    public static final class Builder {
+        private int size = 1_000;
+        private long seed = 42L;
+        private int firstId = 1;
+        private IntDistribution fanOut = IntDistribution.uniform(2, 8);
+        private IntDistribution depth = IntDistribution.uniform(3, 8);
+        private SalaryDistribution salary = SalaryDistribution.byDepth(new BigDecimal("250000"), 0.85, 0.15);
+        private int duplicateIds;
+        private int unknownManagers;
+        private int cycles;
+
+        private Builder() {
+        }
+
+        /** Sets the number of rows to generate, defects included. */
+        public Builder size(int size) { this.size = size; return this; }
+        public Builder seed(long seed) { this.seed = seed; return this; }
+        /** Sets the ID of the top-level manager; IDs are allocated sequentially from it. */
+        public Builder firstId(int firstId) { this.firstId = firstId; return this; }
+        /** Sets the distribution of each manager's number of direct subordinates. */
+        public Builder fanOut(IntDistribution fanOut) { this.fanOut = fanOut; return this; }
+        /** Sets the distribution of the maximum depth of each branch under the top-level manager. */
+        public Builder depth(IntDistribution depth) { this.depth = depth; return this; }
+        public Builder salary(SalaryDistribution salary) { this.salary = salary; return this; }
+        /** Sets the number of rows that repeat the previous employee's ID. */
+        public Builder duplicateIds(int duplicateIds) { this.duplicateIds = duplicateIds; return this; }
+        /** Sets the number of rows whose manager ID matches no employee. */
+        public Builder unknownManagers(int unknownManagers) { this.unknownManagers = unknownManagers; return this; }
+        /** Sets the number of pairs of rows that manage each other. */
+        public Builder cycles(int cycles) { this.cycles = cycles; return this; }
+
+        /**
+         * @throws IllegalArgumentException if the settings leave no room for the top-level manager or
+         *                                  the IDs would overflow
+         */
+        public SyntheticOrganisationGenerator build() {
+            if (duplicateIds < 0 || unknownManagers < 0 || cycles < 0) {
+                logger.severe("Synthetic organisation defect counts must be >= 0");
+                throw new IllegalArgumentException("Defect counts must be >= 0");
+            }
+            if ((long) size - duplicateIds - unknownManagers - 2L * cycles < 1) {
+                logger.severe("Synthetic organisation size must exceed the number of injected defect rows");
+                throw new IllegalArgumentException("Synthetic organisation size must exceed the number of injected defect rows");
+            }
+            if (firstId < 0 || (long) firstId + 2L * size > Integer.MAX_VALUE) {
+                logger.severe("Synthetic organisation employee IDs would not fit between 0 and " + Integer.MAX_VALUE);
+                throw new IllegalArgumentException("Employee IDs must fit between 0 and " + Integer.MAX_VALUE);
+            }
+            return new SyntheticOrganisationGenerator(this);
+        }
+    }
+}
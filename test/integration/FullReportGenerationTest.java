@@ -4,16 +4,21 @@ import io.github.zhaqimz.employeereporting.model.ReportingLineDepthBreach;
 import io.github.zhaqimz.employeereporting.model.SalaryMarginStatus;
 import io.github.zhaqimz.employeereporting.registry.EmployeeCsvParser;
 import io.github.zhaqimz.employeereporting.registry.EmployeeRegistryValidator;
+import io.github.zhaqimz.employeereporting.registry.ParsedEmployeeRow;
 import io.github.zhaqimz.employeereporting.registry.ParsedEmployeesResult;
 import io.github.zhaqimz.employeereporting.registry.ValidationError;
 import io.github.zhaqimz.employeereporting.reports.ReportingLineAnalyser;
 import io.github.zhaqimz.employeereporting.reports.SalaryAnalyser;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -86,4 +91,55 @@ class FullReportGenerationTest {
                 """;
         assertEquals(expectedReportingLineDepthBreachReportOutput, reportingLineDepthBreachReport);
     }
-}
\ No newline at end of file
+
+    @Test
+    void generateAllReports_fromStreamedRegistry_matchesMaterialisedOutput() throws Exception {
+        // Given
+        var minRelativeSalaryPercentage = Optional.of(new BigDecimal(0.2));
+        var maxRelativeSalaryPercentage = Optional.of(new BigDecimal(0.5));
+        var depthToCompare = 4;
+        var maxPermittedEmployees = 1000;
+        var csvHeaderIncluded = true;
+        var employeesRegistryCsvFile = Paths.get(getClass().getResource("/integration-test-employees.csv").toURI());
+        Supplier<Stream<Employee>> employees = () -> {
+            try {
+                return EmployeeCsvParser.stream(employeesRegistryCsvFile, csvHeaderIncluded)
+                        .flatMap(row -> row.getEmployee().stream());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        // When
+        List<ValidationError> parseErrors = new ArrayList<>();
+        List<ValidationError> validationErrors;
+        try (Stream<ParsedEmployeeRow> rows = EmployeeCsvParser.stream(employeesRegistryCsvFile, csvHeaderIncluded)) {
+            validationErrors = EmployeeRegistryValidator.validateEmployees(
+                    rows.peek(row -> parseErrors.addAll(row.errors())).flatMap(row -> row.getEmployee().stream()),
+                    maxPermittedEmployees
+            );
+        }
+        List<ManagerRelativeSalaryAssessment> salaryAssessments = SalaryAnalyser.assessManagerSalary(
+                employees,
+                minRelativeSalaryPercentage,
+                maxRelativeSalaryPercentage
+        );
+        List<ReportingLineDepthBreach> reportingLineBreaches = ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(
+                employees,
+                depthToCompare
+        );
+
+        // Then
+        assertTrue(parseErrors.isEmpty());
+        assertTrue(validationErrors.isEmpty());
+        List<Employee> materialisedEmployees = EmployeeCsvParser.parse(employeesRegistryCsvFile, csvHeaderIncluded).employees();
+        assertEquals(
+                SalaryAnalyser.assessManagerSalary(materialisedEmployees, minRelativeSalaryPercentage, maxRelativeSalaryPercentage),
+                salaryAssessments
+        );
+        assertEquals(
+                ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(materialisedEmployees, depthToCompare),
+                reportingLineBreaches
+        );
+    }
+}
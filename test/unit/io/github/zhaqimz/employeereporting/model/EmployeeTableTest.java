@@ -0,0 +1,117 @@
+package io.github.zhaqimz.employeereporting.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeTableTest {
+
+    @Test
+    void from_employees_resolvesManagerIndicesAndRoundTrips() {
+        // Given
+        List<Employee> employees = List.of(
+                new Employee(124, "Martin", "Chekov", new BigDecimal("45000.00"), 123),
+                new Employee(123, "Joe", "Doe", new BigDecimal("60000.00"), null),
+                new Employee(125, "Joe", "Ronstad", new BigDecimal("47000.00"), 999),
+                new Employee(123, "Duplicate", "Doe", new BigDecimal("1.00"), 124)
+        );
+
+        // When
+        EmployeeTable table = EmployeeTable.from(employees);
+
+        // Then
+        assertEquals(4, table.size());
+        assertEquals(1, table.managerIndex(0));
+        assertEquals(EmployeeTable.NO_MANAGER, table.managerIndex(1));
+        assertFalse(table.hasManager(1));
+        assertEquals(EmployeeTable.UNRESOLVED_MANAGER, table.managerIndex(2));
+        assertEquals(0, table.managerIndex(3));
+        assertEquals(1, table.indexOf(123));
+        assertEquals(-1, table.indexOf(999));
+        assertSame(table.firstName(1), table.firstName(2));
+        assertEquals(employees, table.toEmployees());
+    }
+
+    @Test
+    void builder_salariesWithMoreDecimalPlaces_growTableScale() {
+        // Given
+        EmployeeTable.Builder builder = EmployeeTable.builder()
+                .add(1, "Joe", "Doe", new BigDecimal(60000), EmployeeTable.NO_MANAGER)
+                .add(2, "Ann", "Lee", new BigDecimal("100.125"), 1);
+
+        // When
+        EmployeeTable table = builder.build();
+
+        // Then
+        assertEquals(3, table.salaryScale());
+        assertEquals(60000000L, table.salaryMinorUnits(0));
+        assertEquals(0, new BigDecimal(60000).compareTo(table.salary(0)));
+        assertEquals(new BigDecimal("100.125"), table.salary(1));
+    }
+
+    @Test
+    void builder_wholeNumberSalaries_keepTheirScale() {
+        // Given
+        EmployeeTable.Builder builder = EmployeeTable.builder()
+                .add(1, "Joe", "Doe", new BigDecimal("60000"), EmployeeTable.NO_MANAGER)
+                .add(2, "Ann", "Lee", 45000L, 0, 1)
+                .add(3, "Bob", "Ronstad", 4700050L, 2, 1);
+
+        // When
+        EmployeeTable table = builder.build();
+
+        // Then
+        assertEquals(2, table.salaryScale());
+        assertEquals(4500000L, table.salaryMinorUnits(1));
+        assertEquals(0, table.salaryScale(1));
+        assertEquals(new BigDecimal("60000"), table.salary(0));
+        assertEquals(new BigDecimal("45000"), table.salary(1));
+        assertEquals(new BigDecimal("47000.50"), table.salary(2));
+        assertEquals(new Employee(2, "Ann", "Lee", new BigDecimal("45000"), 1), table.employee(1));
+    }
+
+    @Test
+    void builder_employeeWithoutSalary_throwsIllegalArgumentException() {
+        // Given
+        EmployeeTable.Builder builder = EmployeeTable.builder();
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class,
+                () -> builder.add(new Employee(1, "Joe", "Doe", null, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> builder.add(-1, "Joe", "Doe", BigDecimal.ONE, EmployeeTable.NO_MANAGER));
+    }
+
+    @Test
+    void tryFrom_salaryTooPreciseForMinorUnits_returnsEmpty() {
+        // Given
+        List<Employee> employees = List.of(
+                new Employee(123, "Joe", "Doe", new BigDecimal("60000.00"), null),
+                new Employee(124, "Martin", "Chekov", new BigDecimal("45000.0000000000000001"), 123)
+        );
+
+        // When / Then
+        assertTrue(EmployeeTable.tryFrom(employees).isEmpty());
+        assertEquals(employees.subList(0, 1), EmployeeTable.tryFrom(employees.subList(0, 1)).orElseThrow().toEmployees());
+    }
+
+    @Test
+    void builder_salaryTooPreciseForMinorUnits_leavesBuilderUnchanged() {
+        // Given
+        EmployeeTable.Builder builder = EmployeeTable.builder()
+                .add(1, "Joe", "Doe", new BigDecimal("60000.00"), EmployeeTable.NO_MANAGER);
+
+        // When
+        assertThrows(ArithmeticException.class,
+                () -> builder.add(2, "Ann", "Lee", new BigDecimal("45000.0000000000000001"), 1));
+        EmployeeTable table = builder.build();
+
+        // Then
+        assertEquals(1, table.size());
+        assertEquals(2, table.salaryScale());
+        assertEquals(new BigDecimal("60000.00"), table.salary(0));
+    }
+}
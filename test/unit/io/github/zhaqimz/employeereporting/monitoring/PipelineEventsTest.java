@@ -0,0 +1,160 @@
+package io.github.zhaqimz.employeereporting.monitoring;
+
+import io.github.zhaqimz.employeereporting.model.EmployeeTable;
+import io.github.zhaqimz.employeereporting.model.ManagerRelativeSalaryAssessment;
+import io.github.zhaqimz.employeereporting.model.SalaryMarginStatus;
+import io.github.zhaqimz.employeereporting.registry.CsvParseMode;
+import io.github.zhaqimz.employeereporting.registry.EmployeeCsvParser;
+import io.github.zhaqimz.employeereporting.registry.EmployeeRegistryValidator;
+import io.github.zhaqimz.employeereporting.registry.ParsedEmployeesResult;
+import io.github.zhaqimz.employeereporting.reports.SalaryAnalyser;
+import io.github.zhaqimz.employeereporting.utility.SyntheticOrganisationGenerator;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelineEventsTest {
+    private static final int SIZE = 50_000;
+    private static final Optional<BigDecimal> MIN = Optional.of(new BigDecimal("0.2"));
+    private static final Optional<BigDecimal> MAX = Optional.of(new BigDecimal("0.5"));
+
+    private Path csvFile;
+    private Path recordingFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        csvFile = Files.createTempFile("employees", ".csv");
+        recordingFile = Files.createTempFile("pipeline", ".jfr");
+        SyntheticOrganisationGenerator.builder().size(SIZE).seed(5L).build().writeCsv(csvFile);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(csvFile);
+        Files.deleteIfExists(recordingFile);
+    }
+
+    @Test
+    void parse_eachMode_emitsChunksCoveringTheFile() throws IOException {
+        for (CsvParseMode mode : CsvParseMode.values()) {
+            // When
+            List<RecordedEvent> chunks = record(() -> EmployeeCsvParser.parse(csvFile, true, mode)).stream()
+                    .filter(e -> e.getEventType().getName().endsWith(".CsvChunkParsed"))
+                    .sorted(Comparator.comparingLong(e -> e.getLong("startOffset")))
+                    .toList();
+
+            // Then
+            assertFalse(chunks.isEmpty(), mode.name());
+            long offset = 0;
+            long rows = 0;
+            for (RecordedEvent chunk : chunks) {
+                assertEquals(offset, chunk.getLong("startOffset"), mode.name());
+                offset = chunk.getLong("endOffset");
+                rows += chunk.getLong("rows");
+                assertEquals(0, chunk.getLong("errors"), mode.name());
+            }
+            assertEquals(Files.size(csvFile), offset, mode.name());
+            assertEquals(SIZE, rows, mode.name());
+        }
+    }
+
+    @Test
+    void validateEmployees_validRegistry_emitsEventPerRule() throws IOException {
+        // Given
+        ParsedEmployeesResult parsed = EmployeeCsvParser.parse(csvFile, true);
+
+        // When
+        List<RecordedEvent> rules = record(() -> EmployeeRegistryValidator.validateEmployees(parsed.employees(), SIZE - 1)).stream()
+                .filter(e -> e.getEventType().getName().endsWith(".ValidationRuleExecuted"))
+                .toList();
+
+        // Then
+        assertEquals(List.of(
+                        "VALIDATION_MAXIMUM_EMPLOYEES",
+                        "VALIDATION_DUPLICATE_EMPLOYEE_IDS",
+                        "VALIDATION_MANAGER_IDS",
+                        "VALIDATION_TOP_LEVEL_MANAGERS",
+                        "VALIDATION_REPORTING_LINE_CYCLES"),
+                rules.stream().map(e -> e.getString("rule")).toList());
+        assertEquals(1, rules.get(0).getLong("errors"));
+        assertTrue(rules.stream().allMatch(e -> e.getLong("rows") == SIZE));
+    }
+
+    @Test
+    void assessManagerSalary_tableAndParallel_emitBatchesCoveringEveryManager() throws IOException {
+        // Given
+        ParsedEmployeesResult parsed = EmployeeCsvParser.parse(csvFile, true);
+        EmployeeTable table = EmployeeTable.from(parsed.employees());
+        List<ManagerRelativeSalaryAssessment> assessments = SalaryAnalyser.assessManagerSalary(table, MIN, MAX);
+        long underpaid = assessments.stream().filter(a -> a.assessment().status() == SalaryMarginStatus.UNDERPAID).count();
+
+        for (Runnable assessment : List.<Runnable>of(
+                () -> SalaryAnalyser.assessManagerSalary(table, MIN, MAX),
+                () -> SalaryAnalyser.assessManagerSalary(parsed.employees(), MIN, MAX, 2),
+                () -> SalaryAnalyser.assessManagerSalary(parsed.employees(), MIN, MAX))) {
+            // When
+            List<RecordedEvent> batches = record(assessment::run).stream()
+                    .filter(e -> e.getEventType().getName().endsWith(".ManagerBatchAssessed"))
+                    .toList();
+
+            // Then
+            assertFalse(batches.isEmpty());
+            assertEquals(assessments.size(), batches.stream().mapToInt(e -> e.getInt("managers")).sum());
+            assertTrue(batches.stream().allMatch(e -> "direct_subordinates".equals(e.getString("basis"))));
+            assertEquals(underpaid, batches.stream().mapToInt(e -> e.getInt("underpaid")).sum());
+        }
+    }
+
+    @Test
+    void writeSalaryMarginStatusReport_emitsReportRendered() throws IOException {
+        // Given
+        EmployeeTable table = EmployeeTable.from(EmployeeCsvParser.parse(csvFile, true).employees());
+        List<ManagerRelativeSalaryAssessment> assessments = SalaryAnalyser.assessManagerSalary(table, MIN, MAX);
+        long overpaid = assessments.stream().filter(a -> a.assessment().status() == SalaryMarginStatus.OVERPAID).count();
+        StringWriter report = new StringWriter();
+
+        // When
+        List<RecordedEvent> reports = record(() -> SalaryAnalyser.writeSalaryMarginStatusReport(
+                assessments, SalaryMarginStatus.OVERPAID, report)).stream()
+                .filter(e -> e.getEventType().getName().endsWith(".ReportRendered"))
+                .toList();
+
+        // Then
+        assertEquals(1, reports.size());
+        assertEquals("overpaid", reports.get(0).getString("report"));
+        assertEquals(overpaid, reports.get(0).getLong("rows"));
+        assertEquals(report.toString().length(), reports.get(0).getLong("characters"));
+    }
+
+    private List<RecordedEvent> record(PipelineAction action) throws IOException {
+        try (Recording recording = new Recording()) {
+            recording.enable(CsvChunkParsedEvent.class);
+            recording.enable(ValidationRuleExecutedEvent.class);
+            recording.enable(ManagerBatchAssessedEvent.class);
+            recording.enable(ReportRenderedEvent.class);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+        return RecordingFile.readAllEvents(recordingFile);
+    }
+
+    private interface PipelineAction {
+        void run() throws IOException;
+    }
+}
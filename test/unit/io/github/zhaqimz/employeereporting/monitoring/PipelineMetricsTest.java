@@ -0,0 +1,175 @@
+package io.github.zhaqimz.employeereporting.monitoring;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.model.EmployeeTable;
+import io.github.zhaqimz.employeereporting.model.SalaryMarginStatus;
+import io.github.zhaqimz.employeereporting.monitoring.PipelineSummary.StageSummary;
+import io.github.zhaqimz.employeereporting.registry.EmployeeCsvParser;
+import io.github.zhaqimz.employeereporting.registry.EmployeeRegistryValidator;
+import io.github.zhaqimz.employeereporting.registry.ParsedEmployeesResult;
+import io.github.zhaqimz.employeereporting.reports.ReportingLineAnalyser;
+import io.github.zhaqimz.employeereporting.reports.SalaryAnalyser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelineMetricsTest {
+    private Path csvFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        PipelineMetrics.reset();
+        csvFile = Files.createTempFile("employees", ".csv");
+        Files.writeString(csvFile, """
+                Id,firstName,lastName,salary,managerId
+                123,Joe,Doe,60000,
+                124,Martin,Chekov,45000,123
+                125,Bob,Ronstad,47000,123
+                300,Alice,Hasacat,50000,124
+                300,Brett,Hardleaf,34000,300
+                """);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(csvFile);
+        PipelineMetrics.reset();
+    }
+
+    @Test
+    void start_closedTimer_recordsRunWithCountsAndAllocations() {
+        // Given / When
+        List<int[]> allocations = new ArrayList<>();
+        try (PipelineMetrics.StageTimer timer = PipelineMetrics.start(PipelineStage.PARSE)) {
+            for (int i = 0; i < 100; i++) {
+                allocations.add(new int[1024]);
+            }
+            timer.rows(100).bytes(4096).errors(2);
+        }
+
+        // Then
+        StageSummary parse = PipelineMetrics.summary().stage(PipelineStage.PARSE).orElseThrow();
+        assertEquals(1, parse.runs());
+        assertEquals(100, parse.rows());
+        assertEquals(4096, parse.bytes());
+        assertEquals(2, parse.errors());
+        assertTrue(parse.wallNanos() > 0);
+        assertTrue(parse.allocatedBytes() >= 100 * 4096L, "allocated " + parse.allocatedBytes());
+        assertEquals(100, allocations.size());
+        assertTrue(PipelineMetrics.summary().stage(PipelineStage.RENDERING).isEmpty());
+    }
+
+    @Test
+    void summary_afterParseAndValidate_recordsParseAndEachRule() throws IOException {
+        // When
+        ParsedEmployeesResult parsed = EmployeeCsvParser.parse(csvFile, true);
+        EmployeeRegistryValidator.validateEmployees(parsed.employees(), 1000);
+
+        // Then
+        PipelineSummary summary = PipelineMetrics.summary();
+        StageSummary parse = summary.stage(PipelineStage.PARSE).orElseThrow();
+        assertEquals(5, parse.rows());
+        assertEquals(Files.size(csvFile), parse.bytes());
+        assertEquals(0, parse.errors());
+        for (PipelineStage rule : List.of(
+                PipelineStage.VALIDATION_INDEX,
+                PipelineStage.VALIDATION_MAXIMUM_EMPLOYEES,
+                PipelineStage.VALIDATION_DUPLICATE_EMPLOYEE_IDS,
+                PipelineStage.VALIDATION_MANAGER_IDS,
+                PipelineStage.VALIDATION_TOP_LEVEL_MANAGERS,
+                PipelineStage.VALIDATION_REPORTING_LINE_CYCLES)) {
+            StageSummary stage = summary.stage(rule).orElseThrow();
+            assertEquals(1, stage.runs(), rule.name());
+            assertEquals(5, stage.rows(), rule.name());
+        }
+        assertEquals(1, summary.stage(PipelineStage.VALIDATION_DUPLICATE_EMPLOYEE_IDS).orElseThrow().errors());
+        assertEquals(0, summary.stage(PipelineStage.VALIDATION_MANAGER_IDS).orElseThrow().errors());
+        assertTrue(summary.format().contains("stage=VALIDATION_DUPLICATE_EMPLOYEE_IDS runs=1 "));
+    }
+
+    @Test
+    void summary_afterAnalysisAndRendering_recordsRowsAndCharactersWritten() throws IOException {
+        // Given
+        EmployeeTable table = EmployeeTable.from(List.of(
+                new Employee(1, "Joe", "Doe", new BigDecimal("100000"), null),
+                new Employee(2, "Martin", "Chekov", new BigDecimal("10000"), 1),
+                new Employee(3, "Bob", "Ronstad", new BigDecimal("5000"), 2)
+        ));
+
+        // When
+        var assessments = SalaryAnalyser.assessManagerSalary(table,
+                Optional.of(new BigDecimal("0.2")), Optional.of(new BigDecimal("0.5")));
+        var breaches = ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(table, 0);
+        StringWriter report = new StringWriter();
+        SalaryAnalyser.writeSalaryMarginStatusReport(assessments, SalaryMarginStatus.OVERPAID, report);
+        ReportingLineAnalyser.writeReportingLineDepthBreachReport(breaches, report);
+
+        // Then
+        PipelineSummary summary = PipelineMetrics.summary();
+        assertEquals(3, summary.stage(PipelineStage.SALARY_ASSESSMENT).orElseThrow().rows());
+        assertEquals(3, summary.stage(PipelineStage.DEPTH_ANALYSIS).orElseThrow().rows());
+        StageSummary rendering = summary.stage(PipelineStage.RENDERING).orElseThrow();
+        assertEquals(2, rendering.runs());
+        assertEquals(2 + breaches.size(), rendering.rows());
+        assertEquals(report.toString().length(), rendering.bytes());
+    }
+
+    @Test
+    void since_earlierSummary_returnsOnlyLaterRuns() {
+        // Given
+        try (PipelineMetrics.StageTimer timer = PipelineMetrics.start(PipelineStage.PARSE)) {
+            timer.rows(10);
+        }
+        PipelineSummary before = PipelineMetrics.summary();
+        try (PipelineMetrics.StageTimer timer = PipelineMetrics.start(PipelineStage.PARSE)) {
+            timer.rows(7);
+        }
+        try (PipelineMetrics.StageTimer timer = PipelineMetrics.start(PipelineStage.DEPTH_ANALYSIS)) {
+            timer.rows(3);
+        }
+
+        // When
+        PipelineSummary run = PipelineMetrics.summary().since(before);
+
+        // Then
+        assertEquals(List.of(PipelineStage.PARSE, PipelineStage.DEPTH_ANALYSIS),
+                run.stages().stream().map(StageSummary::stage).toList());
+        assertEquals(1, run.stage(PipelineStage.PARSE).orElseThrow().runs());
+        assertEquals(7, run.stage(PipelineStage.PARSE).orElseThrow().rows());
+        assertTrue(PipelineMetrics.summary().since(PipelineMetrics.summary()).stages().isEmpty());
+    }
+
+    @Test
+    void registerMBeans_afterRun_exposesStageAttributes() throws Exception {
+        // Given
+        PipelineMetrics.registerMBeans();
+        PipelineMetrics.registerMBeans();
+        try (PipelineMetrics.StageTimer timer = PipelineMetrics.start(PipelineStage.SALARY_ASSESSMENT)) {
+            timer.rows(42).errors(1);
+        }
+
+        // When
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        var name = PipelineMetrics.objectName(PipelineStage.SALARY_ASSESSMENT);
+
+        // Then
+        assertEquals(1L, server.getAttribute(name, "Runs"));
+        assertEquals(42L, server.getAttribute(name, "Rows"));
+        assertEquals(1L, server.getAttribute(name, "Errors"));
+        server.invoke(name, "reset", null, null);
+        assertTrue(PipelineMetrics.summary().stage(PipelineStage.SALARY_ASSESSMENT).isEmpty());
+    }
+}
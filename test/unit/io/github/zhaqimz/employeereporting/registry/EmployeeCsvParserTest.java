@@ -8,8 +8,10 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -400,4 +402,127 @@ class EmployeeCsvParserTest {
         // Cleanup
         Files.deleteIfExists(testFile);
     }
-}
\ No newline at end of file
+
+    @Test
+    void parse_intoConsumer_handsOverValidEmployeesAndRecordsErrors() throws IOException {
+        // Given
+        String csvData = """
+                Id,firstName,lastName,salary,managerId
+                123,Joe,Doe,60000,
+                124,Martin,Chekov,45000
+                125,Bob,,47000,123
+                300,Alice,Hasacat,50000,123
+                """;
+        Path testFile = Files.createTempFile("employees", ".csv");
+        Files.writeString(testFile, csvData);
+        List<Employee> employees = new ArrayList<>();
+        ErrorCollector errors = ErrorBudget.UNLIMITED.collector();
+
+        // When
+        EmployeeCsvParser.parse(testFile, true, employees::add, errors);
+
+        // Then
+        assertEquals(List.of(
+                new Employee(123, "Joe", "Doe", new BigDecimal(60000), null),
+                new Employee(300, "Alice", "Hasacat", new BigDecimal(50000), 123)
+        ), employees);
+        assertEquals(EmployeeCsvParser.parse(testFile, true).errors(), errors.errors());
+
+        // Cleanup
+        Files.deleteIfExists(testFile);
+    }
+
+    @Test
+    void stream_testFileWithInvalidData_yieldsSameEmployeesAndErrorsAsParse() throws IOException {
+        // Given
+        String csvData = """
+                Id,firstName,lastName,salary,managerId
+                ,Joe,Doe,60000,
+                124,Martin,Chekov,45000
+                125,Bob,,47000,123
+                300,Alice,Hasacat,50000,124
+                """;
+        Path testFile = Files.createTempFile("employees", ".csv");
+        Files.writeString(testFile, csvData);
+
+        // When
+        List<ParsedEmployeeRow> rows;
+        try (Stream<ParsedEmployeeRow> stream = EmployeeCsvParser.stream(testFile, true)) {
+            rows = stream.toList();
+        }
+
+        // Then
+        List<ParsedEmployeeRow> expectedRows = List.of(
+                new ParsedEmployeeRow(2, new Employee(null, "Joe", "Doe", new BigDecimal(60000), null), List.of(
+                        new ValidationError(ValidationErrorType.INVALID_FIELD, "Invalid value [] for field [id] on line 2"))),
+                new ParsedEmployeeRow(3, null, List.of(
+                        new ValidationError(ValidationErrorType.INCOMPLETE_DATA_ROW, "Incomplete employee data row on line 3"))),
+                new ParsedEmployeeRow(4, new Employee(125, "Bob", null, new BigDecimal(47000), 123), List.of(
+                        new ValidationError(ValidationErrorType.INVALID_FIELD, "Invalid value [] for field [lastName] on line 4"))),
+                new ParsedEmployeeRow(5, new Employee(300, "Alice", "Hasacat", new BigDecimal(50000), 124), List.of())
+        );
+        assertEquals(expectedRows, rows);
+        ParsedEmployeesResult parsed = EmployeeCsvParser.parse(testFile, true);
+        assertEquals(parsed.employees(), rows.stream().flatMap(r -> r.getEmployee().stream()).toList());
+        assertEquals(parsed.errors(), rows.stream().flatMap(r -> r.errors().stream()).toList());
+
+        // Cleanup
+        Files.deleteIfExists(testFile);
+    }
+
+    @Test
+    void parseTable_testFileWithInvalidData_excludesInvalidRowsAndKeepsErrors() throws IOException {
+        // Given
+        String csvData = """
+                Id,firstName,lastName,salary,managerId
+                123,Joe,Doe,60000,
+                124,Martin,Chekov,45000
+                125,Bob,,47000,123
+                300,Alice,Hasacat,50000.5,123
+                """;
+        Path testFile = Files.createTempFile("employees", ".csv");
+        Files.writeString(testFile, csvData);
+
+        // When
+        ParsedEmployeeTableResult result = EmployeeCsvParser.parseTable(testFile, true);
+
+        // Then
+        assertEquals(2, result.table().size());
+        assertEquals(300, result.table().id(1));
+        assertEquals(0, result.table().managerIndex(1));
+        assertEquals(new BigDecimal("50000.5"), result.table().salary(1));
+        assertEquals(EmployeeCsvParser.parse(testFile, true).errors(), result.errors());
+
+        // Cleanup
+        Files.deleteIfExists(testFile);
+    }
+
+    @Test
+    void parseTable_wholeNumberAndUnusualSalaries_yieldSameEmployeesAsParse() throws IOException {
+        // Given
+        String csvData = """
+                Id,firstName,lastName,salary,managerId
+                123,Joe,Doe,60000,
+                124, Martin , Chekov ,  45000 ,123
+                125,Bob,Ronstad,47000.125,123
+                300,Alice,Hasacat,5E+4,+124
+                305,Brett,Hardleaf,0034000.50,300
+                306,Chloe,Smith,abc,300
+                """;
+        Path testFile = Files.createTempFile("employees", ".csv");
+        Files.writeString(testFile, csvData);
+
+        // When
+        ParsedEmployeeTableResult result = EmployeeCsvParser.parseTable(testFile, true);
+
+        // Then
+        ParsedEmployeesResult parsed = EmployeeCsvParser.parse(testFile, true);
+        List<Employee> validEmployees = parsed.employees().subList(0, 5);
+        assertEquals(validEmployees, result.table().toEmployees());
+        assertEquals(new BigDecimal("60000"), result.table().salary(0));
+        assertEquals(parsed.errors(), result.errors());
+
+        // Cleanup
+        Files.deleteIfExists(testFile);
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.zhaqimz.employeereporting.registry;
+
+import io.github.zhaqimz.employeereporting.model.EmployeeTable;
+import io.github.zhaqimz.employeereporting.registry.EmployeeRegistrySnapshot.SourceFingerprint;
+import io.github.zhaqimz.employeereporting.utility.SyntheticOrganisationGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeRegistrySnapshotTest {
+    private Path directory;
+    private Path csvFile;
+    private Path snapshotFile;
+    private EmployeeTable table;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("snapshot");
+        csvFile = directory.resolve("employees.csv");
+        snapshotFile = directory.resolve("employees.csv.snapshot");
+        SyntheticOrganisationGenerator.builder().size(5_000).build().writeCsv(csvFile);
+        table = EmployeeCsvParser.parseTable(csvFile, true).table();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(csvFile);
+        Files.deleteIfExists(snapshotFile);
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    void read_afterWriteForUnchangedFile_returnsEqualTable() throws IOException {
+        // Given
+        EmployeeRegistrySnapshot.write(snapshotFile, SourceFingerprint.of(csvFile), true, 10_000, table);
+
+        // When
+        Optional<EmployeeTable> result = EmployeeRegistrySnapshot.read(snapshotFile, csvFile, true, 10_000);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(table.toEmployees(), result.get().toEmployees());
+        assertEquals(table.salaryScale(), result.get().salaryScale());
+        for (int i = 0; i < table.size(); i++) {
+            assertEquals(table.managerIndex(i), result.get().managerIndex(i));
+        }
+    }
+
+    @Test
+    void read_withoutSnapshot_returnsEmpty() throws IOException {
+        assertTrue(EmployeeRegistrySnapshot.read(snapshotFile, csvFile, true, 10_000).isEmpty());
+    }
+
+    @Test
+    void read_changedFileOrSettings_returnsEmpty() throws IOException {
+        // Given
+        EmployeeRegistrySnapshot.write(snapshotFile, SourceFingerprint.of(csvFile), true, 10_000, table);
+
+        // When / Then
+        assertTrue(EmployeeRegistrySnapshot.read(snapshotFile, csvFile, false, 10_000).isEmpty());
+        assertTrue(EmployeeRegistrySnapshot.read(snapshotFile, csvFile, true, 9_999).isEmpty());
+
+        // Same size and modification time, different content
+        FileTime lastModified = Files.getLastModifiedTime(csvFile);
+        byte[] content = Files.readAllBytes(csvFile);
+        content[content.length - 3] = (byte) (content[content.length - 3] == '1' ? '2' : '1');
+        Files.write(csvFile, content);
+        Files.setLastModifiedTime(csvFile, lastModified);
+        assertTrue(EmployeeRegistrySnapshot.read(snapshotFile, csvFile, true, 10_000).isEmpty());
+    }
+
+    @Test
+    void read_corruptedSnapshot_returnsEmpty() throws IOException {
+        // Given
+        EmployeeRegistrySnapshot.write(snapshotFile, SourceFingerprint.of(csvFile), true, 10_000, table);
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x7f}), channel.size() / 2);
+        }
+
+        // When
+        Optional<EmployeeTable> result = EmployeeRegistrySnapshot.read(snapshotFile, csvFile, true, 10_000);
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void read_corruptedSalaryScale_returnsEmpty() throws IOException {
+        // Given
+        EmployeeRegistrySnapshot.write(snapshotFile, SourceFingerprint.of(csvFile), true, 10_000, table);
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.WRITE)) {
+            // The salary scale is a header field, so only the header-inclusive checksum catches the change
+            channel.write(ByteBuffer.wrap(new byte[] {(byte) (table.salaryScale() + 1)}), 44);
+        }
+
+        // When
+        Optional<EmployeeTable> result = EmployeeRegistrySnapshot.read(snapshotFile, csvFile, true, 10_000);
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+}
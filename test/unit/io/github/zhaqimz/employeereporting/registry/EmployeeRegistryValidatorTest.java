@@ -5,6 +5,8 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class EmployeeRegistryValidatorTest {
@@ -74,6 +76,29 @@ class EmployeeRegistryValidatorTest {
         assertEquals(expectedErrors, errors);
     }
 
+    @Test
+    void validateEmployees_withDuplicates_reportsThemInOrderFirstSeen() {
+        // Given
+        List<Employee> employees = List.of(
+                new Employee(7, "Joe", "Doe", new BigDecimal(60000), null),
+                new Employee(5, "Martin", "Chekov", new BigDecimal(45000), 7),
+                new Employee(5, "Bob", "Ronstad", new BigDecimal(47000), 7),
+                new Employee(7, "Alice", "Hasacat", new BigDecimal(50000), 5)
+        );
+
+        // When
+        List<ValidationError> errors = EmployeeRegistryValidator.validateEmployees(employees, 10);
+
+        // Then
+        List<ValidationError> expectedErrors = List.of(
+                new ValidationError(ValidationErrorType.DUPLICATE_EMPLOYEE_ID, "Duplicate Employee Id [7] found"),
+                new ValidationError(ValidationErrorType.DUPLICATE_EMPLOYEE_ID, "Duplicate Employee Id [5] found")
+        );
+        assertEquals(expectedErrors, errors.subList(0, 2));
+        assertEquals(expectedErrors, EmployeeRegistryValidator.validateEmployeeIds(employees));
+        assertEquals(expectedErrors, EmployeeRegistryValidator.validateEmployees(employees.stream(), 10).subList(0, 2));
+    }
+
     @Test
     void validateManagerIds_withValidManagers_returnsEmptyList() {
         // Given
@@ -216,6 +241,164 @@ class EmployeeRegistryValidatorTest {
         assertEquals(expectedErrors, errors);
     }
 
+    @Test
+    void validateEmployees_withErrorBudgetExceeded_skipsRemainingRules() {
+        // Given
+        List<Employee> employees = List.of(
+                new Employee(1, "Joe", "Doe", new BigDecimal(60000), null),
+                new Employee(2, "Martin", "Chekov", new BigDecimal(45000), null),
+                new Employee(3, "Bob", "Ronstad", new BigDecimal(47000), 1),
+                new Employee(3, "Alice", "Hasacat", new BigDecimal(50000), 2),
+                new Employee(5, "Brett", "Hardleaf", new BigDecimal(34000), 6)
+        );
+        ErrorCollector errors = new ErrorBudget(100, Map.of(ValidationErrorType.DUPLICATE_EMPLOYEE_ID, 0)).collector();
+
+        // When
+        EmployeeRegistryValidator.validateEmployees(employees, 2, errors);
+
+        // Then
+        assertTrue(errors.isExceeded());
+        List<ValidationError> expectedErrors = List.of(
+                new ValidationError(ValidationErrorType.MAXIMUM_EMPLOYEES_EXCEEDED, "Number of employees [5] exceeds the maximum permitted [2]"),
+                new ValidationError(ValidationErrorType.ERROR_BUDGET_EXCEEDED,
+                        "Error budget exceeded: parsing and validation stopped after 2 errors {MAXIMUM_EMPLOYEES_EXCEEDED=1, DUPLICATE_EMPLOYEE_ID=1}")
+        );
+        assertEquals(expectedErrors, errors.errors());
+    }
+
+    @Test
+    void validateEmployees_fromStream_returnsSameErrorsAsList() {
+        // Given
+        List<Employee> employees = List.of(
+                new Employee(1, "Joe", "Doe", new BigDecimal(60000), null),
+                new Employee(2, "Martin", "Chekov", new BigDecimal(45000), null),
+                new Employee(3, "Bob", "Ronstad", new BigDecimal(47000), 1),
+                new Employee(3, "Alice", "Hasacat", new BigDecimal(50000), 2),
+                new Employee(5, "Brett", "Hardleaf", new BigDecimal(34000), 6)
+        );
+
+        // When
+        List<ValidationError> errors = EmployeeRegistryValidator.validateEmployees(employees.stream(), 2);
+
+        // Then
+        assertEquals(EmployeeRegistryValidator.validateEmployees(employees, 2), errors);
+        assertEquals(4, errors.size());
+    }
+
+    @Test
+    void validateReportingLineCycles_withCycles_returnsCycleAndUnreachableErrors() {
+        // Given
+        List<Employee> employees = List.of(
+                new Employee(1, "Joe", "Doe", new BigDecimal(60000), null),
+                new Employee(2, "Martin", "Chekov", new BigDecimal(45000), 4),
+                new Employee(3, "Bob", "Ronstad", new BigDecimal(47000), 2),
+                new Employee(4, "Alice", "Hasacat", new BigDecimal(50000), 3),
+                new Employee(5, "Brett", "Hardleaf", new BigDecimal(34000), 2),
+                new Employee(6, "Ann", "Lee", new BigDecimal(34000), 6),
+                new Employee(7, "Tom", "Lee", new BigDecimal(34000), 5),
+                new Employee(8, "Sam", "Lee", new BigDecimal(34000), 1)
+        );
+
+        // When
+        List<ValidationError> errors = EmployeeRegistryValidator.validateReportingLineCycles(employees);
+
+        // Then
+        List<ValidationError> expectedErrors = List.of(
+                new ValidationError(ValidationErrorType.REPORTING_LINE_CYCLE, "Reporting line cycle found between Employee Ids [2, 4, 3]"),
+                new ValidationError(ValidationErrorType.REPORTING_LINE_CYCLE, "Reporting line cycle found between Employee Ids [6]"),
+                new ValidationError(ValidationErrorType.UNREACHABLE_EMPLOYEE,
+                        "Employee Ids [5, 7] report into a reporting line cycle and cannot reach a top-level manager")
+        );
+        assertEquals(expectedErrors, errors);
+    }
+
+    @Test
+    void validateReportingLineCycles_withDeepChainAndUnknownManager_returnsNoErrors() {
+        // Given
+        List<Employee> employees = new java.util.ArrayList<>();
+        employees.add(new Employee(0, "Joe", "Doe", new BigDecimal(60000), null));
+        for (int id = 1; id < 500_000; id++) {
+            employees.add(new Employee(id, "First", "Last", new BigDecimal(1000), id - 1));
+        }
+        employees.add(new Employee(-1, "Ann", "Lee", new BigDecimal(1000), 999_999_999));
+
+        // When
+        List<ValidationError> errors = EmployeeRegistryValidator.validateReportingLineCycles(employees);
+
+        // Then
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    void validateEmployees_withCycle_returnsCycleErrorsLast() {
+        // Given
+        List<Employee> employees = List.of(
+                new Employee(1, "Joe", "Doe", new BigDecimal(60000), null),
+                new Employee(2, "Martin", "Chekov", new BigDecimal(45000), 3),
+                new Employee(3, "Bob", "Ronstad", new BigDecimal(47000), 2),
+                new Employee(4, "Alice", "Hasacat", new BigDecimal(50000), 9)
+        );
+
+        // When
+        List<ValidationError> errors = EmployeeRegistryValidator.validateEmployees(employees, 100);
+
+        // Then
+        List<ValidationError> expectedErrors = List.of(
+                new ValidationError(ValidationErrorType.UNKNOWN_MANAGER_ID, "Manager Id [9] for Employee Id [4] could not be identified"),
+                new ValidationError(ValidationErrorType.REPORTING_LINE_CYCLE, "Reporting line cycle found between Employee Ids [2, 3]")
+        );
+        assertEquals(expectedErrors, errors);
+        assertEquals(errors, EmployeeRegistryValidator.validateEmployees(employees.stream(), 100));
+    }
+
+    @Test
+    void validateEmployees_randomisedRegistries_matchesIndividualRuleChecks() {
+        // Given
+        java.util.Random random = new java.util.Random(42L);
+
+        for (int run = 0; run < 500; run++) {
+            int size = 1 + random.nextInt(200);
+            List<Employee> employees = new java.util.ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                Integer managerId = random.nextInt(20) == 0 ? null : random.nextInt(size + 10);
+                employees.add(new Employee(random.nextInt(size * 2), "First", "Last", new BigDecimal(1000), managerId));
+            }
+
+            // When
+            List<ValidationError> errors = EmployeeRegistryValidator.validateEmployees(employees, size - 1);
+
+            // Then
+            List<ValidationError> expectedErrors = new java.util.ArrayList<>();
+            expectedErrors.addAll(EmployeeRegistryValidator.validateMaxEmployees(employees, size - 1));
+            expectedErrors.addAll(EmployeeRegistryValidator.validateEmployeeIds(employees));
+            expectedErrors.addAll(EmployeeRegistryValidator.validateManagerIds(employees));
+            expectedErrors.addAll(EmployeeRegistryValidator.validateSingleTopLevelManager(employees));
+            expectedErrors.addAll(EmployeeRegistryValidator.validateReportingLineCycles(employees));
+            assertEquals(expectedErrors, errors);
+            assertEquals(errors, EmployeeRegistryValidator.validateEmployees(employees.stream(), size - 1));
+        }
+    }
+
+    @Test
+    void validateEmployees_withMissingIds_reportsThemAsDuplicates() {
+        // Given
+        List<Employee> employees = List.of(
+                new Employee(1, "Joe", "Doe", new BigDecimal(60000), null),
+                new Employee(null, "Martin", "Chekov", new BigDecimal(45000), 1),
+                new Employee(null, "Bob", "Ronstad", new BigDecimal(47000), 7)
+        );
+
+        // When
+        List<ValidationError> errors = EmployeeRegistryValidator.validateEmployees(employees, 100);
+
+        // Then
+        List<ValidationError> expectedErrors = List.of(
+                new ValidationError(ValidationErrorType.DUPLICATE_EMPLOYEE_ID, "Duplicate Employee Id [null] found"),
+                new ValidationError(ValidationErrorType.UNKNOWN_MANAGER_ID, "Manager Id [7] for Employee Id [null] could not be identified")
+        );
+        assertEquals(expectedErrors, errors);
+    }
+
     private List<Employee> createDummyEmployees(int count) {
         return java.util.stream.IntStream.range(0, count)
                 .mapToObj(i -> new Employee(
@@ -0,0 +1,85 @@
+package io.github.zhaqimz.employeereporting.registry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorBudgetTest {
+    private static final ValidationError INVALID_FIELD = new ValidationError(ValidationErrorType.INVALID_FIELD, "Invalid field");
+    private static final ValidationError INCOMPLETE_ROW = new ValidationError(ValidationErrorType.INCOMPLETE_DATA_ROW, "Incomplete row");
+
+    @Test
+    void collector_withinBudget_keepsEveryError() {
+        // Given
+        ErrorCollector errors = new ErrorBudget(3, Map.of()).collector();
+
+        // When
+        boolean withinBudget = errors.addAll(List.of(INVALID_FIELD, INCOMPLETE_ROW, INVALID_FIELD));
+
+        // Then
+        assertTrue(withinBudget);
+        assertFalse(errors.isExceeded());
+        assertEquals(List.of(INVALID_FIELD, INCOMPLETE_ROW, INVALID_FIELD), errors.errors());
+    }
+
+    @Test
+    void collector_overTotalBudget_stopsAndSummarisesCounts() {
+        // Given
+        ErrorCollector errors = new ErrorBudget(2, Map.of()).collector();
+
+        // When
+        boolean withinBudget = errors.addAll(List.of(INVALID_FIELD, INCOMPLETE_ROW, INVALID_FIELD, INVALID_FIELD));
+
+        // Then
+        assertFalse(withinBudget);
+        assertTrue(errors.isExceeded());
+        assertFalse(errors.add(INCOMPLETE_ROW));
+        assertEquals(3, errors.count());
+        assertEquals(List.of(
+                INVALID_FIELD,
+                INCOMPLETE_ROW,
+                new ValidationError(ValidationErrorType.ERROR_BUDGET_EXCEEDED,
+                        "Error budget exceeded: parsing and validation stopped after 3 errors {INVALID_FIELD=2, INCOMPLETE_DATA_ROW=1}")
+        ), errors.errors());
+    }
+
+    @Test
+    void collector_overTypeBudget_stopsOnThatType() {
+        // Given
+        ErrorCollector errors = new ErrorBudget(100, Map.of(ValidationErrorType.INCOMPLETE_DATA_ROW, 1)).collector();
+
+        // When
+        errors.addAll(List.of(INVALID_FIELD, INCOMPLETE_ROW, INVALID_FIELD, INCOMPLETE_ROW, INVALID_FIELD));
+
+        // Then
+        assertTrue(errors.isExceeded());
+        assertEquals(4, errors.count());
+        assertEquals(List.of(INVALID_FIELD, INCOMPLETE_ROW, INVALID_FIELD), errors.errors().subList(0, 3));
+        assertEquals(ValidationErrorType.ERROR_BUDGET_EXCEEDED, errors.errors().get(3).type());
+    }
+
+    @Test
+    void errorBudget_negative_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ErrorBudget(-1, Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> new ErrorBudget(10, Map.of(ValidationErrorType.INVALID_FIELD, -1)));
+    }
+
+    @Test
+    void maxErrorsPerType_cannotBeChanged() {
+        // Given
+        Map<ValidationErrorType, Integer> maxErrorsPerType = new HashMap<>(Map.of(ValidationErrorType.INVALID_FIELD, 2));
+        ErrorBudget budget = new ErrorBudget(10, maxErrorsPerType);
+
+        // When
+        maxErrorsPerType.put(ValidationErrorType.INVALID_FIELD, 5);
+
+        // Then
+        assertEquals(2, budget.maxErrors(ValidationErrorType.INVALID_FIELD));
+        assertThrows(UnsupportedOperationException.class,
+                () -> budget.maxErrorsPerType().put(ValidationErrorType.INVALID_FIELD, 5));
+    }
+}
@@ -0,0 +1,175 @@
+package io.github.zhaqimz.employeereporting.registry;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedEmployeeCsvParserTest {
+
+    @Test
+    void parse_testFileWithOnlyValidData_matchesBufferedReader() throws IOException {
+        // Given
+        Path testFile = createCsv("""
+                Id,firstName,lastName,salary,managerId
+                123,Joe,Doe,60000,
+                124,Martin,Chekov,45000,123
+                125,Bob,Ronstad,47000,123
+                300,Alice,Hasacat,50000,124
+                305,Brett,Hardleaf,34000,300
+                """);
+
+        // When
+        ParsedEmployeesResult result = EmployeeCsvParser.parse(testFile, true, CsvParseMode.MEMORY_MAPPED);
+
+        // Then
+        assertTrue(result.errors().isEmpty());
+        List<Employee> expectedEmployees = List.of(
+                new Employee(123, "Joe", "Doe", new BigDecimal(60000), null),
+                new Employee(124, "Martin", "Chekov", new BigDecimal(45000), 123),
+                new Employee(125, "Bob", "Ronstad", new BigDecimal(47000), 123),
+                new Employee(300, "Alice", "Hasacat", new BigDecimal(50000), 124),
+                new Employee(305, "Brett", "Hardleaf", new BigDecimal(34000), 300)
+        );
+        assertEquals(expectedEmployees, result.employees());
+        assertEquals(EmployeeCsvParser.parse(testFile, true), result);
+
+        // Cleanup
+        Files.deleteIfExists(testFile);
+    }
+
+    @Test
+    void parse_testFileWithInvalidData_reportsSameErrorsAsBufferedReader() throws IOException {
+        // Given
+        Path testFile = createCsv("""
+                Id,firstName,lastName,salary,managerId
+                ,Joe,Doe,60000,
+                124,,Chekov,45000,123
+                125,Bob,,47000,123
+                300,Alice,Hasacat,,124
+                xyz305,Brett,Hardleaf,-34000,-300
+                99999999999,Ann,Lee,1e3,+12
+                124,Joe,Doe,60000
+                """);
+
+        // When
+        ParsedEmployeesResult result = EmployeeCsvParser.parse(testFile, true, CsvParseMode.MEMORY_MAPPED);
+
+        // Then
+        ParsedEmployeesResult expected = EmployeeCsvParser.parse(testFile, true);
+        assertEquals(expected.employees(), result.employees());
+        assertEquals(expected.errors(), result.errors());
+        assertEquals(
+                new ValidationError(ValidationErrorType.INVALID_FIELD, "Invalid value [99999999999] for field [id] on line 7"),
+                result.errors().get(7)
+        );
+        assertEquals(
+                new ValidationError(ValidationErrorType.INCOMPLETE_DATA_ROW, "Incomplete employee data row on line 8"),
+                result.errors().get(8)
+        );
+
+        // Cleanup
+        Files.deleteIfExists(testFile);
+    }
+
+    @Test
+    void parse_testFileWithMixedLineTerminatorsAndPadding_matchesBufferedReader() throws IOException {
+        // Given
+        String csvData = "Id,firstName,lastName,salary,managerId\r\n"
+                + " 123 , Joe ,Doe, 60000.50 ,\r\n"
+                + "124,Zoë,Chekov,.5,123\r"
+                + "\r\n"
+                + "125,Bob,Ronstad,47000.,123\n"
+                + "126,Ann,Lee,000123.4560,124";
+        Path testFile = createCsv(csvData);
+
+        // When
+        ParsedEmployeesResult result = EmployeeCsvParser.parse(testFile, true, CsvParseMode.MEMORY_MAPPED);
+
+        // Then
+        assertEquals(EmployeeCsvParser.parse(testFile, true), result);
+        assertEquals(new Employee(123, "Joe", "Doe", new BigDecimal("60000.50"), null), result.employees().get(0));
+        assertEquals(new Employee(124, "Zoë", "Chekov", new BigDecimal(".5"), 123), result.employees().get(1));
+        assertEquals(
+                new ValidationError(ValidationErrorType.INCOMPLETE_DATA_ROW, "Incomplete employee data row on line 4"),
+                result.errors().get(0)
+        );
+
+        // Cleanup
+        Files.deleteIfExists(testFile);
+    }
+
+    @Test
+    void parse_withSmallRegions_matchesSingleRegion() throws IOException {
+        // Given
+        String csvData = "Id,firstName,lastName,salary,managerId\r\n"
+                + "123,Joe,Doe,60000,\r\n"
+                + "124,Martin,Chekov,45000,123\r\n"
+                + "bad row\r\n"
+                + "125,Bob,Ronstad,47000,123\r"
+                + "300,Alice,Hasacat,50000,124\n";
+        Path testFile = createCsv(csvData);
+
+        // When
+        ParsedEmployeesResult result = MappedEmployeeCsvParser.parse(testFile, true, 7);
+
+        // Then
+        assertEquals(MappedEmployeeCsvParser.parse(testFile, true), result);
+        assertEquals(EmployeeCsvParser.parse(testFile, true), result);
+        assertEquals(4, result.employees().size());
+
+        // Cleanup
+        Files.deleteIfExists(testFile);
+    }
+
+    @Test
+    void parse_testFileMalformedData() throws IOException {
+        // Given
+        Path testFile = createCsv("""
+                ItsAFunDay
+                """);
+
+        // When
+        ParsedEmployeesResult result = EmployeeCsvParser.parse(testFile, false, CsvParseMode.MEMORY_MAPPED);
+
+        // Then
+        assertTrue(result.employees().isEmpty());
+        List<ValidationError> expectedErrors = List.of(
+                new ValidationError(
+                        ValidationErrorType.INCOMPLETE_DATA_ROW,
+                        "Incomplete employee data row on line 1")
+        );
+        assertEquals(expectedErrors, result.errors());
+
+        // Cleanup
+        Files.deleteIfExists(testFile);
+    }
+
+    @Test
+    void parse_emptyFile_returnsNoEmployees() throws IOException {
+        // Given
+        Path testFile = createCsv("");
+
+        // When
+        ParsedEmployeesResult result = EmployeeCsvParser.parse(testFile, true, CsvParseMode.MEMORY_MAPPED);
+
+        // Then
+        assertTrue(result.employees().isEmpty());
+        assertTrue(result.errors().isEmpty());
+
+        // Cleanup
+        Files.deleteIfExists(testFile);
+    }
+
+    private static Path createCsv(String csvData) throws IOException {
+        Path testFile = Files.createTempFile("employees", ".csv");
+        Files.writeString(testFile, csvData);
+        return testFile;
+    }
+}
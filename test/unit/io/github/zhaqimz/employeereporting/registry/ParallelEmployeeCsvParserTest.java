@@ -0,0 +1,128 @@
+package io.github.zhaqimz.employeereporting.registry;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelEmployeeCsvParserTest {
+
+    @Test
+    void parse_withManySmallChunks_matchesBufferedReader() throws IOException {
+        // Given
+        StringBuilder csvData = new StringBuilder("Id,firstName,lastName,salary,managerId\n");
+        csvData.append("1,Joe,Doe,60000,\n");
+        for (int i = 2; i <= 500; i++) {
+            if (i % 37 == 0) {
+                csvData.append(i).append(",Incomplete,Row\r\n");
+            } else if (i % 41 == 0) {
+                csvData.append(i).append(",Bad,Salary,-").append(i).append(",1\r");
+            } else {
+                csvData.append(i).append(",First").append(i).append(",Last").append(i)
+                        .append(',').append(1000 + i).append(".25,").append(i / 2).append('\n');
+            }
+        }
+        Path testFile = Files.createTempFile("employees", ".csv");
+        Files.writeString(testFile, csvData);
+
+        // When
+        ParsedEmployeesResult result = ParallelEmployeeCsvParser.parse(testFile, true, 4, 64);
+
+        // Then
+        ParsedEmployeesResult expected = EmployeeCsvParser.parse(testFile, true);
+        assertFalse(expected.errors().isEmpty());
+        assertEquals(expected.employees(), result.employees());
+        assertEquals(expected.errors(), result.errors());
+
+        // Cleanup
+        Files.deleteIfExists(testFile);
+    }
+
+    @Test
+    void parse_withErrorBudget_stopsAtSameErrorAsBufferedReader() throws IOException {
+        // Given
+        StringBuilder csvData = new StringBuilder("Id,firstName,lastName,salary,managerId\n");
+        for (int i = 1; i <= 2_000; i++) {
+            // Every 20th row has an invalid salary, spreading the errors over several chunks; the row is still
+            // parsed into a partially complete employee
+            csvData.append(i).append(",First,Last,").append(i % 20 == 0 ? "abc" : "1000").append(",1\n");
+        }
+        Path testFile = Files.createTempFile("employees", ".csv");
+        Files.writeString(testFile, csvData);
+        ErrorBudget budget = new ErrorBudget(25, Map.of());
+
+        // When
+        ParsedEmployeesResult result = ParallelEmployeeCsvParser.parse(testFile, true, 4, 64, budget.collector());
+
+        // Then
+        ParsedEmployeesResult expected = EmployeeCsvParser.parse(testFile, true, CsvParseMode.BUFFERED_READER, budget.collector());
+        assertEquals(26, expected.errors().size());
+        assertEquals("Invalid value [abc] for field [salary] on line 501", expected.errors().get(24).message());
+        assertEquals("Error budget exceeded: parsing and validation stopped after 26 errors {INVALID_FIELD=26}",
+                expected.errors().get(25).message());
+        assertEquals(520, expected.employees().size());
+        assertEquals(expected.errors(), result.errors());
+        assertEquals(expected.employees(), result.employees());
+        assertEquals(expected, EmployeeCsvParser.parse(testFile, true, CsvParseMode.MEMORY_MAPPED, budget.collector()));
+
+        // Cleanup
+        Files.deleteIfExists(testFile);
+    }
+
+    @Test
+    void parse_withoutHeaderRow_reportsFileLineNumbers() throws IOException {
+        // Given
+        String csvData = """
+                123,Joe,Doe,60000,
+                124,Martin,Chekov,45000,123
+                ItsAFunDay
+                125,Bob,Ronstad,47000,123
+                300,Alice,Hasacat,,124
+                """;
+        Path testFile = Files.createTempFile("employees", ".csv");
+        Files.writeString(testFile, csvData);
+
+        // When
+        ParsedEmployeesResult result = ParallelEmployeeCsvParser.parse(testFile, false, 3, 1);
+
+        // Then
+        assertEquals(EmployeeCsvParser.parse(testFile, false), result);
+        assertEquals(4, result.employees().size());
+        assertEquals(
+                new ValidationError(ValidationErrorType.INCOMPLETE_DATA_ROW, "Incomplete employee data row on line 3"),
+                result.errors().get(0)
+        );
+        assertEquals(
+                new ValidationError(ValidationErrorType.INVALID_FIELD, "Invalid value [] for field [salary] on line 5"),
+                result.errors().get(1)
+        );
+
+        // Cleanup
+        Files.deleteIfExists(testFile);
+    }
+
+    @Test
+    void parse_viaParseMode_matchesBufferedReader() throws IOException {
+        // Given
+        String csvData = """
+                Id,firstName,lastName,salary,managerId
+                123,Joe,Doe,60000,
+                124,Martin,Chekov,45000,123
+                """;
+        Path testFile = Files.createTempFile("employees", ".csv");
+        Files.writeString(testFile, csvData);
+
+        // When
+        ParsedEmployeesResult result = EmployeeCsvParser.parse(testFile, true, CsvParseMode.PARALLEL_MEMORY_MAPPED);
+
+        // Then
+        assertEquals(EmployeeCsvParser.parse(testFile, true), result);
+
+        // Cleanup
+        Files.deleteIfExists(testFile);
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.zhaqimz.employeereporting.registry;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegistryDeltaTest {
+
+    @Test
+    void between_changedRegistry_returnsInsertedUpdatedAndDeletedRows() {
+        // Given
+        var joe = new Employee(123, "Joe", "Doe", new BigDecimal(60000), null);
+        var martin = new Employee(124, "Martin", "Chekov", new BigDecimal(45000), 123);
+        var bob = new Employee(125, "Bob", "Ronstad", new BigDecimal(47000), 123);
+        var raisedMartin = new Employee(124, "Martin", "Chekov", new BigDecimal(48000), 123);
+        var alice = new Employee(300, "Alice", "Hasacat", new BigDecimal(50000), 124);
+
+        // When
+        RegistryDelta delta = RegistryDelta.between(List.of(joe, martin, bob), List.of(alice, joe, raisedMartin));
+
+        // Then
+        assertEquals(List.of(alice), delta.inserted());
+        assertEquals(List.of(raisedMartin), delta.updated());
+        assertEquals(List.of(125), delta.deleted());
+        assertEquals(3, delta.size());
+    }
+
+    @Test
+    void between_sameRegistry_returnsEmptyDelta() {
+        // Given
+        List<Employee> employees = List.of(
+                new Employee(123, "Joe", "Doe", new BigDecimal(60000), null),
+                new Employee(124, "Martin", "Chekov", new BigDecimal(45000), 123)
+        );
+
+        // When / Then
+        assertEquals(0, RegistryDelta.between(employees, List.copyOf(employees)).size());
+    }
+
+    @Test
+    void constructor_idUpdatedOrDeletedTwice_throwsIllegalArgumentException() {
+        // Given
+        Employee martin = new Employee(124, "Martin", "Chekov", new BigDecimal(45000), 123);
+        Employee raisedMartin = new Employee(124, "Martin", "Chekov", new BigDecimal(48000), 123);
+
+        // When / Then
+        IllegalArgumentException twiceUpdated = assertThrows(IllegalArgumentException.class,
+                () -> new RegistryDelta(List.of(), List.of(martin, raisedMartin), List.of()));
+        assertEquals("Employee Id updated or deleted more than once in registry delta: 124", twiceUpdated.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> new RegistryDelta(List.of(), List.of(martin), List.of(124)));
+        assertThrows(IllegalArgumentException.class, () -> new RegistryDelta(List.of(), List.of(), List.of(124, 124)));
+        assertEquals(2, new RegistryDelta(List.of(martin), List.of(), List.of(124)).size());
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.zhaqimz.employeereporting.registry;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationErrorTest {
+
+    @Test
+    void invalidField_holdsFieldsAndRendersMessage() {
+        // When
+        ValidationError error = ValidationError.invalidField("salary", "-123.456", 7);
+
+        // Then
+        assertEquals(ValidationErrorType.INVALID_FIELD, error.type());
+        assertEquals("salary", error.field());
+        assertEquals("-123.456", error.value());
+        assertEquals(7, error.lineNumber());
+        assertEquals("Invalid value [-123.456] for field [salary] on line 7", error.message());
+    }
+
+    @Test
+    void structuredError_equalsErrorCreatedWithSameMessage() {
+        // Given
+        ValidationError structured = EmployeeRegistryValidator.unknownManagerIdError(6, null);
+        ValidationError withMessage = new ValidationError(
+                ValidationErrorType.UNKNOWN_MANAGER_ID, "Manager Id [6] for Employee Id [null] could not be identified");
+
+        // Then
+        assertEquals(6, structured.managerId());
+        assertNull(structured.employeeId());
+        assertEquals(withMessage, structured);
+        assertEquals(withMessage.hashCode(), structured.hashCode());
+        assertEquals(withMessage.toString(), structured.toString());
+    }
+
+    @Test
+    void cycleErrors_holdEmployeeIdsInOrder() {
+        // When
+        ValidationError cycle = EmployeeRegistryValidator.reportingLineCycleError(List.of(3, 1, 2));
+        List<Integer> unreachableIds = new ArrayList<>(Arrays.asList(4, null));
+        ValidationError unreachable = ValidationError.unreachableEmployees(unreachableIds);
+        unreachableIds.add(5);
+
+        // Then
+        assertEquals(List.of(3, 1, 2), cycle.employeeIds());
+        assertEquals(Arrays.asList(4, null), unreachable.employeeIds());
+        assertThrows(UnsupportedOperationException.class, () -> unreachable.employeeIds().add(6));
+        assertEquals(3, cycle.count());
+        assertEquals("Reporting line cycle found between Employee Ids [3, 1, 2]", cycle.message());
+        assertEquals("Employee Ids [4, null] report into a reporting line cycle and cannot reach a top-level manager", unreachable.message());
+    }
+
+    @Test
+    void incompleteEmployeeError_holdsEmployeeAndRendersMessage() {
+        // Given
+        Employee employee = new Employee(null, "Joe", "Doe", new BigDecimal("60000"), null);
+
+        // When
+        ValidationError error = EmployeeRegistryValidator.incompleteEmployeeError(employee);
+
+        // Then
+        assertEquals(ValidationErrorType.INVALID_FIELD, error.type());
+        assertSame(employee, error.employee());
+        assertEquals("Employee [" + employee + "] is missing a required id, name or salary", error.message());
+    }
+
+    @Test
+    void message_nonAsciiDigitLocale_rendersDigitsAsStringFormatDoes() {
+        // Given
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("th-TH-u-nu-thai"));
+        try {
+            // When
+            ValidationError invalidField = ValidationError.invalidField("salary", "abc", 7);
+            ValidationError unknownManager = EmployeeRegistryValidator.unknownManagerIdError(6, 12);
+
+            // Then
+            assertEquals(String.format("Invalid value [abc] for field [salary] on line %d", 7), invalidField.message());
+            assertEquals("Invalid value [abc] for field [salary] on line \u0e57", invalidField.message());
+            assertEquals(String.format("Manager Id [%d] for Employee Id [%d] could not be identified", 6, 12), unknownManager.message());
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+}
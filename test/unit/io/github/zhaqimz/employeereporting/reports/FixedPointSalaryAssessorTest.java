@@ -0,0 +1,191 @@
+package io.github.zhaqimz.employeereporting.reports;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.model.EmployeeTable;
+import io.github.zhaqimz.employeereporting.model.ManagerRelativeSalaryAssessment;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedPointSalaryAssessorTest {
+
+    @Test
+    void assess_randomisedInputs_matchesBigDecimalArithmeticExactly() {
+        // Given
+        Random random = new Random(20240611L);
+
+        for (int run = 0; run < 20_000; run++) {
+            Optional<BigDecimal> min = random.nextInt(5) == 0 ? Optional.empty() : Optional.of(randomPercentage(random));
+            Optional<BigDecimal> max = random.nextInt(5) == 0 ? Optional.empty()
+                    : Optional.of(min.orElse(BigDecimal.ZERO).add(randomPercentage(random)));
+            Employee manager = new Employee(1, "Joe", "Doe", randomSalary(random), null);
+            FixedPointSalaryAssessor.SalaryTotal total = new FixedPointSalaryAssessor.SalaryTotal();
+            BigDecimal exactTotal = BigDecimal.ZERO;
+            int subordinateCount = 1 + random.nextInt(12);
+            for (int i = 0; i < subordinateCount; i++) {
+                BigDecimal salary = randomSalary(random);
+                total.add(salary);
+                exactTotal = exactTotal.add(salary);
+            }
+
+            // When
+            ManagerRelativeSalaryAssessment result = new FixedPointSalaryAssessor(min, max)
+                    .assess(manager, total.unscaledTotal(), total.scale(), total.count());
+
+            // Then
+            ManagerRelativeSalaryAssessment expected = SalaryAnalyser.assessManager(manager, exactTotal, subordinateCount, min, max);
+            String message = "Mismatch for " + manager + ", total " + exactTotal + ", min " + min + ", max " + max;
+            assertEquals(expected, result, message);
+            assertEquals(expected.assessment().breachAmount().scale(), result.assessment().breachAmount().scale());
+        }
+    }
+
+    @Test
+    void assessManagerSalary_randomisedOrganisations_matchesBigDecimalArithmeticAcrossApis() {
+        // Given
+        Random random = new Random(7L);
+
+        for (int run = 0; run < 200; run++) {
+            List<Employee> employees = new ArrayList<>();
+            employees.add(new Employee(0, "Top", "Manager", randomSalary(random), null));
+            for (int id = 1; id < 60; id++) {
+                employees.add(new Employee(id, "First" + id, "Last" + id, randomSalary(random), random.nextInt(id)));
+            }
+            Optional<BigDecimal> min = Optional.of(randomPercentage(random));
+            Optional<BigDecimal> max = Optional.of(min.get().add(randomPercentage(random)));
+
+            // When
+            List<ManagerRelativeSalaryAssessment> result = SalaryAnalyser.assessManagerSalary(employees, min, max);
+
+            // Then
+            List<ManagerRelativeSalaryAssessment> expected = referenceAssessments(employees, min, max);
+            assertEquals(sortedByManagerId(expected), sortedByManagerId(result));
+            assertEquals(result, SalaryAnalyser.assessManagerSalary(employees::stream, min, max));
+            List<ManagerRelativeSalaryAssessment> fromTable = SalaryAnalyser.assessManagerSalary(EmployeeTable.from(employees), min, max);
+            assertEquals(result.size(), fromTable.size());
+            for (int i = 0; i < fromTable.size(); i++) {
+                ManagerRelativeSalaryAssessment expectedAssessment = sortedByManagerId(expected).get(i);
+                assertEquals(expectedAssessment.subordinatesAvgSalary(), fromTable.get(i).subordinatesAvgSalary());
+                assertEquals(expectedAssessment.assessment().status(), fromTable.get(i).assessment().status());
+                assertEquals(0, expectedAssessment.assessment().breachAmount().compareTo(fromTable.get(i).assessment().breachAmount()));
+            }
+        }
+    }
+
+    @Test
+    void assessManagerSalary_totalsOverflowingLong_fallBackToBigDecimal() {
+        // Given
+        BigDecimal hugeSalary = new BigDecimal("50000000000000000.00");
+        List<Employee> employees = List.of(
+                new Employee(1, "Joe", "Doe", hugeSalary, null),
+                new Employee(2, "Martin", "Chekov", hugeSalary, 1),
+                new Employee(3, "Bob", "Ronstad", hugeSalary, 1),
+                new Employee(4, "Alice", "Hasacat", hugeSalary, 1)
+        );
+        Optional<BigDecimal> min = Optional.of(new BigDecimal("0.2"));
+        Optional<BigDecimal> max = Optional.of(new BigDecimal("0.5"));
+
+        // When
+        List<ManagerRelativeSalaryAssessment> result = SalaryAnalyser.assessManagerSalary(employees, min, max);
+
+        // Then
+        assertEquals(List.of(SalaryAnalyser.assessManager(employees.get(0), hugeSalary.multiply(BigDecimal.valueOf(3)), 3, min, max)), result);
+        assertEquals(result, SalaryAnalyser.assessManagerSalary(EmployeeTable.from(employees), min, max));
+    }
+
+    @Test
+    void assessManagerSalary_highPrecisionPercentage_fallsBackToBigDecimal() {
+        // Given
+        Optional<BigDecimal> min = Optional.of(new BigDecimal(0.2));
+        Optional<BigDecimal> max = Optional.of(new BigDecimal(0.5));
+        List<Employee> employees = List.of(
+                new Employee(1, "Joe", "Doe", new BigDecimal("119.99"), null),
+                new Employee(2, "Martin", "Chekov", new BigDecimal(100), 1)
+        );
+
+        // When
+        List<ManagerRelativeSalaryAssessment> result = SalaryAnalyser.assessManagerSalary(employees, min, max);
+
+        // Then
+        assertFalse(new FixedPointSalaryAssessor(min, max).isApplicable());
+        assertEquals(referenceAssessments(employees, min, max), result);
+    }
+
+    @Test
+    void salaryTotal_combine_matchesAddingAllSalariesToOneTotal() {
+        // Given
+        Random random = new Random(5L);
+
+        for (int run = 0; run < 5_000; run++) {
+            FixedPointSalaryAssessor.SalaryTotal first = new FixedPointSalaryAssessor.SalaryTotal();
+            FixedPointSalaryAssessor.SalaryTotal second = new FixedPointSalaryAssessor.SalaryTotal();
+            BigDecimal exactTotal = BigDecimal.ZERO;
+            int count = 1 + random.nextInt(10);
+            for (int i = 0; i < count; i++) {
+                BigDecimal salary = random.nextInt(50) == 0 ? new BigDecimal("5000000000000000.000") : randomSalary(random);
+                (random.nextBoolean() ? first : second).add(salary);
+                exactTotal = exactTotal.add(salary);
+            }
+
+            // When
+            FixedPointSalaryAssessor.SalaryTotal combined = first.combine(second);
+
+            // Then
+            assertEquals(0, exactTotal.compareTo(combined.toBigDecimal()), "Total " + exactTotal);
+            assertEquals(count, combined.count());
+        }
+    }
+
+    @Test
+    void divideHalfUp_roundsHalfAwayFromZero() {
+        assertEquals(3, FixedPointSalaryAssessor.divideHalfUp(5, 2));
+        assertEquals(-3, FixedPointSalaryAssessor.divideHalfUp(-5, 2));
+        assertEquals(1, FixedPointSalaryAssessor.divideHalfUp(4, 3));
+        assertEquals(-1, FixedPointSalaryAssessor.divideHalfUp(-4, 3));
+        assertThrows(ArithmeticException.class, () -> FixedPointSalaryAssessor.powerOfTen(19));
+    }
+
+    private static List<ManagerRelativeSalaryAssessment> referenceAssessments(
+            List<Employee> employees, Optional<BigDecimal> min, Optional<BigDecimal> max) {
+        List<ManagerRelativeSalaryAssessment> assessments = new ArrayList<>();
+        for (Employee manager : employees) {
+            List<BigDecimal> salaries = employees.stream()
+                    .filter(e -> manager.id().equals(e.managerId()))
+                    .map(Employee::salary)
+                    .toList();
+            if (!salaries.isEmpty()) {
+                BigDecimal total = salaries.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+                assessments.add(SalaryAnalyser.assessManager(manager, total, salaries.size(), min, max));
+            }
+        }
+        return assessments;
+    }
+
+    private static List<ManagerRelativeSalaryAssessment> sortedByManagerId(List<ManagerRelativeSalaryAssessment> assessments) {
+        return assessments.stream()
+                .sorted(Comparator.comparing(assessment -> assessment.manager().id()))
+                .toList();
+    }
+
+    private static BigDecimal randomSalary(Random random) {
+        return switch (random.nextInt(6)) {
+            case 0 -> BigDecimal.valueOf(random.nextInt(200_000));
+            case 1 -> BigDecimal.valueOf(random.nextInt(20_000_000), 2);
+            case 2 -> BigDecimal.valueOf(random.nextInt(200_000_000), 3);
+            case 3 -> BigDecimal.valueOf(random.nextInt(2_000) + 1, -2);
+            case 4 -> BigDecimal.valueOf(random.nextInt(2_000_000_000), 5);
+            default -> BigDecimal.valueOf(random.nextInt(2_000_000), 1);
+        };
+    }
+
+    private static BigDecimal randomPercentage(Random random) {
+        return BigDecimal.valueOf(random.nextInt(1_000), random.nextInt(4));
+    }
+}
@@ -0,0 +1,179 @@
+package io.github.zhaqimz.employeereporting.reports;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.model.EmployeeTable;
+import io.github.zhaqimz.employeereporting.model.ManagerRelativeSalaryAssessment;
+import io.github.zhaqimz.employeereporting.model.ReportingLineDepthBreach;
+import io.github.zhaqimz.employeereporting.registry.EmployeeRegistryValidator;
+import io.github.zhaqimz.employeereporting.registry.RegistryDelta;
+import io.github.zhaqimz.employeereporting.registry.ValidationErrorType;
+import io.github.zhaqimz.employeereporting.reports.IncrementalOrganisation.Changes;
+import io.github.zhaqimz.employeereporting.utility.SyntheticOrganisationGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalOrganisationTest {
+    private static final Optional<BigDecimal> MIN_RELATIVE_SALARY_PERCENTAGE = Optional.of(new BigDecimal("0.2"));
+    private static final Optional<BigDecimal> MAX_RELATIVE_SALARY_PERCENTAGE = Optional.of(new BigDecimal("0.5"));
+    private static final int MAX_REPORTING_LINE_DEPTH = 3;
+    private static final int MAX_PERMITTED_EMPLOYEES = 10_000;
+
+    @Test
+    void apply_randomDeltas_matchesFullReanalysis() {
+        // Given
+        Random random = new Random(17L);
+        Map<Integer, Employee> registry = new LinkedHashMap<>();
+        SyntheticOrganisationGenerator.builder().size(3_000).seed(8L).build().stream()
+                .forEach(employee -> registry.put(employee.id(), employee));
+        IncrementalOrganisation organisation = organisation(new ArrayList<>(registry.values()));
+        int nextId = registry.keySet().stream().mapToInt(Integer::intValue).max().orElse(0) + 1;
+
+        for (int round = 0; round < 40; round++) {
+            List<Employee> before = new ArrayList<>(registry.values());
+            List<Integer> ids = new ArrayList<>(registry.keySet());
+            Map<Integer, Employee> after = new LinkedHashMap<>(registry);
+            for (int change = 0; change < 10; change++) {
+                Employee employee = after.get(ids.get(random.nextInt(ids.size())));
+                if (employee == null) {
+                    continue;
+                }
+                Integer otherId = ids.get(random.nextInt(ids.size()));
+                switch (random.nextInt(4)) {
+                    case 0 -> after.put(employee.id(), new Employee(employee.id(), employee.firstName(), employee.lastName(),
+                            BigDecimal.valueOf(30_000 + random.nextInt(120_000)), employee.managerId()));
+                    case 1 -> {
+                        if (employee.managerId() != null) {
+                            after.put(employee.id(), new Employee(employee.id(), employee.firstName(), employee.lastName(),
+                                    employee.salary(), otherId));
+                        }
+                    }
+                    case 2 -> after.put(nextId, new Employee(nextId++, "New", "Hire", new BigDecimal("41000.50"), otherId));
+                    default -> {
+                        if (after.values().stream().noneMatch(e -> employee.id().equals(e.managerId()))) {
+                            after.remove(employee.id());
+                        }
+                    }
+                }
+            }
+            List<Employee> afterList = new ArrayList<>(after.values());
+            List<ManagerRelativeSalaryAssessment> assessmentsBefore = organisation.assessments();
+            List<ReportingLineDepthBreach> breachesBefore = organisation.breaches();
+
+            // When
+            Changes changes = organisation.apply(RegistryDelta.between(before, afterList));
+
+            // Then
+            boolean valid = EmployeeRegistryValidator.validateEmployees(afterList, MAX_PERMITTED_EMPLOYEES).isEmpty();
+            assertEquals(valid, changes.applied(), changes.errors().toString());
+            if (!valid) {
+                assertEquals(assessmentsBefore, organisation.assessments());
+                assertEquals(breachesBefore, organisation.breaches());
+                continue;
+            }
+            registry.clear();
+            registry.putAll(after);
+
+            List<ManagerRelativeSalaryAssessment> expectedAssessments = new ArrayList<>(SalaryAnalyser.assessManagerSalary(
+                    afterList, MIN_RELATIVE_SALARY_PERCENTAGE, MAX_RELATIVE_SALARY_PERCENTAGE));
+            expectedAssessments.sort(Comparator.comparing(assessment -> assessment.manager().id()));
+            List<ReportingLineDepthBreach> expectedBreaches = new ArrayList<>(
+                    ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(afterList, MAX_REPORTING_LINE_DEPTH));
+            expectedBreaches.sort(Comparator.comparing(breach -> breach.employee().id()));
+            assertEquals(expectedAssessments, organisation.assessments());
+            assertEquals(expectedBreaches, organisation.breaches());
+
+            assertEquals(difference(assessmentsBefore, expectedAssessments), changes.removedAssessments());
+            assertEquals(difference(expectedAssessments, assessmentsBefore), changes.addedAssessments());
+            assertEquals(difference(breachesBefore, expectedBreaches), changes.removedBreaches());
+            assertEquals(difference(expectedBreaches, breachesBefore), changes.addedBreaches());
+        }
+    }
+
+    @Test
+    void apply_salaryRaise_reportsChangedAssessments() {
+        // Given
+        IncrementalOrganisation organisation = organisation(List.of(
+                new Employee(123, "Joe", "Doe", new BigDecimal(60000), null),
+                new Employee(124, "Martin", "Chekov", new BigDecimal(45000), 123),
+                new Employee(125, "Bob", "Ronstad", new BigDecimal(47000), 123),
+                new Employee(300, "Alice", "Hasacat", new BigDecimal(50000), 124)
+        ));
+        List<ManagerRelativeSalaryAssessment> assessmentsBefore = organisation.assessments();
+        Employee raisedMartin = new Employee(124, "Martin", "Chekov", new BigDecimal("61000.00"), 123);
+
+        // When
+        Changes changes = organisation.apply(new RegistryDelta(List.of(), List.of(raisedMartin), List.of()));
+
+        // Then: Martin's own assessment and that of Joe, whose subordinate average rises, change
+        assertTrue(changes.applied());
+        assertEquals(assessmentsBefore, changes.removedAssessments());
+        assertEquals(organisation.assessments(), changes.addedAssessments());
+        assertEquals(raisedMartin, changes.addedAssessments().get(1).manager());
+        assertEquals(new BigDecimal("54000.00"), changes.addedAssessments().get(0).subordinatesAvgSalary());
+        assertTrue(changes.removedBreaches().isEmpty());
+        assertTrue(changes.addedBreaches().isEmpty());
+    }
+
+    @Test
+    void apply_deleteManagerWithSubordinates_isRejectedAndLeavesOrganisationUnchanged() {
+        // Given
+        IncrementalOrganisation organisation = organisation(List.of(
+                new Employee(123, "Joe", "Doe", new BigDecimal(60000), null),
+                new Employee(124, "Martin", "Chekov", new BigDecimal(45000), 123),
+                new Employee(300, "Alice", "Hasacat", new BigDecimal(50000), 124)
+        ));
+        List<ManagerRelativeSalaryAssessment> assessmentsBefore = organisation.assessments();
+
+        // When
+        Changes changes = organisation.apply(new RegistryDelta(List.of(), List.of(), List.of(124)));
+
+        // Then
+        assertFalse(changes.applied());
+        assertEquals(ValidationErrorType.UNKNOWN_MANAGER_ID, changes.errors().get(0).type());
+        assertEquals(3, organisation.size());
+        assertEquals(assessmentsBefore, organisation.assessments());
+    }
+
+    @Test
+    void apply_invalidRows_areRejected() {
+        // Given
+        IncrementalOrganisation organisation = organisation(List.of(
+                new Employee(123, "Joe", "Doe", new BigDecimal(60000), null),
+                new Employee(124, "Martin", "Chekov", new BigDecimal(45000), 123),
+                new Employee(300, "Alice", "Hasacat", new BigDecimal(50000), 124)
+        ));
+
+        // When / Then
+        assertEquals(ValidationErrorType.REPORTING_LINE_CYCLE, organisation.apply(new RegistryDelta(List.of(),
+                List.of(new Employee(124, "Martin", "Chekov", new BigDecimal(45000), 300)), List.of())).errors().get(0).type());
+        assertEquals(ValidationErrorType.DUPLICATE_EMPLOYEE_ID, organisation.apply(new RegistryDelta(
+                List.of(new Employee(300, "Alice", "Again", new BigDecimal(50000), 124)), List.of(), List.of())).errors().get(0).type());
+        assertEquals(ValidationErrorType.MULTIPLE_TOP_LEVEL_MANAGERS, organisation.apply(new RegistryDelta(
+                List.of(new Employee(400, "Second", "Boss", new BigDecimal(50000), null)), List.of(), List.of())).errors().get(0).type());
+        assertEquals(ValidationErrorType.UNKNOWN_EMPLOYEE_ID, organisation.apply(new RegistryDelta(
+                List.of(), List.of(), List.of(999))).errors().get(0).type());
+        assertEquals(3, organisation.size());
+    }
+
+    private static IncrementalOrganisation organisation(List<Employee> employees) {
+        return IncrementalOrganisation.of(EmployeeTable.from(employees), MAX_PERMITTED_EMPLOYEES,
+                MIN_RELATIVE_SALARY_PERCENTAGE, MAX_RELATIVE_SALARY_PERCENTAGE, MAX_REPORTING_LINE_DEPTH);
+    }
+
+    private static <T> List<T> difference(List<T> from, List<T> remove) {
+        Set<T> removed = new HashSet<>(remove);
+        return from.stream().filter(entry -> !removed.contains(entry)).toList();
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.zhaqimz.employeereporting.reports;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.model.ManagerRelativeSalaryAssessment;
+import io.github.zhaqimz.employeereporting.registry.EmployeeCsvParser;
+import io.github.zhaqimz.employeereporting.registry.ErrorBudget;
+import io.github.zhaqimz.employeereporting.registry.ErrorCollector;
+import io.github.zhaqimz.employeereporting.utility.SyntheticOrganisationGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ManagerSalaryAggregatorTest {
+    private static final Optional<BigDecimal> MIN_RELATIVE_SALARY_PERCENTAGE = Optional.of(new BigDecimal("0.2"));
+    private static final Optional<BigDecimal> MAX_RELATIVE_SALARY_PERCENTAGE = Optional.of(new BigDecimal("0.5"));
+
+    @Test
+    void assessments_employeesInAnyOrder_matchListAssessmentOrderedByManagerId() {
+        // Given
+        List<Employee> employees = new ArrayList<>(SyntheticOrganisationGenerator.builder().size(20_000).build().stream().toList());
+        Collections.shuffle(employees, new Random(9L));
+        ManagerSalaryAggregator aggregator = new ManagerSalaryAggregator(MIN_RELATIVE_SALARY_PERCENTAGE, MAX_RELATIVE_SALARY_PERCENTAGE);
+
+        // When
+        employees.forEach(aggregator);
+        employees.forEach(aggregator::resolveManager);
+        List<ManagerRelativeSalaryAssessment> result = aggregator.assessments();
+
+        // Then
+        assertEquals(sortedListAssessments(employees), result);
+    }
+
+    @Test
+    void assessManagerSalary_aggregatedWhileParsing_matchParsedListAssessment() throws IOException {
+        // Given
+        Path testFile = Files.createTempFile("employees", ".csv");
+        SyntheticOrganisationGenerator.builder().size(5_000).seed(4L).build().writeCsv(testFile);
+        ErrorCollector errors = ErrorBudget.UNLIMITED.collector();
+
+        // When
+        List<ManagerRelativeSalaryAssessment> result = SalaryAnalyser.assessManagerSalary(
+                testFile, true, MIN_RELATIVE_SALARY_PERCENTAGE, MAX_RELATIVE_SALARY_PERCENTAGE, errors);
+
+        // Then
+        assertEquals(sortedListAssessments(EmployeeCsvParser.parse(testFile, true).employees()), result);
+        assertEquals(0, errors.count());
+
+        // Cleanup
+        Files.deleteIfExists(testFile);
+    }
+
+    @Test
+    void assessments_employeesWithoutSubordinates_areNotResolved() {
+        // Given
+        var manager = new Employee(1, "Joe", "Doe", new BigDecimal("60000.00"), null);
+        var employee = new Employee(2, "Ann", "Lee", new BigDecimal("50000.00"), 1);
+        ManagerSalaryAggregator aggregator = new ManagerSalaryAggregator(MIN_RELATIVE_SALARY_PERCENTAGE, MAX_RELATIVE_SALARY_PERCENTAGE);
+
+        // When: the manager is only resolved in the second pass, after their subordinate is accepted
+        aggregator.accept(employee);
+        aggregator.accept(manager);
+        aggregator.resolveManager(employee);
+        aggregator.resolveManager(manager);
+
+        // Then
+        List<ManagerRelativeSalaryAssessment> result = aggregator.assessments();
+        assertEquals(1, result.size());
+        assertEquals(manager, result.get(0).manager());
+    }
+
+    @Test
+    void constructor_maximumBelowMinimum_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ManagerSalaryAggregator(MAX_RELATIVE_SALARY_PERCENTAGE, MIN_RELATIVE_SALARY_PERCENTAGE));
+    }
+
+    private static List<ManagerRelativeSalaryAssessment> sortedListAssessments(List<Employee> employees) {
+        return SalaryAnalyser.assessManagerSalary(employees, MIN_RELATIVE_SALARY_PERCENTAGE, MAX_RELATIVE_SALARY_PERCENTAGE)
+                .stream()
+                .sorted(Comparator.comparing(assessment -> assessment.manager().id()))
+                .toList();
+    }
+}
@@ -0,0 +1,152 @@
+package io.github.zhaqimz.employeereporting.reports;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.model.EmployeeTable;
+import io.github.zhaqimz.employeereporting.utility.SyntheticOrganisationGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrgIndexTest {
+    private final EmployeeTable table = EmployeeTable.from(
+            SyntheticOrganisationGenerator.builder().size(3_000).seed(11L).build().stream().toList()
+    );
+    private final OrgIndex index = OrgIndex.of(table);
+
+    @Test
+    void of_generatedOrganisation_matchesReportingLineWalks() {
+        // Given
+        int[] depths = ReportingLineDepths.of(table);
+        int[] headcounts = new int[table.size()];
+        for (int i = 0; i < table.size(); i++) {
+            for (int row : reportingLine(i)) {
+                headcounts[row]++;
+            }
+        }
+
+        // Then
+        for (int i = 0; i < table.size(); i++) {
+            assertEquals(depths[i], index.depth(i));
+            assertEquals(headcounts[i], index.subtreeSize(i));
+            assertEquals(index.subtreeSize(i), index.exit(i) - index.entry(i));
+            assertEquals(i, index.rowAt(index.entry(i)));
+            int manager = table.managerIndex(i) >= 0 ? table.managerIndex(i) : OrgIndex.NO_MANAGER;
+            assertEquals(manager, index.manager(i));
+            for (int report : index.directReports(i)) {
+                assertEquals(i, index.manager(report));
+            }
+        }
+    }
+
+    @Test
+    void subtree_everyMember_reportsToManager() {
+        // Given
+        Random random = new Random(7L);
+        for (int n = 0; n < 200; n++) {
+            int manager = random.nextInt(table.size());
+
+            // When
+            int[] subtree = index.subtree(manager);
+
+            // Then
+            assertEquals(manager, subtree[0]);
+            assertEquals(index.subtreeSize(manager), subtree.length);
+            for (int p = 1; p < subtree.length; p++) {
+                assertTrue(reportingLine(subtree[p]).contains(manager));
+            }
+            int other = random.nextInt(table.size());
+            assertEquals(reportingLine(other).contains(manager), index.isInSubtree(other, manager));
+            assertEquals(other != manager && reportingLine(other).contains(manager), index.reportsTo(other, manager));
+        }
+    }
+
+    @Test
+    void ancestorAndLowestCommonManager_randomPairs_matchReportingLineWalks() {
+        Random random = new Random(13L);
+        for (int n = 0; n < 500; n++) {
+            // Given
+            int row = random.nextInt(table.size());
+            int other = random.nextInt(table.size());
+            List<Integer> line = reportingLine(row);
+            List<Integer> otherLine = reportingLine(other);
+
+            // When / Then
+            int k = random.nextInt(line.size() + 2);
+            assertEquals(k < line.size() ? line.get(k) : OrgIndex.NO_MANAGER, index.ancestor(row, k));
+            int expected = line.stream().filter(otherLine::contains).findFirst().orElse(OrgIndex.NO_MANAGER);
+            assertEquals(expected, index.lowestCommonManager(row, other));
+            assertEquals(expected, index.lowestCommonManager(other, row));
+        }
+    }
+
+    @Test
+    void of_separateHierarchies_haveNoCommonManager() {
+        // Given
+        EmployeeTable forest = EmployeeTable.from(List.of(
+                new Employee(1, "Joe", "Doe", new BigDecimal(60000), null),
+                new Employee(2, "Martin", "Chekov", new BigDecimal(45000), 1),
+                new Employee(3, "Bob", "Ronstad", new BigDecimal(47000), 99),
+                new Employee(4, "Alice", "Hasacat", new BigDecimal(50000), 3)
+        ));
+
+        // When
+        OrgIndex forestIndex = OrgIndex.of(forest);
+
+        // Then
+        assertArrayEquals(new int[] {0, 1, 2, 3}, new int[] {
+                forestIndex.rowAt(0), forestIndex.rowAt(1), forestIndex.rowAt(2), forestIndex.rowAt(3)});
+        assertEquals(2, forestIndex.depth(3));
+        assertEquals(OrgIndex.NO_MANAGER, forestIndex.lowestCommonManager(1, 3));
+        assertEquals(OrgIndex.NO_MANAGER, forestIndex.ancestor(3, 2));
+        assertThrows(IllegalArgumentException.class, () -> forestIndex.ancestor(3, -1));
+    }
+
+    @Test
+    void ancestor_firstQuery_buildsManagerJumpsOnlyThen() {
+        // Given
+        int row = index.rowAt(index.size() - 1);
+
+        // When
+        SubordinateSalaryTotals.ofSubtrees(index);
+        index.subtree(row);
+
+        // Then
+        assertFalse(index.hasManagerJumps());
+        assertEquals(index.manager(row), index.ancestor(row, 1));
+        assertTrue(index.hasManagerJumps());
+    }
+
+    @Test
+    void of_cycle_throwsIllegalStateException() {
+        EmployeeTable cycle = EmployeeTable.from(List.of(
+                new Employee(1, "Joe", "Doe", new BigDecimal(60000), null),
+                new Employee(2, "Martin", "Chekov", new BigDecimal(45000), 3),
+                new Employee(3, "Bob", "Ronstad", new BigDecimal(47000), 2)
+        ));
+        assertThrows(IllegalStateException.class, () -> OrgIndex.of(cycle));
+    }
+
+    @Test
+    void findEmployeesBreachingReportingLineDepth_orgIndex_matchesTableBreaches() {
+        for (int depth = 0; depth <= 6; depth++) {
+            assertEquals(ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(table, depth),
+                    ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(index, depth));
+        }
+    }
+
+    /**
+     * The row and its managers up to the top of the hierarchy, walked one hop at a time.
+     */
+    private List<Integer> reportingLine(int row) {
+        List<Integer> line = new ArrayList<>();
+        for (int current = row; current >= 0; current = table.managerIndex(current)) {
+            line.add(current);
+        }
+        return line;
+    }
+}
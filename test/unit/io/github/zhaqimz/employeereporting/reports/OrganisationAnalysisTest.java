@@ -0,0 +1,59 @@
+package io.github.zhaqimz.employeereporting.reports;
+
+import io.github.zhaqimz.employeereporting.model.EmployeeTable;
+import io.github.zhaqimz.employeereporting.model.SalaryAssessmentBasis;
+import io.github.zhaqimz.employeereporting.utility.SyntheticOrganisationGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrganisationAnalysisTest {
+    private final EmployeeTable table = EmployeeTable.from(
+            SyntheticOrganisationGenerator.builder().size(10_000).seed(3L).build().stream().toList()
+    );
+    private final OrganisationAnalysis analysis = OrganisationAnalysis.of(table);
+
+    @Test
+    void assessManagerSalary_variousThresholds_matchesTableAssessment() {
+        for (String[] thresholds : new String[][] {{"0.2", "0.5"}, {"0", "0"}, {"0.1", "3.75"}}) {
+            // Given
+            var min = Optional.of(new BigDecimal(thresholds[0]));
+            var max = Optional.of(new BigDecimal(thresholds[1]));
+
+            // When / Then
+            assertEquals(SalaryAnalyser.assessManagerSalary(table, min, max), analysis.assessManagerSalary(min, max));
+        }
+        assertEquals(SalaryAnalyser.assessManagerSalary(table, Optional.empty(), Optional.empty()),
+                analysis.assessManagerSalary(Optional.empty(), Optional.empty()));
+    }
+
+    @Test
+    void assessManagerSalary_wholeSubtreeBasis_matchesTableAssessment() {
+        // Given
+        var min = Optional.of(new BigDecimal("0.2"));
+        var max = Optional.of(new BigDecimal("0.5"));
+
+        // When / Then
+        assertEquals(SalaryAnalyser.assessManagerSalary(table, min, max, SalaryAssessmentBasis.WHOLE_SUBTREE),
+                analysis.assessManagerSalary(min, max, SalaryAssessmentBasis.WHOLE_SUBTREE));
+        assertEquals(analysis.assessManagerSalary(min, max),
+                analysis.assessManagerSalary(min, max, SalaryAssessmentBasis.DIRECT_SUBORDINATES));
+    }
+
+    @Test
+    void assessManagerSalary_maximumBelowMinimum_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> analysis.assessManagerSalary(Optional.of(new BigDecimal("0.5")), Optional.of(new BigDecimal("0.2"))));
+    }
+
+    @Test
+    void findEmployeesBreachingReportingLineDepth_variousDepths_matchesTableBreaches() {
+        for (int depth = 0; depth <= 6; depth++) {
+            assertEquals(ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(table, depth),
+                    analysis.findEmployeesBreachingReportingLineDepth(depth));
+        }
+    }
+}
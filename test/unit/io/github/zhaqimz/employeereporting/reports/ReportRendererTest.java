@@ -0,0 +1,129 @@
+package io.github.zhaqimz.employeereporting.reports;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.model.ManagerRelativeSalaryAssessment;
+import io.github.zhaqimz.employeereporting.model.ReportingLineDepthBreach;
+import io.github.zhaqimz.employeereporting.model.SalaryAssessment;
+import io.github.zhaqimz.employeereporting.model.SalaryMarginStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportRendererTest {
+
+    @Test
+    void columns_randomisedValuesAcrossLocales_matchStringFormat() throws IOException {
+        // Given
+        Random random = new Random(11L);
+        Locale defaultLocale = Locale.getDefault(Locale.Category.FORMAT);
+        List<Locale> locales = List.of(Locale.US, Locale.GERMANY, Locale.forLanguageTag("ar-SA-u-nu-arab"), Locale.forLanguageTag("hi-IN-u-nu-deva"));
+
+        try {
+            for (Locale locale : locales) {
+                Locale.setDefault(Locale.Category.FORMAT, locale);
+                for (int run = 0; run < 5_000; run++) {
+                    long integer = random.nextInt(4) == 0 ? random.nextLong() : random.nextInt(2_000_000) - 1_000_000;
+                    BigDecimal decimal = randomDecimal(random);
+                    String name = "x".repeat(random.nextInt(25));
+
+                    // When
+                    StringWriter out = new StringWriter();
+                    new ReportRenderer(out)
+                            .column(name, 20).text(" ")
+                            .column(integer, 10).text(" ")
+                            .plainColumn(integer, 10).text(" ")
+                            .twoDecimalPlacesColumn(decimal, 15)
+                            .newLine()
+                            .flush();
+
+                    // Then
+                    String expected = String.format("%-20s %-10d %-10s %-15.2f%n", name, integer, Long.toString(integer), decimal);
+                    assertEquals(expected, out.toString(), "Locale " + locale + ", decimal " + decimal);
+                }
+            }
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, defaultLocale);
+        }
+    }
+
+    @Test
+    void writeReports_largeReports_matchGeneratedReports() throws IOException {
+        // Given
+        List<ManagerRelativeSalaryAssessment> assessments = new ArrayList<>();
+        List<ReportingLineDepthBreach> breaches = new ArrayList<>();
+        for (int id = 1; id <= 5_000; id++) {
+            Employee employee = new Employee(id, "First" + id, "Last", BigDecimal.valueOf(id * 1_001L, 3), id == 1 ? null : id - 1);
+            SalaryMarginStatus status = id % 3 == 0 ? SalaryMarginStatus.OVERPAID : SalaryMarginStatus.UNDERPAID;
+            assessments.add(new ManagerRelativeSalaryAssessment(employee, BigDecimal.TEN, Optional.empty(), Optional.empty(),
+                    new SalaryAssessment(status, BigDecimal.valueOf(id, 1))));
+            breaches.add(new ReportingLineDepthBreach(employee, 4, id % 7));
+        }
+        StringWriter salaryReport = new StringWriter();
+        StringWriter depthReport = new StringWriter();
+
+        // When
+        SalaryAnalyser.writeSalaryMarginStatusReport(assessments, SalaryMarginStatus.OVERPAID, salaryReport);
+        ReportingLineAnalyser.writeReportingLineDepthBreachReport(breaches, depthReport);
+
+        // Then
+        assertEquals(referenceSalaryReport(assessments, SalaryMarginStatus.OVERPAID), salaryReport.toString());
+        assertEquals(referenceDepthReport(breaches), depthReport.toString());
+        assertEquals(salaryReport.toString(), SalaryAnalyser.generateSalaryMarginStatusReport(assessments, SalaryMarginStatus.OVERPAID));
+        assertEquals(depthReport.toString(), ReportingLineAnalyser.generateReportingLineDepthBreachReport(breaches));
+    }
+
+    private static BigDecimal randomDecimal(Random random) {
+        return switch (random.nextInt(6)) {
+            case 0 -> null;
+            case 1 -> BigDecimal.valueOf(random.nextLong(), random.nextInt(6));
+            case 2 -> new BigDecimal(random.nextLong() + "" + Math.abs(random.nextLong())).movePointLeft(random.nextInt(8) - 2);
+            case 3 -> BigDecimal.valueOf(random.nextInt(2_000) - 1_000, 3);
+            case 4 -> BigDecimal.valueOf(random.nextInt(1_000), -random.nextInt(3));
+            default -> BigDecimal.valueOf(random.nextInt(20_000_000), 2);
+        };
+    }
+
+    // The String.format rendering the reports used before rows were rendered into a buffer
+    private static String referenceSalaryReport(List<ManagerRelativeSalaryAssessment> assessments, SalaryMarginStatus status) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Following managers have a current salary status of : " + status.getDisplayValue() + "\n");
+        sb.append(String.format("%-20s %-10s %-10s %-15s %-10s%n", "Name", "ID", "ManagerID", "Salary", "Breach"));
+        sb.append("----------------------------------------------------------------------\n");
+        for (ManagerRelativeSalaryAssessment a : assessments) {
+            if (a.assessment().status() == status) {
+                sb.append(String.format("%-20s %-10d %-10s %-15.2f %-10.2f%n",
+                        a.manager().fullName(),
+                        a.manager().id(),
+                        a.manager().managerId() != null ? a.manager().managerId().toString() : "N/A",
+                        a.manager().salary(),
+                        a.assessment().breachAmount()));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String referenceDepthReport(List<ReportingLineDepthBreach> breaches) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Following managers are breaching the prescribed reporting line depth:\n");
+        sb.append(String.format("%-20s %-10s %-10s %-10s %-10s%n", "Name", "ID", "ManagerID", "Depth", "Breached Amount"));
+        sb.append("----------------------------------------------------------------------\n");
+        for (ReportingLineDepthBreach b : breaches) {
+            sb.append(String.format("%-20s %-10d %-10s %-10d %-10d%n",
+                    b.employee().fullName(),
+                    b.employee().id(),
+                    b.employee().managerId() != null ? b.employee().managerId().toString() : "N/A",
+                    b.depthComparedTo(),
+                    b.breachedAmount()));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.zhaqimz.employeereporting.reports;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.model.ReportingLineDepthBreach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportSinkTest {
+
+    private static final List<ReportingLineDepthBreach> BREACHES = List.of(
+            new ReportingLineDepthBreach(new Employee(305, "Brett", "Hardleaf", new BigDecimal(34000), 300), 2, 1)
+    );
+
+    @Test
+    void forPath_plainAndGzipFiles_containGeneratedReport() throws IOException {
+        // Given
+        Path directory = Files.createTempDirectory("reports");
+        Path plainFile = directory.resolve("report.txt");
+        Path gzipFile = directory.resolve("report.txt.gz");
+        String expectedReport = ReportingLineAnalyser.generateReportingLineDepthBreachReport(BREACHES);
+
+        // When
+        try (ReportSink sink = ReportSink.forPath(plainFile.toString())) {
+            ReportingLineAnalyser.writeReportingLineDepthBreachReport(BREACHES, sink);
+        }
+        try (ReportSink sink = ReportSink.forPath(gzipFile.toString())) {
+            ReportingLineAnalyser.writeReportingLineDepthBreachReport(BREACHES, sink);
+        }
+
+        // Then
+        assertEquals(expectedReport, Files.readString(plainFile));
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(gzipFile))) {
+            assertEquals(expectedReport, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        // Cleanup
+        Files.delete(plainFile);
+        Files.delete(gzipFile);
+        Files.delete(directory);
+    }
+
+    @Test
+    void of_close_flushesWithoutClosingWriter() throws IOException {
+        // Given
+        StringWriter target = new StringWriter();
+        boolean[] closed = {false};
+        Writer writer = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) {
+                target.write(buffer, offset, length);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        // When
+        try (ReportSink sink = ReportSink.of(writer)) {
+            ReportingLineAnalyser.writeReportingLineDepthBreachReport(BREACHES, sink);
+        }
+
+        // Then
+        assertFalse(closed[0]);
+        assertEquals(ReportingLineAnalyser.generateReportingLineDepthBreachReport(BREACHES), target.toString());
+    }
+}
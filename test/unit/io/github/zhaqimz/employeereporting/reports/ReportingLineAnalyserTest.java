@@ -1,13 +1,18 @@
 package io.github.zhaqimz.employeereporting.reports;
 
 import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.model.EmployeeTable;
 import io.github.zhaqimz.employeereporting.model.ReportingLineDepthBreach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ReportingLineAnalyserTest {
@@ -72,4 +77,117 @@ class ReportingLineAnalyserTest {
         assertEquals(2, breaches.size());
         assertEquals(expectedBreaches, breaches);
     }
-}
\ No newline at end of file
+
+    @Test
+    void employeesExceedingDepth_fromStreamSupplier_matchesList() {
+        // Given
+        List<Employee> employees = List.of(
+                new Employee(305, "Brett", "Hardleaf", new BigDecimal(34000), 300),
+                new Employee(123, "Joe", "Doe", new BigDecimal(60000), null),
+                new Employee(300, "Alice", "Hasacat", new BigDecimal(50000), 125),
+                new Employee(124, "Martin", "Chekov", new BigDecimal(45000), 123),
+                new Employee(125, "Bob", "Ronstad", new BigDecimal(47000), 124)
+        );
+
+        // When
+        List<ReportingLineDepthBreach> breaches = ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(employees::stream, 2);
+
+        // Then
+        assertEquals(2, breaches.size());
+        assertEquals(ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(employees, 2), breaches);
+    }
+
+    @Test
+    void employeesExceedingDepth_fromEmployeeTable_matchesList() {
+        // Given
+        List<Employee> employees = List.of(
+                new Employee(305, "Brett", "Hardleaf", new BigDecimal("34000.00"), 300),
+                new Employee(123, "Joe", "Doe", new BigDecimal("60000.00"), null),
+                new Employee(300, "Alice", "Hasacat", new BigDecimal("50000.00"), 125),
+                new Employee(124, "Martin", "Chekov", new BigDecimal("45000.00"), 123),
+                new Employee(125, "Bob", "Ronstad", new BigDecimal("47000.00"), 124),
+                new Employee(400, "Ann", "Lee", new BigDecimal("41000.00"), 999)
+        );
+
+        // When
+        List<ReportingLineDepthBreach> breaches = ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(EmployeeTable.from(employees), 2);
+
+        // Then
+        assertEquals(2, breaches.size());
+        assertEquals(ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(employees, 2), breaches);
+        assertEquals(ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(employees, 0),
+                ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(EmployeeTable.from(employees), 0));
+    }
+
+    @Test
+    void employeesExceedingDepth_iteratedLazily_matchList() throws IOException {
+        // Given
+        List<Employee> employees = List.of(
+                new Employee(305, "Brett", "Hardleaf", new BigDecimal("34000.00"), 300),
+                new Employee(123, "Joe", "Doe", new BigDecimal("60000.00"), null),
+                new Employee(300, "Alice", "Hasacat", new BigDecimal("50000.00"), 125),
+                new Employee(124, "Martin", "Chekov", new BigDecimal("45000.00"), 123),
+                new Employee(125, "Bob", "Ronstad", new BigDecimal("47000.00"), 124)
+        );
+        List<ReportingLineDepthBreach> expected = ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(employees, 1);
+
+        // When
+        Iterable<ReportingLineDepthBreach> tableBreaches = ReportingLineAnalyser.employeesBreachingReportingLineDepth(EmployeeTable.from(employees), 1);
+        Iterable<ReportingLineDepthBreach> listBreaches = ReportingLineAnalyser.employeesBreachingReportingLineDepth(employees, 1);
+        StringWriter report = new StringWriter();
+        long rows = ReportingLineAnalyser.writeReportingLineDepthBreachReport(tableBreaches, report);
+
+        // Then
+        assertEquals(3, expected.size());
+        assertEquals(expected, toList(tableBreaches));
+        assertEquals(expected, toList(listBreaches));
+        assertEquals(3, rows);
+        assertEquals(ReportingLineAnalyser.generateReportingLineDepthBreachReport(expected), report.toString());
+    }
+
+    @Test
+    void longEmployeeChain_isAnalysedWithoutRecursion() {
+        // Given
+        final int chainLength = 100_000;
+        List<Employee> employees = new ArrayList<>(chainLength);
+        BigDecimal salary = new BigDecimal("1000.00");
+        // Listed bottom-up, so each employee is reached before their manager
+        for (int id = chainLength - 1; id >= 0; id--) {
+            employees.add(new Employee(id, "First", "Last", salary, id == 0 ? null : id - 1));
+        }
+
+        // When
+        List<ReportingLineDepthBreach> breaches = ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(employees, 4);
+
+        // Then
+        assertEquals(chainLength - 5, breaches.size());
+        assertEquals(chainLength - 1 - 4, breaches.get(0).breachedAmount());
+        assertEquals(1, breaches.get(breaches.size() - 1).breachedAmount());
+        assertEquals(breaches, ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(EmployeeTable.from(employees), 4));
+    }
+
+    @Test
+    void reportingLineCycle_throwsIllegalStateException() {
+        // Given
+        List<Employee> employees = List.of(
+                new Employee(123, "Joe", "Doe", new BigDecimal(60000), null),
+                new Employee(124, "Martin", "Chekov", new BigDecimal(45000), 126),
+                new Employee(125, "Bob", "Ronstad", new BigDecimal(47000), 124),
+                new Employee(126, "Alice", "Hasacat", new BigDecimal(50000), 125)
+        );
+
+        // When / Then
+        assertThrows(IllegalStateException.class,
+                () -> ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(employees, 2));
+        assertThrows(IllegalStateException.class,
+                () -> ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(employees::stream, 2));
+        assertThrows(IllegalStateException.class,
+                () -> ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(EmployeeTable.from(employees), 2));
+    }
+
+    private static List<ReportingLineDepthBreach> toList(Iterable<ReportingLineDepthBreach> breaches) {
+        List<ReportingLineDepthBreach> list = new ArrayList<>();
+        breaches.forEach(list::add);
+        return list;
+    }
+}
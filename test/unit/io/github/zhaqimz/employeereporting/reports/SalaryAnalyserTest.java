@@ -1,16 +1,27 @@
 package io.github.zhaqimz.employeereporting.reports;
 
 import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.model.EmployeeTable;
 import io.github.zhaqimz.employeereporting.model.ManagerRelativeSalaryAssessment;
 import io.github.zhaqimz.employeereporting.model.SalaryAssessment;
+import io.github.zhaqimz.employeereporting.model.SalaryAssessmentBasis;
 import io.github.zhaqimz.employeereporting.model.SalaryMarginStatus;
+import io.github.zhaqimz.employeereporting.utility.SyntheticOrganisationGenerator;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SalaryAnalyserTest {
 
@@ -174,4 +185,288 @@ class SalaryAnalyserTest {
         );
         assertEquals(expectedSalaryAssessments, result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void assessManagerSalary_fromStreamSupplier_matchesList() {
+        // Given
+        var manager1 = new Employee(123, "Joe", "Doe", new BigDecimal("27044.28"), null);
+        var manager2 = new Employee(125, "Bob", "Ronstad", new BigDecimal("46933.51"), manager1.id());
+        List<Employee> employees = List.of(
+                new Employee(300, "Alice", "Hasacat", new BigDecimal(50000), manager2.id()),
+                manager1,
+                new Employee(124, "Martin", "Chekov", new BigDecimal(100), manager1.id()),
+                new Employee(305, "Brett", "Hardleaf", new BigDecimal(34000), manager2.id()),
+                manager2
+        );
+        var minRelativeSalaryPercentage = Optional.of(BigDecimal.valueOf(0.1));
+        var maxRelativeSalaryPercentage = Optional.of(BigDecimal.valueOf(0.15));
+
+        // When
+        List<ManagerRelativeSalaryAssessment> result = SalaryAnalyser.assessManagerSalary(
+                employees::stream,
+                minRelativeSalaryPercentage,
+                maxRelativeSalaryPercentage
+        );
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(SalaryAnalyser.assessManagerSalary(employees, minRelativeSalaryPercentage, maxRelativeSalaryPercentage), result);
+    }
+
+    @Test
+    void assessManagerSalary_fromEmployeeTable_matchesListOrderedByManagerId() {
+        // Given
+        var manager1 = new Employee(123, "Joe", "Doe", new BigDecimal("27044.28"), null);
+        var manager2 = new Employee(125, "Bob", "Ronstad", new BigDecimal("46933.51"), manager1.id());
+        List<Employee> employees = List.of(
+                new Employee(300, "Alice", "Hasacat", new BigDecimal("50000.00"), manager2.id()),
+                manager2,
+                new Employee(124, "Martin", "Chekov", new BigDecimal("100.00"), manager1.id()),
+                new Employee(305, "Brett", "Hardleaf", new BigDecimal("34000.00"), manager2.id()),
+                manager1
+        );
+        var minRelativeSalaryPercentage = Optional.of(BigDecimal.valueOf(0.1));
+        var maxRelativeSalaryPercentage = Optional.of(BigDecimal.valueOf(0.15));
+
+        // When
+        List<ManagerRelativeSalaryAssessment> result = SalaryAnalyser.assessManagerSalary(
+                EmployeeTable.from(employees),
+                minRelativeSalaryPercentage,
+                maxRelativeSalaryPercentage
+        );
+
+        // Then
+        List<ManagerRelativeSalaryAssessment> expected = SalaryAnalyser.assessManagerSalary(employees, minRelativeSalaryPercentage, maxRelativeSalaryPercentage)
+                .stream()
+                .sorted(Comparator.comparing(assessment -> assessment.manager().id()))
+                .toList();
+        assertEquals(expected, result);
+        assertEquals(manager1, result.get(0).manager());
+    }
+
+    @Test
+    void assessManagerSalary_wholeSubtreeBasis_comparesWithEveryoneUnderManager() {
+        // Given
+        var manager1 = new Employee(1, "Joe", "Doe", new BigDecimal("1000.00"), null);
+        var manager2 = new Employee(2, "Bob", "Ronstad", new BigDecimal("600.00"), manager1.id());
+        List<Employee> employees = List.of(
+                manager1,
+                manager2,
+                new Employee(3, "Alice", "Hasacat", new BigDecimal("200.00"), manager2.id())
+        );
+        var minRelativeSalaryPercentage = Optional.of(new BigDecimal("0.2"));
+        var maxRelativeSalaryPercentage = Optional.of(new BigDecimal("0.5"));
+
+        // When
+        List<ManagerRelativeSalaryAssessment> result = SalaryAnalyser.assessManagerSalary(
+                EmployeeTable.from(employees),
+                minRelativeSalaryPercentage,
+                maxRelativeSalaryPercentage,
+                SalaryAssessmentBasis.WHOLE_SUBTREE
+        );
+
+        // Then
+        List<ManagerRelativeSalaryAssessment> expected = List.of(
+                new ManagerRelativeSalaryAssessment(
+                        manager1,
+                        new BigDecimal("400.00"),
+                        minRelativeSalaryPercentage,
+                        maxRelativeSalaryPercentage,
+                        new SalaryAssessment(SalaryMarginStatus.OVERPAID, new BigDecimal("400.00")),
+                        SalaryAssessmentBasis.WHOLE_SUBTREE
+                ),
+                new ManagerRelativeSalaryAssessment(
+                        manager2,
+                        new BigDecimal("200.00"),
+                        minRelativeSalaryPercentage,
+                        maxRelativeSalaryPercentage,
+                        new SalaryAssessment(SalaryMarginStatus.OVERPAID, new BigDecimal("300.00")),
+                        SalaryAssessmentBasis.WHOLE_SUBTREE
+                )
+        );
+        assertEquals(expected, result);
+    }
+
+    @Test
+    void assessManagerSalary_wholeSubtreeBasis_matchesBruteForceSubtreeAverage() {
+        // Given
+        List<Employee> employees = SyntheticOrganisationGenerator.builder().size(2_000).seed(11L).build().stream().toList();
+        EmployeeTable table = EmployeeTable.from(employees);
+        var minRelativeSalaryPercentage = Optional.of(new BigDecimal("0.2"));
+        var maxRelativeSalaryPercentage = Optional.of(new BigDecimal("0.5"));
+
+        // When
+        List<ManagerRelativeSalaryAssessment> result = SalaryAnalyser.assessManagerSalary(
+                table,
+                minRelativeSalaryPercentage,
+                maxRelativeSalaryPercentage,
+                SalaryAssessmentBasis.WHOLE_SUBTREE
+        );
+
+        // Then: every employee's salary is added to each manager up their reporting line
+        Map<Integer, BigDecimal> subtreeTotals = new HashMap<>();
+        Map<Integer, Integer> subtreeCounts = new HashMap<>();
+        for (int i = 0; i < table.size(); i++) {
+            for (int manager = table.managerIndex(i); manager >= 0; manager = table.managerIndex(manager)) {
+                subtreeTotals.merge(table.id(manager), table.employee(i).salary(), BigDecimal::add);
+                subtreeCounts.merge(table.id(manager), 1, Integer::sum);
+            }
+        }
+        List<ManagerRelativeSalaryAssessment> expected = employees.stream()
+                .filter(e -> subtreeCounts.containsKey(e.id()))
+                .sorted(Comparator.comparing(Employee::id))
+                .map(manager -> SalaryAnalyser.assessManager(
+                        manager,
+                        subtreeTotals.get(manager.id()),
+                        subtreeCounts.get(manager.id()),
+                        minRelativeSalaryPercentage,
+                        maxRelativeSalaryPercentage,
+                        SalaryAssessmentBasis.WHOLE_SUBTREE))
+                .toList();
+        assertEquals(expected, result);
+        assertTrue(result.stream().allMatch(assessment -> assessment.basis() == SalaryAssessmentBasis.WHOLE_SUBTREE));
+    }
+
+    @Test
+    void generateSalaryMarginStatusReport_wholeSubtreeBasis_labelsBasisBelowTitle() {
+        // Given
+        Employee manager = new Employee(123, "Joe", "Doe", new BigDecimal("60000.00"), null);
+        SalaryAssessment assessment = new SalaryAssessment(SalaryMarginStatus.UNDERPAID, new BigDecimal("500.00"));
+        List<ManagerRelativeSalaryAssessment> directAssessments = List.of(new ManagerRelativeSalaryAssessment(
+                manager, new BigDecimal("50400.00"), Optional.empty(), Optional.empty(), assessment));
+        List<ManagerRelativeSalaryAssessment> subtreeAssessments = List.of(new ManagerRelativeSalaryAssessment(
+                manager, new BigDecimal("50400.00"), Optional.empty(), Optional.empty(), assessment,
+                SalaryAssessmentBasis.WHOLE_SUBTREE));
+
+        // When
+        String directReport = SalaryAnalyser.generateSalaryMarginStatusReport(directAssessments, SalaryMarginStatus.UNDERPAID);
+        String subtreeReport = SalaryAnalyser.generateSalaryMarginStatusReport(subtreeAssessments, SalaryMarginStatus.UNDERPAID);
+
+        // Then
+        String basisLine = "Salaries are assessed against the average salary of everyone under each manager\n";
+        assertTrue(subtreeReport.startsWith("Following managers have a current salary status of : Underpaid\n" + basisLine));
+        assertEquals(directReport, subtreeReport.replace(basisLine, ""));
+    }
+
+    @Test
+    void assessManagerSalary_inParallel_matchesSequentialOrderedByManagerId() {
+        // Given
+        List<Employee> employees = SyntheticOrganisationGenerator.builder()
+                .size(100_000)
+                .seed(3L)
+                .build()
+                .stream()
+                .toList();
+        var minRelativeSalaryPercentage = Optional.of(BigDecimal.valueOf(0.2));
+        var maxRelativeSalaryPercentage = Optional.of(BigDecimal.valueOf(0.5));
+        List<ManagerRelativeSalaryAssessment> expected = SalaryAnalyser.assessManagerSalary(employees, minRelativeSalaryPercentage, maxRelativeSalaryPercentage)
+                .stream()
+                .sorted(Comparator.comparing(assessment -> assessment.manager().id()))
+                .toList();
+
+        for (int parallelism : new int[] {1, 2, 4}) {
+            // When
+            List<ManagerRelativeSalaryAssessment> result = SalaryAnalyser.assessManagerSalary(
+                    employees,
+                    minRelativeSalaryPercentage,
+                    maxRelativeSalaryPercentage,
+                    parallelism
+            );
+
+            // Then
+            assertEquals(expected, result, "Parallelism " + parallelism);
+        }
+    }
+
+    @Test
+    void assessManagerSalary_tableInParallel_matchesSequentialTable() {
+        // Given
+        EmployeeTable employees = EmployeeTable.from(SyntheticOrganisationGenerator.builder()
+                .size(100_000)
+                .seed(3L)
+                .build()
+                .stream()
+                .toList());
+        Optional<BigDecimal> minRelativeSalaryPercentage = Optional.of(BigDecimal.valueOf(0.2));
+        Optional<BigDecimal> maxRelativeSalaryPercentage = Optional.of(BigDecimal.valueOf(0.5));
+        List<ManagerRelativeSalaryAssessment> expected = SalaryAnalyser.assessManagerSalary(employees, minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+
+        for (int parallelism : new int[] {1, 2, 4}) {
+            // When
+            List<ManagerRelativeSalaryAssessment> result = SalaryAnalyser.assessManagerSalary(
+                    employees,
+                    minRelativeSalaryPercentage,
+                    maxRelativeSalaryPercentage,
+                    parallelism
+            );
+
+            // Then
+            assertEquals(expected, result, "Parallelism " + parallelism);
+        }
+    }
+
+    @Test
+    void managerSalaryAssessments_iteratedLazily_matchTableAssessmentsEachTime() {
+        // Given
+        EmployeeTable employees = EmployeeTable.from(SyntheticOrganisationGenerator.builder()
+                .size(100_000)
+                .seed(5L)
+                .build()
+                .stream()
+                .toList());
+        Optional<BigDecimal> minRelativeSalaryPercentage = Optional.of(BigDecimal.valueOf(0.2));
+        Optional<BigDecimal> maxRelativeSalaryPercentage = Optional.of(BigDecimal.valueOf(0.5));
+
+        for (SalaryAssessmentBasis basis : SalaryAssessmentBasis.values()) {
+            List<ManagerRelativeSalaryAssessment> expected = SalaryAnalyser.assessManagerSalary(
+                    employees, minRelativeSalaryPercentage, maxRelativeSalaryPercentage, basis);
+            for (int parallelism : new int[] {1, 2}) {
+                // When
+                Iterable<ManagerRelativeSalaryAssessment> assessments = SalaryAnalyser.managerSalaryAssessments(
+                        employees, minRelativeSalaryPercentage, maxRelativeSalaryPercentage, basis, parallelism);
+
+                // Then
+                assertEquals(expected, toList(assessments), basis + " parallelism " + parallelism);
+                assertEquals(expected, toList(assessments), basis + " parallelism " + parallelism + " iterated again");
+            }
+        }
+    }
+
+    @Test
+    void writeSalaryMarginStatusReport_lazyAssessments_matchesListReportAndCountsRows() throws IOException {
+        // Given
+        EmployeeTable employees = EmployeeTable.from(SyntheticOrganisationGenerator.builder().size(10_000).seed(7L).build().stream().toList());
+        Optional<BigDecimal> minRelativeSalaryPercentage = Optional.of(BigDecimal.valueOf(0.2));
+        Optional<BigDecimal> maxRelativeSalaryPercentage = Optional.of(BigDecimal.valueOf(0.5));
+        List<ManagerRelativeSalaryAssessment> expected = SalaryAnalyser.assessManagerSalary(
+                employees, minRelativeSalaryPercentage, maxRelativeSalaryPercentage);
+        StringWriter report = new StringWriter();
+
+        // When
+        long rows = SalaryAnalyser.writeSalaryMarginStatusReport(SalaryAnalyser.managerSalaryAssessments(
+                employees, minRelativeSalaryPercentage, maxRelativeSalaryPercentage,
+                SalaryAssessmentBasis.DIRECT_SUBORDINATES, 1), SalaryMarginStatus.UNDERPAID, report);
+
+        // Then
+        assertEquals(SalaryAnalyser.generateSalaryMarginStatusReport(expected, SalaryMarginStatus.UNDERPAID), report.toString());
+        assertEquals(expected.stream().filter(a -> a.assessment().status() == SalaryMarginStatus.UNDERPAID).count(), rows);
+    }
+
+    @Test
+    void managerSalaryAssessments_withoutThreads_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> SalaryAnalyser.managerSalaryAssessments(
+                EmployeeTable.from(List.of()), Optional.empty(), Optional.empty(), SalaryAssessmentBasis.DIRECT_SUBORDINATES, 0));
+    }
+
+    @Test
+    void assessManagerSalary_inParallelWithoutThreads_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> SalaryAnalyser.assessManagerSalary(
+                List.of(), Optional.empty(), Optional.empty(), 0));
+    }
+
+    private static List<ManagerRelativeSalaryAssessment> toList(Iterable<ManagerRelativeSalaryAssessment> assessments) {
+        List<ManagerRelativeSalaryAssessment> list = new ArrayList<>();
+        assessments.forEach(list::add);
+        return list;
+    }
+}
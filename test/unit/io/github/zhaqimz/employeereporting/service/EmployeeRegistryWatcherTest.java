@@ -0,0 +1,177 @@
+package io.github.zhaqimz.employeereporting.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeRegistryWatcherTest {
+    private static final Duration DEBOUNCE = Duration.ofMillis(300);
+
+    private Path directory;
+    private EmployeeRegistryWatcher watcher;
+    private final ManualDebounceScheduler scheduler = new ManualDebounceScheduler();
+    // Name and content of every file processed
+    private final List<String> processed = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("registry-watch");
+        // Events are fed to the watcher directly and the pipeline runs on the calling thread
+        watcher = new EmployeeRegistryWatcher(directory, "*.csv", DEBOUNCE, file -> {
+            try {
+                processed.add(file.getFileName() + ":" + Files.readString(file));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, scheduler, Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        watcher.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void droppedFile_isProcessedOnceAfterDebounce() throws Exception {
+        // Given
+        write("employees.csv", "complete");
+
+        // When
+        scheduler.advance(DEBOUNCE.minusNanos(1));
+        List<String> processedBeforeDebounce = List.copyOf(processed);
+        scheduler.advance(Duration.ofNanos(1));
+
+        // Then
+        assertEquals(List.of(), processedBeforeDebounce);
+        assertEquals(List.of("employees.csv:complete"), processed);
+        scheduler.advance(DEBOUNCE.multipliedBy(10));
+        assertEquals(List.of("employees.csv:complete"), processed);
+    }
+
+    @Test
+    void fileWrittenInParts_isProcessedOnceComplete() throws Exception {
+        // When
+        for (int part = 0; part < 5; part++) {
+            append("employees.csv", "part" + part + ";");
+            scheduler.advance(DEBOUNCE.dividedBy(3));
+        }
+        List<String> processedWhileWriting = List.copyOf(processed);
+        scheduler.advance(DEBOUNCE);
+
+        // Then
+        assertEquals(List.of(), processedWhileWriting);
+        assertEquals(List.of("employees.csv:part0;part1;part2;part3;part4;"), processed);
+    }
+
+    @Test
+    void fileWrittenToWithoutEvent_isProcessedOnceUnchangedForDebounce() throws Exception {
+        // Given
+        write("employees.csv", "part0;");
+        scheduler.advance(Duration.ZERO);
+        Files.writeString(directory.resolve("employees.csv"), "part1;", StandardOpenOption.APPEND);
+
+        // When
+        scheduler.advance(DEBOUNCE);
+        List<String> processedAfterChange = List.copyOf(processed);
+        scheduler.advance(DEBOUNCE);
+
+        // Then
+        assertEquals(List.of(), processedAfterChange);
+        assertEquals(List.of("employees.csv:part0;part1;"), processed);
+    }
+
+    @Test
+    void filesDroppedTogether_onlyLatestIsProcessed() throws Exception {
+        // When
+        write("first.csv", "first");
+        write("second.csv", "second");
+        write("ignored.txt", "ignored");
+        scheduler.advance(DEBOUNCE.multipliedBy(10));
+
+        // Then
+        assertEquals(List.of("second.csv:second"), processed);
+    }
+
+    @Test
+    void fileDeletedBeforeDebounce_isNotProcessed() throws Exception {
+        // Given
+        write("employees.csv", "complete");
+        Files.delete(directory.resolve("employees.csv"));
+
+        // When
+        scheduler.advance(DEBOUNCE.multipliedBy(10));
+
+        // Then
+        assertEquals(List.of(), processed);
+    }
+
+    private void write(String name, String content) throws IOException {
+        Files.writeString(directory.resolve(name), content);
+        watcher.fileChanged(Path.of(name));
+    }
+
+    private void append(String name, String content) throws IOException {
+        Files.writeString(directory.resolve(name), content, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        watcher.fileChanged(Path.of(name));
+    }
+
+    /**
+     * Runs debounce tasks on the calling thread as its clock is advanced.
+     */
+    private static final class ManualDebounceScheduler implements EmployeeRegistryWatcher.DebounceScheduler {
+        private record Task(long dueNanos, long sequence, Runnable action) {
+        }
+
+        private final PriorityQueue<Task> tasks = new PriorityQueue<>(
+                Comparator.comparingLong(Task::dueNanos).thenComparingLong(Task::sequence));
+        private long nanos;
+        private long sequence;
+
+        @Override
+        public void schedule(Runnable task, long delayNanos) {
+            tasks.add(new Task(nanos + delayNanos, sequence++, task));
+        }
+
+        @Override
+        public long nanoTime() {
+            return nanos;
+        }
+
+        @Override
+        public void close() {
+            tasks.clear();
+        }
+
+        /**
+         * Moves the clock forward, running every task that falls due on the way at its due time.
+         */
+        void advance(Duration duration) {
+            long until = nanos + duration.toNanos();
+            while (!tasks.isEmpty() && tasks.peek().dueNanos() <= until) {
+                Task task = tasks.poll();
+                nanos = task.dueNanos();
+                task.action().run();
+            }
+            nanos = until;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package io.github.zhaqimz.employeereporting.service;
+
+import io.github.zhaqimz.employeereporting.model.SalaryAssessmentBasis;
+import io.github.zhaqimz.employeereporting.registry.CsvParseMode;
+import io.github.zhaqimz.employeereporting.registry.ErrorBudget;
+import io.github.zhaqimz.employeereporting.service.EmployeeReportingBatch.FileOutcome;
+import io.github.zhaqimz.employeereporting.service.EmployeeReportingBatch.FileStatus;
+import io.github.zhaqimz.employeereporting.utility.SyntheticOrganisationGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeReportingBatchTest {
+    private static final ReportSettings SETTINGS = new ReportSettings(
+            Optional.of(new BigDecimal("0.2")),
+            Optional.of(new BigDecimal("0.5")),
+            4,
+            10_000,
+            true,
+            CsvParseMode.BUFFERED_READER,
+            false,
+            "",
+            1,
+            ErrorBudget.UNLIMITED,
+            SalaryAssessmentBasis.DIRECT_SUBORDINATES
+    );
+
+    private Path directory;
+    private Path outputDirectory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("batch");
+        outputDirectory = Files.createDirectory(directory.resolve("reports"));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void run_validInvalidAndUnreadableFiles_reportsEachAndSummarisesAll() throws IOException {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            SyntheticOrganisationGenerator.builder().size(2_000).seed(i).build().writeCsv(directory.resolve("subsidiary-" + i + ".csv"));
+        }
+        Files.writeString(directory.resolve("invalid.csv"), """
+                Id,firstName,lastName,salary,managerId
+                123,Joe,Doe,60000,
+                124,Martin,Chekov,45000,999
+                """);
+        Files.write(directory.resolve("unreadable.csv"), new byte[] {'I', 'd', '\n', (byte) 0xFF, (byte) 0xFE, '\n'});
+        List<Path> files = EmployeeReportingBatch.findRegistryFiles(directory.toString(), "*.csv");
+
+        // When
+        List<FileOutcome> outcomes = new EmployeeReportingBatch(SETTINGS, outputDirectory, 2).run(files);
+
+        // Then
+        assertEquals(7, outcomes.size());
+        for (FileOutcome outcome : outcomes) {
+            String name = outcome.file().getFileName().toString();
+            if (name.startsWith("subsidiary-")) {
+                assertEquals(FileStatus.REPORTED, outcome.status(), name);
+                assertEquals(2_000, outcome.employees());
+                assertTrue(Files.readString(outcome.report()).contains("Following managers have a current salary status of : Underpaid"));
+            } else if (name.equals("invalid.csv")) {
+                assertEquals(FileStatus.INVALID, outcome.status());
+                assertEquals(1, outcome.errors());
+                assertTrue(Files.readString(outcome.report()).contains("Following errors were detected"));
+            } else {
+                assertEquals(FileStatus.FAILED, outcome.status());
+                assertNotNull(outcome.failure());
+            }
+        }
+        assertTrue(Files.exists(outputDirectory.resolve("subsidiary-3.csv-report.txt")));
+
+        List<String> summary = Files.readAllLines(outputDirectory.resolve(EmployeeReportingBatch.SUMMARY_FILE_NAME));
+        assertEquals(8, summary.size());
+        assertTrue(summary.get(0).startsWith("file,status,"));
+        assertTrue(summary.get(1).contains("invalid.csv,INVALID,0,1,"));
+        assertTrue(summary.get(7).contains("unreadable.csv,FAILED,"));
+    }
+
+    @Test
+    void run_salariesTooPreciseForTable_reportsFromEmployeeList() throws IOException {
+        // Given
+        Path file = directory.resolve("precise.csv");
+        Files.writeString(file, """
+                Id,firstName,lastName,salary,managerId
+                123,Joe,Doe,60000,
+                124,Martin,Chekov,45000.0000000000000001,123
+                300,Alice,Hasacat,50000,124
+                """);
+
+        // When
+        List<FileOutcome> outcomes = new EmployeeReportingBatch(SETTINGS, outputDirectory, 1).run(List.of(file));
+
+        // Then
+        FileOutcome outcome = outcomes.get(0);
+        assertEquals(FileStatus.REPORTED, outcome.status(), String.valueOf(outcome.failure()));
+        assertEquals(3, outcome.employees());
+        assertEquals(1, outcome.counts().underpaid());
+        assertTrue(Files.readString(outcome.report()).contains("Martin"));
+    }
+
+    @Test
+    void findRegistryFiles_glob_matchesFileNamesInItsDirectory() throws IOException {
+        // Given
+        for (String name : List.of("acme-b.csv", "acme-a.csv", "other.csv", "acme-c.txt", EmployeeReportingBatch.SUMMARY_FILE_NAME)) {
+            Files.writeString(directory.resolve(name), "");
+        }
+
+        // When
+        List<Path> files = EmployeeReportingBatch.findRegistryFiles(directory.resolve("acme-*.csv").toString(), "*.csv");
+
+        // Then
+        assertEquals(List.of(directory.resolve("acme-a.csv"), directory.resolve("acme-b.csv")), files);
+        assertEquals(3, EmployeeReportingBatch.findRegistryFiles(directory.toString(), "*.csv").size());
+    }
+
+    @Test
+    void findRegistryFiles_missingDirectory_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> EmployeeReportingBatch.findRegistryFiles(directory.resolve("missing/*.csv").toString(), "*.csv"));
+    }
+
+    @Test
+    void reportFileName_filesDifferingInExtension_getDifferentReports() {
+        assertEquals("acme.csv-report.txt", EmployeeReportingBatch.reportFileName(Path.of("/data/acme.csv")));
+        assertEquals("acme.txt-report.txt", EmployeeReportingBatch.reportFileName(Path.of("/data/acme.txt")));
+        assertEquals("acme-report.txt", EmployeeReportingBatch.reportFileName(Path.of("acme")));
+    }
+}
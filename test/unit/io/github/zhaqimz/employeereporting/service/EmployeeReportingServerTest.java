@@ -0,0 +1,121 @@
+package io.github.zhaqimz.employeereporting.service;
+
+import io.github.zhaqimz.employeereporting.model.EmployeeTable;
+import io.github.zhaqimz.employeereporting.model.ManagerRelativeSalaryAssessment;
+import io.github.zhaqimz.employeereporting.model.SalaryAssessmentBasis;
+import io.github.zhaqimz.employeereporting.model.SalaryMarginStatus;
+import io.github.zhaqimz.employeereporting.reports.OrganisationAnalysis;
+import io.github.zhaqimz.employeereporting.reports.ReportingLineAnalyser;
+import io.github.zhaqimz.employeereporting.reports.SalaryAnalyser;
+import io.github.zhaqimz.employeereporting.utility.SyntheticOrganisationGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeReportingServerTest {
+    private static final Optional<BigDecimal> MIN_RELATIVE_SALARY_PERCENTAGE = Optional.of(new BigDecimal("0.2"));
+    private static final Optional<BigDecimal> MAX_RELATIVE_SALARY_PERCENTAGE = Optional.of(new BigDecimal("0.5"));
+
+    private final EmployeeTable table = EmployeeTable.from(
+            SyntheticOrganisationGenerator.builder().size(2_000).seed(5L).build().stream().toList()
+    );
+    private final HttpClient client = HttpClient.newHttpClient();
+    private EmployeeReportingServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new EmployeeReportingServer(OrganisationAnalysis.of(table),
+                MIN_RELATIVE_SALARY_PERCENTAGE, MAX_RELATIVE_SALARY_PERCENTAGE, 4);
+        server.start(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+        client.close();
+    }
+
+    @Test
+    void reports_defaultThresholds_returnsAllReports() throws Exception {
+        // Given
+        List<ManagerRelativeSalaryAssessment> assessments = SalaryAnalyser.assessManagerSalary(
+                table, MIN_RELATIVE_SALARY_PERCENTAGE, MAX_RELATIVE_SALARY_PERCENTAGE);
+        String expected = SalaryAnalyser.generateSalaryMarginStatusReport(assessments, SalaryMarginStatus.UNDERPAID)
+                + System.lineSeparator()
+                + SalaryAnalyser.generateSalaryMarginStatusReport(assessments, SalaryMarginStatus.OVERPAID)
+                + System.lineSeparator()
+                + ReportingLineAnalyser.generateReportingLineDepthBreachReport(
+                        ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(table, 4))
+                + System.lineSeparator();
+
+        // When
+        HttpResponse<String> response = get("/reports");
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertEquals(expected, response.body());
+    }
+
+    @Test
+    void reports_thresholdOverrides_areApplied() throws Exception {
+        // Given
+        var min = Optional.of(new BigDecimal("0.1"));
+        var max = Optional.of(new BigDecimal("0.75"));
+        String expectedOverpaid = SalaryAnalyser.generateSalaryMarginStatusReport(
+                SalaryAnalyser.assessManagerSalary(table, min, max), SalaryMarginStatus.OVERPAID);
+        String expectedDepth = ReportingLineAnalyser.generateReportingLineDepthBreachReport(
+                ReportingLineAnalyser.findEmployeesBreachingReportingLineDepth(table, 2));
+
+        // When
+        HttpResponse<String> overpaid = get("/reports/overpaid?minRelativeSalaryPercentage=0.1&maxRelativeSalaryPercentage=0.75");
+        HttpResponse<String> depth = get("/reports/reporting-line-depth?maxReportingLineDepth=2");
+
+        // Then
+        assertEquals(200, overpaid.statusCode());
+        assertEquals(expectedOverpaid, overpaid.body());
+        assertEquals(200, depth.statusCode());
+        assertEquals(expectedDepth, depth.body());
+    }
+
+    @Test
+    void reports_salaryAssessmentBasisOverride_isApplied() throws Exception {
+        // Given
+        String expectedUnderpaid = SalaryAnalyser.generateSalaryMarginStatusReport(
+                SalaryAnalyser.assessManagerSalary(table, MIN_RELATIVE_SALARY_PERCENTAGE, MAX_RELATIVE_SALARY_PERCENTAGE,
+                        SalaryAssessmentBasis.WHOLE_SUBTREE),
+                SalaryMarginStatus.UNDERPAID);
+
+        // When
+        HttpResponse<String> underpaid = get("/reports/underpaid?salaryAssessmentBasis=WHOLE_SUBTREE");
+
+        // Then
+        assertEquals(200, underpaid.statusCode());
+        assertEquals(expectedUnderpaid, underpaid.body());
+    }
+
+    @Test
+    void reports_invalidRequests_areRejected() throws Exception {
+        assertEquals(400, get("/reports/underpaid?minRelativeSalaryPercentage=abc").statusCode());
+        assertEquals(400, get("/reports/underpaid?minRelativeSalaryPercentage=0.6").statusCode());
+        assertEquals(400, get("/reports?maxReportingLineDepth=-1").statusCode());
+        assertEquals(400, get("/reports?depth=3").statusCode());
+        assertEquals(400, get("/reports?salaryAssessmentBasis=ALL").statusCode());
+        assertEquals(404, get("/reports/unknown").statusCode());
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.port() + path)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
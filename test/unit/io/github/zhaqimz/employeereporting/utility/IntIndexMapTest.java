@@ -0,0 +1,41 @@
+package io.github.zhaqimz.employeereporting.utility;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntIndexMapTest {
+
+    @Test
+    void putIfAbsent_beyondExpectedSize_resizesAndKeepsFirstValue() {
+        // Given
+        IntIndexMap map = new IntIndexMap(2);
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(IntIndexMap.NO_VALUE, map.putIfAbsent(i * 31, i));
+        }
+
+        // Then
+        assertEquals(1000, map.size());
+        assertEquals(7, map.putIfAbsent(7 * 31, 42));
+        assertEquals(7, map.get(7 * 31));
+        assertEquals(IntIndexMap.NO_VALUE, map.get(1));
+        assertFalse(map.containsKey(-31));
+    }
+
+    @Test
+    void put_existingKey_replacesValue() {
+        // Given
+        IntIndexMap map = new IntIndexMap(0);
+        map.put(Integer.MIN_VALUE, 1);
+
+        // When
+        map.put(Integer.MIN_VALUE, 2);
+
+        // Then
+        assertEquals(1, map.size());
+        assertEquals(2, map.get(Integer.MIN_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> map.put(3, -1));
+    }
+}
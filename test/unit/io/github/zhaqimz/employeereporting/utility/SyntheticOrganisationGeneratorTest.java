@@ -0,0 +1,128 @@
+package io.github.zhaqimz.employeereporting.utility;
+
+import io.github.zhaqimz.employeereporting.model.Employee;
+import io.github.zhaqimz.employeereporting.registry.EmployeeCsvParser;
+import io.github.zhaqimz.employeereporting.registry.EmployeeRegistryValidator;
+import io.github.zhaqimz.employeereporting.registry.ParsedEmployeesResult;
+import io.github.zhaqimz.employeereporting.registry.ValidationError;
+import io.github.zhaqimz.employeereporting.registry.ValidationErrorType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticOrganisationGeneratorTest {
+
+    @Test
+    void stream_sameSeed_generatesSameValidOrganisationOfTargetSize() {
+        // Given
+        SyntheticOrganisationGenerator generator = SyntheticOrganisationGenerator.builder()
+                .size(10_000)
+                .seed(7L)
+                .build();
+
+        // When
+        List<Employee> employees = generator.stream().toList();
+
+        // Then
+        assertEquals(10_000, employees.size());
+        assertEquals(employees, generator.stream().toList());
+        assertNotEquals(employees, SyntheticOrganisationGenerator.builder().size(10_000).seed(8L).build().stream().toList());
+        assertNull(employees.get(0).managerId());
+        assertTrue(EmployeeRegistryValidator.validateEmployees(employees, 10_000).isEmpty());
+    }
+
+    @Test
+    void stream_withFanOutAndDepthLimits_respectsThemBelowTopLevelManager() {
+        // Given
+        SyntheticOrganisationGenerator generator = SyntheticOrganisationGenerator.builder()
+                .size(5_000)
+                .fanOut(SyntheticOrganisationGenerator.IntDistribution.uniform(1, 3))
+                .depth(SyntheticOrganisationGenerator.IntDistribution.fixed(4))
+                .build();
+
+        // When
+        List<Employee> employees = generator.stream().toList();
+
+        // Then
+        Map<Integer, Integer> managerIdById = new HashMap<>();
+        Map<Integer, Integer> subordinateCounts = new HashMap<>();
+        for (Employee employee : employees) {
+            managerIdById.put(employee.id(), employee.managerId());
+            if (employee.managerId() != null) {
+                subordinateCounts.merge(employee.managerId(), 1, Integer::sum);
+            }
+        }
+        Integer topLevelManagerId = employees.get(0).id();
+        for (Employee employee : employees) {
+            int depth = 0;
+            for (Integer managerId = employee.managerId(); managerId != null; managerId = managerIdById.get(managerId)) {
+                depth++;
+            }
+            assertTrue(depth <= 4, "Depth " + depth + " of " + employee);
+        }
+        subordinateCounts.forEach((managerId, count) -> {
+            if (!managerId.equals(topLevelManagerId)) {
+                assertTrue(count <= 3, "Fan-out " + count + " of manager " + managerId);
+            }
+        });
+    }
+
+    @Test
+    void stream_withInjectedDefects_failsValidationWithThoseDefects() {
+        // Given
+        SyntheticOrganisationGenerator generator = SyntheticOrganisationGenerator.builder()
+                .size(2_000)
+                .duplicateIds(3)
+                .unknownManagers(2)
+                .cycles(1)
+                .build();
+
+        // When
+        List<ValidationError> errors = EmployeeRegistryValidator.validateEmployees(generator.stream(), 2_000);
+
+        // Then
+        assertEquals(3, errors.stream().filter(e -> e.type() == ValidationErrorType.DUPLICATE_EMPLOYEE_ID).count());
+        assertEquals(2, errors.stream().filter(e -> e.type() == ValidationErrorType.UNKNOWN_MANAGER_ID).count());
+        assertEquals(1, errors.stream().filter(e -> e.type() == ValidationErrorType.REPORTING_LINE_CYCLE).count());
+        assertEquals(2_000, generator.stream().count());
+    }
+
+    @Test
+    void writeCsv_parsesBackToGeneratedEmployees() throws IOException {
+        // Given
+        SyntheticOrganisationGenerator generator = SyntheticOrganisationGenerator.builder()
+                .size(1_000)
+                .firstId(100)
+                .build();
+        Path testFile = Files.createTempFile("employees", ".csv");
+
+        // When
+        generator.writeCsv(testFile);
+
+        // Then
+        ParsedEmployeesResult result = EmployeeCsvParser.parse(testFile, true);
+        assertTrue(result.errors().isEmpty());
+        assertEquals(generator.stream().toList(), result.employees());
+
+        // Cleanup
+        Files.deleteIfExists(testFile);
+    }
+
+    @Test
+    void build_withMoreDefectsThanRows_throwsIllegalArgumentException() {
+        // Given
+        SyntheticOrganisationGenerator.Builder builder = SyntheticOrganisationGenerator.builder()
+                .size(4)
+                .cycles(2);
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+}